@@ -237,7 +237,7 @@ internal void VerifyVersion()
 	internal class NativeImports
 #endif // #if USE_MONO_WORKAROUND
 	{
-		internal const string NativeApiVersion = "2";
+		internal const string NativeApiVersion = "3";
 		internal const string DllName = "DecimalNative";
 		private const string Dll = DllName + NativeApiVersion;
 
@@ -0,0 +1,63 @@
+package deltix.dfp;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(time = 5, timeUnit = TimeUnit.SECONDS, iterations = 2)
+@Measurement(time = 5, timeUnit = TimeUnit.SECONDS, iterations = 5)
+@State(Scope.Thread)
+@Fork(2)
+public class ArrayOperationBenchmark {
+    @Param({"1000"})
+    private int length;
+
+    private long[] prices;
+    private long[] quantities;
+    private long[] result;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random();
+        prices = new long[length];
+        quantities = new long[length];
+        result = new long[length];
+        for (int i = 0; i < length; ++i) {
+            prices[i] = Decimal64Utils.fromFixedPoint(random.nextInt(1000000), 4);
+            quantities[i] = Decimal64Utils.fromLong(random.nextInt(10000));
+        }
+    }
+
+    @Benchmark
+    public long[] multiply() {
+        return Decimal64Utils.multiply(prices, 0, quantities, 0, result, 0, length);
+    }
+
+    @Benchmark
+    public long[] multiplyNativeLoop() {
+        for (int i = 0; i < length; ++i)
+            result[i] = NativeImpl.multiply2(prices[i], quantities[i]);
+        return result;
+    }
+
+    @Benchmark
+    public long[] multiplyNativeArray() {
+        NativeImpl.multiplyArrays(prices, 0, quantities, 0, result, 0, length);
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ArrayOperationBenchmark.class.getSimpleName() + ".*")
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -45,6 +45,31 @@ public class BinaryOperationBenchmark {
         return Decimal64Utils.divide(decimalValue1, decimalValue2);
     }
 
+    @Benchmark
+    public long divisionNative() {
+        return NativeImpl.divide(decimalValue1, decimalValue2);
+    }
+
+    @Benchmark
+    public long divisionByInteger() {
+        return Decimal64Utils.divideByInteger(decimalValue1, 7);
+    }
+
+    @Benchmark
+    public long divisionByPowerOfTen() {
+        return Decimal64Utils.divideByInteger(decimalValue1, 1000);
+    }
+
+    @Benchmark
+    public int comparison() {
+        return Decimal64Utils.compareTo(decimalValue1, decimalValue2);
+    }
+
+    @Benchmark
+    public int comparisonNative() {
+        return NativeImpl.compare(decimalValue1, decimalValue2);
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + BinaryOperationBenchmark.class.getSimpleName() + ".*")
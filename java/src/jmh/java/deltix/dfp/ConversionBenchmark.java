@@ -41,20 +41,37 @@ public class ConversionBenchmark {
         decimalRoundableValue = Decimal64Utils.fromLong(920000000000000L);
         decimalRoundableValue2 = Decimal64Utils.fromFixedPoint(9200000000000000L, 8);
     }
+
+    @Benchmark
     public long fromDouble() {
         return Decimal64Utils.fromDouble(doubleValue);
     }
 
+    @Benchmark
+    public long fromDoubleNative() {
+        return NativeImpl.fromFloat64(doubleValue);
+    }
+
     @Benchmark
     public double toDouble() {
         return Decimal64Utils.toDouble(decimalValue);
     }
 
+    @Benchmark
+    public double toDoubleNative() {
+        return NativeImpl.toFloat64(decimalValue);
+    }
+
     @Benchmark
     public void fromFixedPointLong(Blackhole blackhole) {
         blackhole.consume(Decimal64Utils.fromFixedPoint(longIntegerValue, 4));
     }
 
+    @Benchmark
+    public void fromFixedPointLongNative(Blackhole blackhole) {
+        blackhole.consume(NativeImpl.fromFixedPoint64(longIntegerValue, 4));
+    }
+
     @Benchmark
     public void fromFixedPointHugeLong(Blackhole blackhole) {
         blackhole.consume(Decimal64Utils.fromFixedPoint(hugeLongValue, 4));
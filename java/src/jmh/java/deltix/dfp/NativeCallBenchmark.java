@@ -0,0 +1,74 @@
+package deltix.dfp;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the native calls. On Java 22+ the multi-release JAR binds {@link NativeImpl} with
+ * the Foreign Function &amp; Memory API, while {@link NativeCallJniBenchmark} runs the same benchmarks with
+ * multi-release JARs disabled, i.e. with JNI on the same JVM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(time = 5, timeUnit = TimeUnit.SECONDS, iterations = 2)
+@Measurement(time = 5, timeUnit = TimeUnit.SECONDS, iterations = 5)
+@State(Scope.Thread)
+@Fork(2)
+public class NativeCallBenchmark {
+    private long decimalValue1;
+    private long decimalValue2;
+    private double doubleValue;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random();
+        doubleValue = random.nextDouble();
+        decimalValue1 = NativeImpl.fromFloat64(doubleValue);
+        decimalValue2 = NativeImpl.fromFloat64(random.nextDouble());
+    }
+
+    @Benchmark
+    public int version() {
+        return NativeImpl.version();
+    }
+
+    @Benchmark
+    public long addition() {
+        return NativeImpl.add2(decimalValue1, decimalValue2);
+    }
+
+    @Benchmark
+    public long multiplication() {
+        return NativeImpl.multiply2(decimalValue1, decimalValue2);
+    }
+
+    @Benchmark
+    public boolean isLess() {
+        return NativeImpl.isLess(decimalValue1, decimalValue2);
+    }
+
+    @Benchmark
+    public long fromDouble() {
+        return NativeImpl.fromFloat64(doubleValue);
+    }
+
+    @Benchmark
+    public double toDouble() {
+        return NativeImpl.toFloat64(decimalValue1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + NativeCallBenchmark.class.getSimpleName() + ".*")
+                .include(".*" + NativeCallJniBenchmark.class.getSimpleName() + ".*")
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,10 @@
+package deltix.dfp;
+
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Same as {@link NativeCallBenchmark}, but always with the JNI version of {@link NativeImpl}.
+ */
+@Fork(value = 2, jvmArgsAppend = "-Djdk.util.jar.enableMultiRelease=false")
+public class NativeCallJniBenchmark extends NativeCallBenchmark {
+}
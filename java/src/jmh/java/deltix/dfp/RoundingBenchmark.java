@@ -21,6 +21,8 @@ public class RoundingBenchmark {
     @Param({"3503800633551035011", "3566850904877432955"})
     private long decimalValue;
 
+    private final TickGrid tickGrid = new TickGrid(Decimal64Utils.fromFixedPoint(125, 3));
+
     @Setup
     public void setUp() {
         decimalValue = Decimal64Utils.fromDouble(new Random().nextDouble());
@@ -31,6 +33,11 @@ public class RoundingBenchmark {
         return Decimal64Utils.roundToNearestTiesAwayFromZero(decimalValue);
     }
 
+    @Benchmark
+    public long roundToNearestTiesAwayFromZeroNative() {
+        return NativeImpl.roundToNearestTiesAwayFromZero(decimalValue);
+    }
+
     @Benchmark
     public long roundToNearestTiesAwayFromZeroD5() {
         return Decimal64Utils.roundToNearestTiesAwayFromZero(decimalValue,
@@ -48,6 +55,17 @@ public class RoundingBenchmark {
             Decimal64Utils.fromFixedPoint(125, 3));
     }
 
+    @Benchmark
+    public long roundTowardsNegativeInfinityTickGrid() {
+        return tickGrid.roundTowardsNegativeInfinity(decimalValue);
+    }
+
+    @Benchmark
+    public long roundTowardsNegativeInfinityByDivision() {
+        return JavaImplRound.roundToMultipleByDivision(decimalValue, Decimal64Utils.fromFixedPoint(125, 3),
+            JavaImpl.BID_ROUNDING_DOWN);
+    }
+
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + RoundingBenchmark.class.getSimpleName() + ".*")
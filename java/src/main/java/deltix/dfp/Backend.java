@@ -0,0 +1,48 @@
+package deltix.dfp;
+
+import java.util.Locale;
+
+/**
+ * Selects the implementation of the {@link Decimal64Utils} arithmetic once, at class initialization.
+ * <p>
+ * The implementation is chosen with the {@code deltix.dfp.backend} system property:
+ * <ul>
+ *     <li>{@code java} (default): pure Java implementation, the native library is never extracted or loaded;</li>
+ *     <li>{@code native}: the native library, {@link Decimal64Utils} fails to initialize if it can't be loaded;</li>
+ *     <li>{@code auto}: the native library if it can be loaded, pure Java otherwise.</li>
+ * </ul>
+ * The choice is kept in the {@code static final} field, so the JIT compiler folds the dispatch away.
+ */
+final class Backend {
+    static final String PROPERTY_NAME = "deltix.dfp.backend";
+
+    static final boolean NATIVE = isNative(System.getProperty(PROPERTY_NAME, "java"));
+
+    private Backend() {
+    }
+
+    static boolean isNative(final String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "java":
+                return false;
+
+            case "native":
+                // Initializes the native library, the failure is propagated
+                NativeImpl.version();
+                return true;
+
+            case "auto":
+                try {
+                    NativeImpl.version();
+                    return true;
+                } catch (final LinkageError e) {
+                    // ExceptionInInitializerError on the first attempt, NoClassDefFoundError afterwards
+                    return false;
+                }
+
+            default:
+                throw new IllegalArgumentException("Unknown value of the " + PROPERTY_NAME + " system property: \"" + name +
+                    "\". Supported values are \"java\", \"native\" and \"auto\".");
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package deltix.dfp;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Holds(wraps) a scalar 128-bit Decimal Floating Point value with 34 digits of precision.
+ * <p>
+ * This class is immutable.
+ * <p>
+ * Every method that returns a {@code Decimal128}, returns a new instance.
+ * Use {@link Decimal128Utils} to calculate without allocations.
+ * @see Decimal128Utils
+ */
+public class Decimal128 extends Number implements Comparable<Decimal128> {
+    /// region Constants
+
+    /**
+     * A constant holding canonical representation of Not-a-Number DFP value(not signaling NaN)
+     */
+    public static final Decimal128 NaN = new Decimal128(Decimal128Utils.NaN_HIGH, Decimal128Utils.NaN_LOW);
+
+    /**
+     * A constant holding canonical representation of Positive Infinity value
+     */
+    public static final Decimal128 POSITIVE_INFINITY =
+        new Decimal128(Decimal128Utils.POSITIVE_INFINITY_HIGH, Decimal128Utils.POSITIVE_INFINITY_LOW);
+
+    /**
+     * A constant holding canonical representation of Negative Infinity value
+     */
+    public static final Decimal128 NEGATIVE_INFINITY =
+        new Decimal128(Decimal128Utils.NEGATIVE_INFINITY_HIGH, Decimal128Utils.NEGATIVE_INFINITY_LOW);
+
+    /**
+     * Zero: {@code 0}
+     */
+    public static final Decimal128 ZERO = new Decimal128(Decimal128Utils.ZERO_HIGH, Decimal128Utils.ZERO_LOW);
+
+    /**
+     * One: {@code 1}
+     */
+    public static final Decimal128 ONE = new Decimal128(Decimal128Utils.ONE_HIGH, Decimal128Utils.ONE_LOW);
+
+    /// endregion
+
+    final long high;
+    final long low;
+
+    private Decimal128(final long high, final long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    private static Decimal128 of(final long[] result) {
+        return new Decimal128(result[0], result[1]);
+    }
+
+    /// region Conversion
+
+    /**
+     * Create {@code Decimal128} instance from underlying binary value (boxing operation).
+     * @param high High word of 128-bit DFP value
+     * @param low Low word of 128-bit DFP value
+     * @return new {@code Decimal128} instance
+     */
+    public static Decimal128 fromUnderlying(final long high, final long low) {
+        return new Decimal128(high, low);
+    }
+
+    /**
+     * @return High word of the underlying binary representation
+     */
+    public long getUnderlyingHigh() {
+        return high;
+    }
+
+    /**
+     * @return Low word of the underlying binary representation
+     */
+    public long getUnderlyingLow() {
+        return low;
+    }
+
+    /**
+     * Converts 64-bit DFP value to 128-bit one. The conversion is exact.
+     * @param value {@code Decimal64} instance
+     * @return new {@code Decimal128} instance
+     */
+    public static Decimal128 fromDecimal64(final Decimal64 value) {
+        final long[] result = new long[2];
+        Decimal128Utils.fromDecimal64(value.value, result, 0);
+        return of(result);
+    }
+
+    /**
+     * Converts the value to 64-bit DFP, rounding it to 16 digits.
+     * @return new {@code Decimal64} instance
+     */
+    public Decimal64 toDecimal64() {
+        return Decimal64.fromUnderlying(Decimal128Utils.toDecimal64(high, low));
+    }
+
+    public static Decimal128 fromLong(final long value) {
+        final long[] result = new long[2];
+        Decimal128Utils.fromLong(value, result, 0);
+        return of(result);
+    }
+
+    /**
+     * Converts {@link BigDecimal} to 128-bit DFP, rounding it to 34 digits.
+     * @param value {@code BigDecimal} instance
+     * @return new {@code Decimal128} instance
+     */
+    public static Decimal128 fromBigDecimal(final BigDecimal value) {
+        return parse(value.toString());
+    }
+
+    /**
+     * Converts finite value to {@link BigDecimal} exactly.
+     * @return new {@code BigDecimal} instance
+     * @throws NumberFormatException if the value is NaN or Infinity
+     */
+    public BigDecimal toBigDecimal() {
+        if (!isFinite())
+            throw new NumberFormatException("Can't convert " + this + " to BigDecimal.");
+        return new BigDecimal(toString());
+    }
+
+    /// endregion
+
+    /// region Classification
+
+    public boolean isNaN() {
+        return Decimal128Utils.isNaN(high, low);
+    }
+
+    public boolean isInfinity() {
+        return Decimal128Utils.isInfinity(high, low);
+    }
+
+    public boolean isFinite() {
+        return Decimal128Utils.isFinite(high, low);
+    }
+
+    public boolean isZero() {
+        return Decimal128Utils.isZero(high, low);
+    }
+
+    /// endregion
+
+    /// region Comparison
+
+    /**
+     * Returns {@code true} if two values are equal arithmetically, NaN is not equal to anything.
+     * @param other value to compare
+     * @return {@code true} if the values are equal
+     */
+    public boolean isEqual(final Decimal128 other) {
+        return Decimal128Utils.isEqual(high, low, other.high, other.low);
+    }
+
+    /// endregion
+
+    /// region Arithmetic
+
+    public Decimal128 negate() {
+        final long[] result = new long[2];
+        Decimal128Utils.negate(high, low, result, 0);
+        return of(result);
+    }
+
+    public Decimal128 abs() {
+        final long[] result = new long[2];
+        Decimal128Utils.abs(high, low, result, 0);
+        return of(result);
+    }
+
+    public Decimal128 add(final Decimal128 other) {
+        final long[] result = new long[2];
+        Decimal128Utils.add(high, low, other.high, other.low, result, 0);
+        return of(result);
+    }
+
+    public Decimal128 subtract(final Decimal128 other) {
+        final long[] result = new long[2];
+        Decimal128Utils.subtract(high, low, other.high, other.low, result, 0);
+        return of(result);
+    }
+
+    public Decimal128 multiply(final Decimal128 other) {
+        final long[] result = new long[2];
+        Decimal128Utils.multiply(high, low, other.high, other.low, result, 0);
+        return of(result);
+    }
+
+    public Decimal128 divide(final Decimal128 other) {
+        final long[] result = new long[2];
+        Decimal128Utils.divide(high, low, other.high, other.low, result, 0);
+        return of(result);
+    }
+
+    /// endregion
+
+    /// region Parsing & Formatting
+
+    public Appendable appendTo(final Appendable appendable) throws IOException {
+        return Decimal128Utils.appendTo(high, low, appendable);
+    }
+
+    public StringBuilder appendTo(final StringBuilder builder) {
+        return Decimal128Utils.appendTo(high, low, builder);
+    }
+
+    /**
+     * Parses 128-bit DFP value from the given textual representation, rounding it to 34 digits.
+     * @param text Textual representation of dfp floating-point value.
+     * @return new {@code Decimal128} instance
+     * @throws NumberFormatException if {@code text} does not contain valid dfp value.
+     * @see Decimal128Utils#parse(CharSequence, int, int, long[], int)
+     */
+    public static Decimal128 parse(final CharSequence text) {
+        final long[] result = new long[2];
+        Decimal128Utils.parse(text, result, 0);
+        return of(result);
+    }
+
+    /// endregion
+
+    /// region Object Interface Implementation
+
+    /**
+     * Returns {@code true} if the given Object is an instance of Decimal128 and has the same arithmetical value.
+     * All NaNs are equal to each other, negative zero is equal to zero.
+     *
+     * @param other value to compare
+     * @return True if two decimals represents the same arithmetical value.
+     */
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof Decimal128 &&
+            Decimal128Utils.compareTo(high, low, ((Decimal128) other).high, ((Decimal128) other).low) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Decimal128Utils.hashCode(high, low);
+    }
+
+    @Override
+    public String toString() {
+        return Decimal128Utils.toString(high, low);
+    }
+
+    /// endregion
+
+    /// region Number Interface Implementation
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    @Override
+    public long longValue() {
+        return isFinite() ? toBigDecimal().longValue() : toDecimal64().longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        return isFinite() ? Double.parseDouble(toString()) : toDecimal64().doubleValue();
+    }
+
+    /// endregion
+
+    /// region Comparable<T> Interface Implementation
+
+    @Override
+    public int compareTo(final Decimal128 o) {
+        return Decimal128Utils.compareTo(high, low, o.high, o.low);
+    }
+
+    /// endregion
+}
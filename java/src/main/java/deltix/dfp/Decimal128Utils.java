@@ -0,0 +1,197 @@
+package deltix.dfp;
+
+import java.io.IOException;
+
+/**
+ * Contains methods for 128-bit Decimal Floating Point values (IEEE 754 decimal128, BID encoding) with 34 digits of
+ * precision, stored as pairs of {@code long} values: the high and the low word.
+ * <p>
+ * Methods that produce a value write it into a caller-supplied {@code long[]}: the high word goes to
+ * {@code result[offset]}, the low word to {@code result[offset + 1]}. Reuse the array to keep the calculations
+ * allocation-free, the result array may be the same as the one holding the arguments.
+ * <pre>
+ *  final long[] total = { Decimal128Utils.ZERO_HIGH, Decimal128Utils.ZERO_LOW };
+ *  final long[] buffer = new long[2];
+ *  for (final long notional : notionals) {
+ *      Decimal128Utils.fromDecimal64(notional, buffer, 0);
+ *      Decimal128Utils.add(total[0], total[1], buffer[0], buffer[1], total, 0);
+ *  }
+ * </pre>
+ * All operations round to nearest, ties to even. Every {@link Decimal64} value converts to 128-bit value exactly.
+ * @see Decimal128
+ */
+public class Decimal128Utils {
+    private Decimal128Utils() {
+    }
+
+    /// region Constants
+
+    public static final long ZERO_HIGH = JavaImpl128.ZERO_HIGH;
+    public static final long ZERO_LOW = 0;
+
+    public static final long ONE_HIGH = JavaImpl128.ZERO_HIGH;
+    public static final long ONE_LOW = 1;
+
+    public static final long NaN_HIGH = JavaImpl128.NaN_HIGH;
+    public static final long NaN_LOW = 0;
+
+    public static final long POSITIVE_INFINITY_HIGH = JavaImpl128.POSITIVE_INFINITY_HIGH;
+    public static final long POSITIVE_INFINITY_LOW = 0;
+
+    public static final long NEGATIVE_INFINITY_HIGH = JavaImpl128.NEGATIVE_INFINITY_HIGH;
+    public static final long NEGATIVE_INFINITY_LOW = 0;
+
+    /// endregion
+
+    /// region Conversion
+
+    /**
+     * Converts 64-bit DFP value to 128-bit one. The conversion is exact.
+     *
+     * @param value  64-bit DFP value.
+     * @param result Array to write the high and the low word of the result to.
+     * @param offset Index of the high word in {@code result}.
+     */
+    public static void fromDecimal64(@Decimal final long value, final long[] result, final int offset) {
+        JavaImpl128.fromDecimal64(value, result, offset);
+    }
+
+    /**
+     * Converts 128-bit DFP value to 64-bit one, rounding it to 16 digits.
+     *
+     * @param high High word of the value.
+     * @param low  Low word of the value.
+     * @return 64-bit DFP value.
+     */
+    @Decimal
+    public static long toDecimal64(final long high, final long low) {
+        return JavaImpl128.toDecimal64(high, low);
+    }
+
+    public static void fromLong(final long value, final long[] result, final int offset) {
+        JavaImpl128.fromLong(value, result, offset);
+    }
+
+    /// endregion
+
+    /// region Classification
+
+    public static boolean isNaN(final long high, final long low) {
+        return JavaImpl128.isNaN(high);
+    }
+
+    public static boolean isInfinity(final long high, final long low) {
+        return JavaImpl128.isInfinity(high);
+    }
+
+    public static boolean isFinite(final long high, final long low) {
+        return JavaImpl128.isFinite(high);
+    }
+
+    public static boolean isZero(final long high, final long low) {
+        return JavaImpl128.isZero(high, low);
+    }
+
+    /// endregion
+
+    /// region Comparison
+
+    /**
+     * Compares two values the same way as {@link Decimal64Utils#compareTo(long, long)}:
+     * NaN is greater than any other value and equal to itself, negative zero is equal to zero.
+     *
+     * @return Negative integer, zero or positive integer if the first value is less than, equal to or greater than
+     * the second value.
+     */
+    public static int compareTo(final long aHigh, final long aLow, final long bHigh, final long bLow) {
+        return JavaImpl128.compare(aHigh, aLow, bHigh, bLow);
+    }
+
+    /**
+     * Returns {@code true} if two values are equal arithmetically, NaN is not equal to anything.
+     */
+    public static boolean isEqual(final long aHigh, final long aLow, final long bHigh, final long bLow) {
+        return !JavaImpl128.isNaN(aHigh) && !JavaImpl128.isNaN(bHigh) && JavaImpl128.compare(aHigh, aLow, bHigh, bLow) == 0;
+    }
+
+    /**
+     * Returns a hash code of the arithmetical value, the same for the values with different exponents.
+     */
+    public static int hashCode(final long high, final long low) {
+        return JavaImpl128.hashCode(high, low);
+    }
+
+    /// endregion
+
+    /// region Arithmetic
+
+    public static void negate(final long high, final long low, final long[] result, final int offset) {
+        JavaImpl128.negate(high, low, result, offset);
+    }
+
+    public static void abs(final long high, final long low, final long[] result, final int offset) {
+        JavaImpl128.abs(high, low, result, offset);
+    }
+
+    public static void add(final long aHigh, final long aLow, final long bHigh, final long bLow,
+                           final long[] result, final int offset) {
+        JavaImpl128.add(aHigh, aLow, bHigh, bLow, result, offset);
+    }
+
+    public static void subtract(final long aHigh, final long aLow, final long bHigh, final long bLow,
+                                final long[] result, final int offset) {
+        JavaImpl128.subtract(aHigh, aLow, bHigh, bLow, result, offset);
+    }
+
+    public static void multiply(final long aHigh, final long aLow, final long bHigh, final long bLow,
+                                final long[] result, final int offset) {
+        JavaImpl128.multiply(aHigh, aLow, bHigh, bLow, result, offset);
+    }
+
+    public static void divide(final long aHigh, final long aLow, final long bHigh, final long bLow,
+                              final long[] result, final int offset) {
+        JavaImpl128.divide(aHigh, aLow, bHigh, bLow, result, offset);
+    }
+
+    /// endregion
+
+    /// region Parsing & Formatting
+
+    /**
+     * Parses 128-bit DFP value from the given textual representation, accepts the same format as
+     * {@link Decimal64Utils#parse(CharSequence, int, int)}. Rounds the value to 34 digits.
+     *
+     * @param text       Textual representation of dfp floating-point value.
+     * @param startIndex Index of character to start parsing at.
+     * @param endIndex   Index of character to stop parsing at, non-inclusive.
+     * @param result     Array to write the high and the low word of the result to.
+     * @param offset     Index of the high word in {@code result}.
+     * @throws NumberFormatException if {@code text} does not contain valid dfp value.
+     */
+    public static void parse(final CharSequence text, final int startIndex, final int endIndex,
+                             final long[] result, final int offset) {
+        JavaImpl128.parse(text, startIndex, endIndex, result, offset);
+    }
+
+    public static void parse(final CharSequence text, final long[] result, final int offset) {
+        JavaImpl128.parse(text, 0, text.length(), result, offset);
+    }
+
+    public static Appendable appendTo(final long high, final long low, final Appendable appendable) throws IOException {
+        return JavaImpl128.appendTo(high, low, appendable);
+    }
+
+    public static StringBuilder appendTo(final long high, final long low, final StringBuilder sb) {
+        try {
+            return JavaImpl128.appendTo(high, low, sb);
+        } catch (final IOException exception) {
+            throw new RuntimeException("IO exception was unexpected.", exception);
+        }
+    }
+
+    public static String toString(final long high, final long low) {
+        return appendTo(high, low, new StringBuilder()).toString();
+    }
+
+    /// endregion
+}
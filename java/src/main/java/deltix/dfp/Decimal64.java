@@ -1,13 +1,15 @@
 package deltix.dfp;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Holds(wraps) a scalar 64-bit Decimal Floating Point value.
  * <p>
  * This class is immutable.
  * <p>
- * Every method that returns a {@code Decimal64}, returns a new instance.
+ * Every method that returns a {@code Decimal64}, returns a new instance, except the {@code valueOf} methods,
+ * which may return cached instances.
  * <p>
  * Constructors are non-public. Can be instantiated only through static constructor methods.
  * @see Decimal64Utils
@@ -137,6 +139,64 @@ public class Decimal64 extends Number implements Comparable<Decimal64> {
         return null == obj ? Decimal64Utils.NULL : obj.value;
     }
 
+    /**
+     * Returns {@code Decimal64} instance holding the canonical representation of the given value
+     * (see {@link #canonize()}), possibly a cached one.
+     * <p>
+     * Unlike {@link #fromUnderlying(long)}, does not allocate for the small integers, the multiples of 0.01
+     * below 10 and, if the per-thread cache is enabled with the {@code deltix.dfp.valueOfCacheSize} system property,
+     * for the recently requested values.
+     * @param value 64-bit DFP value
+     * @return {@code Decimal64} instance, {@code null} if {@code value} is {@link Decimal64Utils#NULL}
+     */
+    public static Decimal64 valueOfUnderlying(@Decimal final long value) {
+        return Decimal64Cache.valueOf(value);
+    }
+
+    /**
+     * Returns {@code Decimal64} instance holding the given integer value, possibly a cached one.
+     * @param value source {@code long} integer value
+     * @return {@code Decimal64} instance
+     * @see #valueOfUnderlying(long)
+     */
+    public static Decimal64 valueOf(final long value) {
+        return Decimal64Cache.valueOf(Decimal64Utils.fromLong(value));
+    }
+
+    /**
+     * Returns {@code Decimal64} instance holding the given integer value, possibly a cached one.
+     * @param value source {@code int} value
+     * @return {@code Decimal64} instance
+     * @see #valueOfUnderlying(long)
+     */
+    public static Decimal64 valueOf(final int value) {
+        return Decimal64Cache.valueOf(Decimal64Utils.fromInt(value));
+    }
+
+    /**
+     * Returns {@code Decimal64} instance holding the fixed point decimal value: (12345, 2) -&gt; 123.45,
+     * possibly a cached one.
+     * @param mantissa source fixed point value represented as {@code long}
+     * @param numberOfDigits number of decimal digits representing fractional part
+     * @return {@code Decimal64} instance
+     * @see #valueOfUnderlying(long)
+     */
+    public static Decimal64 valueOfFixedPoint(final long mantissa, final int numberOfDigits) {
+        return Decimal64Cache.valueOf(Decimal64Utils.fromFixedPoint(mantissa, numberOfDigits));
+    }
+
+    /**
+     * Parses a dfp floating-point value from the given textual representation, see {@link #parse(CharSequence)},
+     * and returns possibly cached instance holding it.
+     * @param text Textual representation of dfp floating-point value.
+     * @return {@code Decimal64} instance
+     * @throws NumberFormatException if {@code text} does not contain valid dfp value.
+     * @see #valueOfUnderlying(long)
+     */
+    public static Decimal64 valueOf(final CharSequence text) {
+        return Decimal64Cache.valueOf(Decimal64Utils.parse(text));
+    }
+
     /**
      * Create {@code Decimal64} instance from fixed point decimal value: (12345, 2) -&gt; 123.45
      * @param mantissa source fixed point value represented as {@code long}
@@ -707,6 +767,27 @@ public class Decimal64 extends Number implements Comparable<Decimal64> {
         return Decimal64Utils.appendTo(value, builder);
     }
 
+    /**
+     * Writes the ASCII string representation to the byte array.
+     * @param dst the array to write the text to
+     * @param offset the index of the first byte to write
+     * @return the index after the last written byte
+     * @see Decimal64Utils#formatTo(long, byte[], int)
+     */
+    public int formatTo(final byte[] dst, final int offset) {
+        return Decimal64Utils.formatTo(value, dst, offset);
+    }
+
+    /**
+     * Writes the ASCII string representation to the buffer at its position and advances the position.
+     * @param dst the buffer to write the text to
+     * @return the new position of the buffer
+     * @see Decimal64Utils#formatTo(long, ByteBuffer)
+     */
+    public int formatTo(final ByteBuffer dst) {
+        return Decimal64Utils.formatTo(value, dst);
+    }
+
     /**
      * Parses a dfp floating-point value from the given textual representation.
      * <p>
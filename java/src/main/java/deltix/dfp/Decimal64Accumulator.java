@@ -0,0 +1,233 @@
+package deltix.dfp;
+
+import java.util.Arrays;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Sums {@code DFP} values exactly and rounds the sum only once, when it is requested.
+ * <p>
+ * Repeated {@link Decimal64Utils#add(long, long)} rounds after every addition, so the result depends on the order
+ * of the values and the rounding errors accumulate. The accumulator keeps an exact signed sum of coefficients for
+ * each exponent instead, a bucket that grows too large carries its higher digits to the bucket of the next exponent.
+ * Adding a value takes a few integer operations and never calls the native library.
+ * <p>
+ * The instances are not thread-safe. To sum in parallel, use an accumulator per thread and {@link #merge} them:
+ * <pre>
+ *  final Decimal64Accumulator total = fills.parallelStream().collect(
+ *      Decimal64Accumulator::new,
+ *      (accumulator, fill) -&gt; accumulator.add(fill.getAmount()),
+ *      Decimal64Accumulator::merge);
+ *  final Decimal64 amount = Decimal64.fromUnderlying(total.toDecimal64());
+ * </pre>
+ * The sum of NaN and any value, as well as the sum of positive and negative infinities, is NaN.
+ */
+public final class Decimal64Accumulator {
+    /**
+     * The exponents of the carried digits may exceed the maximal exponent of {@code DFP} by the number of digits
+     * in the sum of 2^63 maximal coefficients.
+     */
+    private static final int BUCKET_COUNT = BIASED_EXPONENT_MAX_VALUE + 1 + 40;
+
+    /** The buckets are kept within this limit, so adding a coefficient or another bucket never overflows. */
+    private static final long CARRY_LIMIT = 1L << 61;
+
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private final long[] digits = new long[BUCKET_COUNT];
+    private int minExponent = Integer.MAX_VALUE;
+    /** The zero sum is negative only if all the added values are negative zeros, as in IEEE 754 addition. */
+    private boolean hasNonNegativeZero;
+    private boolean isNaN;
+    private boolean hasPositiveInfinity;
+    private boolean hasNegativeInfinity;
+
+    /**
+     * Creates the accumulator with zero sum.
+     */
+    public Decimal64Accumulator() {
+    }
+
+    /**
+     * Adds the value to the sum.
+     * @param value {@code DFP} value to add
+     * @return {@code this}
+     */
+    public Decimal64Accumulator add(@Decimal final long value) {
+        if (isNonFinite(value)) {
+            addNonFinite(value);
+            return this;
+        }
+
+        long coefficient;
+        final int exponent;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficient = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficient > MAX_COEFFICIENT)
+                coefficient = 0;
+            exponent = (int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficient = value & SMALL_COEFFICIENT_MASK;
+            exponent = (int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        if (exponent < minExponent)
+            minExponent = exponent;
+        if (value >= 0 || coefficient != 0)
+            hasNonNegativeZero = true;
+        addToBucket(exponent, value < 0 ? -coefficient : coefficient);
+        return this;
+    }
+
+    /**
+     * Adds the value to the sum.
+     * @param value {@code Decimal64} value to add
+     * @return {@code this}
+     */
+    public Decimal64Accumulator add(final Decimal64 value) {
+        return add(value.value);
+    }
+
+    /**
+     * Adds the values of the array range to the sum.
+     * @param values array of {@code DFP} values
+     * @param fromIndex index of the first value to add
+     * @param toIndex index after the last value to add
+     * @return {@code this}
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds
+     */
+    public Decimal64Accumulator addAll(@Decimal final long[] values, final int fromIndex, final int toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > values.length)
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") is out of bounds for length " + values.length);
+
+        for (int i = fromIndex; i < toIndex; ++i)
+            add(values[i]);
+        return this;
+    }
+
+    /**
+     * Adds the values of the array to the sum.
+     * @param values array of {@code DFP} values
+     * @return {@code this}
+     */
+    public Decimal64Accumulator addAll(@Decimal final long[] values) {
+        return addAll(values, 0, values.length);
+    }
+
+    /**
+     * Adds the sum of the other accumulator to this one. The other accumulator is not changed.
+     * @param other accumulator to add
+     * @return {@code this}
+     */
+    public Decimal64Accumulator merge(final Decimal64Accumulator other) {
+        hasNonNegativeZero |= other.hasNonNegativeZero;
+        isNaN |= other.isNaN;
+        hasPositiveInfinity |= other.hasPositiveInfinity;
+        hasNegativeInfinity |= other.hasNegativeInfinity;
+        if (other.minExponent < minExponent)
+            minExponent = other.minExponent;
+
+        final long[] otherBuckets = other.buckets;
+        for (int i = other.minExponent; i < BUCKET_COUNT; ++i) {
+            if (otherBuckets[i] != 0)
+                addToBucket(i, otherBuckets[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Resets the sum to zero.
+     */
+    public void reset() {
+        if (minExponent < BUCKET_COUNT)
+            Arrays.fill(buckets, minExponent, BUCKET_COUNT, 0);
+        minExponent = Integer.MAX_VALUE;
+        hasNonNegativeZero = false;
+        isNaN = false;
+        hasPositiveInfinity = false;
+        hasNegativeInfinity = false;
+    }
+
+    /**
+     * Returns the sum, rounded to {@code DFP} to nearest, ties to even.
+     * <p>
+     * As in the exact addition, the exponent of the result is the smallest exponent of the added values,
+     * if the sum fits into 16 digits with it.
+     * @return {@code DFP} sum of the added values, zero if no values were added.
+     */
+    @Decimal
+    public long toDecimal64() {
+        if (isNaN || hasPositiveInfinity && hasNegativeInfinity)
+            return Decimal64Utils.NaN;
+        if (hasPositiveInfinity)
+            return Decimal64Utils.POSITIVE_INFINITY;
+        if (hasNegativeInfinity)
+            return Decimal64Utils.NEGATIVE_INFINITY;
+        if (minExponent > BIASED_EXPONENT_MAX_VALUE)
+            return Decimal64Utils.ZERO;
+
+        // Convert the buckets to the decimal digits, which may have different signs
+        final int minExponent = this.minExponent;
+        final long[] digits = this.digits;
+        long carry = 0;
+        for (int i = minExponent; i < BUCKET_COUNT; ++i) {
+            final long sum = buckets[i] + carry;
+            digits[i] = sum % 10;
+            carry = sum / 10;
+        }
+
+        int top = BUCKET_COUNT - 1;
+        while (top >= minExponent && digits[top] == 0)
+            --top;
+        if (top < minExponent)
+            return packCoefficient(hasNonNegativeZero ? 0 : MASK_SIGN, minExponent, 0);
+
+        // The sign of the highest digit is the sign of the sum, convert the digits to the digits of its magnitude
+        final boolean isNegative = digits[top] < 0;
+        long borrow = 0;
+        for (int i = minExponent; i <= top; ++i) {
+            long digit = (isNegative ? -digits[i] : digits[i]) - borrow;
+            borrow = 0;
+            if (digit < 0) {
+                digit += 10;
+                borrow = 1;
+            }
+            digits[i] = digit;
+        }
+        while (digits[top] == 0)
+            --top;
+
+        final int exponent = Math.max(minExponent, top - (MAX_FORMAT_DIGITS - 1));
+        long coefficient = 0;
+        for (int i = top; i >= exponent; --i)
+            coefficient = coefficient * 10 + digits[i];
+
+        if (exponent > minExponent) {
+            final long roundingDigit = digits[exponent - 1];
+            boolean isSticky = false;
+            for (int i = exponent - 2; i >= minExponent && !isSticky; --i)
+                isSticky = digits[i] != 0;
+            if (roundingDigit > 5 || roundingDigit == 5 && (isSticky || (coefficient & 1) != 0))
+                ++coefficient;
+        }
+
+        return pack(isNegative ? MASK_SIGN : 0, exponent, coefficient, BID_ROUNDING_TO_NEAREST);
+    }
+
+    private void addToBucket(int exponent, final long value) {
+        long sum = buckets[exponent] + value;
+        while (sum > CARRY_LIMIT || sum < -CARRY_LIMIT) {
+            buckets[exponent] = sum % 10;
+            sum = buckets[++exponent] + sum / 10;
+        }
+        buckets[exponent] = sum;
+    }
+
+    private void addNonFinite(@Decimal final long value) {
+        if (isNaN(value))
+            isNaN = true;
+        else if (value < 0)
+            hasNegativeInfinity = true;
+        else
+            hasPositiveInfinity = true;
+    }
+}
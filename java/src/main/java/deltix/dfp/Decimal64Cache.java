@@ -0,0 +1,96 @@
+package deltix.dfp;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Cache of {@link Decimal64} instances, used by the {@code Decimal64.valueOf} methods.
+ * <p>
+ * The instances of the integers from {@value #MIN_INTEGER} to {@value #MAX_INTEGER} and of the positive multiples
+ * of 0.01 below {@value #MAX_CENTS}/100 are preallocated. Other values are looked up in the optional per-thread
+ * direct-mapped cache, which keeps the most recent value for each slot. Its size is set with the
+ * {@code deltix.dfp.valueOfCacheSize} system property, rounded up to a power of two, the default is 0 (disabled).
+ * <p>
+ * All cached instances hold canonical values (see {@link Decimal64Utils#canonize(long)}).
+ */
+final class Decimal64Cache {
+    static final String PROPERTY_NAME = "deltix.dfp.valueOfCacheSize";
+
+    static final int MIN_INTEGER = -128;
+    static final int MAX_INTEGER = 1024;
+    static final int MAX_CENTS = 1000;
+
+    private static final Decimal64[] INTEGERS = new Decimal64[MAX_INTEGER - MIN_INTEGER + 1];
+    private static final Decimal64[] CENTS = new Decimal64[MAX_CENTS];
+
+    private static final int THREAD_CACHE_MASK = threadCacheSize(System.getProperty(PROPERTY_NAME, "0")) - 1;
+    private static final ThreadLocal<Decimal64[]> THREAD_CACHE = THREAD_CACHE_MASK < 0 ? null :
+        ThreadLocal.withInitial(() -> new Decimal64[THREAD_CACHE_MASK + 1]);
+
+    static {
+        for (int i = MIN_INTEGER; i <= MAX_INTEGER; ++i)
+            INTEGERS[i - MIN_INTEGER] = i == 0 ? Decimal64.ZERO : i == 1 ? Decimal64.ONE :
+                Decimal64.fromUnderlying(Decimal64Utils.canonize(Decimal64Utils.fromInt(i)));
+        for (int i = 0; i < MAX_CENTS; ++i)
+            CENTS[i] = i % 100 == 0 ? INTEGERS[i / 100 - MIN_INTEGER] :
+                Decimal64.fromUnderlying(Decimal64Utils.canonize(Decimal64Utils.fromFixedPoint(i, 2)));
+    }
+
+    private Decimal64Cache() {
+    }
+
+    static int threadCacheSize(final String value) {
+        final int size;
+        try {
+            size = Integer.parseInt(value.trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + PROPERTY_NAME + " value: " + value, e);
+        }
+        if (size < 0 || size > 1 << 20)
+            throw new IllegalArgumentException("Invalid " + PROPERTY_NAME + " value: " + value);
+        return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    static Decimal64 valueOf(@Decimal final long value) {
+        if (value == Decimal64Utils.NULL)
+            return null;
+        if (isNonFinite(value))
+            return isNaN(value) ? Decimal64.NaN : value < 0 ? Decimal64.NEGATIVE_INFINITY : Decimal64.POSITIVE_INFINITY;
+
+        final long canonical = canonizeFinite(value);
+        final Decimal64 preallocated = preallocated(canonical);
+        if (preallocated != null)
+            return preallocated;
+
+        if (THREAD_CACHE == null)
+            return Decimal64.fromUnderlying(canonical);
+
+        final Decimal64[] cache = THREAD_CACHE.get();
+        final int index = Long.hashCode(canonical * 0x9E3779B97F4A7C15L) & THREAD_CACHE_MASK;
+        final Decimal64 cached = cache[index];
+        if (cached != null && cached.value == canonical)
+            return cached;
+        return cache[index] = Decimal64.fromUnderlying(canonical);
+    }
+
+    private static Decimal64 preallocated(@Decimal final long canonical) {
+        // Coefficients of the cached values are small
+        if ((canonical & MASK_SPECIAL) == MASK_SPECIAL)
+            return null;
+
+        final long coefficient = canonical & SMALL_COEFFICIENT_MASK;
+        final int exponent = ((int) (canonical >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK) - EXPONENT_BIAS;
+        if (exponent >= 0) {
+            if (exponent > 3 || coefficient > MAX_INTEGER)
+                return null;
+            final long integer = coefficient * POWERS_OF_TEN[exponent];
+            if (canonical < 0)
+                return integer <= -MIN_INTEGER ? INTEGERS[(int) (-integer - MIN_INTEGER)] : null;
+            return integer <= MAX_INTEGER ? INTEGERS[(int) (integer - MIN_INTEGER)] : null;
+        }
+
+        if (exponent < -2 || canonical < 0 || coefficient >= MAX_CENTS)
+            return null;
+        final long cents = coefficient * POWERS_OF_TEN[exponent + 2];
+        return cents < MAX_CENTS ? CENTS[(int) cents] : null;
+    }
+}
@@ -0,0 +1,154 @@
+package deltix.dfp;
+
+import java.util.Arrays;
+
+/**
+ * Growable column of {@code DFP} values, stored as the underlying {@code long} values in an array,
+ * like {@code ArrayList<Decimal64>} without boxing.
+ * <p>
+ * The instances are not thread-safe.
+ */
+public final class Decimal64Column {
+    private static final long[] EMPTY = {};
+
+    private long[] values;
+    private int size;
+
+    public Decimal64Column() {
+        values = EMPTY;
+    }
+
+    /**
+     * @param initialCapacity the number of values the column may hold before it grows
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public Decimal64Column(final int initialCapacity) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Capacity " + initialCapacity + " is negative");
+        values = initialCapacity == 0 ? EMPTY : new long[initialCapacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index the index of the value
+     * @return the value at the index
+     * @throws IndexOutOfBoundsException if the index is out of range {@code [0, size())}.
+     */
+    @Decimal
+    public long get(final int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * @param index the index of the value
+     * @param value the new value
+     * @throws IndexOutOfBoundsException if the index is out of range {@code [0, size())}.
+     */
+    public void set(final int index, @Decimal final long value) {
+        checkIndex(index);
+        values[index] = value;
+    }
+
+    public void add(@Decimal final long value) {
+        if (size == values.length)
+            grow(size + 1);
+        values[size++] = value;
+    }
+
+    public void add(final Decimal64 value) {
+        add(Decimal64.toUnderlying(value));
+    }
+
+    public void addAll(final Decimal64Column other) {
+        addAll(other.values, 0, other.size);
+    }
+
+    /**
+     * Appends the values of the array range.
+     * @param src the array of the underlying values
+     * @param from the index of the first value to append
+     * @param to the index after the last value to append
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    public void addAll(final long[] src, final int from, final int to) {
+        if (from < 0 || from > to || to > src.length)
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds for length " + src.length);
+        final int count = to - from;
+        if (size + count > values.length || size + count < 0)
+            grow(size + count);
+        System.arraycopy(src, from, values, size, count);
+        size += count;
+    }
+
+    /**
+     * Removes all the values, keeps the capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Shrinks the column, if it has more values.
+     * @param newSize the new number of values
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    public void truncate(final int newSize) {
+        if (newSize < 0)
+            throw new IllegalArgumentException("Size " + newSize + " is negative");
+        if (newSize < size)
+            size = newSize;
+    }
+
+    public void ensureCapacity(final int capacity) {
+        if (capacity > values.length)
+            grow(capacity);
+    }
+
+    /**
+     * Returns the array, which holds the values in the range {@code [0, size())}, without copying.
+     * The array is replaced by a larger one, when the column grows.
+     * @return the array of the underlying values
+     */
+    public long[] getRawArray() {
+        return values;
+    }
+
+    /**
+     * @return the copy of the underlying values.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void grow(final int capacity) {
+        if (capacity < 0)
+            throw new OutOfMemoryError("Column size exceeds the maximal array length");
+        // Grow by half, but not beyond the maximal array length, unless more is requested
+        final long grown = Math.min(values.length + (values.length >> 1) + 16L, Integer.MAX_VALUE - 8);
+        values = Arrays.copyOf(values, (int) Math.max(grown, capacity));
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder().append('[');
+        for (int i = 0; i < size; ++i) {
+            if (i > 0)
+                sb.append(", ");
+            sb.append(Decimal64Utils.toString(values[i]));
+        }
+        return sb.append(']').toString();
+    }
+}
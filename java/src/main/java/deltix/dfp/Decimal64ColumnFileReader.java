@@ -0,0 +1,230 @@
+package deltix.dfp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+import static deltix.dfp.Decimal64ColumnFileWriter.*;
+
+/**
+ * Reads {@code DFP} values of the column file, written by {@link Decimal64ColumnFileWriter}, straight from
+ * the memory-mapped buffers, by index or with cursors, without copying them.
+ * <p>
+ * The file is mapped by the parts of up to 1 GB, so it may be larger than the memory and than 2 GB.
+ * The mapped buffers stay valid, till they are garbage collected, even after the reader is closed.
+ * <p>
+ * The reader is thread-safe, the cursors are not.
+ * <p>
+ * Example:
+ * <pre>
+ *  try (Decimal64ColumnFileReader reader = new Decimal64ColumnFileReader(path)) {
+ *      // Skip the blocks, which have no prices above the limit
+ *      for (long block = 0; block &lt; reader.getBlockCount(); ++block) {
+ *          if (Decimal64Utils.isGreater(reader.getBlockMax(block), limit)) {
+ *              final Decimal64ColumnFileReader.Cursor cursor = reader.cursor(block * reader.getBlockSize());
+ *              ...
+ *          }
+ *      }
+ *  }
+ * </pre>
+ */
+public final class Decimal64ColumnFileReader implements Closeable {
+    private final FileChannel channel;
+    private final long size;
+    private final int blockSize;
+    private final long blockCount;
+    private final LongBuffer[] segments;
+    private final LongBuffer[] statistics;
+
+    /**
+     * Opens and maps the file.
+     * @param path the path of the file
+     * @throws IOException if the file can't be read or is not the column file.
+     */
+    public Decimal64ColumnFileReader(final Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_SIZE)
+                throw new IOException("File " + path + " is too short for the column file");
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getLong(0) != MAGIC)
+                throw new IOException("File " + path + " is not the column file");
+            if (header.getInt(VERSION_OFFSET) != VERSION)
+                throw new IOException("Unsupported version " + header.getInt(VERSION_OFFSET) + " of the column file " + path);
+
+            size = header.getLong(SIZE_OFFSET);
+            blockSize = header.getInt(BLOCK_SIZE_OFFSET);
+            if (size < 0 || blockSize < 0 || size > (Long.MAX_VALUE - HEADER_SIZE) / (3 * Long.BYTES))
+                throw new IOException("Column file " + path + " is corrupted");
+            blockCount = blockSize != 0 ? (size + blockSize - 1) / blockSize : 0;
+
+            final long valuesEnd = HEADER_SIZE + size * Long.BYTES;
+            if (channel.size() < valuesEnd + blockCount * 2 * Long.BYTES)
+                throw new IOException("Column file " + path + " is truncated");
+            segments = map(HEADER_SIZE, size);
+            statistics = map(valuesEnd, blockCount * 2);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private LongBuffer[] map(final long position, final long count) throws IOException {
+        final LongBuffer[] buffers = new LongBuffer[(int) ((count + SEGMENT_VALUES - 1) >>> SEGMENT_SHIFT)];
+        for (int i = 0; i < buffers.length; ++i) {
+            final long start = (long) i << SEGMENT_SHIFT;
+            buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + start * Long.BYTES,
+                Math.min(count - start, SEGMENT_VALUES) * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        }
+        return buffers;
+    }
+
+    /**
+     * @return the number of values.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @param index the index of the value
+     * @return the value at the index
+     * @throws IndexOutOfBoundsException if the index is out of range {@code [0, size())}.
+     */
+    @Decimal
+    public long get(final long index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
+        return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) index & (SEGMENT_VALUES - 1));
+    }
+
+    /**
+     * @return {@code true} if the file has the minimal and the maximal values of the blocks.
+     */
+    public boolean hasStatistics() {
+        return blockSize != 0;
+    }
+
+    /**
+     * @return the number of values per statistics block, 0 if the file has no statistics.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * @return the number of statistics blocks, the last block may be shorter than the others.
+     */
+    public long getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * @param block the index of the block
+     * @return the minimal value of the block, except {@code NaN}s, or {@code NaN}, if the block has only {@code NaN}s.
+     * @throws IndexOutOfBoundsException if the index is out of range {@code [0, getBlockCount())}.
+     */
+    @Decimal
+    public long getBlockMin(final long block) {
+        return getStatistics(block, 0);
+    }
+
+    /**
+     * @param block the index of the block
+     * @return the maximal value of the block, except {@code NaN}s, or {@code NaN}, if the block has only {@code NaN}s.
+     * @throws IndexOutOfBoundsException if the index is out of range {@code [0, getBlockCount())}.
+     */
+    @Decimal
+    public long getBlockMax(final long block) {
+        return getStatistics(block, 1);
+    }
+
+    private long getStatistics(final long block, final int offset) {
+        if (block < 0 || block >= blockCount)
+            throw new IndexOutOfBoundsException("Block " + block + " is out of bounds for count " + blockCount);
+        final long index = block * 2 + offset;
+        return statistics[(int) (index >>> SEGMENT_SHIFT)].get((int) index & (SEGMENT_VALUES - 1));
+    }
+
+    /**
+     * @return the cursor before the first value.
+     */
+    public Cursor cursor() {
+        return new Cursor(0);
+    }
+
+    /**
+     * @param index the index of the first value to read
+     * @return the cursor before the value at the index
+     * @throws IndexOutOfBoundsException if the index is out of range {@code [0, size()]}.
+     */
+    public Cursor cursor(final long index) {
+        return new Cursor(index);
+    }
+
+    /**
+     * Closes the file; the mapped buffers are not unmapped, so the reader and its cursors still may be used.
+     * @throws IOException if the channel throws it.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Sequential reader of the values, which may be moved to any index.
+     */
+    public final class Cursor {
+        private LongBuffer segment;
+        private long index;
+
+        private Cursor(final long index) {
+            seek(index);
+        }
+
+        /**
+         * Moves the cursor before the value at the index.
+         * @param index the index of the next value to read
+         * @throws IndexOutOfBoundsException if the index is out of range {@code [0, size()]}.
+         */
+        public void seek(final long index) {
+            if (index < 0 || index > size)
+                throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
+            this.index = index;
+            segment = index < size ? segments[(int) (index >>> SEGMENT_SHIFT)] : null;
+        }
+
+        /**
+         * @return the index of the next value.
+         */
+        public long position() {
+            return index;
+        }
+
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * @return the next value
+         * @throws NoSuchElementException if the cursor is at the end of the file.
+         */
+        @Decimal
+        public long next() {
+            if (index >= size)
+                throw new NoSuchElementException("End of the column file");
+            final int offset = (int) index & (SEGMENT_VALUES - 1);
+            if (offset == 0)
+                segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+            index++;
+            return segment.get(offset);
+        }
+    }
+}
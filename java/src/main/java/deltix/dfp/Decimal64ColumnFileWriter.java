@@ -0,0 +1,276 @@
+package deltix.dfp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes {@code DFP} values to the column file through the memory-mapped buffers.
+ * <p>
+ * The file consists of:
+ * <ul>
+ *     <li>the header of {@value #HEADER_SIZE} bytes: the magic number {@code "DFP64COL"}, the 4-byte version,
+ *     the 4-byte number of values per statistics block or 0, if the file has no statistics, the 8-byte number
+ *     of values, and zeros till the end of the header;</li>
+ *     <li>the underlying values, 8 bytes each;</li>
+ *     <li>the minimal and the maximal value of every block of values, if the file has statistics; {@code NaN}s are
+ *     skipped, so the statistics of the block of only {@code NaN}s are {@code NaN}s.</li>
+ * </ul>
+ * All numbers are little-endian.
+ * <p>
+ * The values are written to the temporary file next to the target one, with the {@code ".tmp"} suffix, which is moved
+ * in place of the target file atomically, when the writer is closed, so the readers of the previous file keep reading
+ * it safely, and the target file is never partially written. The header of the temporary file is written with
+ * no values; the number of values is updated after the values and the statistics are forced to the storage.
+ * Windows doesn't allow to replace the file, which is mapped by a reader, so there the readers must be closed and
+ * garbage collected first.
+ * <p>
+ * Only the values are written through the mapped buffers: the mapped part starts from 64 KB and doubles up to 16 MB,
+ * so the file grows ahead of the values by the size of the last part. The statistics and the header are written
+ * through the channel, then the file is truncated after the statistics; a file with a mapped part can't be truncated
+ * on some platforms, so there the file may end with zeros.
+ * <p>
+ * The instances are not thread-safe.
+ * <p>
+ * Example:
+ * <pre>
+ *  try (Decimal64ColumnFileWriter writer = new Decimal64ColumnFileWriter(path, 4096)) {
+ *      for (...)
+ *          writer.write(price);
+ *  }
+ * </pre>
+ * @see Decimal64ColumnFileReader
+ */
+public final class Decimal64ColumnFileWriter implements Closeable {
+    static final long MAGIC = 0x4C4F433436504644L; // "DFP64COL" in little-endian
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int VERSION_OFFSET = 8;
+    static final int BLOCK_SIZE_OFFSET = 12;
+    static final int SIZE_OFFSET = 16;
+
+    /** The number of values in one mapped buffer, the buffers are limited to 2 GB. */
+    static final int SEGMENT_SHIFT = 27;
+    static final int SEGMENT_VALUES = 1 << SEGMENT_SHIFT;
+
+    /** The values are mapped by smaller parts while they are written, the part size doubles up to the maximum. */
+    private static final int MIN_WRITE_SEGMENT_SIZE = 1 << 16;
+    private static final int MAX_WRITE_SEGMENT_SIZE = 1 << 24;
+
+    /** The statistics are written through the buffer of this size. */
+    private static final int STATISTICS_BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final Path temporaryPath;
+    private final FileChannel channel;
+    private final int blockSize;
+    private final Decimal64Column blockMins;
+    private final Decimal64Column blockMaxs;
+    @Decimal
+    private long blockMin = Decimal64Utils.NaN;
+    @Decimal
+    private long blockMax = Decimal64Utils.NaN;
+
+    private MappedByteBuffer mappedSegment;
+    private LongBuffer segment;
+    private int writeSegmentSize = MIN_WRITE_SEGMENT_SIZE;
+    private long size;
+    private boolean closed;
+
+    /**
+     * Creates the temporary file without statistics, which replaces the file at the path on close.
+     * @param path the path of the file
+     * @throws IOException if the file can't be created.
+     */
+    public Decimal64ColumnFileWriter(final Path path) throws IOException {
+        this(path, 0);
+    }
+
+    /**
+     * Creates the temporary file, which replaces the file at the path on close, and writes the header without values.
+     * @param path the path of the file
+     * @param blockSize the number of values per statistics block, 0 for the file without statistics
+     * @throws IOException if the file can't be created.
+     * @throws IllegalArgumentException if the block size is negative.
+     */
+    public Decimal64ColumnFileWriter(final Path path, final int blockSize) throws IOException {
+        if (blockSize < 0)
+            throw new IllegalArgumentException("Block size " + blockSize + " is negative");
+        this.blockSize = blockSize;
+        this.blockMins = blockSize != 0 ? new Decimal64Column() : null;
+        this.blockMaxs = blockSize != 0 ? new Decimal64Column() : null;
+        this.path = path;
+        this.temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(0, MAGIC);
+            header.putInt(VERSION_OFFSET, VERSION);
+            header.putInt(BLOCK_SIZE_OFFSET, blockSize);
+            header.putLong(SIZE_OFFSET, 0);
+            writeFully(header, 0);
+            channel.force(true);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            deleteTemporaryFile(e);
+            throw e;
+        }
+    }
+
+    public void write(@Decimal final long value) throws IOException {
+        if (segment == null || !segment.hasRemaining())
+            nextSegment();
+        segment.put(value);
+        size++;
+
+        if (blockSize != 0) {
+            if (!Decimal64Utils.isNaN(value)) {
+                blockMin = Decimal64Utils.isNaN(blockMin) ? value : Decimal64Utils.min(blockMin, value);
+                blockMax = Decimal64Utils.isNaN(blockMax) ? value : Decimal64Utils.max(blockMax, value);
+            }
+            if (size % blockSize == 0)
+                completeBlock();
+        }
+    }
+
+    public void write(final Decimal64 value) throws IOException {
+        write(Decimal64.toUnderlying(value));
+    }
+
+    /**
+     * Writes the values of the array range.
+     * @param src the array of the underlying values
+     * @param from the index of the first value to write
+     * @param to the index after the last value to write
+     * @throws IOException if the file can't be extended.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    public void writeAll(final long[] src, final int from, final int to) throws IOException {
+        if (from < 0 || from > to || to > src.length)
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds for length " + src.length);
+        if (blockSize != 0) {
+            for (int i = from; i < to; ++i)
+                write(src[i]);
+            return;
+        }
+
+        for (int i = from; i < to; ) {
+            if (segment == null || !segment.hasRemaining())
+                nextSegment();
+            final int count = Math.min(segment.remaining(), to - i);
+            segment.put(src, i, count);
+            size += count;
+            i += count;
+        }
+    }
+
+    public void writeAll(final Decimal64Column column) throws IOException {
+        writeAll(column.getRawArray(), 0, column.size());
+    }
+
+    /**
+     * @return the number of the written values.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes the statistics, forces the values and the statistics to the storage, then updates the number of values
+     * in the header, closes the temporary file and moves it in place of the target file.
+     * If it fails, the temporary file is deleted and the target file is left as it was.
+     * @throws IOException if the file can't be written or moved.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+
+        try {
+            try {
+                finish();
+            } finally {
+                channel.close();
+            }
+            Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException | RuntimeException e) {
+            deleteTemporaryFile(e);
+            throw e;
+        }
+    }
+
+    private void finish() throws IOException {
+        if (mappedSegment != null)
+            mappedSegment.force();
+        mappedSegment = null;
+        segment = null;
+
+        long position = HEADER_SIZE + size * Long.BYTES;
+        if (blockSize != 0) {
+            if (size % blockSize != 0)
+                completeBlock();
+            final ByteBuffer statistics = ByteBuffer.allocate(STATISTICS_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (int block = 0; block < blockMins.size(); ++block) {
+                statistics.putLong(blockMins.get(block)).putLong(blockMaxs.get(block));
+                if (!statistics.hasRemaining() || block == blockMins.size() - 1) {
+                    statistics.flip();
+                    position += writeFully(statistics, position);
+                    statistics.clear();
+                }
+            }
+        }
+        try {
+            channel.truncate(position);
+        } catch (final IOException ignored) {
+            // The mapped part of the values is not released yet, the file keeps the zeros after the statistics
+        }
+        channel.force(true);
+
+        final ByteBuffer count = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        count.putLong(0, size);
+        writeFully(count, SIZE_OFFSET);
+        channel.force(true);
+    }
+
+    private void nextSegment() throws IOException {
+        if (closed)
+            throw new IllegalStateException("Writer is closed");
+        if (mappedSegment != null)
+            mappedSegment.force();
+        mappedSegment = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + size * Long.BYTES, writeSegmentSize);
+        segment = mappedSegment.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        writeSegmentSize = Math.min(writeSegmentSize * 2, MAX_WRITE_SEGMENT_SIZE);
+    }
+
+    private void deleteTemporaryFile(final Exception cause) {
+        try {
+            Files.deleteIfExists(temporaryPath);
+        } catch (final IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private int writeFully(final ByteBuffer buffer, final long position) throws IOException {
+        final int length = buffer.remaining();
+        while (buffer.hasRemaining())
+            channel.write(buffer, position + length - buffer.remaining());
+        return length;
+    }
+
+    private void completeBlock() {
+        blockMins.add(blockMin);
+        blockMaxs.add(blockMax);
+        blockMin = Decimal64Utils.NaN;
+        blockMax = Decimal64Utils.NaN;
+    }
+}
@@ -0,0 +1,375 @@
+package deltix.dfp;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parses the selected fields of delimited text, e.g. CSV, to {@link Decimal64Column}s, straight from the bytes,
+ * without creating {@code String}s.
+ * <p>
+ * The text is read from a {@link ReadableByteChannel}, from a {@link ByteBuffer}, e.g. a memory-mapped file,
+ * or from a {@link FileChannel}, which is memory-mapped and parsed by chunks in parallel. The lines end with
+ * {@code '\n'} or {@code "\r\n"}, empty lines are skipped, the fields are separated by the single-byte delimiter and
+ * accept the same text as {@link Decimal64Utils#parse(CharSequence)}; quoting and spaces around the values are not
+ * supported. The values with more than 16 significant digits are rounded to the nearest, ties to even.
+ * <p>
+ * A field, which is not a number or missing, throws {@link NumberFormatException} with the byte offset of the line,
+ * unless the format has the value for the invalid fields, see {@link #withInvalidValue(long)}.
+ * <p>
+ * The instances are immutable and thread-safe.
+ * <p>
+ * Example:
+ * <pre>
+ *  // Bid and ask prices are the 3rd and 4th fields: timestamp,symbol,bid,ask
+ *  final Decimal64ColumnParser parser = new Decimal64ColumnParser(',', 2, 3).withHeaderLines(1);
+ *  try (FileChannel file = FileChannel.open(path)) {
+ *      final Decimal64Column[] columns = parser.parse(file, Runtime.getRuntime().availableProcessors());
+ *      final Decimal64Column bids = columns[0];
+ *      final Decimal64Column asks = columns[1];
+ *  }
+ * </pre>
+ */
+public final class Decimal64ColumnParser {
+    /** The size of the file chunk, parsed by one task; the chunks are mapped separately, so they are less than 2 GB. */
+    private static final long MAX_CHUNK_SIZE = 1 << 30;
+    /** The file is not split to the chunks less than this. */
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final byte delimiter;
+    private final int[] fields;
+    /** The index of the column for every field up to the last selected, -1 for the fields, which are not selected. */
+    private final int[] columnIndices;
+    private final int headerLines;
+    private final boolean hasInvalidValue;
+    @Decimal
+    private final long invalidValue;
+
+    /**
+     * Creates the parser of the given fields.
+     * @param delimiter the ASCII character, which separates the fields, e.g. {@code ','} or {@code '\t'}
+     * @param fields the zero-based indices of the fields to parse, the columns are returned in the same order
+     * @throws IllegalArgumentException if the delimiter is not an ASCII character, which may not be a part of a number,
+     * or the fields are empty, negative or duplicated.
+     */
+    public Decimal64ColumnParser(final char delimiter, final int... fields) {
+        if (delimiter >= 0x80 || delimiter == '\n' || delimiter == '\r' ||
+            delimiter >= '0' && delimiter <= '9' || delimiter == '.' || delimiter == '+' || delimiter == '-' ||
+            delimiter >= 'A' && delimiter <= 'Z' || delimiter >= 'a' && delimiter <= 'z')
+            throw new IllegalArgumentException("Invalid delimiter: '" + delimiter + "'");
+        if (fields.length == 0)
+            throw new IllegalArgumentException("No fields to parse");
+
+        int maxField = 0;
+        for (final int field : fields) {
+            if (field < 0)
+                throw new IllegalArgumentException("Field index " + field + " is negative");
+            maxField = Math.max(maxField, field);
+        }
+        final int[] columnIndices = new int[maxField + 1];
+        Arrays.fill(columnIndices, -1);
+        for (int i = 0; i < fields.length; ++i) {
+            if (columnIndices[fields[i]] >= 0)
+                throw new IllegalArgumentException("Field index " + fields[i] + " is duplicated");
+            columnIndices[fields[i]] = i;
+        }
+
+        this.delimiter = (byte) delimiter;
+        this.fields = fields.clone();
+        this.columnIndices = columnIndices;
+        this.headerLines = 0;
+        this.hasInvalidValue = false;
+        this.invalidValue = Decimal64Utils.NaN;
+    }
+
+    private Decimal64ColumnParser(final Decimal64ColumnParser parser, final int headerLines,
+                                  final boolean hasInvalidValue, @Decimal final long invalidValue) {
+        this.delimiter = parser.delimiter;
+        this.fields = parser.fields;
+        this.columnIndices = parser.columnIndices;
+        this.headerLines = headerLines;
+        this.hasInvalidValue = hasInvalidValue;
+        this.invalidValue = invalidValue;
+    }
+
+    /**
+     * Returns the parser, which skips the given number of the first lines.
+     * @param headerLines the number of lines to skip
+     * @return the parser
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public Decimal64ColumnParser withHeaderLines(final int headerLines) {
+        if (headerLines < 0)
+            throw new IllegalArgumentException("Number of header lines " + headerLines + " is negative");
+        return new Decimal64ColumnParser(this, headerLines, hasInvalidValue, invalidValue);
+    }
+
+    /**
+     * Returns the parser, which stores the given value instead of the fields, which are not numbers or missing,
+     * e.g. {@link Decimal64Utils#NaN} or {@link Decimal64Utils#NULL}.
+     * @param invalidValue the value for the invalid fields
+     * @return the parser
+     */
+    public Decimal64ColumnParser withInvalidValue(@Decimal final long invalidValue) {
+        return new Decimal64ColumnParser(this, headerLines, true, invalidValue);
+    }
+
+    /**
+     * Parses the text from the position to the limit of the buffer; the position is not changed.
+     * @param src the buffer with the text
+     * @return the columns of the values of the selected fields, in the order of the fields
+     * @throws NumberFormatException if a field is invalid and the parser has no value for the invalid fields.
+     */
+    public Decimal64Column[] parse(final ByteBuffer src) {
+        final Chunk chunk = new Chunk(headerLines, 0);
+        if (src.hasArray())
+            chunk.parse(src.array(), null, src.arrayOffset() + src.position(), src.arrayOffset() + src.limit(), true);
+        else
+            chunk.parse(null, src, src.position(), src.limit(), true);
+        return chunk.columns;
+    }
+
+    /**
+     * Reads the text from the channel till its end and parses it by blocks, which hold at least one line.
+     * @param src the blocking channel with the text
+     * @return the columns of the values of the selected fields, in the order of the fields
+     * @throws IOException if the channel throws it.
+     * @throws NumberFormatException if a field is invalid and the parser has no value for the invalid fields.
+     */
+    public Decimal64Column[] parse(final ReadableByteChannel src) throws IOException {
+        final Chunk chunk = new Chunk(headerLines, 0);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (true) {
+            final boolean isLast = src.read(buffer) < 0;
+            final int end = chunk.parse(buffer.array(), null, 0, buffer.position(), isLast);
+            if (isLast)
+                return chunk.columns;
+
+            chunk.offset += end;
+            if (end == 0 && !buffer.hasRemaining()) {
+                // The line is longer than the buffer
+                final ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                buffer = larger.put(buffer);
+            } else {
+                // Move the incomplete line to the start
+                System.arraycopy(buffer.array(), end, buffer.array(), 0, buffer.position() - end);
+                buffer.position(buffer.position() - end);
+            }
+        }
+    }
+
+    /**
+     * Maps the file to the memory and parses it by chunks, split at the line boundaries, in parallel.
+     * The position of the channel is not changed.
+     * @param src the file channel, open for reading
+     * @param parallelism the number of threads, which parse the chunks; the files less than 1 MB are parsed by
+     *                    the calling thread
+     * @return the columns of the values of the selected fields, in the order of the fields
+     * @throws IOException if the channel throws it.
+     * @throws NumberFormatException if a field is invalid and the parser has no value for the invalid fields.
+     * @throws IllegalArgumentException if the parallelism is not positive.
+     */
+    public Decimal64Column[] parse(final FileChannel src, final int parallelism) throws IOException {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism " + parallelism + " is not positive");
+
+        final long size = src.size();
+        long start = 0;
+        for (int i = 0; i < headerLines; ++i)
+            start = findLineStart(src, start, size);
+
+        // Split the text after the headers to chunks, every chunk starts after the line end in the chunk before it
+        final long length = size - start;
+        final int count = (int) Math.max(Math.min(parallelism, length / MIN_CHUNK_SIZE),
+            (length + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+        final long[] bounds = new long[Math.max(count, 1) + 1];
+        bounds[0] = start;
+        for (int i = 1; i < bounds.length - 1; ++i)
+            bounds[i] = Math.max(findLineStart(src, start + length * i / count - 1, size), bounds[i - 1]);
+        bounds[bounds.length - 1] = size;
+
+        final List<Callable<Decimal64Column[]>> tasks = new ArrayList<>(bounds.length - 1);
+        for (int i = 0; i < bounds.length - 1; ++i) {
+            final long from = bounds[i];
+            final long to = bounds[i + 1];
+            if (to - from > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Line at offset " + from + " is too long");
+            tasks.add(() -> {
+                final Chunk chunk = new Chunk(0, from);
+                chunk.parse(null, src.map(FileChannel.MapMode.READ_ONLY, from, to - from), 0, (int) (to - from), true);
+                return chunk.columns;
+            });
+        }
+
+        if (tasks.size() == 1) {
+            try {
+                return tasks.get(0).call();
+            } catch (final IOException | RuntimeException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()));
+        try {
+            final List<Future<Decimal64Column[]>> futures = executor.invokeAll(tasks);
+            final Decimal64Column[][] results = new Decimal64Column[futures.size()][];
+            for (int i = 0; i < results.length; ++i)
+                results[i] = futures.get(i).get();
+            return concatenate(results);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Parsing is interrupted", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Decimal64Column[] concatenate(final Decimal64Column[][] chunks) {
+        final Decimal64Column[] columns = new Decimal64Column[fields.length];
+        for (int i = 0; i < columns.length; ++i) {
+            long size = 0;
+            for (final Decimal64Column[] chunk : chunks)
+                size += chunk[i].size();
+            if (size > Integer.MAX_VALUE - 8)
+                throw new OutOfMemoryError("Column size exceeds the maximal array length");
+            columns[i] = new Decimal64Column((int) size);
+            for (final Decimal64Column[] chunk : chunks)
+                columns[i].addAll(chunk[i]);
+        }
+        return columns;
+    }
+
+    /**
+     * @return The offset after the first line end at or after the position, or the size, if there is no line end.
+     */
+    private static long findLineStart(final FileChannel src, long position, final long size) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+        while (position < size) {
+            buffer.clear();
+            final int count = src.read(buffer, position);
+            if (count <= 0)
+                break;
+            for (int i = 0; i < count; ++i)
+                if (buffer.get(i) == '\n')
+                    return position + i + 1;
+            position += count;
+        }
+        return size;
+    }
+
+    /**
+     * The parsing state of one part of the text: the columns and the lines, which remain to be skipped.
+     */
+    private final class Chunk {
+        final Decimal64Column[] columns = new Decimal64Column[fields.length];
+        final Decimal64ParseResult result = new Decimal64ParseResult();
+        int headerLines;
+        /** The offset of the index 0 of the array or the buffer in the text, for the error messages. */
+        long offset;
+
+        Chunk(final int headerLines, final long offset) {
+            for (int i = 0; i < columns.length; ++i)
+                columns[i] = new Decimal64Column();
+            this.headerLines = headerLines;
+            this.offset = offset;
+        }
+
+        /**
+         * Parses the complete lines of the array, if it is not {@code null}, or of the buffer.
+         * @param isLast {@code true} if the text ends at the end index, even without the line end.
+         * @return The index after the last parsed line.
+         */
+        int parse(final byte[] array, final ByteBuffer buffer, final int from, final int to, final boolean isLast) {
+            int start = from;
+            while (start < to) {
+                int end = start;
+                while (end < to && get(array, buffer, end) != '\n')
+                    ++end;
+                if (end == to && !isLast)
+                    return start;
+
+                final int next = end + 1;
+                if (end > start && get(array, buffer, end - 1) == '\r')
+                    --end;
+                if (headerLines > 0)
+                    --headerLines;
+                else if (end > start)
+                    parseLine(array, buffer, start, end);
+                start = next;
+            }
+            return to;
+        }
+
+        private void parseLine(final byte[] array, final ByteBuffer buffer, final int start, final int end) {
+            int field = 0;
+            int fieldStart = start;
+            for (int i = start; ; ++i) {
+                if (i == end || get(array, buffer, i) == delimiter) {
+                    final int columnIndex = columnIndices[field];
+                    if (columnIndex >= 0)
+                        columns[columnIndex].add(parseField(array, buffer, fieldStart, i, start));
+                    if (++field == columnIndices.length)
+                        return;
+                    if (i == end)
+                        break;
+                    fieldStart = i + 1;
+                }
+            }
+
+            // The line has less fields than expected
+            for (; field < columnIndices.length; ++field) {
+                if (columnIndices[field] >= 0) {
+                    if (!hasInvalidValue)
+                        throw new NumberFormatException("Missing field " + field + " in line at offset " + (offset + start));
+                    columns[columnIndices[field]].add(invalidValue);
+                }
+            }
+        }
+
+        @Decimal
+        private long parseField(final byte[] array, final ByteBuffer buffer, final int from, final int to, final int lineStart) {
+            if (array != null)
+                JavaImplParse.parse(array, from, to, RoundingMode.HALF_EVEN, result);
+            else
+                JavaImplParse.parse(buffer, from, to, RoundingMode.HALF_EVEN, result);
+            if (result.isValid())
+                return result.value;
+            if (hasInvalidValue)
+                return invalidValue;
+
+            final byte[] text = new byte[to - from];
+            for (int i = 0; i < text.length; ++i)
+                text[i] = (byte) get(array, buffer, from + i);
+            throw new NumberFormatException("Invalid field \"" + new String(text, StandardCharsets.ISO_8859_1) +
+                "\" in line at offset " + (offset + lineStart));
+        }
+    }
+
+    private static int get(final byte[] array, final ByteBuffer buffer, final int index) {
+        return array != null ? array[index] : buffer.get(index);
+    }
+}
@@ -0,0 +1,245 @@
+package deltix.dfp;
+
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+
+/**
+ * Formats {@code DFP} values in one of the styles: with a fixed number of digits after the point, with a fixed number of
+ * significant digits, in the scientific or engineering notation, or compact.
+ * <p>
+ * The value is rounded to the requested digits while it is formatted, in the rounding mode of the format,
+ * {@link RoundingMode#HALF_UP} by default; {@link RoundingMode#UNNECESSARY} throws {@link ArithmeticException},
+ * if the rounding is needed. The text is appended to {@link StringBuilder} or written as ASCII bytes to an array or
+ * a buffer, without allocations. {@code NaN} and infinities are written the same as by
+ * {@link Decimal64Utils#appendTo(long, StringBuilder)}; negative values, which are rounded to zero, are written without
+ * the minus sign.
+ * <p>
+ * The instances are immutable and thread-safe, so they are supposed to be created once and reused.
+ * <p>
+ * Example:
+ * <pre>
+ *  private static final Decimal64Format PRICE_FORMAT = Decimal64Format.fixed(4);
+ *
+ *  private void appendPrice(final StringBuilder sb, final @Decimal long price) {
+ *      PRICE_FORMAT.appendTo(price, sb); // 1.23456 is written as 1.2346, 7 as 7.0000
+ *  }
+ * </pre>
+ */
+public final class Decimal64Format {
+    /** The maximal number of digits after the point for the fixed style, enough for the smallest exponent. */
+    public static final int MAX_SCALE = JavaImpl.EXPONENT_BIAS;
+
+    /** The maximal number of significant digits. */
+    public static final int MAX_SIGNIFICANT_DIGITS = JavaImpl.MAX_FORMAT_DIGITS;
+
+    private final int style;
+    private final int precision;
+    private final RoundingMode roundingMode;
+
+    private Decimal64Format(final int style, final int precision, final RoundingMode roundingMode) {
+        if (roundingMode == null)
+            throw new NullPointerException("roundingMode");
+        this.style = style;
+        this.precision = precision;
+        this.roundingMode = roundingMode;
+    }
+
+    /**
+     * Creates the format with the fixed number of digits after the point, like {@code "%.4f"}:
+     * 1.23456 with the scale 4 is written as {@code 1.2346}, 7 as {@code 7.0000}. The scale 0 writes integers
+     * without the point.
+     * @param scale the number of digits after the point, from 0 to {@link #MAX_SCALE}
+     * @return the format
+     * @throws IllegalArgumentException if the scale is out of range.
+     */
+    public static Decimal64Format fixed(final int scale) {
+        checkRange("Scale", scale, 0, MAX_SCALE);
+        return new Decimal64Format(JavaImplFormat.STYLE_FIXED, scale, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Creates the format with the fixed number of significant digits, in the plain notation:
+     * 1234.5678 with 3 significant digits is written as {@code 1230}, 1.5 as {@code 1.50}, 0.0012345 as {@code 0.00123}.
+     * @param digits the number of significant digits, from 1 to {@link #MAX_SIGNIFICANT_DIGITS}
+     * @return the format
+     * @throws IllegalArgumentException if the number of digits is out of range.
+     */
+    public static Decimal64Format significant(final int digits) {
+        checkRange("Number of significant digits", digits, 1, MAX_SIGNIFICANT_DIGITS);
+        return new Decimal64Format(JavaImplFormat.STYLE_SIGNIFICANT, digits, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Creates the format with one digit before the point and the exponent, with as many digits as needed:
+     * 1234.5 is written as {@code 1.2345E+3}, 0.05 as {@code 5E-2}.
+     * @return the format
+     */
+    public static Decimal64Format scientific() {
+        return new Decimal64Format(JavaImplFormat.STYLE_SCIENTIFIC, 0, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Creates the format with one digit before the point and the exponent, with the fixed number of significant digits:
+     * 1234.5 with 3 significant digits is written as {@code 1.23E+3}, 0.05 as {@code 5.00E-2}.
+     * @param digits the number of significant digits, from 1 to {@link #MAX_SIGNIFICANT_DIGITS}
+     * @return the format
+     * @throws IllegalArgumentException if the number of digits is out of range.
+     */
+    public static Decimal64Format scientific(final int digits) {
+        checkRange("Number of significant digits", digits, 1, MAX_SIGNIFICANT_DIGITS);
+        return new Decimal64Format(JavaImplFormat.STYLE_SCIENTIFIC, digits, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Creates the format with one to three digits before the point and the exponent, which is a multiple of three,
+     * with as many digits as needed: 12345 is written as {@code 12.345E+3}, 0.05 as {@code 50E-3}.
+     * @return the format
+     */
+    public static Decimal64Format engineering() {
+        return new Decimal64Format(JavaImplFormat.STYLE_ENGINEERING, 0, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Creates the format with one to three digits before the point and the exponent, which is a multiple of three,
+     * with the fixed number of significant digits: 12345 with 2 significant digits is written as {@code 12E+3}.
+     * If the number of digits is less than the digits before the point, these are padded with zeros:
+     * 12345 with 1 significant digit is written as {@code 10E+3}.
+     * @param digits the number of significant digits, from 1 to {@link #MAX_SIGNIFICANT_DIGITS}
+     * @return the format
+     * @throws IllegalArgumentException if the number of digits is out of range.
+     */
+    public static Decimal64Format engineering(final int digits) {
+        checkRange("Number of significant digits", digits, 1, MAX_SIGNIFICANT_DIGITS);
+        return new Decimal64Format(JavaImplFormat.STYLE_ENGINEERING, digits, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Creates the format, which writes the values from 1E-7 to 1E+16 (excluding) in the plain notation and the others
+     * in the scientific notation, with as many digits as needed: 123.45 is written as {@code 123.45},
+     * 1E+20 as {@code 1E+20}. The values are never rounded.
+     * @return the format
+     */
+    public static Decimal64Format compact() {
+        return new Decimal64Format(JavaImplFormat.STYLE_COMPACT, 0, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Returns the format of the same style, which rounds with the given mode.
+     * @param roundingMode the rounding mode
+     * @return the format
+     */
+    public Decimal64Format withRoundingMode(final RoundingMode roundingMode) {
+        return roundingMode == this.roundingMode ? this : new Decimal64Format(style, precision, roundingMode);
+    }
+
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    /**
+     * Appends the formatted value to the {@link StringBuilder}.
+     * @param value {@code DFP} argument
+     * @param sb the {@link StringBuilder} to append the text to
+     * @return {@code sb}
+     * @throws ArithmeticException if the rounding mode is {@link RoundingMode#UNNECESSARY} and the value needs rounding
+     */
+    public StringBuilder appendTo(@Decimal final long value, final StringBuilder sb) {
+        return JavaImplFormat.appendTo(value, style, precision, roundingMode, sb);
+    }
+
+    public StringBuilder appendTo(final Decimal64 value, final StringBuilder sb) {
+        return appendTo(value.value, sb);
+    }
+
+    /**
+     * Writes the formatted value as ASCII bytes to the array.
+     * @param value {@code DFP} argument
+     * @param dst the array to write the text to
+     * @param offset the index of the first byte to write
+     * @return the index after the last written byte
+     * @throws IndexOutOfBoundsException if the text does not fit into the array
+     * @throws ArithmeticException if the rounding mode is {@link RoundingMode#UNNECESSARY} and the value needs rounding
+     */
+    public int formatTo(@Decimal final long value, final byte[] dst, final int offset) {
+        return JavaImplFormat.formatTo(value, style, precision, roundingMode, dst, offset);
+    }
+
+    public int formatTo(final Decimal64 value, final byte[] dst, final int offset) {
+        return formatTo(value.value, dst, offset);
+    }
+
+    /**
+     * Writes the formatted value as ASCII bytes to the buffer at its position and advances the position.
+     * @param value {@code DFP} argument
+     * @param dst the buffer to write the text to
+     * @return the new position of the buffer
+     * @throws java.nio.BufferOverflowException if the text does not fit before the limit of the buffer,
+     * the position is not changed then
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     * @throws ArithmeticException if the rounding mode is {@link RoundingMode#UNNECESSARY} and the value needs rounding
+     */
+    public int formatTo(@Decimal final long value, final ByteBuffer dst) {
+        return JavaImplFormat.formatTo(value, style, precision, roundingMode, dst);
+    }
+
+    public int formatTo(final Decimal64 value, final ByteBuffer dst) {
+        return formatTo(value.value, dst);
+    }
+
+    /**
+     * @param value {@code DFP} argument
+     * @return the formatted value
+     * @throws ArithmeticException if the rounding mode is {@link RoundingMode#UNNECESSARY} and the value needs rounding
+     */
+    public String format(@Decimal final long value) {
+        return appendTo(value, new StringBuilder()).toString();
+    }
+
+    public String format(final Decimal64 value) {
+        return format(value.value);
+    }
+
+    private static void checkRange(final String name, final int value, final int min, final int max) {
+        if (value < min || value > max)
+            throw new IllegalArgumentException(name + " " + value + " is out of range [" + min + ", " + max + "]");
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof Decimal64Format))
+            return false;
+        final Decimal64Format format = (Decimal64Format) other;
+        return style == format.style && precision == format.precision && roundingMode == format.roundingMode;
+    }
+
+    @Override
+    public int hashCode() {
+        return (style * 31 + precision) * 31 + roundingMode.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final String name;
+        switch (style) {
+            case JavaImplFormat.STYLE_FIXED:
+                name = "fixed";
+                break;
+            case JavaImplFormat.STYLE_SIGNIFICANT:
+                name = "significant";
+                break;
+            case JavaImplFormat.STYLE_SCIENTIFIC:
+                name = "scientific";
+                break;
+            case JavaImplFormat.STYLE_ENGINEERING:
+                name = "engineering";
+                break;
+            default:
+                name = "compact";
+                break;
+        }
+        return "Decimal64Format(" + name + (precision != 0 || style == JavaImplFormat.STYLE_FIXED ? ", " + precision : "") +
+            ", " + roundingMode + ")";
+    }
+}
@@ -0,0 +1,85 @@
+package deltix.dfp;
+
+/**
+ * Reusable holder of the outcome of the parsing that doesn't throw on invalid text, see
+ * {@link Decimal64Utils#parse(CharSequence, int, int, java.math.RoundingMode, Decimal64ParseResult)}.
+ * <p>
+ * The status is a bit set of the flags {@link #INEXACT}, {@link #OVERFLOW}, {@link #UNDERFLOW} and {@link #INVALID},
+ * it is {@link #OK} if the text was parsed without rounding.
+ * Every parsing overwrites both the value and the status, so one instance may be reused for any number of parsings,
+ * but not by several threads at once.
+ */
+public final class Decimal64ParseResult {
+    /**
+     * The text is a valid number, represented exactly.
+     */
+    public static final int OK = 0;
+
+    /**
+     * The value was rounded: the text has more than 16 significant digits or the value is too small or too large.
+     */
+    public static final int INEXACT = 1;
+
+    /**
+     * The value is too large: it was replaced by the infinity or by the maximal finite value, according to the
+     * rounding mode. Always comes with {@link #INEXACT}.
+     */
+    public static final int OVERFLOW = 2;
+
+    /**
+     * The value is too small to be represented with 16 significant digits and was rounded.
+     * Always comes with {@link #INEXACT}.
+     */
+    public static final int UNDERFLOW = 4;
+
+    /**
+     * The text is not a valid number, the value is {@link Decimal64Utils#NaN}.
+     */
+    public static final int INVALID = 8;
+
+    @Decimal
+    long value = JavaImpl.NaN;
+    int status = INVALID;
+
+    /**
+     * @return parsed value, {@link Decimal64Utils#NaN} if the text is not a valid number.
+     */
+    @Decimal
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * @return parsed value, {@link Decimal64#NaN} if the text is not a valid number.
+     */
+    public Decimal64 toDecimal64() {
+        return Decimal64.fromUnderlying(value);
+    }
+
+    /**
+     * @return bit set of the status flags.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return {@code true} if the text is a valid number, even if the value was rounded.
+     */
+    public boolean isValid() {
+        return (status & INVALID) == 0;
+    }
+
+    /**
+     * @return {@code true} if the text is a valid number, represented exactly.
+     */
+    public boolean isExact() {
+        return status == OK;
+    }
+
+    long set(@Decimal final long value, final int status) {
+        this.value = value;
+        this.status = status;
+        return value;
+    }
+}
@@ -1,6 +1,8 @@
 package deltix.dfp;
 
 import java.io.IOException;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 
 /**
  * Contains common arithmetical routines for 64-bit Decimal Floating Point numbers as defined by IEEE-754 2008.
@@ -9,8 +11,15 @@ import java.io.IOException;
  * numbers. Working directly with decimal (base-10) fractions can avoid the rounding errors that otherwise typically
  * occur when converting between decimal fractions (common in human-entered data, such as measurements or financial
  * information) and binary (base-2) fractions.
+ * <p>
+ * The arithmetic is implemented in pure Java by default. The native implementation can be selected with the
+ * {@code deltix.dfp.backend} system property: {@code native} requires the native library to be loaded, while
+ * {@code auto} falls back to pure Java if the library can't be loaded.
  */
 public class Decimal64Utils {
+    /** Selected once, so the JIT compiler folds the checks away, see {@link Backend}. */
+    private static final boolean NATIVE = Backend.NATIVE;
+
     /// region Constants
 
     /**
@@ -294,8 +303,8 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long fromFixedPoint(final long mantissa, final int numberOfDigits) {
-        // TODO: Can also create java version for this one
-        return NativeImpl.fromFixedPoint64(mantissa, numberOfDigits);
+        return NATIVE ? NativeImpl.fromFixedPoint64(mantissa, numberOfDigits) :
+            JavaImpl.fromFixedPoint64(mantissa, numberOfDigits);
     }
 
     /**
@@ -328,7 +337,7 @@ public class Decimal64Utils {
      * @return fixed-point decimal value represented as @{code long}
      */
     public static long toFixedPoint(@Decimal final long value, final int numberOfDigits) {
-        return NativeImpl.toFixedPoint(value, numberOfDigits);
+        return NATIVE ? NativeImpl.toFixedPoint(value, numberOfDigits) : JavaImpl.toFixedPoint(value, numberOfDigits);
     }
 
     /**
@@ -338,7 +347,7 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long fromDouble(final double value) {
-        return NativeImpl.fromFloat64(value);
+        return NATIVE ? NativeImpl.fromFloat64(value) : JavaImplCast.fromDouble(value);
     }
 
     /**
@@ -348,7 +357,7 @@ public class Decimal64Utils {
      * @return {@code double} value
      */
     public static double toDouble(@Decimal final long value) {
-        return NativeImpl.toFloat64(value);
+        return NATIVE ? NativeImpl.toFloat64(value) : JavaImplCast.toDouble(value);
     }
 
     /**
@@ -358,7 +367,7 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long fromLong(final long value) {
-        return NativeImpl.fromInt64(value);
+        return NATIVE ? NativeImpl.fromInt64(value) : JavaImpl.fromInt64(value);
     }
 
     /**
@@ -368,7 +377,7 @@ public class Decimal64Utils {
      * @return {@code long} integer value
      */
     public static long toLong(@Decimal final long value) {
-        return NativeImpl.toInt64(value);
+        return NATIVE ? NativeImpl.toInt64(value) : JavaImpl.toInt64(value);
     }
 
     /**
@@ -389,7 +398,7 @@ public class Decimal64Utils {
      * @return {@code int} value
      */
     public static int toInt(@Decimal final long value) {
-        return NativeImpl.toInt32(value);
+        return NATIVE ? NativeImpl.toInt32(value) : JavaImpl.toInt32(value);
     }
 
     /// endregion
@@ -417,7 +426,7 @@ public class Decimal64Utils {
     }
 
     public static boolean isNormal(@Decimal final long value) {
-        return NativeImpl.isNormal(value);
+        return NATIVE ? NativeImpl.isNormal(value) : JavaImpl.isNormal(value);
     }
 
     /// endregion
@@ -425,31 +434,31 @@ public class Decimal64Utils {
     /// region Comparison
 
     public static int compareTo(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.compare(a, b);
+        return NATIVE ? NativeImpl.compare(a, b) : JavaImplCmp.compare(a, b);
     }
 
     public static boolean isEqual(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.isEqual(a, b);
+        return NATIVE ? NativeImpl.isEqual(a, b) : JavaImplCmp.isEqual(a, b);
     }
 
     public static boolean isNotEqual(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.isNotEqual(a, b);
+        return NATIVE ? NativeImpl.isNotEqual(a, b) : JavaImplCmp.isNotEqual(a, b);
     }
 
     public static boolean isLess(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.isLess(a, b);
+        return NATIVE ? NativeImpl.isLess(a, b) : JavaImplCmp.isLess(a, b);
     }
 
     public static boolean isLessOrEqual(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.isLessOrEqual(a, b);
+        return NATIVE ? NativeImpl.isLessOrEqual(a, b) : JavaImplCmp.isLessOrEqual(a, b);
     }
 
     public static boolean isGreater(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.isGreater(a, b);
+        return NATIVE ? NativeImpl.isGreater(a, b) : JavaImplCmp.isGreater(a, b);
     }
 
     public static boolean isGreaterOrEqual(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.isGreaterOrEqual(a, b);
+        return NATIVE ? NativeImpl.isGreaterOrEqual(a, b) : JavaImplCmp.isGreaterOrEqual(a, b);
     }
 
     public static boolean isZero(@Decimal final long value) {
@@ -457,23 +466,23 @@ public class Decimal64Utils {
     }
 
     public static boolean isNonZero(@Decimal final long value) {
-        return NativeImpl.isNonZero(value);
+        return NATIVE ? NativeImpl.isNonZero(value) : JavaImplCmp.isNonZero(value);
     }
 
     public static boolean isPositive(@Decimal final long value) {
-        return NativeImpl.isPositive(value);
+        return NATIVE ? NativeImpl.isPositive(value) : JavaImplCmp.isPositive(value);
     }
 
     public static boolean isNegative(@Decimal final long value) {
-        return NativeImpl.isNegative(value);
+        return NATIVE ? NativeImpl.isNegative(value) : JavaImplCmp.isNegative(value);
     }
 
     public static boolean isNonPositive(@Decimal final long value) {
-        return NativeImpl.isNonPositive(value);
+        return NATIVE ? NativeImpl.isNonPositive(value) : JavaImplCmp.isNonPositive(value);
     }
 
     public static boolean isNonNegative(@Decimal final long value) {
-        return NativeImpl.isNonNegative(value);
+        return NATIVE ? NativeImpl.isNonNegative(value) : JavaImplCmp.isNonNegative(value);
     }
 
     /// endregion
@@ -482,32 +491,32 @@ public class Decimal64Utils {
 
     @Decimal
     public static long max(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.max2(a, b);
+        return NATIVE ? NativeImpl.max2(a, b) : JavaImplCmp.max(a, b);
     }
 
     @Decimal
     public static long max(@Decimal final long a, @Decimal final long b, @Decimal final long c) {
-        return NativeImpl.max3(a, b, c);
+        return NATIVE ? NativeImpl.max3(a, b, c) : JavaImplCmp.max(JavaImplCmp.max(a, b), c);
     }
 
     @Decimal
     public static long max(@Decimal final long a, @Decimal final long b, @Decimal final long c, @Decimal final long d) {
-        return NativeImpl.max4(a, b, c, d);
+        return NATIVE ? NativeImpl.max4(a, b, c, d) : JavaImplCmp.max(JavaImplCmp.max(a, b), JavaImplCmp.max(c, d));
     }
 
     @Decimal
     public static long min(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.min2(a, b);
+        return NATIVE ? NativeImpl.min2(a, b) : JavaImplCmp.min(a, b);
     }
 
     @Decimal
     public static long min(@Decimal final long a, @Decimal final long b, @Decimal final long c) {
-        return NativeImpl.min3(a, b, c);
+        return NATIVE ? NativeImpl.min3(a, b, c) : JavaImplCmp.min(JavaImplCmp.min(a, b), c);
     }
 
     @Decimal
     public static long min(@Decimal final long a, @Decimal final long b, @Decimal final long c, @Decimal final long d) {
-        return NativeImpl.min4(a, b, c, d);
+        return NATIVE ? NativeImpl.min4(a, b, c, d) : JavaImplCmp.min(JavaImplCmp.min(a, b), JavaImplCmp.min(c, d));
     }
 
     /// endregion
@@ -526,62 +535,63 @@ public class Decimal64Utils {
 
     @Decimal
     public static long add(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.add2(a, b);
+        return NATIVE ? NativeImpl.add2(a, b) : JavaImplAdd.add(a, b);
     }
 
     @Decimal
     public static long add(@Decimal final long a, @Decimal final long b, @Decimal final long c) {
-        return NativeImpl.add3(a, b, c);
+        return NATIVE ? NativeImpl.add3(a, b, c) : JavaImplAdd.add(JavaImplAdd.add(a, b), c);
     }
 
     @Decimal
     public static long add(@Decimal final long a, @Decimal final long b, @Decimal final long c, @Decimal final long d) {
-        return NativeImpl.add4(a, b, c, d);
+        return NATIVE ? NativeImpl.add4(a, b, c, d) : JavaImplAdd.add(JavaImplAdd.add(JavaImplAdd.add(a, b), c), d);
     }
 
     @Decimal
     public static long subtract(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.subtract(a, b);
+        return NATIVE ? NativeImpl.subtract(a, b) : JavaImplAdd.subtract(a, b);
     }
 
     @Decimal
     public static long multiply(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.multiply2(a, b);
+        return NATIVE ? NativeImpl.multiply2(a, b) : JavaImplMul.multiply(a, b);
     }
 
     @Decimal
     public static long multiply(@Decimal final long a, @Decimal final long b, @Decimal final long c) {
-        return NativeImpl.multiply3(a, b, c);
+        return NATIVE ? NativeImpl.multiply3(a, b, c) : JavaImplMul.multiply(JavaImplMul.multiply(a, b), c);
     }
 
     @Decimal
     public static long multiply(@Decimal final long a, @Decimal final long b, @Decimal final long c, @Decimal final long d) {
-        return NativeImpl.multiply4(a, b, c, d);
+        return NATIVE ? NativeImpl.multiply4(a, b, c, d) :
+            JavaImplMul.multiply(JavaImplMul.multiply(JavaImplMul.multiply(a, b), c), d);
     }
 
     @Decimal
     public static long multiplyByInteger(@Decimal final long a, final int b) {
-        return NativeImpl.multiplyByInt32(a, b);
+        return NATIVE ? NativeImpl.multiplyByInt32(a, b) : JavaImplMul.multiply(a, JavaImpl.fromInt32(b));
     }
 
     @Decimal
     public static long multiplyByInteger(@Decimal final long a, final long b) {
-        return NativeImpl.multiplyByInt64(a, b);
+        return NATIVE ? NativeImpl.multiplyByInt64(a, b) : JavaImplMul.multiply(a, JavaImpl.fromInt64(b));
     }
 
     @Decimal
     public static long divide(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.divide(a, b);
+        return NATIVE ? NativeImpl.divide(a, b) : JavaImplDiv.divide(a, b);
     }
 
     @Decimal
     public static long divideByInteger(@Decimal final long a, final int b) {
-        return NativeImpl.divideByInt32(a, b);
+        return NATIVE ? NativeImpl.divideByInt32(a, b) : JavaImplDiv.divideByInteger(a, b);
     }
 
     @Decimal
     public static long divideByInteger(@Decimal final long a, final long b) {
-        return NativeImpl.divideByInt64(a, b);
+        return NATIVE ? NativeImpl.divideByInt64(a, b) : JavaImplDiv.divideByInteger(a, b);
     }
 
     /**
@@ -596,22 +606,22 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long multiplyAndAdd(@Decimal final long a, @Decimal final long b, @Decimal final long c) {
-        return NativeImpl.multiplyAndAdd(a, b, c);
+        return NATIVE ? NativeImpl.multiplyAndAdd(a, b, c) : JavaImplFma.multiplyAndAdd(a, b, c);
     }
 
     @Decimal
     public static long scaleByPowerOfTen(@Decimal final long a, @Decimal final int n) {
-        return NativeImpl.scaleByPowerOfTen(a, n);
+        return NATIVE ? NativeImpl.scaleByPowerOfTen(a, n) : JavaImpl.scaleByPowerOfTen(a, n);
     }
 
     @Decimal
     public static long average(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.mean2(a, b);
+        return NATIVE ? NativeImpl.mean2(a, b) : JavaImplDiv.divide(JavaImplAdd.add(a, b), TWO);
     }
 
     @Decimal
     public static long mean(@Decimal final long a, @Decimal final long b) {
-        return NativeImpl.mean2(a, b);
+        return NATIVE ? NativeImpl.mean2(a, b) : JavaImplDiv.divide(JavaImplAdd.add(a, b), TWO);
     }
 
     /// endregion
@@ -630,7 +640,8 @@ public class Decimal64Utils {
     @Decimal
     @Deprecated
     public static long ceil(@Decimal final long value) {
-        return NativeImpl.roundTowardsPositiveInfinity(value);
+        return NATIVE ? NativeImpl.roundTowardsPositiveInfinity(value) :
+            JavaImplRound.roundTowardsPositiveInfinity(value);
     }
 
     /**
@@ -645,7 +656,8 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long ceiling(@Decimal final long value) {
-        return NativeImpl.roundTowardsPositiveInfinity(value);
+        return NATIVE ? NativeImpl.roundTowardsPositiveInfinity(value) :
+            JavaImplRound.roundTowardsPositiveInfinity(value);
     }
 
     /**
@@ -658,7 +670,8 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long roundTowardsPositiveInfinity(@Decimal final long value) {
-        return NativeImpl.roundTowardsPositiveInfinity(value);
+        return NATIVE ? NativeImpl.roundTowardsPositiveInfinity(value) :
+            JavaImplRound.roundTowardsPositiveInfinity(value);
     }
 
     /**
@@ -671,7 +684,8 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long floor(@Decimal final long value) {
-        return NativeImpl.roundTowardsNegativeInfinity(value);
+        return NATIVE ? NativeImpl.roundTowardsNegativeInfinity(value) :
+            JavaImplRound.roundTowardsNegativeInfinity(value);
     }
 
     /**
@@ -683,7 +697,8 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long roundTowardsNegativeInfinity(@Decimal final long value) {
-        return NativeImpl.roundTowardsNegativeInfinity(value);
+        return NATIVE ? NativeImpl.roundTowardsNegativeInfinity(value) :
+            JavaImplRound.roundTowardsNegativeInfinity(value);
     }
 
     /**
@@ -696,7 +711,7 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long truncate(@Decimal final long value) {
-        return NativeImpl.roundTowardsZero(value);
+        return NATIVE ? NativeImpl.roundTowardsZero(value) : JavaImplRound.roundTowardsZero(value);
     }
 
 
@@ -709,7 +724,7 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long roundTowardsZero(@Decimal final long value) {
-        return NativeImpl.roundTowardsZero(value);
+        return NATIVE ? NativeImpl.roundTowardsZero(value) : JavaImplRound.roundTowardsZero(value);
     }
 
     /**
@@ -737,7 +752,8 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long round(@Decimal final long value) {
-        return NativeImpl.roundToNearestTiesAwayFromZero(value);
+        return NATIVE ? NativeImpl.roundToNearestTiesAwayFromZero(value) :
+            JavaImplRound.roundToNearestTiesAwayFromZero(value);
     }
 
     /**
@@ -748,7 +764,8 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long roundToNearestTiesAwayFromZero(@Decimal final long value) {
-        return NativeImpl.roundToNearestTiesAwayFromZero(value);
+        return NATIVE ? NativeImpl.roundToNearestTiesAwayFromZero(value) :
+            JavaImplRound.roundToNearestTiesAwayFromZero(value);
     }
 
     /**
@@ -780,8 +797,7 @@ public class Decimal64Utils {
         if (isNaN(value))
             return value;
 
-        @Decimal final long ratio = ceiling(divide(value, multiple));
-        return multiply(ratio, multiple);
+        return JavaImplRound.roundToMultiple(value, multiple, JavaImpl.BID_ROUNDING_UP);
     }
 
     /**
@@ -813,8 +829,7 @@ public class Decimal64Utils {
         if (isNaN(value))
             return value;
 
-        @Decimal final long ratio = floor(divide(value, multiple));
-        return multiply(ratio, multiple);
+        return JavaImplRound.roundToMultiple(value, multiple, JavaImpl.BID_ROUNDING_DOWN);
     }
 
     /**
@@ -834,8 +849,7 @@ public class Decimal64Utils {
         if (isNaN(value))
             return value;
 
-        @Decimal final long ratio = NativeImpl.roundToNearestTiesAwayFromZero(divide(value, multiple));
-        return multiply(ratio, multiple);
+        return JavaImplRound.roundToMultiple(value, multiple, JavaImpl.BID_ROUNDING_TIES_AWAY);
     }
 
     /// endregion
@@ -849,7 +863,7 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long nextUp(@Decimal final long value) {
-        return NativeImpl.nextUp(value);
+        return NATIVE ? NativeImpl.nextUp(value) : JavaImpl.nextUp(value);
     }
 
     /**
@@ -859,7 +873,7 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long nextDown(@Decimal final long value) {
-        return NativeImpl.nextDown(value);
+        return NATIVE ? NativeImpl.nextDown(value) : JavaImpl.nextDown(value);
     }
 
     /**
@@ -906,6 +920,7 @@ public class Decimal64Utils {
      * Append string representation of {@code DFP} value to {@link StringBuilder} {@code sb}
      * <p>
      * Same as {@code sb.append(value.toString());}, but more efficient.
+     * To write a fixed number of decimals or significant digits, or the scientific notation, see {@link Decimal64Format}.
      * @param value {@code DFP64} argument
      * @param sb {@link StringBuilder} instance to which the string representation of the {@code value} will be appended
      * @return the value of 2nd argument ({@link StringBuilder} {@code sb})
@@ -919,6 +934,36 @@ public class Decimal64Utils {
         }
     }
 
+    /**
+     * Writes the ASCII string representation of {@code DFP} {@code value} to the byte array.
+     * <p>
+     * Writes the same text as {@link #appendTo(long, Appendable)}, at most 401 bytes, without allocations.
+     * @param value {@code DFP64} argument
+     * @param dst the array to write the text to
+     * @param offset the index of the first byte to write
+     * @return the index after the last written byte
+     * @throws IndexOutOfBoundsException if the text does not fit into the array
+     */
+    public static int formatTo(@Decimal final long value, final byte[] dst, final int offset) {
+        return JavaImplFormat.formatTo(value, dst, offset);
+    }
+
+    /**
+     * Writes the ASCII string representation of {@code DFP} {@code value} to the buffer at its position
+     * and advances the position.
+     * <p>
+     * Writes the same text as {@link #appendTo(long, Appendable)}, at most 401 bytes, without allocations.
+     * @param value {@code DFP64} argument
+     * @param dst the buffer to write the text to
+     * @return the new position of the buffer
+     * @throws java.nio.BufferOverflowException if the text does not fit before the limit of the buffer,
+     * the position is not changed then
+     * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+     */
+    public static int formatTo(@Decimal final long value, final ByteBuffer dst) {
+        return JavaImplFormat.formatTo(value, dst);
+    }
+
     /**
      * Parses a dfp floating-point value from the given textual representation.
      * <p>
@@ -940,7 +985,7 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long parse(final CharSequence text, final int startIndex, final int endIndex) {
-        return JavaImpl.parse(text, startIndex, endIndex, 0);
+        return JavaImpl.parse(text, startIndex, endIndex, RoundingMode.HALF_EVEN, null);
     }
 
     /**
@@ -966,6 +1011,44 @@ public class Decimal64Utils {
         return parse(text, startIndex, text.length());
     }
 
+    /**
+     * Parses a dfp floating-point value from the ASCII bytes of the array.
+     * <p>
+     * Accepts the same text and produces the same value as {@link #parse(CharSequence, int, int)},
+     * without decoding the bytes to a {@code String}.
+     *
+     * @param src  Array, holding textual representation of dfp floating-point value.
+     * @param from Index of the first byte of the text.
+     * @param to   Index after the last byte of the text.
+     * @return parsed 64-bit decimal floating point value.
+     * @throws NumberFormatException if the bytes do not contain valid dfp value.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    @Decimal
+    public static long parse(final byte[] src, final int from, final int to) {
+        return JavaImplParse.parse(src, from, to, RoundingMode.HALF_EVEN, null);
+    }
+
+    /**
+     * Parses a dfp floating-point value from the ASCII bytes of the buffer, at the absolute indices;
+     * the position of the buffer is not changed.
+     * <p>
+     * Accepts the same text and produces the same value as {@link #parse(CharSequence, int, int)},
+     * without decoding the bytes to a {@code String}. To parse the off-heap memory of a
+     * {@code java.lang.foreign.MemorySegment} without copying, pass its {@code asByteBuffer()} view.
+     *
+     * @param src  Buffer, holding textual representation of dfp floating-point value.
+     * @param from Index of the first byte of the text.
+     * @param to   Index after the last byte of the text.
+     * @return parsed 64-bit decimal floating point value.
+     * @throws NumberFormatException if the bytes do not contain valid dfp value.
+     * @throws IndexOutOfBoundsException if the range is out of the buffer limit.
+     */
+    @Decimal
+    public static long parse(final ByteBuffer src, final int from, final int to) {
+        return JavaImplParse.parse(src, from, to, RoundingMode.HALF_EVEN, null);
+    }
+
     /**
      * Parses a dfp floating-point value from the given textual representation.
      * <p>
@@ -1000,15 +1083,7 @@ public class Decimal64Utils {
      */
     @Decimal
     public static long tryParse(final CharSequence text, final int startIndex, final int endIndex, @Decimal final long defaultValue) {
-        @Decimal long value = defaultValue;
-
-        try {
-            value = parse(text, startIndex, endIndex);
-        } catch (final NumberFormatException ignore) {
-            // ignore
-        }
-
-        return value;
+        return JavaImplParse.tryParse(text, startIndex, endIndex, defaultValue);
     }
 
     /**
@@ -1038,6 +1113,89 @@ public class Decimal64Utils {
         return tryParse(text, 0, text.length(), defaultValue);
     }
 
+    /**
+     * Parses a dfp floating-point value from the given textual representation, rounding it with the given mode,
+     * and reports the outcome through the status instead of throwing: never throws on invalid text and never allocates.
+     * <p>
+     * Accepts the same text as {@link #parse(CharSequence, int, int)}, which is the same as this method with
+     * {@link RoundingMode#HALF_EVEN}. The value and the status are stored to the result holder,
+     * the status is also returned:
+     * <ul>
+     * <li>{@link Decimal64ParseResult#OK} if the value is exact;</li>
+     * <li>{@link Decimal64ParseResult#INEXACT}, possibly with {@link Decimal64ParseResult#UNDERFLOW}, if the value
+     * was rounded;</li>
+     * <li>{@link Decimal64ParseResult#INEXACT} with {@link Decimal64ParseResult#OVERFLOW}, if the value is too large
+     * and was replaced by the infinity or, for the modes rounding towards zero, by the maximal finite value;</li>
+     * <li>{@link Decimal64ParseResult#INVALID} if the text is not a valid number, the value is {@code NaN}.</li>
+     * </ul>
+     * With {@link RoundingMode#UNNECESSARY} the value that needs rounding is {@code NaN}, the status tells the reason.
+     *
+     * @param text         Textual representation of dfp floating-point value.
+     * @param startIndex   Index of character to start parsing at.
+     * @param endIndex     Index of character to stop parsing at, non-inclusive.
+     * @param roundingMode Rounding mode, applied if the value has more than 16 significant digits or is out of range.
+     * @param result       Holder for the parsed value and the status.
+     * @return status of the parsing, a bit set of the {@link Decimal64ParseResult} flags.
+     */
+    public static int parse(final CharSequence text, final int startIndex, final int endIndex,
+                            final RoundingMode roundingMode, final Decimal64ParseResult result) {
+        JavaImpl.parse(text, startIndex, endIndex, roundingMode, result);
+        return result.status;
+    }
+
+    /**
+     * Parses a dfp floating-point value from the given textual representation, rounding it with the given mode,
+     * and reports the outcome through the status instead of throwing, see
+     * {@link #parse(CharSequence, int, int, RoundingMode, Decimal64ParseResult)}.
+     *
+     * @param text         Textual representation of dfp floating-point value.
+     * @param roundingMode Rounding mode, applied if the value has more than 16 significant digits or is out of range.
+     * @param result       Holder for the parsed value and the status.
+     * @return status of the parsing, a bit set of the {@link Decimal64ParseResult} flags.
+     */
+    public static int parse(final CharSequence text, final RoundingMode roundingMode, final Decimal64ParseResult result) {
+        return parse(text, 0, text.length(), roundingMode, result);
+    }
+
+    /**
+     * Parses a dfp floating-point value from the ASCII bytes of the array, rounding it with the given mode,
+     * and reports the outcome through the status instead of throwing on invalid text, see
+     * {@link #parse(CharSequence, int, int, RoundingMode, Decimal64ParseResult)}.
+     *
+     * @param src          Array, holding textual representation of dfp floating-point value.
+     * @param from         Index of the first byte of the text.
+     * @param to           Index after the last byte of the text.
+     * @param roundingMode Rounding mode, applied if the value has more than 16 significant digits or is out of range.
+     * @param result       Holder for the parsed value and the status.
+     * @return status of the parsing, a bit set of the {@link Decimal64ParseResult} flags.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    public static int parse(final byte[] src, final int from, final int to,
+                            final RoundingMode roundingMode, final Decimal64ParseResult result) {
+        JavaImplParse.parse(src, from, to, roundingMode, result);
+        return result.status;
+    }
+
+    /**
+     * Parses a dfp floating-point value from the ASCII bytes of the buffer, at the absolute indices, rounding it with
+     * the given mode, and reports the outcome through the status instead of throwing on invalid text, see
+     * {@link #parse(CharSequence, int, int, RoundingMode, Decimal64ParseResult)}.
+     * The position of the buffer is not changed.
+     *
+     * @param src          Buffer, holding textual representation of dfp floating-point value.
+     * @param from         Index of the first byte of the text.
+     * @param to           Index after the last byte of the text.
+     * @param roundingMode Rounding mode, applied if the value has more than 16 significant digits or is out of range.
+     * @param result       Holder for the parsed value and the status.
+     * @return status of the parsing, a bit set of the {@link Decimal64ParseResult} flags.
+     * @throws IndexOutOfBoundsException if the range is out of the buffer limit.
+     */
+    public static int parse(final ByteBuffer src, final int from, final int to,
+                            final RoundingMode roundingMode, final Decimal64ParseResult result) {
+        JavaImplParse.parse(src, from, to, roundingMode, result);
+        return result.status;
+    }
+
     /// endregion
 
     /// region Null-checking wrappers for non-static methods
@@ -1867,6 +2025,387 @@ public class Decimal64Utils {
 
     /// endregion
 
+    /// region Array arithmetic
+
+    /**
+     * Adds the elements of two arrays: {@code dst[dstOffset + i] = add(a[aOffset + i], b[bOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param a first source array
+     * @param aOffset first source array offset
+     * @param b second source array
+     * @param bOffset second source array offset
+     * @param dst destination array, may be one of the source arrays
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] add(@Decimal final long[] a, final int aOffset, @Decimal final long[] b, final int bOffset,
+                             @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(a.length, aOffset, length);
+        checkArrayRegion(b.length, bOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.addArrays(a, aOffset, b, bOffset, dst, dstOffset, length);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplAdd.add(a[aOffset + i], b[bOffset + i]);
+        }
+        return dst;
+    }
+
+    /**
+     * Subtracts the elements of two arrays: {@code dst[dstOffset + i] = subtract(a[aOffset + i], b[bOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param a first source array
+     * @param aOffset first source array offset
+     * @param b second source array
+     * @param bOffset second source array offset
+     * @param dst destination array, may be one of the source arrays
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] subtract(@Decimal final long[] a, final int aOffset, @Decimal final long[] b, final int bOffset,
+                                  @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(a.length, aOffset, length);
+        checkArrayRegion(b.length, bOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.subtractArrays(a, aOffset, b, bOffset, dst, dstOffset, length);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplAdd.subtract(a[aOffset + i], b[bOffset + i]);
+        }
+        return dst;
+    }
+
+    /**
+     * Multiplies the elements of two arrays: {@code dst[dstOffset + i] = multiply(a[aOffset + i], b[bOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param a first source array
+     * @param aOffset first source array offset
+     * @param b second source array
+     * @param bOffset second source array offset
+     * @param dst destination array, may be one of the source arrays
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] multiply(@Decimal final long[] a, final int aOffset, @Decimal final long[] b, final int bOffset,
+                                  @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(a.length, aOffset, length);
+        checkArrayRegion(b.length, bOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.multiplyArrays(a, aOffset, b, bOffset, dst, dstOffset, length);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplMul.multiply(a[aOffset + i], b[bOffset + i]);
+        }
+        return dst;
+    }
+
+    /**
+     * Divides the elements of two arrays: {@code dst[dstOffset + i] = divide(a[aOffset + i], b[bOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param a first source array
+     * @param aOffset first source array offset
+     * @param b second source array
+     * @param bOffset second source array offset
+     * @param dst destination array, may be one of the source arrays
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] divide(@Decimal final long[] a, final int aOffset, @Decimal final long[] b, final int bOffset,
+                                @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(a.length, aOffset, length);
+        checkArrayRegion(b.length, bOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.divideArrays(a, aOffset, b, bOffset, dst, dstOffset, length);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplDiv.divide(a[aOffset + i], b[bOffset + i]);
+        }
+        return dst;
+    }
+
+    /**
+     * Adds the same value to the elements of an array: {@code dst[dstOffset + i] = add(a[aOffset + i], b)}
+     * for {@code i} in {@code [0, length)}.
+     * @param a source array
+     * @param aOffset source array offset
+     * @param b second operand for every element
+     * @param dst destination array, may be the source array
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] add(@Decimal final long[] a, final int aOffset, @Decimal final long b,
+                             @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(a.length, aOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.addScalar(a, aOffset, b, dst, dstOffset, length);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplAdd.add(a[aOffset + i], b);
+        }
+        return dst;
+    }
+
+    /**
+     * Multiplies the elements of an array by the same value: {@code dst[dstOffset + i] = multiply(a[aOffset + i], b)}
+     * for {@code i} in {@code [0, length)}.
+     * @param a source array
+     * @param aOffset source array offset
+     * @param b second operand for every element
+     * @param dst destination array, may be the source array
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] multiply(@Decimal final long[] a, final int aOffset, @Decimal final long b,
+                                  @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(a.length, aOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.multiplyByScalar(a, aOffset, b, dst, dstOffset, length);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplMul.multiply(a[aOffset + i], b);
+        }
+        return dst;
+    }
+
+    /**
+     * Divides the elements of an array by the same value: {@code dst[dstOffset + i] = divide(a[aOffset + i], b)}
+     * for {@code i} in {@code [0, length)}.
+     * @param a source array
+     * @param aOffset source array offset
+     * @param b second operand for every element
+     * @param dst destination array, may be the source array
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] divide(@Decimal final long[] a, final int aOffset, @Decimal final long b,
+                                @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(a.length, aOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.divideByScalar(a, aOffset, b, dst, dstOffset, length);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplDiv.divide(a[aOffset + i], b);
+        }
+        return dst;
+    }
+
+    /**
+     * Rounds the elements of an array up:
+     * {@code dst[dstOffset + i] = roundTowardsPositiveInfinity(src[srcOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param src source array
+     * @param srcOffset src offset
+     * @param dst destination array, may be the source array
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] roundTowardsPositiveInfinity(@Decimal final long[] src, final int srcOffset,
+                                                      @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(src.length, srcOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.roundArray(src, srcOffset, dst, dstOffset, length, JavaImpl.BID_ROUNDING_UP);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplRound.roundTowardsPositiveInfinity(src[srcOffset + i]);
+        }
+        return dst;
+    }
+
+    /**
+     * Rounds the elements of an array down:
+     * {@code dst[dstOffset + i] = roundTowardsNegativeInfinity(src[srcOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param src source array
+     * @param srcOffset src offset
+     * @param dst destination array, may be the source array
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] roundTowardsNegativeInfinity(@Decimal final long[] src, final int srcOffset,
+                                                      @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(src.length, srcOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.roundArray(src, srcOffset, dst, dstOffset, length, JavaImpl.BID_ROUNDING_DOWN);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplRound.roundTowardsNegativeInfinity(src[srcOffset + i]);
+        }
+        return dst;
+    }
+
+    /**
+     * Rounds the elements of an array towards zero:
+     * {@code dst[dstOffset + i] = roundTowardsZero(src[srcOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param src source array
+     * @param srcOffset src offset
+     * @param dst destination array, may be the source array
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] roundTowardsZero(@Decimal final long[] src, final int srcOffset,
+                                          @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(src.length, srcOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.roundArray(src, srcOffset, dst, dstOffset, length, JavaImpl.BID_ROUNDING_TO_ZERO);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplRound.roundTowardsZero(src[srcOffset + i]);
+        }
+        return dst;
+    }
+
+    /**
+     * Rounds the elements of an array to the nearest integers:
+     * {@code dst[dstOffset + i] = roundToNearestTiesAwayFromZero(src[srcOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param src source array
+     * @param srcOffset src offset
+     * @param dst destination array, may be the source array
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] roundToNearestTiesAwayFromZero(@Decimal final long[] src, final int srcOffset,
+                                                        @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(src.length, srcOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.roundArray(src, srcOffset, dst, dstOffset, length, JavaImpl.BID_ROUNDING_TIES_AWAY);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplRound.roundToNearestTiesAwayFromZero(src[srcOffset + i]);
+        }
+        return dst;
+    }
+
+    /**
+     * Compares the elements of two arrays: {@code dst[dstOffset + i] = compareTo(a[aOffset + i], b[bOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param a first source array
+     * @param aOffset first source array offset
+     * @param b second source array
+     * @param bOffset second source array offset
+     * @param dst destination array
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    public static int[] compareTo(@Decimal final long[] a, final int aOffset, @Decimal final long[] b, final int bOffset,
+                                  final int[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(a.length, aOffset, length);
+        checkArrayRegion(b.length, bOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.compareArrays(a, aOffset, b, bOffset, dst, dstOffset, length);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplCmp.compare(a[aOffset + i], b[bOffset + i]);
+        }
+        return dst;
+    }
+
+    /**
+     * Converts the elements of an array: {@code dst[dstOffset + i] = fromDouble(src[srcOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param src source array
+     * @param srcOffset src offset
+     * @param dst destination array
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    @Decimal
+    public static long[] fromDouble(final double[] src, final int srcOffset,
+                                    @Decimal final long[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(src.length, srcOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.fromFloat64Array(src, srcOffset, dst, dstOffset, length);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplCast.fromDouble(src[srcOffset + i]);
+        }
+        return dst;
+    }
+
+    /**
+     * Converts the elements of an array: {@code dst[dstOffset + i] = toDouble(src[srcOffset + i])}
+     * for {@code i} in {@code [0, length)}.
+     * @param src source array
+     * @param srcOffset src offset
+     * @param dst destination array
+     * @param dstOffset dst offset
+     * @param length number of elements
+     * @return The destination array ({@code dst})
+     * @throws IndexOutOfBoundsException if any of the array regions is out of bounds
+     */
+    public static double[] toDouble(@Decimal final long[] src, final int srcOffset,
+                                    final double[] dst, final int dstOffset, final int length) {
+        checkArrayRegion(src.length, srcOffset, length);
+        checkArrayRegion(dst.length, dstOffset, length);
+        if (NATIVE) {
+            NativeImpl.toFloat64Array(src, srcOffset, dst, dstOffset, length);
+        } else {
+            for (int i = 0; i < length; ++i)
+                dst[dstOffset + i] = JavaImplCast.toDouble(src[srcOffset + i]);
+        }
+        return dst;
+    }
+
+    // Native code doesn't check the bounds, so they are checked before any element is processed
+    private static void checkArrayRegion(final int arrayLength, final int offset, final int length) {
+        if ((offset | length) < 0 || offset > arrayLength - length)
+            throw new IndexOutOfBoundsException("Array region [" + offset + ", " + offset + " + " + length +
+                ") is out of bounds of the array of length " + arrayLength + ".");
+    }
+
+    /// endregion
+
     /// region Array boxing/unboxing (array conversions from long[] / to long[])
 
     /**
@@ -1,6 +1,7 @@
 package deltix.dfp;
 
 import java.io.IOException;
+import java.math.RoundingMode;
 
 class JavaImpl {
     public static final long POSITIVE_INFINITY      = 0x7800_0000_0000_0000L;
@@ -31,6 +32,16 @@ class JavaImpl {
         return longValue & MASK_SIGN | (longValue + sign ^ sign) | ZERO;
     }
 
+    static long fromInt64(final long value) {
+        final long signMask = value & MASK_SIGN;
+        // -Long.MIN_VALUE is treated as unsigned 2^63
+        final long coefficient = value < 0 ? -value : value;
+        if (coefficient >= 0 && coefficient <= MAX_COEFFICIENT)
+            return pack(signMask, EXPONENT_BIAS, coefficient, BID_ROUNDING_TO_NEAREST);
+
+        return JavaImplMul.round128(signMask, EXPONENT_BIAS, 0, coefficient);
+    }
+
     public static long fromUInt32(final int value) {
         return (0x31C00000L << 32) | value;
     }
@@ -70,7 +81,135 @@ class JavaImpl {
     public static long fromFixedPoint32(int mantissa, int numDigits) {
         return numDigits + (Integer.MIN_VALUE + BIASED_EXPONENT_MAX_VALUE - EXPONENT_BIAS)
             > (Integer.MIN_VALUE + BIASED_EXPONENT_MAX_VALUE) ?
-            NativeImpl.fromFixedPoint32(mantissa, numDigits) : fromFixedPointFastUnchecked(mantissa, numDigits);
+            fromFixedPoint64(mantissa, numDigits) : fromFixedPointFastUnchecked(mantissa, numDigits);
+    }
+
+    /**
+     * Same as {@code scalbnd64((_Decimal64) mantissa, -numDigits)} of the native library:
+     * mantissa with more than 16 digits is rounded to nearest (ties to even) first.
+     */
+    public static long fromFixedPoint64(final long mantissa, final int numDigits) {
+        // Exponent fast path: the mantissa is the coefficient
+        if (numDigits <= EXPONENT_BIAS && numDigits >= EXPONENT_BIAS - BIASED_EXPONENT_MAX_VALUE) {
+            final long signMask = mantissa & MASK_SIGN;
+            // -Long.MIN_VALUE is treated as unsigned 2^63
+            final long coefficient = mantissa < 0 ? -mantissa : mantissa;
+            if (coefficient >= 0 && coefficient <= MAX_COEFFICIENT)
+                return packCoefficient(signMask, EXPONENT_BIAS - numDigits, coefficient);
+        }
+
+        return scaleByPowerOfTen(fromInt64(mantissa), -numDigits);
+    }
+
+    /**
+     * Same as {@code (int64_t) scalbnd64(value, numDigits)} of the native library: the value multiplied
+     * by 10^numDigits is truncated towards zero, {@code Long.MIN_VALUE} is returned for NaN, infinity or overflow.
+     */
+    public static long toFixedPoint(final long value, final int numDigits) {
+        // Exponent fast path: the coefficient is the result
+        if ((value & MASK_SPECIAL) != MASK_SPECIAL &&
+            ((int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK) == EXPONENT_BIAS - numDigits) {
+            final long coefficient = value & SMALL_COEFFICIENT_MASK;
+            return value < 0 ? -coefficient : coefficient;
+        }
+
+        return toInt64(value, numDigits);
+    }
+
+    /**
+     * Same as {@code (int64_t) value} of the native library: the value is truncated towards zero,
+     * {@code Long.MIN_VALUE} is returned for NaN, infinity or overflow.
+     */
+    public static long toInt64(final long value) {
+        return toInt64(value, 0);
+    }
+
+    /**
+     * Same as {@code (int32_t) value} of the native library: the value is truncated towards zero,
+     * {@code Integer.MIN_VALUE} is returned for NaN, infinity or overflow.
+     */
+    public static int toInt32(final long value) {
+        final long result = toInt64(value, 0);
+        return result == (int) result ? (int) result : Integer.MIN_VALUE;
+    }
+
+    /**
+     * Truncates {@code value * 10^scale} towards zero, the product is calculated exactly.
+     */
+    private static long toInt64(final long value, final int scale) {
+        if ((value & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+            return Long.MIN_VALUE;
+
+        // Unpack the argument, non-canonical coefficients are treated as zeros
+        long coefficient;
+        final int exponent;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficient = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficient > MAX_COEFFICIENT)
+                coefficient = 0;
+            exponent = (int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficient = value & SMALL_COEFFICIENT_MASK;
+            exponent = (int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        if (coefficient == 0)
+            return 0;
+
+        // Long arithmetic, since the scale is arbitrary
+        final long power = (long) exponent - EXPONENT_BIAS + scale;
+        final long result;
+        if (power >= 0) {
+            // 2^63 is not a multiple of 10, so the magnitude is at most Long.MAX_VALUE for both signs
+            if (power >= POWERS_OF_TEN.length || coefficient > Long.MAX_VALUE / POWERS_OF_TEN[(int) power])
+                return Long.MIN_VALUE;
+            result = coefficient * POWERS_OF_TEN[(int) power];
+        } else {
+            // The coefficient has at most 16 digits
+            result = power > -POWERS_OF_TEN.length ? coefficient / POWERS_OF_TEN[(int) -power] : 0;
+        }
+
+        return value < 0 ? -result : result;
+    }
+
+    /**
+     * Same as {@code scalbnd64(value, n)} of the native library: the exponent is increased by {@code n}.
+     * The coefficient is scaled up to avoid the overflow and rounded to nearest (ties to even) on the underflow.
+     */
+    static long scaleByPowerOfTen(final long value, final int n) {
+        if ((value & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+            return (value & MASK_INFINITY_NAN) == MASK_INFINITY_NAN ? quietNaN(value) : value & NEGATIVE_INFINITY;
+
+        // Unpack the argument, non-canonical coefficients are treated as zeros
+        final long sign = value & MASK_SIGN;
+        long coefficient;
+        final int exponentX;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficient = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficient > MAX_COEFFICIENT)
+                coefficient = 0;
+            exponentX = (int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficient = value & SMALL_COEFFICIENT_MASK;
+            exponentX = (int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        long exponent = (long) exponentX + n;
+        if (coefficient == 0)
+            return sign | (Math.max(0, Math.min(exponent, BIASED_EXPONENT_MAX_VALUE)) << EXPONENT_SHIFT_SMALL);
+
+        if (exponent > BIASED_EXPONENT_MAX_VALUE) {
+            for (; coefficient < POWERS_OF_TEN[MAX_FORMAT_DIGITS - 1] && exponent > BIASED_EXPONENT_MAX_VALUE; exponent--)
+                coefficient *= 10;
+            if (exponent > BIASED_EXPONENT_MAX_VALUE)
+                return sign | POSITIVE_INFINITY;
+        }
+
+        if (exponent >= 0)
+            return packCoefficient(sign, (int) exponent, coefficient);
+
+        // Underflow, the coefficient is rounded
+        return pack(sign, (int) Math.max(exponent, -MAX_FORMAT_DIGITS - 1), coefficient, BID_ROUNDING_TO_NEAREST);
     }
 
 
@@ -78,6 +217,18 @@ class JavaImpl {
         return (value & MASK_INFINITY_NAN) == MASK_INFINITY_NAN;
     }
 
+    /**
+     * Returns quiet NaN with the sign and payload of the given NaN value, the same way the native library does.
+     * Non-canonical payload is replaced with zero.
+     *
+     * @param value NaN value
+     * @return quiet NaN value
+     */
+    static long quietNaN(final long value) {
+        return (value & 0x0003_FFFF_FFFF_FFFFL) >= 1000_0000_0000_0000L ?
+            value & 0xFC00_0000_0000_0000L : value & 0xFC03_FFFF_FFFF_FFFFL;
+    }
+
     public static boolean isNull(final long value) {
         return value == NULL;
     }
@@ -116,6 +267,90 @@ class JavaImpl {
         return (value & SMALL_COEFFICIENT_MASK) == 0;
     }
 
+    /**
+     * Returns {@code true} for finite non-zero values, whose magnitude is at least 10^-383, the same way
+     * {@code bid64_isNormal()} of the native library does. Non-canonical values are zeros.
+     */
+    public static boolean isNormal(final long value) {
+        if ((value & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+            return false;
+
+        final long coefficient;
+        final int exponent;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficient = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficient > MAX_COEFFICIENT)
+                return false;
+            exponent = (int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficient = value & SMALL_COEFFICIENT_MASK;
+            exponent = (int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        // coefficient * 10^exponent >= 10^15 for the biased exponent
+        return coefficient != 0 && (exponent >= MAX_FORMAT_DIGITS - 1 || numberOfDigits(coefficient) + exponent >= MAX_FORMAT_DIGITS);
+    }
+
+    /**
+     * Same as {@code bid64_nextup()} of the native library: the coefficient is padded with zeros up to 16 digits
+     * (or down to the minimal exponent) and incremented by one unit.
+     */
+    public static long nextUp(final long value) {
+        if ((value & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN) {
+            if ((value & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+                return quietNaN(value);
+            return value < 0 ? MIN_VALUE : POSITIVE_INFINITY;
+        }
+
+        // Unpack the argument, non-canonical coefficients are treated as zeros
+        final long sign = value & MASK_SIGN;
+        long coefficient;
+        int exponent;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficient = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficient > MAX_COEFFICIENT)
+                coefficient = 0;
+            exponent = (int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficient = value & SMALL_COEFFICIENT_MASK;
+            exponent = (int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        // Both signed zeros are followed by the smallest positive value
+        if (coefficient == 0)
+            return MIN_POSITIVE_VALUE;
+        if (value == MAX_VALUE)
+            return POSITIVE_INFINITY;
+        if (value == MAX_NEGATIVE_VALUE)
+            return MASK_SIGN;
+
+        final int scale = Math.min(MAX_FORMAT_DIGITS - numberOfDigits(coefficient), exponent);
+        coefficient *= POWERS_OF_TEN[scale];
+        exponent -= scale;
+
+        if (sign == 0) {
+            if (++coefficient > MAX_COEFFICIENT) {
+                coefficient = POWERS_OF_TEN[MAX_FORMAT_DIGITS - 1];
+                exponent++;
+            }
+        } else {
+            // The coefficient is padded to 16 digits, unless the exponent is already minimal
+            if (--coefficient < POWERS_OF_TEN[MAX_FORMAT_DIGITS - 1] && exponent != 0) {
+                coefficient = MAX_COEFFICIENT;
+                exponent--;
+            }
+        }
+
+        return packCoefficient(sign, exponent, coefficient);
+    }
+
+    /**
+     * Same as {@code bid64_nextdown()} of the native library, which is symmetric to {@link #nextUp(long)}.
+     */
+    public static long nextDown(final long value) {
+        return negate(nextUp(negate(value)));
+    }
+
     public static long negate(final long value) {
         return value ^ MASK_SIGN;
     }
@@ -288,29 +523,26 @@ class JavaImpl {
 
         if (exponent >= 0) {
             appendLongTo(coefficient, appendable, digits);
-            for (int i = 0; i < exponent; i += 1)
-                appendable.append('0');
+            appendZeros(exponent, appendable);
         } else if (digits + exponent > 0) {
             final long integralPart = coefficient / POWERS_OF_TEN[-exponent];
             final long fractionalPart = coefficient % POWERS_OF_TEN[-exponent];
             appendLongTo(integralPart, appendable);
             if (fractionalPart != 0L) {
                 appendable.append('.');
-                for (int i = numberOfDigits(fractionalPart); i < -exponent; i += 1)
-                    appendable.append('0');
+                appendZeros(-exponent - numberOfDigits(fractionalPart), appendable);
                 appendLongTo(dropTrailingZeros(fractionalPart), appendable);
             }
         } else {
             appendable.append("0.");
-            for (int i = digits + exponent; i < 0; i += 1)
-                appendable.append('0');
+            appendZeros(-(digits + exponent), appendable);
             appendLongTo(dropTrailingZeros(coefficient), appendable);
         }
 
         return appendable;
     }
 
-    private static long dropTrailingZeros(long value) {
+    static long dropTrailingZeros(long value) {
         assert value >= 0;
         while (value != 0) {
             final long quotient = value / 10;
@@ -322,6 +554,17 @@ class JavaImpl {
         return value;
     }
 
+    private static final String ZEROS = "0000000000000000000000000000000000000000000000000000000000000000";
+
+    private static void appendZeros(int count, final Appendable appendable) throws IOException {
+        // Append by blocks, up to 385 zeros are possible
+        while (count > 0) {
+            final int length = Math.min(count, ZEROS.length());
+            appendable.append(ZEROS, 0, length);
+            count -= length;
+        }
+    }
+
     private static Appendable appendLongTo(long value, final Appendable appendable) throws IOException {
         return appendLongTo(value, appendable, numberOfDigits(value));
     }
@@ -364,7 +607,7 @@ class JavaImpl {
 
     private static final char[] DECIMAL_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
 
-    private static final long[] POWERS_OF_TEN = {
+    static final long[] POWERS_OF_TEN = {
         /*  0 */ 1L,
         /*  1 */ 10L,
         /*  2 */ 100L,
@@ -392,11 +635,10 @@ class JavaImpl {
      * @param value Non-negative value.
      * @return Number of digits required.
      */
-    private static int numberOfDigits(final long value) {
-        for (int i = 1; i < POWERS_OF_TEN.length; i += 1)
-            if (value < POWERS_OF_TEN[i])
-                return i;
-        return 19;
+    static int numberOfDigits(final long value) {
+        // floor(bitLength * log10(2)), the value has this number of digits or one more
+        final int digits = ((64 - Long.numberOfLeadingZeros(value)) * 1233) >>> 12;
+        return value >= POWERS_OF_TEN[digits] ? digits + 1 : Math.max(digits, 1);
     }
 
     static final long MASK_SIGN                     = 0x8000_0000_0000_0000L;
@@ -422,7 +664,7 @@ class JavaImpl {
     static final long EXPONENT_MASK_SMALL = (long)EXPONENT_MASK << EXPONENT_SHIFT_SMALL;
     static final long EXPONENT_MASK_LARGE = (long)EXPONENT_MASK << EXPONENT_SHIFT_LARGE;
 
-    private static final int MAX_FORMAT_DIGITS = 16;
+    static final int MAX_FORMAT_DIGITS = 16;
 
     static final long MASK_STEERING_BITS                    = 0x6000_0000_0000_0000L;
     private static final long MASK_BINARY_EXPONENT1         = 0x7FE0_0000_0000_0000L;
@@ -440,16 +682,44 @@ class JavaImpl {
     private static final long MASK_SNAN                     = 0x7E00_0000_0000_0000L;
     private static final long MASK_ANY_INF                  = 0x7C00_0000_0000_0000L;
 
-    private static NumberFormatException invalidFormat(final CharSequence s, final int si, final int ei) {
+    static NumberFormatException invalidFormat(final CharSequence s, final int si, final int ei) {
         return new NumberFormatException(s.subSequence(si, ei).toString());
     }
 
-    public static long parse(final CharSequence s, final int si, final int ei, int roundingMode) {
+    public static long parse(final CharSequence s, final int si, final int ei, final int roundingMode) {
+        return parse(s, si, ei, toRoundingMode(roundingMode), null);
+    }
+
+    static RoundingMode toRoundingMode(final int roundingMode) {
+        switch (roundingMode) {
+            case BID_ROUNDING_TO_NEAREST:
+                return RoundingMode.HALF_EVEN;
+            case BID_ROUNDING_DOWN:
+                return RoundingMode.FLOOR;
+            case BID_ROUNDING_UP:
+                return RoundingMode.CEILING;
+            case BID_ROUNDING_TO_ZERO:
+                return RoundingMode.DOWN;
+            case BID_ROUNDING_TIES_AWAY:
+                return RoundingMode.HALF_UP;
+            default:
+                throw new IllegalArgumentException("Unknown rounding mode: " + roundingMode);
+        }
+    }
+
+    /**
+     * Parses the text, rounding it with the given mode.
+     *
+     * @param result Holder for the value and the status, if the invalid text must not throw, or {@code null}.
+     * @throws NumberFormatException if the text is not a valid number and the result holder is {@code null}.
+     */
+    public static long parse(final CharSequence s, final int si, final int ei,
+                             final RoundingMode roundingMode, final Decimal64ParseResult result) {
         char c;
         int p = si;
         boolean sign = false;
 
-        c = s.charAt(p);
+        c = p < ei ? s.charAt(p) : 0;
         if (c == '+') {
             p += 1;
             c = p < ei ? s.charAt(p) : 0;
@@ -464,11 +734,11 @@ class JavaImpl {
         if (c != '.' && (c < '0' || c > '9')) {
             if (TextUtils.equalsIgnoringCase(s, p, ei, "Infinity") ||
                 TextUtils.equalsIgnoringCase(s, p, ei, "Inf"))
-                return sign ? JavaImpl.NEGATIVE_INFINITY : JavaImpl.POSITIVE_INFINITY;
+                return parsed(sign ? JavaImpl.NEGATIVE_INFINITY : JavaImpl.POSITIVE_INFINITY, result);
             if (TextUtils.equalsIgnoringCase(s, p, ei, "NaN") ||
                 TextUtils.equalsIgnoringCase(s, p, ei, "SNaN"))
-                return JavaImpl.NaN;
-            throw invalidFormat(s, si, ei);
+                return parsed(JavaImpl.NaN, result);
+            return invalid(s, si, ei, result);
         }
 
         boolean seenRadixPoint = false;
@@ -491,29 +761,29 @@ class JavaImpl {
 
                 if (c == '.') {
                     if (seenRadixPoint)
-                        throw invalidFormat(s, si, ei);
+                        return invalid(s, si, ei, result);
                     seenRadixPoint = true;
 
                     p += 1;
                     c = p < ei ? s.charAt(p) : 0;
-                    if (c == 0)
-                        return makeZero(sign, EXPONENT_BIAS - leadingZerosAfterPoint);
-                } else if (c == 0) {
-                    return makeZero(sign, EXPONENT_BIAS - leadingZerosAfterPoint);
                 }
+                if (p == ei)
+                    return JavaImplParse.roundAndPack(sign, EXPONENT_BIAS - leadingZerosAfterPoint, 0, 0, false,
+                        roundingMode, result);
             }
         }
 
         int numberOfDigits = 0;
         int decimalExponentScale = 0;
         long coefficient = 0;
-        boolean roundedUp = false, rounded = false, midpoint = false;
+        int roundingDigit = 0;
+        boolean sticky = false;
         int additionalExponent = 0;
 
         while ((c >= '0' && c <= '9') || c == '.') {
             if (c == '.') {
                 if (seenRadixPoint)
-                    throw invalidFormat(s, si, ei);
+                    return invalid(s, si, ei, result);
 
                 seenRadixPoint = true;
 
@@ -529,53 +799,13 @@ class JavaImpl {
             numberOfDigits += 1;
             if (numberOfDigits <= 16) {
                 coefficient = (coefficient << 1) + (coefficient << 3) + c - '0';
-            } else if (numberOfDigits == 17) {
-                switch (roundingMode) {
-                    case BID_ROUNDING_TO_NEAREST:
-                        midpoint = (c == '5' && (coefficient & 1) == 0);
-                        if (c > '5' || (c == '5' && (coefficient & 1) != 0)) {
-                            coefficient += 1;
-                            roundedUp = true;
-                        }
-                        break;
-
-                    case BID_ROUNDING_DOWN:
-                        if (sign) {
-                            coefficient += 1;
-                            roundedUp = true;
-                        }
-                        break;
-
-                    case BID_ROUNDING_UP:
-                        if (!sign) {
-                            coefficient += 1;
-                            roundedUp = true;
-                        }
-                        break;
-
-                    case BID_ROUNDING_TIES_AWAY:
-                        if (c >= '5') {
-                            coefficient += 1;
-                            roundedUp = true;
-                        }
-                        break;
-                }
-                if (coefficient == 10000000000000000L) {
-                    coefficient = 1000000000000000L;
-                    additionalExponent = 1;
-                }
-                if (c > '0')
-                    rounded = true;
-                additionalExponent += 1;
             } else {
+                // Keep the first dropped digit and whether any digit after it is not zero, they define the rounding
                 additionalExponent += 1;
-                if (midpoint && c >= '0') {
-                    coefficient += 1;
-                    midpoint = false;
-                    roundedUp = true;
-                }
-                if (c >= '0')
-                    rounded = true;
+                if (numberOfDigits == 17)
+                    roundingDigit = c - '0';
+                else if (c != '0')
+                    sticky = true;
             }
 
             p += 1;
@@ -584,11 +814,12 @@ class JavaImpl {
 
         additionalExponent -= (decimalExponentScale + leadingZerosAfterPoint);
 
-        if (c == 0)
-            return fastPackCheckOverflow(sign, additionalExponent + EXPONENT_BIAS, coefficient);
+        if (p == ei)
+            return JavaImplParse.roundAndPack(sign, additionalExponent + EXPONENT_BIAS, coefficient, roundingDigit, sticky,
+                roundingMode, result);
 
         if (c != 'E' && c != 'e')
-            throw invalidFormat(s, si, ei);
+            return invalid(s, si, ei, result);
 
         p += 1;
         c = p < ei ? s.charAt(p) : 0;
@@ -599,93 +830,41 @@ class JavaImpl {
             c = p < ei ? s.charAt(p) : 0;
         }
 
-        if (c == 0 || c < '0' || c > '9')
-            throw invalidFormat(s, si, ei);
+        if (p == ei || c < '0' || c > '9')
+            return invalid(s, si, ei, result);
 
         int exponent = 0;
         while (c >= '0' && c <= '9') {
-            if (exponent < (1 << 20)) {
+            if (exponent < (1 << 20))
                 exponent = (exponent << 1) + (exponent << 3) + (c - '0');
 
-                p += 1;
-                c = p < ei ? s.charAt(p) : 0;
-            }
+            p += 1;
+            c = p < ei ? s.charAt(p) : 0;
         }
 
-        if (c != 0)
-            throw invalidFormat(s, si, ei);
+        if (p != ei)
+            return invalid(s, si, ei, result);
 
         if (isExponentSigned)
             exponent = -exponent;
-        exponent += additionalExponent + EXPONENT_BIAS;
 
-        if (exponent < 0) {
-            if (roundedUp)
-                coefficient -= 1;
-            return packUnderflow(sign, exponent, coefficient, rounded, BID_ROUNDING_TO_NEAREST);
-        }
-
-        return pack(sign ? MASK_SIGN : 0, exponent, coefficient, BID_ROUNDING_TO_NEAREST);
+        return JavaImplParse.roundAndPack(sign, exponent + additionalExponent + EXPONENT_BIAS, coefficient, roundingDigit,
+            sticky, roundingMode, result);
     }
 
-    private static long makeZero(final boolean isNegative, final int exponent) {
-        final long value = ((long) exponent << EXPONENT_SHIFT_SMALL);
-        return isNegative ? negate(value) : value;
+    private static long parsed(final long value, final Decimal64ParseResult result) {
+        return result != null ? result.set(value, Decimal64ParseResult.OK) : value;
     }
 
-    private static long fastPackCheckOverflow(final boolean isSigned, int exponent, long coefficient) {
-        long result;
-        final long signMask = isSigned ? MASK_SIGN : 0;
-
-        if (UnsignedInteger.compare(exponent, 3 * 256 - 1) >= 0) {
-            if ((exponent == 3 * 256 - 1) && coefficient == 10000000000000000L) {
-                exponent = 3 * 256;
-                coefficient = 1000000000000000L;
-            }
-
-            if (UnsignedInteger.compare(exponent, 3 * 256) >= 0) {
-                while (coefficient < 1000000000000000L && exponent >= 3 * 256) {
-                    exponent--;
-                    coefficient = (coefficient << 3) + (coefficient << 1);
-                }
-                if (exponent > BIASED_EXPONENT_MAX_VALUE)
-                    return signMask | POSITIVE_INFINITY;
-            }
-        }
-
-        long mask = 1L << EXPONENT_SHIFT_SMALL;
-
-        // Check whether coefficient fits in 10 * 5 + 3 bits.
-        if (coefficient < mask) {
-            result = exponent;
-            result <<= EXPONENT_SHIFT_SMALL;
-            result |= (coefficient | signMask);
-            return result;
-        }
-
-        // Eliminate the case coefficient == 10^16 after rounding.
-        if (coefficient == 10000000000000000L) {
-            result = exponent + 1;
-            result <<= EXPONENT_SHIFT_SMALL;
-            result |= (1000000000000000L | signMask);
-            return result;
-        }
-
-        result = exponent;
-        result <<= EXPONENT_SHIFT_LARGE;
-        result |= (signMask | MASK_SPECIAL);
-
-        // Add coefficient, without leading bits.
-        mask = (mask >> 2) - 1;
-        coefficient &= mask;
-        result |= coefficient;
-
-        return result;
+    private static long invalid(final CharSequence s, final int si, final int ei, final Decimal64ParseResult result) {
+        if (result == null)
+            throw invalidFormat(s, si, ei);
+        return result.set(NaN, Decimal64ParseResult.INVALID);
     }
 
     private final static long UINT32_MAX = 0xFFFF_FFFFL;
 
-    private static long packUnderflow(final boolean isSigned, int exponent, long coefficient,
+    static long packUnderflow(final boolean isSigned, int exponent, long coefficient,
                                       final boolean rounded, int roundingMode) {
         final long sgn = isSigned ? MASK_SIGN : 0L;
         long C128_0, Q_low_0, Q_low_1;
@@ -750,7 +929,7 @@ class JavaImpl {
                 long R64H;
                 R64H = ALBH_1;
                 QM2_0 = ALBL_1 + ALBH_0;
-                if (QM2_0 < ALBL_1)
+                if (UnsignedLong.compare(QM2_0, ALBL_1) < 0)
                     R64H++;
                 QM2_1 = R64H;
             }
@@ -775,9 +954,9 @@ class JavaImpl {
                 remainder_h = remainder_h & QH;
 
                 if (remainder_h == 0
-                    && (Q_low_1 < bid_reciprocals10_128[extra_digits][1]
+                    && (UnsignedLong.compare(Q_low_1, bid_reciprocals10_128[extra_digits][1]) < 0
                     || (Q_low_1 == bid_reciprocals10_128[extra_digits][1]
-                    && Q_low_0 < bid_reciprocals10_128[extra_digits][0]))) {
+                    && UnsignedLong.compare(Q_low_0, bid_reciprocals10_128[extra_digits][0]) < 0))) {
                     _C64--;
                 }
             }
@@ -785,7 +964,7 @@ class JavaImpl {
         return sgn | _C64;
     }
 
-    private static int bid_recip_scale[] = {
+    static final int[] bid_recip_scale = {
         129 - 128,    // 1
         129 - 128,    // 1/10
         129 - 128,    // 1/10^2
@@ -825,7 +1004,7 @@ class JavaImpl {
         109,    // 237 - 128, 1/10^35
     };
 
-    private static final long[][] bid_round_const_table = new long[][]{
+    static final long[][] bid_round_const_table = new long[][]{
         {    // RN
             0L,    // 0 extra digits
             5L,    // 1 extra digits
@@ -934,7 +1113,7 @@ class JavaImpl {
     };
 
 
-    private static final long[][] bid_reciprocals10_128 = {
+    static final long[][] bid_reciprocals10_128 = {
         {0L, 0L},                                      // 0 extra digits
         {0x3333333333333334L, 0x3333333333333333L},    // 1 extra digit
         {0x51eb851eb851eb86L, 0x051eb851eb851eb8L},    // 2 extra digits
@@ -973,13 +1152,55 @@ class JavaImpl {
         {0x0f2abc9d8c9689d1L, 0x01a95a5b7f87a0efL},    // 35 extra digits
     };
 
-    private static final int BID_ROUNDING_TO_NEAREST = 0x00000;
-    private static final int BID_ROUNDING_DOWN = 0x00001;
-    private static final int BID_ROUNDING_UP = 0x00002;
-    private static final int BID_ROUNDING_TO_ZERO = 0x00003;
-    private static final int BID_ROUNDING_TIES_AWAY = 0x00004;
+    static final long[][] bid_power10_table_128 = {
+        {0x0000000000000001L, 0x0000000000000000L},    // 10^0
+        {0x000000000000000aL, 0x0000000000000000L},    // 10^1
+        {0x0000000000000064L, 0x0000000000000000L},    // 10^2
+        {0x00000000000003e8L, 0x0000000000000000L},    // 10^3
+        {0x0000000000002710L, 0x0000000000000000L},    // 10^4
+        {0x00000000000186a0L, 0x0000000000000000L},    // 10^5
+        {0x00000000000f4240L, 0x0000000000000000L},    // 10^6
+        {0x0000000000989680L, 0x0000000000000000L},    // 10^7
+        {0x0000000005f5e100L, 0x0000000000000000L},    // 10^8
+        {0x000000003b9aca00L, 0x0000000000000000L},    // 10^9
+        {0x00000002540be400L, 0x0000000000000000L},    // 10^10
+        {0x000000174876e800L, 0x0000000000000000L},    // 10^11
+        {0x000000e8d4a51000L, 0x0000000000000000L},    // 10^12
+        {0x000009184e72a000L, 0x0000000000000000L},    // 10^13
+        {0x00005af3107a4000L, 0x0000000000000000L},    // 10^14
+        {0x00038d7ea4c68000L, 0x0000000000000000L},    // 10^15
+        {0x002386f26fc10000L, 0x0000000000000000L},    // 10^16
+        {0x016345785d8a0000L, 0x0000000000000000L},    // 10^17
+        {0x0de0b6b3a7640000L, 0x0000000000000000L},    // 10^18
+        {0x8ac7230489e80000L, 0x0000000000000000L},    // 10^19
+        {0x6bc75e2d63100000L, 0x0000000000000005L},    // 10^20
+        {0x35c9adc5dea00000L, 0x0000000000000036L},    // 10^21
+        {0x19e0c9bab2400000L, 0x000000000000021eL},    // 10^22
+        {0x02c7e14af6800000L, 0x000000000000152dL},    // 10^23
+        {0x1bcecceda1000000L, 0x000000000000d3c2L},    // 10^24
+        {0x161401484a000000L, 0x0000000000084595L},    // 10^25
+        {0xdcc80cd2e4000000L, 0x000000000052b7d2L},    // 10^26
+        {0x9fd0803ce8000000L, 0x00000000033b2e3cL},    // 10^27
+        {0x3e25026110000000L, 0x00000000204fce5eL},    // 10^28
+        {0x6d7217caa0000000L, 0x00000001431e0faeL},    // 10^29
+        {0x4674edea40000000L, 0x0000000c9f2c9cd0L},    // 10^30
+        {0xc0914b2680000000L, 0x0000007e37be2022L},    // 10^31
+        {0x85acef8100000000L, 0x000004ee2d6d415bL},    // 10^32
+        {0x38c15b0a00000000L, 0x0000314dc6448d93L},    // 10^33
+        {0x378d8e6400000000L, 0x0001ed09bead87c0L},    // 10^34
+        {0x2b878fe800000000L, 0x0013426172c74d82L},    // 10^35
+        {0xb34b9f1000000000L, 0x00c097ce7bc90715L},    // 10^36
+        {0x00f436a000000000L, 0x0785ee10d5da46d9L},    // 10^37
+        {0x098a224000000000L, 0x4b3b4ca85a86c47aL},    // 10^38
+    };
+
+    static final int BID_ROUNDING_TO_NEAREST = 0x00000;
+    static final int BID_ROUNDING_DOWN = 0x00001;
+    static final int BID_ROUNDING_UP = 0x00002;
+    static final int BID_ROUNDING_TO_ZERO = 0x00003;
+    static final int BID_ROUNDING_TIES_AWAY = 0x00004;
 
-    private static long pack(final long signMask, int exponent, long coefficient, int roundingMode) {
+    static long pack(final long signMask, int exponent, long coefficient, int roundingMode) {
         long Q_low_0, Q_low_1;
         long QH, r, mask, _C64, remainder_h;
 
@@ -1016,39 +1237,39 @@ class JavaImpl {
                     {
                         long CXH, CXL, CYH, CYL, PL, PH, PM, PM2;
                         CXH = coefficient >>> 32;
-                        CXL = (int) ((coefficient));
+                        CXL = coefficient & UINT32_MAX;
                         CYH = bid_reciprocals10_128[extra_digits][1] >>> 32;
-                        CYL = (int) bid_reciprocals10_128[extra_digits][1];
+                        CYL = bid_reciprocals10_128[extra_digits][1] & UINT32_MAX;
                         PM = CXH * CYL;
                         PH = CXH * CYH;
                         PL = CXL * CYL;
                         PM2 = CXL * CYH;
                         PH += (PM >>> 32);
-                        PM = (PM & 0xFFFFFFFFL) + PM2 + (PL >> 32);
-                        ALBH_1 = PH + (PM >> 32);
-                        ALBH_0 = (PM << 32) + (int) PL;
+                        PM = (PM & UINT32_MAX) + PM2 + (PL >>> 32);
+                        ALBH_1 = PH + (PM >>> 32);
+                        ALBH_0 = (PM << 32) + (PL & UINT32_MAX);
                     }
                     {
                         long CXH, CXL, CYH, CYL, PL, PH, PM, PM2;
                         CXH = ((coefficient)) >>> 32;
-                        CXL = (int) ((coefficient));
+                        CXL = coefficient & UINT32_MAX;
                         CYH = bid_reciprocals10_128[extra_digits][0] >>> 32;
-                        CYL = (int) bid_reciprocals10_128[extra_digits][0];
+                        CYL = bid_reciprocals10_128[extra_digits][0] & UINT32_MAX;
                         PM = CXH * CYL;
                         PH = CXH * CYH;
                         PL = CXL * CYL;
                         PM2 = CXL * CYH;
                         PH += (PM >>> 32);
-                        PM = (PM & 0xFFFFFFFFL) + PM2 + (PL >>> 32);
+                        PM = (PM & UINT32_MAX) + PM2 + (PL >>> 32);
                         ALBL_1 = PH + (PM >>> 32);
-                        ALBL_0 = (PM << 32) + (PL & 0xFFFFFFFFL);
+                        ALBL_0 = (PM << 32) + (PL & UINT32_MAX);
                     }
                     Q_low_0 = ALBL_0;
                     {
                         long R64H;
                         R64H = ALBH_1;
                         QM2_0 = ALBL_1 + ALBH_0;
-                        if (QM2_0 < ALBL_1)
+                        if (UnsignedLong.compare(QM2_0, ALBL_1) < 0)
                             R64H++;
                         QM2_1 = R64H;
                     }
@@ -1072,9 +1293,9 @@ class JavaImpl {
                         remainder_h = remainder_h & QH;
 
                         if (remainder_h == 0L
-                            && (Q_low_1 < bid_reciprocals10_128[extra_digits][1]
+                            && (UnsignedLong.compare(Q_low_1, bid_reciprocals10_128[extra_digits][1]) < 0
                             || (Q_low_1 == bid_reciprocals10_128[extra_digits][1]
-                            && Q_low_0 < bid_reciprocals10_128[extra_digits][0]))) {
+                            && UnsignedLong.compare(Q_low_0, bid_reciprocals10_128[extra_digits][0]) < 0))) {
                             _C64--;
                         }
                     }
@@ -1138,6 +1359,15 @@ class JavaImpl {
         return r;
     }
 
+    /**
+     * Packs the coefficient with at most 16 digits and the biased exponent, which is in range.
+     */
+    static long packCoefficient(final long signMask, final int exponent, final long coefficient) {
+        return coefficient <= SMALL_COEFFICIENT_MASK ?
+            signMask | ((long) exponent << EXPONENT_SHIFT_SMALL) | coefficient :
+            signMask | MASK_SPECIAL | ((long) exponent << EXPONENT_SHIFT_LARGE) | (coefficient & LARGE_COEFFICIENT_MASK);
+    }
+
     /**
      * pack value where exponent is within allowable range and coefficient does not require extended format
      * @param signMask
@@ -0,0 +1,799 @@
+package deltix.dfp;
+
+import java.io.IOException;
+
+import static deltix.dfp.JavaImpl.POWERS_OF_TEN;
+import static deltix.dfp.JavaImpl.numberOfDigits;
+import static deltix.dfp.JavaImplMul.divideByPowerOfTen128;
+import static deltix.dfp.JavaImplMul.unsignedMultiplyHigh;
+
+/**
+ * Pure Java implementation of 128-bit DFP (IEEE 754 decimal128, BID encoding).
+ * <p>
+ * A value is a pair of longs: the high word holds the sign, the exponent and the upper 49 bits of the coefficient,
+ * the low word holds the lower 64 bits of the coefficient. Results are written into {@code long[]} as
+ * {@code result[offset] = high, result[offset + 1] = low}, so no objects are allocated.
+ * <p>
+ * The coefficients (up to 34 digits) are split into base 10^17 limbs. An exact product (up to 68 digits) fits into
+ * four limbs, and rounding to 34 digits works on decimal digits of the limbs.
+ * All operations round to nearest, ties to even.
+ */
+final class JavaImpl128 {
+    private JavaImpl128() {
+    }
+
+    static final long MASK_SIGN                     = 0x8000_0000_0000_0000L;
+    static final long MASK_SPECIAL                  = 0x6000_0000_0000_0000L;
+    static final long MASK_INFINITY_AND_NAN         = 0x7800_0000_0000_0000L;
+    static final long MASK_INFINITY_NAN             = 0x7C00_0000_0000_0000L;
+    static final long MASK_COEFFICIENT_HIGH         = 0x0001_FFFF_FFFF_FFFFL;
+
+    static final long POSITIVE_INFINITY_HIGH        = 0x7800_0000_0000_0000L;
+    static final long NEGATIVE_INFINITY_HIGH        = 0xF800_0000_0000_0000L;
+    static final long NaN_HIGH                      = 0x7C00_0000_0000_0000L;
+    static final long ZERO_HIGH                     = 0x3040_0000_0000_0000L; //e=0,m=0,sign=0
+
+    static final int EXPONENT_BIAS = 6176;
+    static final int BIASED_EXPONENT_MAX_VALUE = 12287;
+    static final int EXPONENT_MASK = 0x3FFF;
+    static final int EXPONENT_SHIFT_LARGE = 47;
+    static final int EXPONENT_SHIFT_SMALL = 49;
+
+    static final int MAX_FORMAT_DIGITS = 34;
+
+    // 10^34, coefficients greater or equal to it are non-canonical
+    private static final long COEFFICIENT_LIMIT_HIGH = 0x0001_ED09_BEAD_87C0L;
+    private static final long COEFFICIENT_LIMIT_LOW  = 0x378D_8E64_0000_0000L;
+
+    private static final int LIMB_DIGITS = 17;
+    private static final long LIMB = POWERS_OF_TEN[LIMB_DIGITS];
+
+    /// region Classification
+
+    static boolean isNaN(final long high) {
+        return (high & MASK_INFINITY_NAN) == MASK_INFINITY_NAN;
+    }
+
+    static boolean isInfinity(final long high) {
+        return (high & MASK_INFINITY_NAN) == MASK_INFINITY_AND_NAN;
+    }
+
+    static boolean isFinite(final long high) {
+        return (high & MASK_INFINITY_AND_NAN) != MASK_INFINITY_AND_NAN;
+    }
+
+    static boolean isZero(final long high, final long low) {
+        return isFinite(high) && isZeroCoefficient(high, low);
+    }
+
+    /**
+     * Returns a hash code of the arithmetical value: equal values with different exponents have the same hash code.
+     */
+    static int hashCode(final long high, final long low) {
+        if (!isFinite(high))
+            return isNaN(high) ? 0x7FF80000 : high < 0 ? 0xFFF00000 : 0x7FF00000;
+
+        long c1 = upperLimb(high, low), c0 = lowerLimb(high, low, c1);
+        if ((c1 | c0) == 0)
+            return 0;
+
+        // Drop the trailing zeros to get the same coefficient and exponent for the same value
+        int exponent = exponent(high);
+        while (c0 % 10 == 0) {
+            c0 = c0 / 10 + c1 % 10 * (LIMB / 10);
+            c1 /= 10;
+            exponent++;
+        }
+
+        final long hash = ((c1 * 31 + c0) * 31 + exponent) * 31 + (high & MASK_SIGN);
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /// endregion
+
+    /// region Unpacking
+
+    static int exponent(final long high) {
+        return (high & MASK_SPECIAL) == MASK_SPECIAL ?
+            (int) (high >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK :
+            (int) (high >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+    }
+
+    /**
+     * Checks whether the coefficient of a finite value is zero. Non-canonical coefficients are treated as zero.
+     */
+    static boolean isZeroCoefficient(final long high, final long low) {
+        return isNonCanonical(high, low) || ((high & MASK_COEFFICIENT_HIGH) | low) == 0;
+    }
+
+    private static boolean isNonCanonical(final long high, final long low) {
+        // The large format always encodes coefficients above 2^113 > 10^34
+        if ((high & MASK_SPECIAL) == MASK_SPECIAL)
+            return true;
+        final long coefficientHigh = high & MASK_COEFFICIENT_HIGH;
+        return coefficientHigh > COEFFICIENT_LIMIT_HIGH ||
+            (coefficientHigh == COEFFICIENT_LIMIT_HIGH && Long.compareUnsigned(low, COEFFICIENT_LIMIT_LOW) >= 0);
+    }
+
+    /**
+     * Returns the upper base 10^17 limb of the coefficient of a finite value.
+     */
+    private static long upperLimb(final long high, final long low) {
+        return isNonCanonical(high, low) ? 0 : divideByPowerOfTen128(high & MASK_COEFFICIENT_HIGH, low, LIMB_DIGITS);
+    }
+
+    /**
+     * Returns the lower base 10^17 limb of the coefficient of a finite value.
+     */
+    private static long lowerLimb(final long high, final long low, final long upperLimb) {
+        return isNonCanonical(high, low) ? 0 : low - upperLimb * LIMB;
+    }
+
+    private static long limb(final long d3, final long d2, final long d1, final long d0, final int index) {
+        switch (index) {
+            case 0:
+                return d0;
+            case 1:
+                return d1;
+            case 2:
+                return d2;
+            case 3:
+                return d3;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the limb with the given index of the value, divided by 10^digits.
+     */
+    private static long shiftRight(final long d3, final long d2, final long d1, final long d0,
+                                   final int digits, final int index) {
+        final int limbs = index + digits / LIMB_DIGITS;
+        final int shift = digits % LIMB_DIGITS;
+        final long lower = limb(d3, d2, d1, d0, limbs);
+        if (shift == 0)
+            return lower;
+        final long upper = limb(d3, d2, d1, d0, limbs + 1);
+        return lower / POWERS_OF_TEN[shift] + upper % POWERS_OF_TEN[shift] * POWERS_OF_TEN[LIMB_DIGITS - shift];
+    }
+
+    /**
+     * Returns the limb with the given index of the value, multiplied by 10^digits.
+     */
+    private static long shiftLeft(final long d1, final long d0, final int digits, final int index) {
+        final int limbs = index - digits / LIMB_DIGITS;
+        final int shift = digits % LIMB_DIGITS;
+        final long lower = limbs >= 1 ? limb(0, 0, d1, d0, limbs - 1) : 0;
+        final long upper = limbs >= 0 ? limb(0, 0, d1, d0, limbs) : 0;
+        return upper % POWERS_OF_TEN[LIMB_DIGITS - shift] * POWERS_OF_TEN[shift] + lower / POWERS_OF_TEN[LIMB_DIGITS - shift];
+    }
+
+    private static int numberOfLimbDigits(final long d3, final long d2, final long d1, final long d0) {
+        if (d3 != 0)
+            return 3 * LIMB_DIGITS + numberOfDigits(d3);
+        if (d2 != 0)
+            return 2 * LIMB_DIGITS + numberOfDigits(d2);
+        if (d1 != 0)
+            return LIMB_DIGITS + numberOfDigits(d1);
+        return d0 != 0 ? numberOfDigits(d0) : 0;
+    }
+
+    /// endregion
+
+    /// region Packing
+
+    static void set(final long high, final long low, final long[] result, final int offset) {
+        result[offset] = high;
+        result[offset + 1] = low;
+    }
+
+    /**
+     * Rounds the coefficient {@code d3*10^51 + d2*10^34 + d1*10^17 + d0} to 34 digits and packs the result.
+     *
+     * @param sign     Sign mask of the result.
+     * @param exponent Biased exponent, may be out of range.
+     * @param sticky   {@code true} if non-zero digits were already dropped below the coefficient.
+     */
+    static void pack(final long sign, int exponent, final long d3, final long d2, final long d1, final long d0,
+                     final boolean sticky, final long[] result, final int offset) {
+        final int digits = numberOfLimbDigits(d3, d2, d1, d0);
+        final int drop = Math.max(digits - MAX_FORMAT_DIGITS, -exponent);
+
+        long coefficient1 = d1, coefficient0 = d0;
+        if (drop > 0) {
+            exponent += drop;
+            if (drop > digits) {
+                // Less than a half of the least significant digit is left
+                coefficient1 = coefficient0 = 0;
+            } else {
+                coefficient1 = shiftRight(d3, d2, d1, d0, drop, 1);
+                coefficient0 = shiftRight(d3, d2, d1, d0, drop, 0);
+
+                final int roundLimb = (drop - 1) / LIMB_DIGITS;
+                final long roundPower = POWERS_OF_TEN[(drop - 1) % LIMB_DIGITS];
+                final long roundLimbValue = limb(d3, d2, d1, d0, roundLimb);
+                final long roundDigit = roundLimbValue / roundPower % 10;
+                boolean isInexact = sticky || roundLimbValue % roundPower != 0;
+                for (int i = 0; i < roundLimb && !isInexact; i++)
+                    isInexact = limb(d3, d2, d1, d0, i) != 0;
+
+                if (roundDigit > 5 || (roundDigit == 5 && (isInexact || (coefficient0 & 1) != 0))) {
+                    if (++coefficient0 == LIMB) {
+                        coefficient0 = 0;
+                        if (++coefficient1 == LIMB) {
+                            coefficient1 = LIMB / 10;
+                            exponent++;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (exponent > BIASED_EXPONENT_MAX_VALUE) {
+            if ((coefficient1 | coefficient0) == 0) {
+                exponent = BIASED_EXPONENT_MAX_VALUE;
+            } else {
+                // Clamp the exponent by adding trailing zeros to the coefficient, if there is room for them
+                while (exponent > BIASED_EXPONENT_MAX_VALUE && coefficient1 < LIMB / 10) {
+                    coefficient1 = coefficient1 * 10 + coefficient0 / (LIMB / 10);
+                    coefficient0 = coefficient0 % (LIMB / 10) * 10;
+                    exponent--;
+                }
+                if (exponent > BIASED_EXPONENT_MAX_VALUE) {
+                    set(sign | POSITIVE_INFINITY_HIGH, 0, result, offset);
+                    return;
+                }
+            }
+        }
+
+        packCoefficient(sign, exponent, coefficient1, coefficient0, result, offset);
+    }
+
+    /**
+     * Packs the coefficient {@code d1*10^17 + d0} below 10^34 with the exponent in range.
+     */
+    private static void packCoefficient(final long sign, final int exponent, final long d1, final long d0,
+                                        final long[] result, final int offset) {
+        final long productLow = d1 * LIMB;
+        final long low = productLow + d0;
+        long high = unsignedMultiplyHigh(d1, LIMB);
+        if (Long.compareUnsigned(low, productLow) < 0)
+            high++;
+        set(sign | ((long) exponent << EXPONENT_SHIFT_SMALL) | high, low, result, offset);
+    }
+
+    /// endregion
+
+    /// region Conversion
+
+    static void fromDecimal64(final long value, final long[] result, final int offset) {
+        final long sign = value & MASK_SIGN;
+        if ((value & JavaImpl.MASK_INFINITY_AND_NAN) == JavaImpl.MASK_INFINITY_AND_NAN) {
+            set(JavaImpl.isNaN(value) ? NaN_HIGH : sign | POSITIVE_INFINITY_HIGH, 0, result, offset);
+            return;
+        }
+
+        final long coefficient;
+        final int exponent;
+        if ((value & JavaImpl.MASK_SPECIAL) == JavaImpl.MASK_SPECIAL) {
+            final long large = (value & JavaImpl.LARGE_COEFFICIENT_MASK) | JavaImpl.LARGE_COEFFICIENT_HIGH_BIT;
+            coefficient = large > JavaImpl.MAX_COEFFICIENT ? 0 : large;
+            exponent = (int) (value >>> JavaImpl.EXPONENT_SHIFT_LARGE) & JavaImpl.EXPONENT_MASK;
+        } else {
+            coefficient = value & JavaImpl.SMALL_COEFFICIENT_MASK;
+            exponent = (int) (value >>> JavaImpl.EXPONENT_SHIFT_SMALL) & JavaImpl.EXPONENT_MASK;
+        }
+
+        // Every 64-bit value is exactly representable
+        final long biasedExponent = exponent - JavaImpl.EXPONENT_BIAS + EXPONENT_BIAS;
+        set(sign | (biasedExponent << EXPONENT_SHIFT_SMALL), coefficient, result, offset);
+    }
+
+    static long toDecimal64(final long high, final long low) {
+        final long sign = high & MASK_SIGN;
+        if (!isFinite(high))
+            return isNaN(high) ? JavaImpl.NaN : sign | JavaImpl.POSITIVE_INFINITY;
+
+        int exponent = exponent(high) - EXPONENT_BIAS + JavaImpl.EXPONENT_BIAS;
+        if (isZeroCoefficient(high, low)) {
+            exponent = Math.min(Math.max(exponent, 0), JavaImpl.BIASED_EXPONENT_MAX_VALUE);
+            return sign | ((long) exponent << JavaImpl.EXPONENT_SHIFT_SMALL);
+        }
+
+        final long coefficientHigh = high & MASK_COEFFICIENT_HIGH;
+        if (coefficientHigh == 0 && low >= 0 && low <= JavaImpl.MAX_COEFFICIENT)
+            return JavaImpl.pack(sign, exponent, low, JavaImpl.BID_ROUNDING_TO_NEAREST);
+        return JavaImplMul.round128(sign, exponent, coefficientHigh, low);
+    }
+
+    static void fromLong(final long value, final long[] result, final int offset) {
+        // The magnitude of Long.MIN_VALUE is still correct as unsigned
+        set((value & MASK_SIGN) | ZERO_HIGH, value < 0 ? -value : value, result, offset);
+    }
+
+    /// endregion
+
+    /// region Comparison
+
+    /**
+     * Compares two values, NaN is greater than any other value and equal to itself, -0 is equal to 0.
+     */
+    static int compare(final long aHigh, final long aLow, final long bHigh, final long bLow) {
+        final boolean isNaNA = isNaN(aHigh), isNaNB = isNaN(bHigh);
+        if (isNaNA || isNaNB)
+            return isNaNA == isNaNB ? 0 : isNaNA ? 1 : -1;
+
+        final boolean isZeroA = isZero(aHigh, aLow), isZeroB = isZero(bHigh, bLow);
+        if (isZeroA && isZeroB)
+            return 0;
+
+        final boolean isNegativeA = (aHigh & MASK_SIGN) != 0 && !isZeroA;
+        final boolean isNegativeB = (bHigh & MASK_SIGN) != 0 && !isZeroB;
+        if (isNegativeA != isNegativeB)
+            return isNegativeA ? -1 : 1;
+
+        final int magnitude = compareMagnitude(aHigh, aLow, isZeroA, bHigh, bLow, isZeroB);
+        return isNegativeA ? -magnitude : magnitude;
+    }
+
+    private static int compareMagnitude(final long aHigh, final long aLow, final boolean isZeroA,
+                                        final long bHigh, final long bLow, final boolean isZeroB) {
+        final boolean isInfinityA = isInfinity(aHigh), isInfinityB = isInfinity(bHigh);
+        if (isInfinityA || isInfinityB)
+            return isInfinityA == isInfinityB ? 0 : isInfinityA ? 1 : -1;
+        if (isZeroA || isZeroB)
+            return isZeroA ? -1 : 1;
+
+        final long a1 = upperLimb(aHigh, aLow), a0 = lowerLimb(aHigh, aLow, a1);
+        final long b1 = upperLimb(bHigh, bLow), b0 = lowerLimb(bHigh, bLow, b1);
+        final int exponentA = exponent(aHigh), exponentB = exponent(bHigh);
+
+        // Compare the positions of the most significant digits first
+        final int adjustedA = exponentA + numberOfLimbDigits(0, 0, a1, a0);
+        final int adjustedB = exponentB + numberOfLimbDigits(0, 0, b1, b0);
+        if (adjustedA != adjustedB)
+            return adjustedA > adjustedB ? 1 : -1;
+
+        // The most significant digits are aligned, both coefficients fit into 34 digits after the alignment
+        if (exponentA >= exponentB) {
+            final int shift = exponentA - exponentB;
+            return compareLimbs(shiftLeft(a1, a0, shift, 1), shiftLeft(a1, a0, shift, 0), b1, b0);
+        } else {
+            final int shift = exponentB - exponentA;
+            return compareLimbs(a1, a0, shiftLeft(b1, b0, shift, 1), shiftLeft(b1, b0, shift, 0));
+        }
+    }
+
+    private static int compareLimbs(final long a1, final long a0, final long b1, final long b0) {
+        if (a1 != b1)
+            return a1 > b1 ? 1 : -1;
+        return Long.compare(a0, b0);
+    }
+
+    /// endregion
+
+    /// region Arithmetic
+
+    static void negate(final long high, final long low, final long[] result, final int offset) {
+        set(high ^ MASK_SIGN, low, result, offset);
+    }
+
+    static void abs(final long high, final long low, final long[] result, final int offset) {
+        set(high & ~MASK_SIGN, low, result, offset);
+    }
+
+    static void subtract(final long aHigh, final long aLow, final long bHigh, final long bLow,
+                         final long[] result, final int offset) {
+        add(aHigh, aLow, isNaN(bHigh) ? bHigh : bHigh ^ MASK_SIGN, bLow, result, offset);
+    }
+
+    static void add(final long aHigh, final long aLow, final long bHigh, final long bLow,
+                    final long[] result, final int offset) {
+        if (!isFinite(aHigh) || !isFinite(bHigh)) {
+            addNonFinite(aHigh, bHigh, result, offset);
+            return;
+        }
+
+        // Let x be the operand with the greater exponent
+        final boolean swap = exponent(aHigh) < exponent(bHigh);
+        final long xHigh = swap ? bHigh : aHigh, xLow = swap ? bLow : aLow;
+        final long yHigh = swap ? aHigh : bHigh, yLow = swap ? aLow : bLow;
+
+        final long signX = xHigh & MASK_SIGN, signY = yHigh & MASK_SIGN;
+        final int exponentX = exponent(xHigh), exponentY = exponent(yHigh);
+        final long x1 = upperLimb(xHigh, xLow), x0 = lowerLimb(xHigh, xLow, x1);
+        final long y1 = upperLimb(yHigh, yLow), y0 = lowerLimb(yHigh, yLow, y1);
+
+        if ((x1 | x0) == 0) {
+            // The exponent of y is already the smallest one
+            final long sign = (y1 | y0) != 0 || signX == signY ? signY : 0;
+            packCoefficient(sign, exponentY, y1, y0, result, offset);
+            return;
+        }
+
+        // Scale x up to 67 digits at most, so the sum fits into four limbs, and cut the digits of y below it
+        final int difference = exponentX - exponentY;
+        final int shift = Math.min(difference, 2 * MAX_FORMAT_DIGITS - 1 - numberOfLimbDigits(0, 0, x1, x0));
+        final int exponent = exponentX - shift;
+
+        final long sx3 = shiftLeft(x1, x0, shift, 3), sx2 = shiftLeft(x1, x0, shift, 2);
+        final long sx1 = shiftLeft(x1, x0, shift, 1), sx0 = shiftLeft(x1, x0, shift, 0);
+
+        long sy1 = y1, sy0 = y0;
+        boolean sticky = false;
+        final int cut = difference - shift;
+        if (cut > 0) {
+            if (cut > MAX_FORMAT_DIGITS) {
+                sy1 = sy0 = 0;
+                sticky = (y1 | y0) != 0;
+            } else {
+                sy1 = shiftRight(0, 0, y1, y0, cut, 1);
+                sy0 = shiftRight(0, 0, y1, y0, cut, 0);
+                sticky = cut <= LIMB_DIGITS ? y0 % POWERS_OF_TEN[cut] != 0 :
+                    y0 != 0 || y1 % POWERS_OF_TEN[cut - LIMB_DIGITS] != 0;
+            }
+        }
+
+        long r3, r2, r1, r0;
+        long sign = signX;
+        if (signX == signY) {
+            r0 = sx0 + sy0;
+            r1 = sx1 + sy1;
+            if (r0 >= LIMB) {
+                r0 -= LIMB;
+                r1++;
+            }
+            r2 = sx2;
+            if (r1 >= LIMB) {
+                r1 -= LIMB;
+                r2++;
+            }
+            r3 = sx3;
+            if (r2 >= LIMB) {
+                r2 -= LIMB;
+                r3++;
+            }
+        } else {
+            long m1 = sy1, m0 = sy0;
+            // With the sticky digits the exact subtrahend is a bit greater, subtract one more unit and keep them
+            if (sticky && ++m0 == LIMB) {
+                m0 = 0;
+                m1++;
+            }
+
+            final int comparison = sx3 != 0 || sx2 != 0 ? 1 : compareLimbs(sx1, sx0, m1, m0);
+            if (comparison == 0 && !sticky) {
+                // Exact cancellation is a positive zero
+                packCoefficient(0, exponent, 0, 0, result, offset);
+                return;
+            }
+            if (comparison >= 0) {
+                r0 = sx0 - m0;
+                r1 = sx1 - m1;
+                if (r0 < 0) {
+                    r0 += LIMB;
+                    r1--;
+                }
+                r2 = sx2;
+                if (r1 < 0) {
+                    r1 += LIMB;
+                    r2--;
+                }
+                r3 = sx3;
+                if (r2 < 0) {
+                    r2 += LIMB;
+                    r3--;
+                }
+            } else {
+                // |x| < |y| is possible only without the cut of y
+                sign = signY;
+                r3 = r2 = 0;
+                r0 = m0 - sx0;
+                r1 = m1 - sx1;
+                if (r0 < 0) {
+                    r0 += LIMB;
+                    r1--;
+                }
+            }
+        }
+
+        pack(sign, exponent, r3, r2, r1, r0, sticky, result, offset);
+    }
+
+    private static void addNonFinite(final long aHigh, final long bHigh, final long[] result, final int offset) {
+        if (isNaN(aHigh) || isNaN(bHigh)) {
+            set(NaN_HIGH, 0, result, offset);
+            return;
+        }
+
+        if (isInfinity(aHigh)) {
+            // Infinity - Infinity is NaN
+            if (isInfinity(bHigh) && ((aHigh ^ bHigh) & MASK_SIGN) != 0)
+                set(NaN_HIGH, 0, result, offset);
+            else
+                set((aHigh & MASK_SIGN) | POSITIVE_INFINITY_HIGH, 0, result, offset);
+            return;
+        }
+
+        set((bHigh & MASK_SIGN) | POSITIVE_INFINITY_HIGH, 0, result, offset);
+    }
+
+    static void multiply(final long aHigh, final long aLow, final long bHigh, final long bLow,
+                         final long[] result, final int offset) {
+        final long sign = (aHigh ^ bHigh) & MASK_SIGN;
+        if (!isFinite(aHigh) || !isFinite(bHigh)) {
+            // Infinity * 0 is NaN
+            if (isNaN(aHigh) || isNaN(bHigh) || isZero(aHigh, aLow) || isZero(bHigh, bLow))
+                set(NaN_HIGH, 0, result, offset);
+            else
+                set(sign | POSITIVE_INFINITY_HIGH, 0, result, offset);
+            return;
+        }
+
+        final long a1 = upperLimb(aHigh, aLow), a0 = lowerLimb(aHigh, aLow, a1);
+        final long b1 = upperLimb(bHigh, bLow), b0 = lowerLimb(bHigh, bLow, b1);
+        final int exponent = exponent(aHigh) + exponent(bHigh) - EXPONENT_BIAS;
+
+        // Schoolbook multiplication in base 10^17, every partial product is below 10^34
+        final long u00 = upperProductLimb(a0, b0), u01 = upperProductLimb(a0, b1);
+        final long u10 = upperProductLimb(a1, b0), u11 = upperProductLimb(a1, b1);
+
+        final long r0 = a0 * b0 - u00 * LIMB;
+        long r1 = u00 + (a0 * b1 - u01 * LIMB) + (a1 * b0 - u10 * LIMB);
+        long carry = r1 / LIMB;
+        r1 -= carry * LIMB;
+        long r2 = carry + u01 + u10 + (a1 * b1 - u11 * LIMB);
+        carry = r2 / LIMB;
+        r2 -= carry * LIMB;
+        final long r3 = carry + u11;
+
+        pack(sign, exponent, r3, r2, r1, r0, false, result, offset);
+    }
+
+    /**
+     * Returns {@code floor(x * y / 10^17)} for limbs below 10^17.
+     */
+    private static long upperProductLimb(final long x, final long y) {
+        return divideByPowerOfTen128(unsignedMultiplyHigh(x, y), x * y, LIMB_DIGITS);
+    }
+
+    static void divide(final long aHigh, final long aLow, final long bHigh, final long bLow,
+                       final long[] result, final int offset) {
+        final long sign = (aHigh ^ bHigh) & MASK_SIGN;
+        if (!isFinite(aHigh) || !isFinite(bHigh)) {
+            // Infinity / Infinity is NaN, finite / Infinity is zero with the minimal exponent
+            if (isNaN(aHigh) || isNaN(bHigh) || (isInfinity(aHigh) && isInfinity(bHigh)))
+                set(NaN_HIGH, 0, result, offset);
+            else
+                set(isInfinity(aHigh) ? sign | POSITIVE_INFINITY_HIGH : sign, 0, result, offset);
+            return;
+        }
+
+        final boolean isZeroA = isZeroCoefficient(aHigh, aLow), isZeroB = isZeroCoefficient(bHigh, bLow);
+        if (isZeroB) {
+            // 0 / 0 is NaN, x / 0 is Infinity
+            set(isZeroA ? NaN_HIGH : sign | POSITIVE_INFINITY_HIGH, 0, result, offset);
+            return;
+        }
+
+        int exponent = exponent(aHigh) - exponent(bHigh) + EXPONENT_BIAS;
+        if (isZeroA) {
+            exponent = Math.min(Math.max(exponent, 0), BIASED_EXPONENT_MAX_VALUE);
+            set(sign | ((long) exponent << EXPONENT_SHIFT_SMALL), 0, result, offset);
+            return;
+        }
+
+        final long dividendHigh = aHigh & MASK_COEFFICIENT_HIGH;
+        final long divisorHigh = bHigh & MASK_COEFFICIENT_HIGH;
+
+        // Integer part of the quotient by binary long division, it is below 10^34
+        long quotientHigh = 0, quotientLow = 0, remainderHigh = 0, remainderLow = 0;
+        final int bits = dividendHigh != 0 ? 128 - Long.numberOfLeadingZeros(dividendHigh) :
+            64 - Long.numberOfLeadingZeros(aLow);
+        for (int i = bits - 1; i >= 0; i--) {
+            final long bit = i >= 64 ? (dividendHigh >>> (i - 64)) & 1 : (aLow >>> i) & 1;
+            remainderHigh = (remainderHigh << 1) | (remainderLow >>> 63);
+            remainderLow = (remainderLow << 1) | bit;
+            if (compareUnsigned128(remainderHigh, remainderLow, divisorHigh, bLow) >= 0) {
+                final long difference = remainderLow - bLow;
+                remainderHigh -= divisorHigh + (Long.compareUnsigned(remainderLow, bLow) < 0 ? 1 : 0);
+                remainderLow = difference;
+                if (i >= 64)
+                    quotientHigh |= 1L << (i - 64);
+                else
+                    quotientLow |= 1L << i;
+            }
+        }
+
+        long q1 = divideByPowerOfTen128(quotientHigh, quotientLow, LIMB_DIGITS);
+        long q0 = quotientLow - q1 * LIMB;
+        long q2 = 0;
+        int digits = numberOfLimbDigits(0, 0, q1, q0);
+
+        // Fractional digits one by one, up to 35 significant digits to round correctly
+        while ((remainderHigh | remainderLow) != 0 && digits <= MAX_FORMAT_DIGITS) {
+            final long timesTenLow = remainderLow * 10;
+            remainderHigh = remainderHigh * 10 + unsignedMultiplyHigh(remainderLow, 10);
+            remainderLow = timesTenLow;
+
+            long digit = 0;
+            while (compareUnsigned128(remainderHigh, remainderLow, divisorHigh, bLow) >= 0) {
+                final long difference = remainderLow - bLow;
+                remainderHigh -= divisorHigh + (Long.compareUnsigned(remainderLow, bLow) < 0 ? 1 : 0);
+                remainderLow = difference;
+                digit++;
+            }
+
+            q0 = q0 * 10 + digit;
+            long carry = q0 / LIMB;
+            q0 -= carry * LIMB;
+            q1 = q1 * 10 + carry;
+            carry = q1 / LIMB;
+            q1 -= carry * LIMB;
+            q2 = q2 * 10 + carry;
+
+            exponent--;
+            if (digits > 0 || digit != 0)
+                digits++;
+        }
+
+        pack(sign, exponent, 0, q2, q1, q0, (remainderHigh | remainderLow) != 0, result, offset);
+    }
+
+    private static int compareUnsigned128(final long aHigh, final long aLow, final long bHigh, final long bLow) {
+        return aHigh != bHigh ? Long.compareUnsigned(aHigh, bHigh) : Long.compareUnsigned(aLow, bLow);
+    }
+
+    /// endregion
+
+    /// region Parsing & Formatting
+
+    static void parse(final CharSequence s, final int si, final int ei, final long[] result, final int offset) {
+        int p = si;
+        boolean isNegative = false;
+        char c = p < ei ? s.charAt(p) : 0;
+        if (c == '+' || c == '-') {
+            isNegative = c == '-';
+            p += 1;
+            c = p < ei ? s.charAt(p) : 0;
+        }
+
+        if (c != '.' && (c < '0' || c > '9')) {
+            if (TextUtils.equalsIgnoringCase(s, p, ei, "Infinity") ||
+                TextUtils.equalsIgnoringCase(s, p, ei, "Inf")) {
+                set(isNegative ? NEGATIVE_INFINITY_HIGH : POSITIVE_INFINITY_HIGH, 0, result, offset);
+                return;
+            }
+            if (TextUtils.equalsIgnoringCase(s, p, ei, "NaN") ||
+                TextUtils.equalsIgnoringCase(s, p, ei, "SNaN")) {
+                set(NaN_HIGH, 0, result, offset);
+                return;
+            }
+            throw JavaImpl.invalidFormat(s, si, ei);
+        }
+
+        // Up to 35 significant digits are kept to round correctly, the rest only set the sticky flag
+        long d2 = 0, d1 = 0, d0 = 0;
+        int significantDigits = 0;
+        boolean hasDigits = false, seenRadixPoint = false, sticky = false;
+        int exponent = 0;
+
+        for (; (c >= '0' && c <= '9') || c == '.'; p += 1, c = p < ei ? s.charAt(p) : 0) {
+            if (c == '.') {
+                if (seenRadixPoint)
+                    throw JavaImpl.invalidFormat(s, si, ei);
+                seenRadixPoint = true;
+                continue;
+            }
+
+            hasDigits = true;
+            if (significantDigits == 0 && c == '0') {
+                if (seenRadixPoint)
+                    exponent--;
+                continue;
+            }
+
+            if (significantDigits <= MAX_FORMAT_DIGITS) {
+                d0 = d0 * 10 + (c - '0');
+                long carry = d0 / LIMB;
+                d0 -= carry * LIMB;
+                d1 = d1 * 10 + carry;
+                carry = d1 / LIMB;
+                d1 -= carry * LIMB;
+                d2 = d2 * 10 + carry;
+                significantDigits++;
+                if (seenRadixPoint)
+                    exponent--;
+            } else {
+                sticky |= c != '0';
+                if (!seenRadixPoint)
+                    exponent++;
+            }
+        }
+
+        if (!hasDigits)
+            throw JavaImpl.invalidFormat(s, si, ei);
+
+        if (c == 'e' || c == 'E') {
+            p += 1;
+            c = p < ei ? s.charAt(p) : 0;
+
+            final boolean isExponentNegative = c == '-';
+            if (c == '-' || c == '+') {
+                p += 1;
+                c = p < ei ? s.charAt(p) : 0;
+            }
+
+            if (c < '0' || c > '9')
+                throw JavaImpl.invalidFormat(s, si, ei);
+
+            int value = 0;
+            for (; c >= '0' && c <= '9'; p += 1, c = p < ei ? s.charAt(p) : 0) {
+                // Any greater exponent overflows or underflows anyway
+                if (value < (1 << 20))
+                    value = value * 10 + (c - '0');
+            }
+            exponent += isExponentNegative ? -value : value;
+        }
+
+        if (p < ei)
+            throw JavaImpl.invalidFormat(s, si, ei);
+
+        pack(isNegative ? MASK_SIGN : 0, exponent + EXPONENT_BIAS, 0, d2, d1, d0, sticky, result, offset);
+    }
+
+    static <T extends Appendable> T appendTo(final long high, final long low, final T appendable) throws IOException {
+        if (!isFinite(high)) {
+            appendable.append(isNaN(high) ? "NaN" : high < 0 ? "-Infinity" : "Infinity");
+            return appendable;
+        }
+
+        final long c1 = upperLimb(high, low), c0 = lowerLimb(high, low, c1);
+        if ((c1 | c0) == 0) {
+            appendable.append('0');
+            return appendable;
+        }
+
+        if (high < 0)
+            appendable.append('-');
+
+        final int exponent = exponent(high) - EXPONENT_BIAS;
+        final int digits = numberOfLimbDigits(0, 0, c1, c0);
+
+        // Index of the least significant non-zero digit, the trailing zeros of the fraction are not printed
+        int last = 0;
+        while (digit(c1, c0, last) == 0)
+            last++;
+
+        if (exponent >= 0) {
+            appendDigits(c1, c0, digits - 1, 0, appendable);
+            for (int i = 0; i < exponent; i += 1)
+                appendable.append('0');
+        } else if (digits + exponent > 0) {
+            appendDigits(c1, c0, digits - 1, -exponent, appendable);
+            if (last < -exponent) {
+                appendable.append('.');
+                appendDigits(c1, c0, -exponent - 1, last, appendable);
+            }
+        } else {
+            appendable.append("0.");
+            for (int i = digits + exponent; i < 0; i += 1)
+                appendable.append('0');
+            appendDigits(c1, c0, digits - 1, last, appendable);
+        }
+        return appendable;
+    }
+
+    private static int digit(final long c1, final long c0, final int index) {
+        return (int) (index < LIMB_DIGITS ? c0 / POWERS_OF_TEN[index] % 10 : c1 / POWERS_OF_TEN[index - LIMB_DIGITS] % 10);
+    }
+
+    private static void appendDigits(final long c1, final long c0, final int from, final int to,
+                                     final Appendable appendable) throws IOException {
+        for (int i = from; i >= to; i -= 1)
+            appendable.append((char) ('0' + digit(c1, c0, i)));
+    }
+
+    /// endregion
+}
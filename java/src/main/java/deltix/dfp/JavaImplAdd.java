@@ -0,0 +1,187 @@
+package deltix.dfp;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Pure Java implementation of 64-bit DFP addition and subtraction.
+ * Bit-exact with {@code bid64_add()}/{@code bid64_sub()} of the native library in the default rounding mode
+ * (round to nearest, ties to even).
+ */
+class JavaImplAdd {
+    private JavaImplAdd() {
+    }
+
+    public static long subtract(final long x, final long y) {
+        // Sign of NaN is not changed
+        return add(x, (y & MASK_INFINITY_NAN) != MASK_INFINITY_NAN ? y ^ MASK_SIGN : y);
+    }
+
+    public static long add(final long x, final long y) {
+        if ((x & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN || (y & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+            return addNonFinite(x, y);
+
+        // Unpack arguments, non-canonical coefficients are treated as zeros
+        final long signX = x & MASK_SIGN;
+        long coefficientX;
+        final int exponentX;
+        if ((x & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientX = (x & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientX > MAX_COEFFICIENT)
+                coefficientX = 0;
+            exponentX = (int) (x >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientX = x & SMALL_COEFFICIENT_MASK;
+            exponentX = (int) (x >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        final long signY = y & MASK_SIGN;
+        long coefficientY;
+        final int exponentY;
+        if ((y & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientY = (y & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientY > MAX_COEFFICIENT)
+                coefficientY = 0;
+            exponentY = (int) (y >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientY = y & SMALL_COEFFICIENT_MASK;
+            exponentY = (int) (y >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        // Zero arguments: the result keeps the smaller (preferred) exponent
+        if (coefficientX == 0) {
+            if (coefficientY == 0)
+                return ((long) Math.min(exponentX, exponentY) << EXPONENT_SHIFT_SMALL) | (signX == signY ? signX : 0);
+            if (exponentY <= exponentX)
+                return y;
+        } else if (coefficientY == 0 && exponentY >= exponentX) {
+            return x;
+        }
+
+        // Sort arguments by exponent, so that exponentA >= exponentB
+        final long signA, signB, coefficientA, coefficientB;
+        final int exponentA, exponentB;
+        if (exponentX >= exponentY) {
+            signA = signX;
+            coefficientA = coefficientX;
+            exponentA = exponentX;
+            signB = signY;
+            coefficientB = coefficientY;
+            exponentB = exponentY;
+        } else {
+            signA = signY;
+            coefficientA = coefficientY;
+            exponentA = exponentY;
+            signB = signX;
+            coefficientB = coefficientX;
+            exponentB = exponentX;
+        }
+
+        final int diff = exponentA - exponentB;
+        if (diff <= 18 && coefficientA < POWERS_OF_TEN[18 - diff]) {
+            // coefficientA * 10^diff has at most 18 digits, so the exact sum fits into 63 bits.
+            // This path also covers the most common case of equal exponents.
+            long sum = coefficientA * POWERS_OF_TEN[diff];
+            sum = signA == signB ? sum + coefficientB : sum - coefficientB;
+            long sign = signA;
+            if (sum < 0) {
+                sum = -sum;
+                sign ^= MASK_SIGN;
+            } else if (sum == 0) {
+                // Exact cancellation results in +0
+                sign = 0;
+            }
+
+            if (sum <= MAX_COEFFICIENT)
+                return pack(sign, exponentB, sum, BID_ROUNDING_TO_NEAREST);
+
+            // 17..19 digits, round once to 16 digits
+            final long quotient, remainder, half;
+            final int extraDigits;
+            if (sum < 100_0000_0000_0000_000L) {
+                quotient = sum / 10;
+                remainder = sum - quotient * 10;
+                half = 5;
+                extraDigits = 1;
+            } else if (sum < 1000_0000_0000_0000_000L) {
+                quotient = sum / 100;
+                remainder = sum - quotient * 100;
+                half = 50;
+                extraDigits = 2;
+            } else {
+                quotient = sum / 1000;
+                remainder = sum - quotient * 1000;
+                half = 500;
+                extraDigits = 3;
+            }
+
+            return pack(sign, exponentB + extraDigits,
+                remainder > half || (remainder == half && (quotient & 1) != 0) ? quotient + 1 : quotient,
+                BID_ROUNDING_TO_NEAREST);
+        }
+
+        // Exponent difference is too large to align the coefficients within 64 bits.
+        // Normalize A to 16 digits, |A| is now at least 1000 times greater than |B|
+        final int scale = MAX_FORMAT_DIGITS - numberOfDigits(coefficientA);
+        long coefficient = coefficientA * POWERS_OF_TEN[scale];
+        int shift = diff - scale;
+
+        // |B| is less than 1/100 of the last digit of A and can't affect the rounded result
+        if (shift > 17)
+            return pack(signA, exponentA - scale, coefficient, BID_ROUNDING_TO_NEAREST);
+
+        // Split B into the part aligned with A and the remainder to be rounded off
+        long divisor = POWERS_OF_TEN[shift];
+        final long high = coefficientB / divisor;
+        long remainder = coefficientB - high * divisor;
+        if (signA == signB) {
+            coefficient += high;
+        } else {
+            coefficient -= high;
+            if (remainder != 0) {
+                coefficient -= 1;
+                remainder = divisor - remainder;
+            }
+        }
+
+        if (coefficient > MAX_COEFFICIENT) {
+            // Carry into the 17th digit, move one more digit into the remainder
+            final long quotient = coefficient / 10;
+            remainder += (coefficient - quotient * 10) * divisor;
+            coefficient = quotient;
+            divisor *= 10;
+            shift += 1;
+        } else if (coefficient < POWERS_OF_TEN[MAX_FORMAT_DIGITS - 1]) {
+            // Cancellation of the leading digit, take one more digit from the remainder
+            divisor /= 10;
+            final long digit = remainder / divisor;
+            coefficient = coefficient * 10 + digit;
+            remainder -= digit * divisor;
+            shift -= 1;
+        }
+
+        final long half = divisor >>> 1;
+        if (remainder > half || (remainder == half && (coefficient & 1) != 0))
+            coefficient += 1;
+
+        return pack(signA, exponentB + shift, coefficient, BID_ROUNDING_TO_NEAREST);
+    }
+
+    private static long addNonFinite(final long x, final long y) {
+        if ((x & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+            return quietNaN(x);
+
+        if ((x & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN) {
+            // x is Infinity
+            if ((y & MASK_INFINITY_NAN) == MASK_INFINITY_AND_NAN)
+                return (x & MASK_SIGN) == (y & MASK_SIGN) ? x & NEGATIVE_INFINITY : NaN;
+
+            if ((y & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+                return quietNaN(y);
+
+            return x & NEGATIVE_INFINITY;
+        }
+
+        // y is Infinity or NaN
+        return (y & MASK_INFINITY_NAN) == MASK_INFINITY_NAN ? quietNaN(y) : y & NEGATIVE_INFINITY;
+    }
+}
@@ -0,0 +1,251 @@
+package deltix.dfp;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Pure Java implementation of conversions between 64-bit DFP and binary floating point values.
+ * Bit-exact with {@code binary64_to_bid64()} and {@code bid64_to_binary64()} of the native library
+ * in the default rounding mode (round to nearest, ties to even).
+ * <p>
+ * Both directions multiply the normalized 64-bit significand by the truncated 128-bit mantissa of a power of ten
+ * and take the rounding decision from the 64 bits following the result, as in the Eisel-Lemire algorithm.
+ * The error of the truncated power can change these bits by one unit at most, so only the products within a unit
+ * of the half of the last digit (exact ties included) are resolved with {@link BigDecimal}.
+ */
+class JavaImplCast {
+    private JavaImplCast() {
+    }
+
+    /** The greatest canonical NaN payload. */
+    private static final long MAX_PAYLOAD = 999_999_999_999_999L;
+
+    private static final long DOUBLE_SIGNIFICAND_MASK = 0x000F_FFFF_FFFF_FFFFL;
+    private static final long DOUBLE_QUIET_NAN = 0x7FF8_0000_0000_0000L;
+
+    private static final MathContext DECIMAL64_CONTEXT = new MathContext(MAX_FORMAT_DIGITS, RoundingMode.HALF_EVEN);
+
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /** 5^i, up to the greatest power below 10^16. */
+    private static final long[] POWERS_OF_FIVE = new long[23];
+
+    /**
+     * The range of the powers of ten: from the smallest subnormal double to the largest double rounded to 16 digits,
+     * and from the smallest DFP value that does not underflow to zero to the greatest one that does not overflow.
+     */
+    private static final int MIN_POWER = -339;
+    private static final int MAX_POWER = 339;
+
+    /**
+     * 10^k = (POWER_HIGH[i]:POWER_LOW[i]) * 2^POWER_EXPONENT[i], where i = k - MIN_POWER.
+     * The 128-bit mantissa has the highest bit set and is truncated, so it never exceeds the exact value.
+     */
+    private static final long[] POWER_HIGH = new long[MAX_POWER - MIN_POWER + 1];
+    private static final long[] POWER_LOW = new long[MAX_POWER - MIN_POWER + 1];
+    private static final int[] POWER_EXPONENT = new int[MAX_POWER - MIN_POWER + 1];
+
+    static {
+        POWERS_OF_FIVE[0] = 1;
+        for (int i = 1; i < POWERS_OF_FIVE.length; ++i)
+            POWERS_OF_FIVE[i] = POWERS_OF_FIVE[i - 1] * 5;
+
+        BigInteger power = BigInteger.ONE;
+        for (int k = 0; k <= Math.max(MAX_POWER, -MIN_POWER); ++k, power = power.multiply(BigInteger.TEN)) {
+            final int bitLength = power.bitLength();
+            if (k <= MAX_POWER) {
+                final BigInteger mantissa = bitLength > 128 ? power.shiftRight(bitLength - 128) : power.shiftLeft(128 - bitLength);
+                POWER_HIGH[k - MIN_POWER] = mantissa.shiftRight(64).longValue();
+                POWER_LOW[k - MIN_POWER] = mantissa.longValue();
+                POWER_EXPONENT[k - MIN_POWER] = bitLength - 128;
+            }
+            if (k > 0 && -k >= MIN_POWER) {
+                // floor(2^(bitLength + 127) / 10^k) is in (2^127, 2^128)
+                final BigInteger mantissa = BigInteger.ONE.shiftLeft(bitLength + 127).divide(power);
+                POWER_HIGH[-k - MIN_POWER] = mantissa.shiftRight(64).longValue();
+                POWER_LOW[-k - MIN_POWER] = mantissa.longValue();
+                POWER_EXPONENT[-k - MIN_POWER] = -bitLength - 127;
+            }
+        }
+    }
+
+    public static long fromDouble(final double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        final long sign = bits & MASK_SIGN;
+        final int biasedExponent = (int) (bits >>> 52) & 0x7FF;
+        long significand = bits & DOUBLE_SIGNIFICAND_MASK;
+
+        if (biasedExponent == 0x7FF) {
+            if (significand == 0)
+                return sign | POSITIVE_INFINITY;
+            // The payload without the quiet bit is shifted right by one bit, the result is always quiet
+            final long payload = (bits & 0x0007_FFFF_FFFF_FFFFL) >>> 1;
+            return sign | NaN | (payload <= MAX_PAYLOAD ? payload : 0);
+        }
+
+        // value = significand * 2^exponent
+        final int exponent;
+        if (biasedExponent == 0) {
+            if (significand == 0)
+                return sign | ((long) EXPONENT_BIAS << EXPONENT_SHIFT_SMALL);
+            exponent = -1074;
+        } else {
+            significand |= DOUBLE_SIGNIFICAND_MASK + 1;
+            exponent = biasedExponent - 1075;
+        }
+
+        // Exact values with at most 16 digits: integers have the exponent 0, fractions the smallest possible exponent
+        if (exponent <= 1) {
+            if (exponent >= 0) {
+                if (significand << exponent <= MAX_COEFFICIENT)
+                    return packCoefficient(sign, EXPONENT_BIAS, significand << exponent);
+            } else {
+                final int trailingZeros = Long.numberOfTrailingZeros(significand);
+                final int fractionBits = -exponent - trailingZeros;
+                if (fractionBits <= 0)
+                    return packCoefficient(sign, EXPONENT_BIAS, significand >>> -exponent);
+                if (fractionBits < POWERS_OF_FIVE.length &&
+                    significand >>> trailingZeros <= MAX_COEFFICIENT / POWERS_OF_FIVE[fractionBits])
+                    return packCoefficient(sign, EXPONENT_BIAS - fractionBits,
+                        (significand >>> trailingZeros) * POWERS_OF_FIVE[fractionBits]);
+            }
+        }
+
+        // value = normalized * 2^(binaryExponent - 63), where normalized has the highest bit set
+        final int shift = Long.numberOfLeadingZeros(significand);
+        final long normalized = significand << shift;
+        final int binaryExponent = exponent + 63 - shift;
+
+        // floor(log10(value)) is this estimate or one more, the coefficient must have exactly 16 digits
+        int decimalExponent = ((binaryExponent * 78913) >> 18) - (MAX_FORMAT_DIGITS - 1);
+        while (true) {
+            // value * 10^-decimalExponent = (high:middle:low) * 2^-fractionBits
+            final int i = -decimalExponent - MIN_POWER;
+            final long powerHigh = POWER_HIGH[i], powerLow = POWER_LOW[i];
+            final long middleLow = JavaImplMul.unsignedMultiplyHigh(normalized, powerLow);
+            final long middle = middleLow + normalized * powerHigh;
+            final long high = JavaImplMul.unsignedMultiplyHigh(normalized, powerHigh) +
+                (Long.compareUnsigned(middle, middleLow) < 0 ? 1 : 0);
+            final int fractionBits = shift - exponent - POWER_EXPONENT[i];
+
+            long coefficient = window(high, middle, fractionBits);
+            if (coefficient < POWERS_OF_TEN[MAX_FORMAT_DIGITS - 1]) {
+                decimalExponent--;
+                continue;
+            }
+            if (coefficient > MAX_COEFFICIENT) {
+                decimalExponent++;
+                continue;
+            }
+
+            final long fraction = window(high, middle, fractionBits - 64);
+            if (fraction == Long.MAX_VALUE || fraction == Long.MIN_VALUE)
+                return fromDoubleExact(sign, value);
+
+            coefficient += fraction >>> 63;
+            if (coefficient > MAX_COEFFICIENT) {
+                coefficient = POWERS_OF_TEN[MAX_FORMAT_DIGITS - 1];
+                decimalExponent++;
+            }
+            return packCoefficient(sign, decimalExponent + EXPONENT_BIAS, coefficient);
+        }
+    }
+
+    private static long fromDoubleExact(final long sign, final double value) {
+        final BigDecimal rounded = new BigDecimal(Math.abs(value)).round(DECIMAL64_CONTEXT);
+        return packCoefficient(sign, EXPONENT_BIAS - rounded.scale(), rounded.unscaledValue().longValue());
+    }
+
+    public static double toDouble(final long value) {
+        final long sign = value & MASK_SIGN;
+
+        if ((value & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN) {
+            if ((value & MASK_INFINITY_NAN) != MASK_INFINITY_NAN)
+                return Double.longBitsToDouble(sign | Double.doubleToRawLongBits(Double.POSITIVE_INFINITY));
+            // The payload is shifted left by one bit, non-canonical payload is replaced with zero
+            final long payload = value & 0x0003_FFFF_FFFF_FFFFL;
+            return Double.longBitsToDouble(sign | DOUBLE_QUIET_NAN | (payload <= MAX_PAYLOAD ? payload << 1 : 0));
+        }
+
+        // Unpack the argument
+        final long coefficient;
+        final int exponent;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficient = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            exponent = ((int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK) - EXPONENT_BIAS;
+            // Non-canonical coefficient is treated as zero, but the native library checks the overflow
+            // of its 17 digits first
+            if (coefficient > MAX_COEFFICIENT) {
+                if (exponent > 308 - MAX_FORMAT_DIGITS)
+                    return sign == 0 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+                return sign == 0 ? 0.0 : -0.0;
+            }
+        } else {
+            coefficient = value & SMALL_COEFFICIENT_MASK;
+            exponent = ((int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK) - EXPONENT_BIAS;
+        }
+
+        if (coefficient == 0)
+            return sign == 0 ? 0.0 : -0.0;
+
+        // Both the coefficient and the power of ten are exact doubles, so the single operation is correctly rounded
+        if (coefficient <= DOUBLE_SIGNIFICAND_MASK * 2 + 1 && exponent >= -22 && exponent <= 22) {
+            final double result = exponent >= 0 ?
+                coefficient * DOUBLE_POWERS_OF_TEN[exponent] :
+                coefficient / DOUBLE_POWERS_OF_TEN[-exponent];
+            return sign == 0 ? result : -result;
+        }
+
+        // The value is below the half of the smallest subnormal double or above the largest double
+        if (exponent < MIN_POWER)
+            return sign == 0 ? 0.0 : -0.0;
+        if (exponent > 308)
+            return sign == 0 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+
+        // value = (high:middle:low) * 2^(POWER_EXPONENT[i] - shift)
+        final int shift = Long.numberOfLeadingZeros(coefficient);
+        final long normalized = coefficient << shift;
+        final int i = exponent - MIN_POWER;
+        final long powerHigh = POWER_HIGH[i], powerLow = POWER_LOW[i];
+        final long middleLow = JavaImplMul.unsignedMultiplyHigh(normalized, powerLow);
+        final long middle = middleLow + normalized * powerHigh;
+        final long high = JavaImplMul.unsignedMultiplyHigh(normalized, powerHigh) +
+            (Long.compareUnsigned(middle, middleLow) < 0 ? 1 : 0);
+
+        // value is in [2^binaryExponent, 2^(binaryExponent + 1))
+        final int topBit = high < 0 ? 191 : 190;
+        final int binaryExponent = topBit + POWER_EXPONENT[i] - shift;
+        if (binaryExponent > 1023)
+            return sign == 0 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+
+        // Subnormal values have fewer significant bits
+        final int ulpBit = topBit - 52 + Math.max(0, -1022 - binaryExponent);
+        long significand = window(high, middle, ulpBit);
+        final long fraction = window(high, middle, ulpBit - 64);
+        if (fraction == Long.MAX_VALUE || fraction == Long.MIN_VALUE)
+            return new BigDecimal(BigInteger.valueOf(sign == 0 ? coefficient : -coefficient), -exponent).doubleValue();
+
+        // The carry of the rounding propagates to the exponent and may produce the infinity
+        significand += fraction >>> 63;
+        return Double.longBitsToDouble(sign |
+            ((binaryExponent >= -1022 ? (long) (binaryExponent + 1022) << 52 : 0) + significand));
+    }
+
+    /**
+     * Returns 64 bits of the 192-bit value {@code high:middle:low} starting at the given bit position, which is
+     * at least 64. The bits above the value are zeros.
+     */
+    private static long window(final long high, final long middle, final int position) {
+        final int shift = position - 64;
+        if (shift < 64)
+            return shift == 0 ? middle : (middle >>> shift) | (high << -shift);
+        return shift < 128 ? high >>> (shift - 64) : 0;
+    }
+}
@@ -0,0 +1,169 @@
+package deltix.dfp;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Pure Java implementation of 64-bit DFP comparison.
+ * NaN handling is the same as in the native library: NaN is not equal, less or greater than any value,
+ * while {@link #compare(long, long)} follows {@link Double#compare(double, double)} and orders NaN above all values.
+ */
+class JavaImplCmp {
+    private JavaImplCmp() {
+    }
+
+    public static int compare(final long x, final long y) {
+        if ((x & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+            return (y & MASK_INFINITY_NAN) == MASK_INFINITY_NAN ? 0 : 1;
+        if ((y & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+            return -1;
+        return compareNotNaN(x, y);
+    }
+
+    public static boolean isEqual(final long x, final long y) {
+        return !isNaN(x) && !isNaN(y) && compareNotNaN(x, y) == 0;
+    }
+
+    public static boolean isNotEqual(final long x, final long y) {
+        return isNaN(x) || isNaN(y) || compareNotNaN(x, y) != 0;
+    }
+
+    public static boolean isLess(final long x, final long y) {
+        return !isNaN(x) && !isNaN(y) && compareNotNaN(x, y) < 0;
+    }
+
+    public static boolean isLessOrEqual(final long x, final long y) {
+        return !isNaN(x) && !isNaN(y) && compareNotNaN(x, y) <= 0;
+    }
+
+    public static boolean isGreater(final long x, final long y) {
+        return !isNaN(x) && !isNaN(y) && compareNotNaN(x, y) > 0;
+    }
+
+    public static boolean isGreaterOrEqual(final long x, final long y) {
+        return !isNaN(x) && !isNaN(y) && compareNotNaN(x, y) >= 0;
+    }
+
+    public static boolean isNonZero(final long value) {
+        // NaN is not equal to zero
+        return !isZero(value);
+    }
+
+    public static boolean isPositive(final long value) {
+        return (value & MASK_SIGN) == 0 && !isNaN(value) && !isZero(value);
+    }
+
+    public static boolean isNegative(final long value) {
+        return (value & MASK_SIGN) != 0 && !isNaN(value) && !isZero(value);
+    }
+
+    public static boolean isNonPositive(final long value) {
+        return !isNaN(value) && ((value & MASK_SIGN) != 0 || isZero(value));
+    }
+
+    public static boolean isNonNegative(final long value) {
+        return !isNaN(value) && ((value & MASK_SIGN) == 0 || isZero(value));
+    }
+
+    /**
+     * Same as {@code dfp_min()} of the native library: NaN arguments are returned as is, otherwise the lesser value
+     * is returned in the canonical form. The second argument is returned if the values are equal.
+     */
+    public static long min(final long x, final long y) {
+        if (isNaN(x))
+            return x;
+        if (isNaN(y))
+            return y;
+        return canonize(compareNotNaN(x, y) < 0 ? x : y);
+    }
+
+    /**
+     * Same as {@code dfp_max()} of the native library: NaN arguments are returned as is, otherwise the greater value
+     * is returned in the canonical form. The second argument is returned if the values are equal.
+     */
+    public static long max(final long x, final long y) {
+        if (isNaN(x))
+            return x;
+        if (isNaN(y))
+            return y;
+        return canonize(compareNotNaN(x, y) > 0 ? x : y);
+    }
+
+    /**
+     * Clears the unused bits of infinity and replaces the non-canonical coefficient with zero, keeping the exponent.
+     */
+    private static long canonize(final long value) {
+        if ((value & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+            return value & NEGATIVE_INFINITY;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL
+            && ((value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT) > MAX_COEFFICIENT)
+            return (value & MASK_SIGN) | ((value & EXPONENT_MASK_LARGE) << 2);
+        return value;
+    }
+
+    /**
+     * Compares two values, neither of which is NaN. Zeros are equal regardless of their signs and exponents,
+     * different representations of the same value (cohorts) are equal.
+     */
+    static int compareNotNaN(final long x, final long y) {
+        if (x == y)
+            return 0;
+
+        // Same sign and exponent of the small format: the most common case of prices with the same tick size.
+        // Exponent bits include the format bits, so y is in the small format as well.
+        if (((x ^ y) & (MASK_SIGN | EXPONENT_MASK_SMALL)) == 0 && (x & MASK_SPECIAL) != MASK_SPECIAL) {
+            final int cmp = Long.compare(x & SMALL_COEFFICIENT_MASK, y & SMALL_COEFFICIENT_MASK);
+            return x < 0 ? -cmp : cmp;
+        }
+
+        final boolean isInfinityX = (x & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN;
+        final boolean isInfinityY = (y & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN;
+        if (isInfinityX || isInfinityY) {
+            if (isInfinityX && isInfinityY && (x & MASK_SIGN) == (y & MASK_SIGN))
+                return 0;
+            return isInfinityX ? (x < 0 ? -1 : 1) : (y < 0 ? 1 : -1);
+        }
+
+        // Unpack arguments, non-canonical coefficients are treated as zeros
+        long coefficientX;
+        final int exponentX;
+        if ((x & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientX = (x & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientX > MAX_COEFFICIENT)
+                coefficientX = 0;
+            exponentX = (int) (x >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientX = x & SMALL_COEFFICIENT_MASK;
+            exponentX = (int) (x >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        long coefficientY;
+        final int exponentY;
+        if ((y & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientY = (y & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientY > MAX_COEFFICIENT)
+                coefficientY = 0;
+            exponentY = (int) (y >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientY = y & SMALL_COEFFICIENT_MASK;
+            exponentY = (int) (y >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        if (coefficientX == 0)
+            return coefficientY == 0 ? 0 : (y < 0 ? 1 : -1);
+        if (coefficientY == 0 || (x ^ y) < 0)
+            return x < 0 ? -1 : 1;
+
+        // Same signs, compare the magnitudes: first by the position of the leading digit, then by the aligned coefficients
+        final int topX = exponentX + numberOfDigits(coefficientX);
+        final int topY = exponentY + numberOfDigits(coefficientY);
+        final int cmp;
+        if (topX != topY)
+            cmp = topX < topY ? -1 : 1;
+        else if (exponentX >= exponentY) // The aligned coefficient still has at most 16 digits
+            cmp = Long.compare(coefficientX * POWERS_OF_TEN[exponentX - exponentY], coefficientY);
+        else
+            cmp = Long.compare(coefficientX, coefficientY * POWERS_OF_TEN[exponentY - exponentX]);
+
+        return x < 0 ? -cmp : cmp;
+    }
+}
@@ -0,0 +1,185 @@
+package deltix.dfp;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Pure Java implementation of 64-bit DFP division.
+ * Bit-exact with {@code bid64_div()} of the native library in the default rounding mode
+ * (round to nearest, ties to even).
+ */
+class JavaImplDiv {
+    /** The divisors up to this value are divided by the integer fast path. */
+    private static final long MAX_SMALL_DIVISOR = 1000000000L;
+    private static final int MAX_SMALL_DIVISOR_DIGITS = 9;
+
+    private JavaImplDiv() {
+    }
+
+    public static long divide(final long x, final long y) {
+        if ((x & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN || (y & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+            return divideNonFinite(x, y);
+
+        // Unpack arguments, non-canonical coefficients are treated as zeros
+        long coefficientX;
+        final int exponentX;
+        if ((x & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientX = (x & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientX > MAX_COEFFICIENT)
+                coefficientX = 0;
+            exponentX = (int) (x >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientX = x & SMALL_COEFFICIENT_MASK;
+            exponentX = (int) (x >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        long coefficientY;
+        final int exponentY;
+        if ((y & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientY = (y & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientY > MAX_COEFFICIENT)
+                coefficientY = 0;
+            exponentY = (int) (y >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientY = y & SMALL_COEFFICIENT_MASK;
+            exponentY = (int) (y >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        final long sign = (x ^ y) & MASK_SIGN;
+        // Exact quotients keep the exponent closest to this one
+        final int preferredExponent = exponentX - exponentY + EXPONENT_BIAS;
+
+        if (coefficientY == 0)
+            return coefficientX == 0 ? NaN : sign | POSITIVE_INFINITY;
+
+        if (coefficientX == 0)
+            return sign | ((long) Math.max(0, Math.min(preferredExponent, BIASED_EXPONENT_MAX_VALUE)) << EXPONENT_SHIFT_SMALL);
+
+        final int digitsX = numberOfDigits(coefficientX);
+        final int digitsY = numberOfDigits(coefficientY);
+
+        // Division by a power of ten only changes the exponent
+        if (coefficientY == POWERS_OF_TEN[digitsY - 1]) {
+            int exponent = preferredExponent - (digitsY - 1);
+            long coefficient = coefficientX;
+            while (exponent < preferredExponent && coefficient % 10 == 0) {
+                coefficient /= 10;
+                exponent++;
+            }
+            return pack(sign, exponent, coefficient, BID_ROUNDING_TO_NEAREST);
+        }
+
+        // Normalize both coefficients to 16 digits and scale the dividend, so that the quotient has 16 digits
+        final long normalizedX = coefficientX * POWERS_OF_TEN[MAX_FORMAT_DIGITS - digitsX];
+        final long normalizedY = coefficientY * POWERS_OF_TEN[MAX_FORMAT_DIGITS - digitsY];
+        final int scale = normalizedX < normalizedY ? MAX_FORMAT_DIGITS : MAX_FORMAT_DIGITS - 1;
+        int exponent = preferredExponent + digitsX - digitsY - scale;
+
+        // The dividend normalizedX * 10^scale has up to 32 digits, only its low 64 bits are needed:
+        // the quotient estimate is off by a few units at most, so the remainder always fits into a long.
+        final long dividendLow = normalizedX * POWERS_OF_TEN[scale];
+        long quotient = (long) (normalizedX / (double) normalizedY * (scale == MAX_FORMAT_DIGITS ? 1e16 : 1e15));
+        long remainder = dividendLow - quotient * normalizedY;
+        while (remainder < 0) {
+            quotient--;
+            remainder += normalizedY;
+        }
+        while (remainder >= normalizedY) {
+            quotient++;
+            remainder -= normalizedY;
+        }
+
+        if (remainder == 0) {
+            // Exact quotient, remove trailing zeros up to the preferred exponent
+            while (exponent < preferredExponent && quotient % 10 == 0) {
+                quotient /= 10;
+                exponent++;
+            }
+            return pack(sign, exponent, quotient, BID_ROUNDING_TO_NEAREST);
+        }
+
+        if (exponent < 0)
+            return packUnderflow(sign != 0, exponent, quotient, true, BID_ROUNDING_TO_NEAREST);
+
+        final long halfDiff = remainder - (normalizedY - remainder);
+        if (halfDiff > 0 || (halfDiff == 0 && (quotient & 1) != 0))
+            quotient++;
+
+        return pack(sign, exponent, quotient, BID_ROUNDING_TO_NEAREST);
+    }
+
+    /**
+     * Same as {@code divide(x, fromInt64(y))}, but the divisors up to 10^9 divide the coefficient directly,
+     * by up to nine digits at once, without the normalization of the general division.
+     */
+    public static long divideByInteger(final long x, final long y) {
+        // Non-finite values and large coefficients are left to the general division
+        if (y == 0 || y > MAX_SMALL_DIVISOR || y < -MAX_SMALL_DIVISOR || (x & MASK_SPECIAL) == MASK_SPECIAL)
+            return divide(x, fromInt64(y));
+
+        // The divisor has the zero unbiased exponent, so the preferred exponent is the exponent of the dividend
+        final long coefficientX = x & SMALL_COEFFICIENT_MASK;
+        final int preferredExponent = (int) (x >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        if (coefficientX == 0)
+            return divide(x, fromInt64(y));
+
+        final long sign = (x & MASK_SIGN) ^ (y & MASK_SIGN);
+        final long divisor = y < 0 ? -y : y;
+        long quotient = coefficientX / divisor;
+        long remainder = coefficientX - quotient * divisor;
+        int exponent = preferredExponent;
+
+        // Append the digits of the fraction, till the quotient has 16 digits or is exact;
+        // the remainder is less than 10^9, so it fits into a long after the multiplication by 10^9
+        while (remainder != 0 && quotient < POWERS_OF_TEN[MAX_FORMAT_DIGITS - 1]) {
+            final int digits = Math.min(MAX_SMALL_DIVISOR_DIGITS,
+                MAX_FORMAT_DIGITS - (quotient == 0 ? 0 : numberOfDigits(quotient)));
+            final long scaledRemainder = remainder * POWERS_OF_TEN[digits];
+            final long digitsQuotient = scaledRemainder / divisor;
+            quotient = quotient * POWERS_OF_TEN[digits] + digitsQuotient;
+            remainder = scaledRemainder - digitsQuotient * divisor;
+            exponent -= digits;
+        }
+
+        if (remainder == 0) {
+            // Exact quotient, remove trailing zeros up to the preferred exponent
+            while (exponent < preferredExponent && quotient % 10 == 0) {
+                quotient /= 10;
+                exponent++;
+            }
+            return pack(sign, exponent, quotient, BID_ROUNDING_TO_NEAREST);
+        }
+
+        if (exponent < 0)
+            return packUnderflow(sign != 0, exponent, quotient, true, BID_ROUNDING_TO_NEAREST);
+
+        final long halfDiff = remainder - (divisor - remainder);
+        if (halfDiff > 0 || (halfDiff == 0 && (quotient & 1) != 0))
+            quotient++;
+
+        return pack(sign, exponent, quotient, BID_ROUNDING_TO_NEAREST);
+    }
+
+    private static long divideNonFinite(final long x, final long y) {
+        if ((x & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+            return quietNaN(x);
+
+        if ((x & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN) {
+            // x is Infinity
+            if ((y & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+                return quietNaN(y);
+
+            // Infinity / Infinity is NaN
+            if ((y & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+                return NaN;
+
+            return ((x ^ y) & MASK_SIGN) | POSITIVE_INFINITY;
+        }
+
+        // y is Infinity or NaN
+        if ((y & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+            return quietNaN(y);
+
+        // Finite / Infinity is zero with the minimal exponent
+        return (x ^ y) & MASK_SIGN;
+    }
+}
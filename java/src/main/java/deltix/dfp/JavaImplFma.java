@@ -0,0 +1,208 @@
+package deltix.dfp;
+
+import static deltix.dfp.JavaImpl.*;
+import static deltix.dfp.JavaImplMul.*;
+
+/**
+ * Pure Java implementation of the 64-bit DFP fused multiply-add.
+ * The exact product is added without intermediate rounding and the sum is rounded once,
+ * bit-exact with {@code bid64_fma()} of the native library in the default rounding mode
+ * (round to nearest, ties to even).
+ */
+class JavaImplFma {
+    private JavaImplFma() {
+    }
+
+    /**
+     * Maximal number of digits of the exactly aligned sum, so that it can be rounded by {@link JavaImplMul#round128}.
+     */
+    private static final int MAX_EXACT_DIGITS = 33;
+
+    public static long multiplyAndAdd(final long x, final long y, final long z) {
+        if ((x & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN || (y & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN ||
+            (z & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+            return multiplyAndAddNonFinite(x, y, z);
+
+        // Unpack arguments, non-canonical coefficients are treated as zeros
+        long coefficientX;
+        final int exponentX;
+        if ((x & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientX = (x & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientX > MAX_COEFFICIENT)
+                coefficientX = 0;
+            exponentX = (int) (x >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientX = x & SMALL_COEFFICIENT_MASK;
+            exponentX = (int) (x >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        long coefficientY;
+        final int exponentY;
+        if ((y & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientY = (y & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientY > MAX_COEFFICIENT)
+                coefficientY = 0;
+            exponentY = (int) (y >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientY = y & SMALL_COEFFICIENT_MASK;
+            exponentY = (int) (y >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        long coefficientZ;
+        final int exponentZ;
+        if ((z & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientZ = (z & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientZ > MAX_COEFFICIENT)
+                coefficientZ = 0;
+            exponentZ = (int) (z >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientZ = z & SMALL_COEFFICIENT_MASK;
+            exponentZ = (int) (z >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        final long signP = (x ^ y) & MASK_SIGN;
+        final long signZ = z & MASK_SIGN;
+        // Exponent of the exact product, may be out of the format range
+        int exponentP = exponentX + exponentY - EXPONENT_BIAS;
+
+        // Zero product: the sum is exact, the product only contributes its exponent and sign
+        if (coefficientX == 0 || coefficientY == 0)
+            return JavaImplAdd.add(signP |
+                ((long) Math.max(0, Math.min(exponentP, BIASED_EXPONENT_MAX_VALUE)) << EXPONENT_SHIFT_SMALL), z);
+
+        long productLow = coefficientX * coefficientY;
+        long productHigh = unsignedMultiplyHigh(coefficientX, coefficientY);
+        final int digitsP = numberOfDigits128(productHigh, productLow);
+
+        if (coefficientZ == 0) {
+            // The result is the product, scaled towards the exponent of zero, if it is smaller
+            if (exponentZ < exponentP && digitsP < MAX_FORMAT_DIGITS) {
+                final int scale = Math.min(exponentP - exponentZ, MAX_FORMAT_DIGITS - digitsP);
+                productLow *= POWERS_OF_TEN[scale];
+                exponentP -= scale;
+            }
+            return pack128(signP, exponentP, productHigh, productLow);
+        }
+
+        final int digitsZ = numberOfDigits(coefficientZ);
+        final int topP = exponentP + digitsP;
+        final int topZ = exponentZ + digitsZ;
+        final int minExponent = Math.min(exponentP, exponentZ);
+
+        if (Math.max(topP, topZ) - minExponent <= MAX_EXACT_DIGITS) {
+            // Both terms can be aligned exactly to the smaller exponent within 128 bits
+            final long[] scaleP = bid_power10_table_128[exponentP - minExponent];
+            final long alignedPLow = productLow * scaleP[0];
+            final long alignedPHigh = unsignedMultiplyHigh(productLow, scaleP[0]) + productLow * scaleP[1] +
+                productHigh * scaleP[0];
+
+            final long[] scaleZ = bid_power10_table_128[exponentZ - minExponent];
+            final long alignedZLow = coefficientZ * scaleZ[0];
+            final long alignedZHigh = unsignedMultiplyHigh(coefficientZ, scaleZ[0]) + coefficientZ * scaleZ[1];
+
+            if (signP == signZ) {
+                final long sumLow = alignedPLow + alignedZLow;
+                final long sumHigh = alignedPHigh + alignedZHigh + (Long.compareUnsigned(sumLow, alignedPLow) < 0 ? 1 : 0);
+                return pack128(signP, minExponent, sumHigh, sumLow);
+            }
+
+            final int cmp = alignedPHigh != alignedZHigh ? Long.compareUnsigned(alignedPHigh, alignedZHigh) :
+                Long.compareUnsigned(alignedPLow, alignedZLow);
+            if (cmp == 0) // Exact cancellation results in +0
+                return (long) Math.max(0, Math.min(minExponent, BIASED_EXPONENT_MAX_VALUE)) << EXPONENT_SHIFT_SMALL;
+
+            if (cmp > 0)
+                return pack128(signP, minExponent, alignedPHigh - alignedZHigh -
+                        (Long.compareUnsigned(alignedPLow, alignedZLow) < 0 ? 1 : 0), alignedPLow - alignedZLow);
+            return pack128(signZ, minExponent, alignedZHigh - alignedPHigh -
+                (Long.compareUnsigned(alignedZLow, alignedPLow) < 0 ? 1 : 0), alignedZLow - alignedPLow);
+        }
+
+        // The exponents are far apart: the term with the lower exponent is tiny compared to the other one.
+        // The dominant term is kept exactly at exponent e, which lies at least two digits below the rounding position
+        // of the result. The tiny term is truncated to e, its remaining digits only matter as a sticky bit.
+        if (topP > topZ) {
+            final int e = Math.min(exponentP, topP - 18);
+            if (e < exponentP) {
+                productLow *= POWERS_OF_TEN[exponentP - e]; // The product has less than 18 digits here
+            }
+
+            final int k = e - exponentZ;
+            final long truncatedZ = k < MAX_FORMAT_DIGITS ? coefficientZ / POWERS_OF_TEN[k] : 0;
+            final boolean sticky = k >= MAX_FORMAT_DIGITS || truncatedZ * POWERS_OF_TEN[k] != coefficientZ;
+
+            long sumLow, sumHigh;
+            if (signP == signZ) {
+                sumLow = productLow + truncatedZ;
+                sumHigh = productHigh + (Long.compareUnsigned(sumLow, productLow) < 0 ? 1 : 0);
+            } else {
+                // The sticky fraction is subtracted as well: P - (Z + f) = (P - Z - 1) + (1 - f)
+                final long subtrahend = truncatedZ + (sticky ? 1 : 0);
+                sumLow = productLow - subtrahend;
+                sumHigh = productHigh - (Long.compareUnsigned(productLow, subtrahend) < 0 ? 1 : 0);
+            }
+
+            if (!sticky)
+                return pack128(signP, e, sumHigh, sumLow);
+
+            // Append the sticky digit, sumLow * 10 is even, so adding it does not carry
+            return pack128(signP, e - 1, sumHigh * 10 + unsignedMultiplyHigh(sumLow, 10), sumLow * 10 + 1);
+        } else {
+            // z is dominant, align it to 18 digits
+            final int e = topZ - 18;
+            final long alignedZ = coefficientZ * POWERS_OF_TEN[exponentZ - e];
+
+            final int k = e - exponentP;
+            final long truncatedP;
+            final boolean sticky;
+            if (k < 32) {
+                truncatedP = divideByPowerOfTen128(productHigh, productLow, k);
+                sticky = !isPowerOfTenMultiple(truncatedP, k, productHigh, productLow);
+            } else {
+                // The product is below 10^32, so it is smaller than one unit of e
+                truncatedP = 0;
+                sticky = true;
+            }
+
+            final long sum = signP == signZ ? alignedZ + truncatedP : alignedZ - truncatedP - (sticky ? 1 : 0);
+            if (!sticky)
+                return pack128(signZ, e, 0, sum);
+
+            // Append the sticky digit, the result may exceed signed 64-bit range
+            return pack128(signZ, e - 1, unsignedMultiplyHigh(sum, 10), sum * 10 + 1);
+        }
+    }
+
+    private static long pack128(final long sign, final int exponent, final long high, final long low) {
+        if (high == 0 && low >= 0 && low <= MAX_COEFFICIENT)
+            return pack(sign, exponent, low, BID_ROUNDING_TO_NEAREST);
+        return round128(sign, exponent, high, low);
+    }
+
+    private static long multiplyAndAddNonFinite(final long x, final long y, final long z) {
+        if ((x & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+            return quietNaN(x);
+        if ((y & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+            return quietNaN(y);
+        if ((z & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+            return quietNaN(z);
+
+        final boolean isInfinityX = (x & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN;
+        final boolean isInfinityY = (y & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN;
+        if (isInfinityX || isInfinityY) {
+            // Infinity * 0 is NaN
+            if ((!isInfinityX && isZeroCoefficient(x)) || (!isInfinityY && isZeroCoefficient(y)))
+                return NaN;
+
+            final long sign = (x ^ y) & MASK_SIGN;
+            // Infinity - Infinity is NaN
+            if ((z & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN && (z & MASK_SIGN) != sign)
+                return NaN;
+
+            return sign | POSITIVE_INFINITY;
+        }
+
+        // Only z is Infinity
+        return z & NEGATIVE_INFINITY;
+    }
+}
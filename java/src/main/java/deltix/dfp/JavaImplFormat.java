@@ -0,0 +1,386 @@
+package deltix.dfp;
+
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Pure Java formatting of 64-bit DFP values to ASCII bytes, produces the same text as {@link JavaImpl#appendTo},
+ * and the text in the styles of {@link Decimal64Format}.
+ * <p>
+ * The text is written straight to the array or, for the buffers without an accessible array, with the absolute
+ * {@code put} of the buffer, or to the {@code StringBuilder}, extended to the length of the text beforehand;
+ * the digits are written by pairs, taken from the table.
+ */
+class JavaImplFormat {
+    private JavaImplFormat() {
+    }
+
+    private static final byte[] DIGIT_PAIRS = new byte[200];
+
+    static {
+        for (int i = 0; i < 100; ++i) {
+            DIGIT_PAIRS[2 * i] = (byte) ('0' + i / 10);
+            DIGIT_PAIRS[2 * i + 1] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private static final byte[] NAN = {'N', 'a', 'N'};
+    private static final byte[] POSITIVE_INFINITY = {'I', 'n', 'f', 'i', 'n', 'i', 't', 'y'};
+    private static final byte[] NEGATIVE_INFINITY = {'-', 'I', 'n', 'f', 'i', 'n', 'i', 't', 'y'};
+
+    static final int STYLE_PLAIN = 0;
+    static final int STYLE_FIXED = 1;
+    static final int STYLE_SIGNIFICANT = 2;
+    static final int STYLE_SCIENTIFIC = 3;
+    static final int STYLE_ENGINEERING = 4;
+    static final int STYLE_COMPACT = 5;
+
+    /** The compact style writes the numbers from this adjusted exponent up to {@link #COMPACT_MAX_PLAIN} as plain. */
+    private static final int COMPACT_MIN_PLAIN = -7;
+    private static final int COMPACT_MAX_PLAIN = 15;
+
+    public static int formatTo(final long value, final byte[] dst, final int offset) {
+        return formatTo(value, STYLE_PLAIN, 0, null, dst, offset);
+    }
+
+    public static int formatTo(final long value, final ByteBuffer dst) {
+        return formatTo(value, STYLE_PLAIN, 0, null, dst);
+    }
+
+    public static StringBuilder appendTo(final long value, final int style, final int precision, final RoundingMode roundingMode,
+                                         final StringBuilder dst) {
+        format(value, style, precision, roundingMode, null, null, dst, dst.length(), Integer.MAX_VALUE);
+        return dst;
+    }
+
+    public static int formatTo(final long value, final int style, final int precision, final RoundingMode roundingMode,
+                               final byte[] dst, final int offset) {
+        if (offset < 0 || offset > dst.length)
+            throw new IndexOutOfBoundsException("Offset " + offset + " is out of bounds for length " + dst.length);
+        final int end = format(value, style, precision, roundingMode, dst, null, null, offset, dst.length);
+        if (end < 0)
+            throw new IndexOutOfBoundsException("Not enough space to format " + -end + " bytes at offset " + offset
+                + " of array with length " + dst.length);
+        return end;
+    }
+
+    public static int formatTo(final long value, final int style, final int precision, final RoundingMode roundingMode,
+                               final ByteBuffer dst) {
+        final int position = dst.position();
+        final int end;
+        if (dst.hasArray()) {
+            final int arrayOffset = dst.arrayOffset();
+            end = format(value, style, precision, roundingMode, dst.array(), null, null,
+                arrayOffset + position, arrayOffset + dst.limit());
+            if (end >= 0) {
+                dst.position(end - arrayOffset);
+                return end - arrayOffset;
+            }
+        } else {
+            end = format(value, style, precision, roundingMode, null, dst, null, position, dst.limit());
+            if (end >= 0) {
+                dst.position(end);
+                return end;
+            }
+        }
+        throw new BufferOverflowException();
+    }
+
+    /**
+     * Writes the text in the given style to the array, if it is not {@code null}, or to the buffer, if it is not
+     * {@code null}, or to the builder, which is extended to the end of the text.
+     * @param precision The number of digits after the point for the fixed style, the number of significant digits
+     *                  for the other styles, zero for as many digits as needed.
+     * @return Index after the last written byte, or the negated length of the text, if it doesn't fit before the limit.
+     */
+    private static int format(final long value, final int style, final int precision, final RoundingMode roundingMode,
+                              final byte[] array, final ByteBuffer buffer, final StringBuilder builder,
+                              final int offset, final int limit) {
+        if (style == STYLE_PLAIN)
+            return format(value, array, buffer, builder, offset, limit);
+
+        if (isNonFinite(value))
+            return put(isNaN(value) ? NAN : value < 0 ? NEGATIVE_INFINITY : POSITIVE_INFINITY, array, buffer, builder, offset, limit);
+
+        final boolean isNegative = value < 0;
+        long coefficient;
+        int exponent;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficient = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficient > MAX_COEFFICIENT)
+                coefficient = 0;
+            exponent = ((int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK) - EXPONENT_BIAS;
+        } else {
+            coefficient = value & SMALL_COEFFICIENT_MASK;
+            exponent = ((int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK) - EXPONENT_BIAS;
+        }
+
+        // Round the value to the digits * 10^exponent, where the digits fill the given number of positions
+        long digits;
+        int numberOfDigits;
+        if (style == STYLE_FIXED) {
+            if (coefficient == 0) {
+                digits = 0;
+                exponent = 0;
+            } else if (exponent < -precision) {
+                digits = round(isNegative, coefficient, -precision - exponent, roundingMode);
+                exponent = -precision;
+            } else {
+                digits = coefficient;
+            }
+            numberOfDigits = numberOfDigits(digits);
+            return putPlain(isNegative, digits, numberOfDigits, exponent, precision, array, buffer, builder, offset, limit);
+        }
+
+        if (coefficient == 0) {
+            digits = 0;
+            numberOfDigits = Math.max(precision, 1);
+            exponent = 1 - numberOfDigits;
+        } else if (precision == 0) {
+            numberOfDigits = numberOfDigits(coefficient);
+            digits = dropTrailingZeros(coefficient);
+            final int trailingZeros = numberOfDigits - numberOfDigits(digits);
+            numberOfDigits -= trailingZeros;
+            exponent += trailingZeros;
+        } else {
+            numberOfDigits = numberOfDigits(coefficient);
+            if (numberOfDigits > precision) {
+                digits = round(isNegative, coefficient, numberOfDigits - precision, roundingMode);
+                exponent += numberOfDigits - precision;
+                if (digits == POWERS_OF_TEN[precision]) {
+                    digits = POWERS_OF_TEN[precision - 1];
+                    exponent += 1;
+                }
+            } else {
+                digits = coefficient * POWERS_OF_TEN[precision - numberOfDigits];
+                exponent -= precision - numberOfDigits;
+            }
+            numberOfDigits = precision;
+        }
+
+        final int adjustedExponent = exponent + numberOfDigits - 1;
+        switch (style) {
+            case STYLE_SIGNIFICANT:
+                return putPlain(isNegative, digits, numberOfDigits, exponent, 0, array, buffer, builder, offset, limit);
+
+            case STYLE_ENGINEERING: {
+                final int integralDigits = Math.floorMod(adjustedExponent, 3) + 1;
+                if (numberOfDigits < integralDigits) {
+                    digits *= POWERS_OF_TEN[integralDigits - numberOfDigits];
+                    numberOfDigits = integralDigits;
+                }
+                return putScientific(isNegative, digits, numberOfDigits, integralDigits, adjustedExponent + 1 - integralDigits,
+                    array, buffer, builder, offset, limit);
+            }
+
+            case STYLE_COMPACT:
+                if (adjustedExponent >= COMPACT_MIN_PLAIN && adjustedExponent <= COMPACT_MAX_PLAIN)
+                    return putPlain(isNegative, digits, numberOfDigits, exponent, 0, array, buffer, builder, offset, limit);
+                // fall through
+
+            default:
+                return putScientific(isNegative, digits, numberOfDigits, 1, adjustedExponent, array, buffer, builder, offset, limit);
+        }
+    }
+
+    /**
+     * Drops the given number of the last digits of the coefficient, rounding it with the given mode.
+     */
+    private static long round(final boolean isNegative, final long coefficient, final int count, final RoundingMode roundingMode) {
+        // All the digits are dropped, if the count is longer than the coefficient
+        final long divisor = POWERS_OF_TEN[Math.min(count, MAX_FORMAT_DIGITS + 1) - 1];
+        final long quotient = coefficient / divisor / 10;
+        final int roundingDigit = (int) (coefficient / divisor % 10);
+        final boolean sticky = coefficient % divisor != 0;
+        if (roundingDigit == 0 && !sticky)
+            return quotient;
+        if (roundingMode == RoundingMode.UNNECESSARY)
+            throw new ArithmeticException("Rounding necessary");
+        return JavaImplParse.isRoundedUp(isNegative, quotient, roundingDigit, sticky, roundingMode) ? quotient + 1 : quotient;
+    }
+
+    /**
+     * Writes the plain text: [-]<integral digits><integral zeros>[.<fractional zeros><fractional digits><padding zeros>]
+     * @param minFractionalDigits The number of digits after the point, padded with zeros, if the value has less.
+     */
+    private static int putPlain(final boolean isNegative, final long digits, final int numberOfDigits, final int exponent,
+                                final int minFractionalDigits, final byte[] array, final ByteBuffer buffer,
+                                final StringBuilder builder, final int offset, final int limit) {
+        final int signLength = isNegative && digits != 0 ? 1 : 0;
+        final int integralDigits = numberOfDigits + exponent;
+        final int fractionalDigits = Math.max(Math.max(-exponent, 0), minFractionalDigits);
+        final int length = signLength + Math.max(integralDigits, 1) + (fractionalDigits == 0 ? 0 : 1 + fractionalDigits);
+        if (length > limit - offset)
+            return -length;
+        if (builder != null)
+            builder.setLength(offset + length);
+
+        int index = offset;
+        if (signLength != 0)
+            put((byte) '-', array, buffer, builder, index++);
+        if (integralDigits <= 0)
+            put((byte) '0', array, buffer, builder, index++);
+        else if (exponent >= 0)
+            index = putZeros(exponent, array, buffer, builder, putDigits(digits, numberOfDigits, array, buffer, builder, index));
+        else
+            index = putDigits(digits / POWERS_OF_TEN[-exponent], integralDigits, array, buffer, builder, index);
+        if (fractionalDigits != 0) {
+            put((byte) '.', array, buffer, builder, index++);
+            if (exponent < 0)
+                index = putDigits(integralDigits > 0 ? digits % POWERS_OF_TEN[-exponent] : digits, -exponent,
+                    array, buffer, builder, index);
+            index = putZeros(fractionalDigits - Math.max(-exponent, 0), array, buffer, builder, index);
+        }
+        return index;
+    }
+
+    /**
+     * Writes the text in the scientific notation: [-]<integral digits>[.<fractional digits>]E<sign><exponent>
+     */
+    private static int putScientific(final boolean isNegative, final long digits, final int numberOfDigits,
+                                     final int integralDigits, final int exponent, final byte[] array, final ByteBuffer buffer,
+                                     final StringBuilder builder, final int offset, final int limit) {
+        final int signLength = isNegative && digits != 0 ? 1 : 0;
+        final int fractionalDigits = numberOfDigits - integralDigits;
+        final int exponentDigits = numberOfDigits(Math.abs(exponent));
+        final int length = signLength + integralDigits + (fractionalDigits == 0 ? 0 : 1 + fractionalDigits) + 2 + exponentDigits;
+        if (length > limit - offset)
+            return -length;
+        if (builder != null)
+            builder.setLength(offset + length);
+
+        int index = offset;
+        if (signLength != 0)
+            put((byte) '-', array, buffer, builder, index++);
+        index = putDigits(digits / POWERS_OF_TEN[fractionalDigits], integralDigits, array, buffer, builder, index);
+        if (fractionalDigits != 0) {
+            put((byte) '.', array, buffer, builder, index++);
+            index = putDigits(digits % POWERS_OF_TEN[fractionalDigits], fractionalDigits, array, buffer, builder, index);
+        }
+        put((byte) 'E', array, buffer, builder, index++);
+        put((byte) (exponent < 0 ? '-' : '+'), array, buffer, builder, index++);
+        return putDigits(Math.abs(exponent), exponentDigits, array, buffer, builder, index);
+    }
+
+    /**
+     * Writes the plain text with as many digits as needed, the same as {@link JavaImpl#appendTo}.
+     * @return Index after the last written byte, or the negated length of the text, if it doesn't fit before the limit.
+     */
+    private static int format(final long value, final byte[] array, final ByteBuffer buffer, final StringBuilder builder,
+                              final int offset, final int limit) {
+        if (isNonFinite(value))
+            return put(isNaN(value) ? NAN : value < 0 ? NEGATIVE_INFINITY : POSITIVE_INFINITY, array, buffer, builder, offset, limit);
+
+        long coefficient;
+        final int exponent;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficient = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficient > MAX_COEFFICIENT)
+                coefficient = 0;
+            exponent = ((int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK) - EXPONENT_BIAS;
+        } else {
+            coefficient = value & SMALL_COEFFICIENT_MASK;
+            exponent = ((int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK) - EXPONENT_BIAS;
+        }
+
+        // The text is: [-]<integral part><integral zeros>[.<fractional zeros><fractional part>]
+        final int signLength = value < 0 && coefficient != 0 ? 1 : 0;
+        final long integralPart;
+        final int integralZeros;
+        final long fractionalPart;
+        final int fractionalZeros;
+        if (coefficient == 0 || exponent >= 0) {
+            integralPart = coefficient;
+            integralZeros = coefficient == 0 ? 0 : exponent;
+            fractionalPart = 0;
+            fractionalZeros = 0;
+        } else {
+            final int digits = numberOfDigits(coefficient);
+            integralZeros = 0;
+            if (digits + exponent > 0) {
+                integralPart = coefficient / POWERS_OF_TEN[-exponent];
+                final long fraction = coefficient - integralPart * POWERS_OF_TEN[-exponent];
+                fractionalZeros = fraction == 0 ? 0 : -exponent - numberOfDigits(fraction);
+                fractionalPart = dropTrailingZeros(fraction);
+            } else {
+                integralPart = 0;
+                fractionalZeros = -exponent - digits;
+                fractionalPart = dropTrailingZeros(coefficient);
+            }
+        }
+
+        final int integralDigits = numberOfDigits(integralPart);
+        final int fractionalDigits = fractionalPart == 0 ? 0 : numberOfDigits(fractionalPart);
+        final int length = signLength + integralDigits + integralZeros +
+            (fractionalPart == 0 ? 0 : 1 + fractionalZeros + fractionalDigits);
+        if (length > limit - offset)
+            return -length;
+        if (builder != null)
+            builder.setLength(offset + length);
+
+        int index = offset;
+        if (signLength != 0)
+            put((byte) '-', array, buffer, builder, index++);
+        index = putDigits(integralPart, integralDigits, array, buffer, builder, index);
+        index = putZeros(integralZeros, array, buffer, builder, index);
+        if (fractionalPart != 0) {
+            put((byte) '.', array, buffer, builder, index++);
+            index = putZeros(fractionalZeros, array, buffer, builder, index);
+            index = putDigits(fractionalPart, fractionalDigits, array, buffer, builder, index);
+        }
+        return index;
+    }
+
+    /**
+     * Writes the digits of the value, the number of digits must be exact or greater: the missing leading digits are
+     * written as zeros.
+     */
+    private static int putDigits(long value, final int numberOfDigits,
+                                 final byte[] array, final ByteBuffer buffer, final StringBuilder builder, final int offset) {
+        final int end = offset + numberOfDigits;
+        int index = end;
+        while (value >= 100) {
+            final long quotient = value / 100;
+            final int pair = (int) (value - quotient * 100) << 1;
+            put(DIGIT_PAIRS[pair + 1], array, buffer, builder, --index);
+            put(DIGIT_PAIRS[pair], array, buffer, builder, --index);
+            value = quotient;
+        }
+        final int pair = (int) value << 1;
+        put(DIGIT_PAIRS[pair + 1], array, buffer, builder, --index);
+        if (value >= 10)
+            put(DIGIT_PAIRS[pair], array, buffer, builder, --index);
+        putZeros(index - offset, array, buffer, builder, offset);
+        return end;
+    }
+
+    private static int putZeros(final int count, final byte[] array, final ByteBuffer buffer, final StringBuilder builder, int index) {
+        for (final int end = index + count; index < end; ++index)
+            put((byte) '0', array, buffer, builder, index);
+        return index;
+    }
+
+    private static int put(final byte[] text, final byte[] array, final ByteBuffer buffer, final StringBuilder builder,
+                           final int offset, final int limit) {
+        if (text.length > limit - offset)
+            return -text.length;
+        if (builder != null)
+            builder.setLength(offset + text.length);
+        for (int i = 0; i < text.length; ++i)
+            put(text[i], array, buffer, builder, offset + i);
+        return offset + text.length;
+    }
+
+    private static void put(final byte value, final byte[] array, final ByteBuffer buffer, final StringBuilder builder,
+                            final int index) {
+        if (array != null)
+            array[index] = value;
+        else if (buffer != null)
+            buffer.put(index, value);
+        else
+            builder.setCharAt(index, (char) value);
+    }
+}
@@ -0,0 +1,198 @@
+package deltix.dfp;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Pure Java implementation of 64-bit DFP multiplication.
+ * Bit-exact with {@code bid64_mul()} of the native library in the default rounding mode
+ * (round to nearest, ties to even).
+ */
+class JavaImplMul {
+    private JavaImplMul() {
+    }
+
+    private static final long UINT32_MAX = 0xFFFF_FFFFL;
+
+    /**
+     * Returns the high 64 bits of the unsigned 128-bit product of two 64-bit values.
+     * Equivalent of {@code Math.unsignedMultiplyHigh()}, which is not available on Java 8.
+     */
+    static long unsignedMultiplyHigh(final long x, final long y) {
+        final long xh = x >>> 32, xl = x & UINT32_MAX;
+        final long yh = y >>> 32, yl = y & UINT32_MAX;
+        final long ll = xl * yl;
+        final long m = xh * yl + (ll >>> 32);
+        final long m2 = xl * yh + (m & UINT32_MAX);
+        return xh * yh + (m >>> 32) + (m2 >>> 32);
+    }
+
+    public static long multiply(final long x, final long y) {
+        if ((x & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN || (y & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+            return multiplyNonFinite(x, y);
+
+        // Unpack arguments, non-canonical coefficients are treated as zeros
+        long coefficientX;
+        int exponentX;
+        if ((x & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientX = (x & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientX > MAX_COEFFICIENT)
+                coefficientX = 0;
+            exponentX = (int) (x >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientX = x & SMALL_COEFFICIENT_MASK;
+            exponentX = (int) (x >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        long coefficientY;
+        final int exponentY;
+        if ((y & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientY = (y & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientY > MAX_COEFFICIENT)
+                coefficientY = 0;
+            exponentY = (int) (y >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientY = y & SMALL_COEFFICIENT_MASK;
+            exponentY = (int) (y >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        final long sign = (x ^ y) & MASK_SIGN;
+        int exponent = exponentX + exponentY - EXPONENT_BIAS;
+
+        if (coefficientX == 0 || coefficientY == 0) {
+            if (exponent > BIASED_EXPONENT_MAX_VALUE)
+                exponent = BIASED_EXPONENT_MAX_VALUE;
+            else if (exponent < 0)
+                exponent = 0;
+            return sign | ((long) exponent << EXPONENT_SHIFT_SMALL);
+        }
+
+        final long productLow = coefficientX * coefficientY;
+        final long productHigh = unsignedMultiplyHigh(coefficientX, coefficientY);
+
+        // Exact product fits into 16 digits, the most common case for prices multiplied by quantities
+        if (productHigh == 0 && productLow >= 0 && productLow <= MAX_COEFFICIENT)
+            return pack(sign, exponent, productLow, BID_ROUNDING_TO_NEAREST);
+
+        return round128(sign, exponent, productHigh, productLow);
+    }
+
+    /**
+     * Rounds unsigned 128-bit coefficient with 17 to 34 digits to 16 digits and packs the result.
+     * Single rounding step: the coefficient is divided by the power of ten by multiplying with its reciprocal.
+     */
+    static long round128(final long sign, int exponent, long high, long low) {
+        final int extraDigits = numberOfDigits128(high, low) - MAX_FORMAT_DIGITS;
+        exponent += extraDigits;
+
+        if (exponent < 0) {
+            // The result will be rounded by packUnderflow(), so truncate here and keep the sticky bit
+            final long coefficient = divideByPowerOfTen128(high, low, extraDigits);
+            return packUnderflow(sign != 0, exponent, coefficient,
+                !isPowerOfTenMultiple(coefficient, extraDigits, high, low), BID_ROUNDING_TO_NEAREST);
+        }
+
+        final long roundConst = bid_round_const_table[BID_ROUNDING_TO_NEAREST][extraDigits];
+        final long sumLow = low + roundConst;
+        if (Long.compareUnsigned(sumLow, low) < 0)
+            high++;
+        low = sumLow;
+
+        long coefficient = divideByPowerOfTen128(high, low, extraDigits);
+
+        // The exact midpoint was rounded up, round it to even instead
+        if ((coefficient & 1) != 0 && isPowerOfTenMultiple(coefficient, extraDigits, high, low))
+            coefficient--;
+
+        return pack(sign, exponent, coefficient, BID_ROUNDING_TO_NEAREST);
+    }
+
+    /**
+     * Returns floor(P / 10^k) for unsigned 128-bit value P below 10^34, if the quotient fits into 64 bits.
+     * P is multiplied by the reciprocal 2^M[k]/10^k, the high 128 bits of the product are shifted right by M[k]-128.
+     */
+    static long divideByPowerOfTen128(final long high, final long low, final int k) {
+        final long reciprocalLow = bid_reciprocals10_128[k][0];
+        final long reciprocalHigh = bid_reciprocals10_128[k][1];
+
+        // Only the high 128 bits (q3:q2) of the 256-bit product are needed, q1 is kept for the carries
+        long q1 = unsignedMultiplyHigh(low, reciprocalLow);
+        long q2 = unsignedMultiplyHigh(low, reciprocalHigh);
+        long q3 = unsignedMultiplyHigh(high, reciprocalHigh);
+
+        long t = low * reciprocalHigh;
+        q1 += t;
+        if (Long.compareUnsigned(q1, t) < 0 && ++q2 == 0)
+            q3++;
+
+        t = high * reciprocalLow;
+        q1 += t;
+        if (Long.compareUnsigned(q1, t) < 0 && ++q2 == 0)
+            q3++;
+
+        t = unsignedMultiplyHigh(high, reciprocalLow);
+        q2 += t;
+        if (Long.compareUnsigned(q2, t) < 0)
+            q3++;
+
+        t = high * reciprocalHigh;
+        q2 += t;
+        if (Long.compareUnsigned(q2, t) < 0)
+            q3++;
+
+        final int amount = bid_recip_scale[k];
+        return amount < 64 ? (q2 >>> amount) | (q3 << (64 - amount)) : q3 >>> (amount - 64);
+    }
+
+    /**
+     * Checks whether unsigned 128-bit value is equal to {@code quotient * 10^k}.
+     */
+    static boolean isPowerOfTenMultiple(final long quotient, final int k, final long high, final long low) {
+        final long[] power = bid_power10_table_128[k];
+        return quotient * power[0] == low &&
+            unsignedMultiplyHigh(quotient, power[0]) + quotient * power[1] == high;
+    }
+
+    /**
+     * Returns the number of decimal digits of a non-zero unsigned 128-bit value.
+     */
+    static int numberOfDigits128(final long high, final long low) {
+        final int bitLength = high != 0 ? 128 - Long.numberOfLeadingZeros(high) : 64 - Long.numberOfLeadingZeros(low);
+        // floor(bitLength * log10(2)), the value has this number of digits or one more
+        final int digits = (bitLength * 1233) >>> 12;
+        final long[] power = bid_power10_table_128[digits];
+        return Long.compareUnsigned(high, power[1]) > 0 ||
+            (high == power[1] && Long.compareUnsigned(low, power[0]) >= 0) ? digits + 1 : digits;
+    }
+
+    private static long multiplyNonFinite(final long x, final long y) {
+        if ((x & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+            return quietNaN(x);
+
+        if ((x & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN) {
+            // x is Infinity
+            if ((y & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+                return quietNaN(y);
+
+            // Infinity * 0 is NaN
+            if ((y & MASK_INFINITY_AND_NAN) != MASK_INFINITY_AND_NAN && isZeroCoefficient(y))
+                return NaN;
+
+            return ((x ^ y) & MASK_SIGN) | POSITIVE_INFINITY;
+        }
+
+        // y is Infinity or NaN
+        if ((y & MASK_INFINITY_NAN) == MASK_INFINITY_NAN)
+            return quietNaN(y);
+
+        return isZeroCoefficient(x) ? NaN : ((x ^ y) & MASK_SIGN) | POSITIVE_INFINITY;
+    }
+
+    /**
+     * Checks whether the coefficient of a finite value is zero. Non-canonical coefficients are treated as zero.
+     */
+    static boolean isZeroCoefficient(final long value) {
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL)
+            return ((value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT) > MAX_COEFFICIENT;
+        return (value & SMALL_COEFFICIENT_MASK) == 0;
+    }
+}
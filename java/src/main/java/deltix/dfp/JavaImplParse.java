@@ -0,0 +1,408 @@
+package deltix.dfp;
+
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Pure Java parsing of 64-bit DFP values from ASCII bytes, accepts the same text and produces the same results as
+ * {@link JavaImpl#parse(CharSequence, int, int, RoundingMode, Decimal64ParseResult)}.
+ * <p>
+ * The bytes are read straight from the array or, for the buffers without an accessible array, with the absolute
+ * {@code get} of the buffer. The coefficient digits are converted up to eight at a time (SWAR, SIMD within a register):
+ * the next eight bytes are read as one {@code long}, the digits at its start are counted and converted with a few
+ * multiplications, the bytes after them are shifted out.
+ * <p>
+ * Both parsers keep the first 16 significant digits and only remember the digit after them and whether any later digit
+ * is not zero; the rounding with the requested mode and the packing are done once, by {@link #roundAndPack}.
+ */
+class JavaImplParse {
+    private JavaImplParse() {
+    }
+
+    private static final byte[] INFINITY = {'i', 'n', 'f', 'i', 'n', 'i', 't', 'y'};
+    private static final byte[] INF = {'i', 'n', 'f'};
+    private static final byte[] NAN = {'n', 'a', 'n'};
+    private static final byte[] SNAN = {'s', 'n', 'a', 'n'};
+
+    public static long parse(final byte[] src, final int from, final int to,
+                             final RoundingMode roundingMode, final Decimal64ParseResult result) {
+        if (from < 0 || from > to || to > src.length)
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds for length " + src.length);
+        return parse(src, null, from, to, roundingMode, result);
+    }
+
+    public static long parse(final ByteBuffer src, final int from, final int to,
+                             final RoundingMode roundingMode, final Decimal64ParseResult result) {
+        if (from < 0 || from > to || to > src.limit())
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bounds for limit " + src.limit());
+        if (src.hasArray())
+            return parse(src.array(), null, src.arrayOffset() + from, src.arrayOffset() + to, roundingMode, result);
+        return parse(null, src, from, to, roundingMode, result);
+    }
+
+    private static final ThreadLocal<Decimal64ParseResult> tlsParseResult = new ThreadLocal<Decimal64ParseResult>() {
+        @Override
+        protected Decimal64ParseResult initialValue() {
+            return new Decimal64ParseResult();
+        }
+    };
+
+    public static long tryParse(final CharSequence s, final int si, final int ei, final long defaultValue) {
+        final Decimal64ParseResult result = tlsParseResult.get();
+        JavaImpl.parse(s, si, ei, RoundingMode.HALF_EVEN, result);
+        return result.isValid() ? result.value : defaultValue;
+    }
+
+    /**
+     * Reads the text from the array, if it is not {@code null}, or from the buffer.
+     * The code follows {@link JavaImpl#parse(CharSequence, int, int, RoundingMode, Decimal64ParseResult)},
+     * except the eight-byte steps.
+     */
+    private static long parse(final byte[] array, final ByteBuffer buffer, final int si, final int ei,
+                              final RoundingMode roundingMode, final Decimal64ParseResult result) {
+        int c;
+        int p = si;
+        boolean sign = false;
+
+        c = p < ei ? get(array, buffer, p) : 0;
+        if (c == '+') {
+            p += 1;
+            c = p < ei ? get(array, buffer, p) : 0;
+        }
+        if (c == '-') {
+            sign = true;
+
+            p += 1;
+            c = p < ei ? get(array, buffer, p) : 0;
+        }
+
+        if (c != '.' && (c < '0' || c > '9')) {
+            if (equalsIgnoringCase(array, buffer, p, ei, INFINITY) ||
+                equalsIgnoringCase(array, buffer, p, ei, INF))
+                return complete(sign ? JavaImpl.NEGATIVE_INFINITY : JavaImpl.POSITIVE_INFINITY, Decimal64ParseResult.OK, result);
+            if (equalsIgnoringCase(array, buffer, p, ei, NAN) ||
+                equalsIgnoringCase(array, buffer, p, ei, SNAN))
+                return complete(JavaImpl.NaN, Decimal64ParseResult.OK, result);
+            return invalid(array, buffer, si, ei, result);
+        }
+
+        boolean seenRadixPoint = false;
+        int leadingZerosAfterPoint = 0;
+
+        if (c == '0' || c == '.') {
+            if (c == '.') {
+                seenRadixPoint = true;
+
+                p += 1;
+                c = p < ei ? get(array, buffer, p) : 0;
+            }
+
+            while (c == '0') {
+                p += 1;
+                c = p < ei ? get(array, buffer, p) : 0;
+
+                if (seenRadixPoint)
+                    leadingZerosAfterPoint += 1;
+
+                if (c == '.') {
+                    if (seenRadixPoint)
+                        return invalid(array, buffer, si, ei, result);
+                    seenRadixPoint = true;
+
+                    p += 1;
+                    c = p < ei ? get(array, buffer, p) : 0;
+                }
+                if (p == ei)
+                    return roundAndPack(sign, EXPONENT_BIAS - leadingZerosAfterPoint, 0, 0, false, roundingMode, result);
+            }
+        }
+
+        int numberOfDigits = 0;
+        int decimalExponentScale = 0;
+        long coefficient = 0;
+        int roundingDigit = 0;
+        boolean sticky = false;
+        int additionalExponent = 0;
+
+        while ((c >= '0' && c <= '9') || c == '.') {
+            if (c == '.') {
+                if (seenRadixPoint)
+                    return invalid(array, buffer, si, ei, result);
+
+                seenRadixPoint = true;
+
+                p += 1;
+                c = p < ei ? get(array, buffer, p) : 0;
+
+                continue;
+            }
+
+            if (numberOfDigits < 16 && p + 8 <= ei) {
+                // Convert all the digits of the next eight bytes at once, at least one byte is a digit
+                final long chunk = getEightBytes(array, buffer, p);
+                final int count = Math.min(leadingDigitCount(chunk), 16 - numberOfDigits);
+                coefficient = coefficient * POWERS_OF_TEN[count] + parseEightDigits(chunk << ((8 - count) << 3));
+                numberOfDigits += count;
+                if (seenRadixPoint)
+                    decimalExponentScale += count;
+
+                p += count;
+                c = p < ei ? get(array, buffer, p) : 0;
+
+                continue;
+            }
+
+            if (seenRadixPoint)
+                decimalExponentScale += 1;
+
+            numberOfDigits += 1;
+            if (numberOfDigits <= 16) {
+                coefficient = (coefficient << 1) + (coefficient << 3) + c - '0';
+            } else {
+                additionalExponent += 1;
+                if (numberOfDigits == 17)
+                    roundingDigit = c - '0';
+                else if (c != '0')
+                    sticky = true;
+            }
+
+            p += 1;
+            c = p < ei ? get(array, buffer, p) : 0;
+        }
+
+        additionalExponent -= (decimalExponentScale + leadingZerosAfterPoint);
+
+        if (p == ei)
+            return roundAndPack(sign, additionalExponent + EXPONENT_BIAS, coefficient, roundingDigit, sticky, roundingMode, result);
+
+        if (c != 'E' && c != 'e')
+            return invalid(array, buffer, si, ei, result);
+
+        p += 1;
+        c = p < ei ? get(array, buffer, p) : 0;
+
+        final boolean isExponentSigned = c == '-';
+        if (c == '-' || c == '+') {
+            p += 1;
+            c = p < ei ? get(array, buffer, p) : 0;
+        }
+
+        if (p == ei || c < '0' || c > '9')
+            return invalid(array, buffer, si, ei, result);
+
+        int exponent = 0;
+        while (c >= '0' && c <= '9') {
+            if (exponent < (1 << 20))
+                exponent = (exponent << 1) + (exponent << 3) + (c - '0');
+
+            p += 1;
+            c = p < ei ? get(array, buffer, p) : 0;
+        }
+
+        if (p != ei)
+            return invalid(array, buffer, si, ei, result);
+
+        if (isExponentSigned)
+            exponent = -exponent;
+
+        return roundAndPack(sign, exponent + additionalExponent + EXPONENT_BIAS, coefficient, roundingDigit, sticky,
+            roundingMode, result);
+    }
+
+    /**
+     * Rounds the parsed coefficient with the given mode and packs it.
+     *
+     * @param exponent      Biased exponent, may be out of range.
+     * @param coefficient   Up to 16 leading significant digits.
+     * @param roundingDigit The digit after the coefficient digits.
+     * @param sticky        {@code true} if any digit after the rounding digit is not zero.
+     * @param result        Holder for the value and the status, or {@code null}.
+     */
+    static long roundAndPack(final boolean sign, int exponent, long coefficient, int roundingDigit, boolean sticky,
+                             final RoundingMode roundingMode, final Decimal64ParseResult result) {
+        if (roundingDigit == 0 && !sticky && exponent >= 0 && exponent <= BIASED_EXPONENT_MAX_VALUE)
+            return complete(packCoefficient(sign ? MASK_SIGN : 0, exponent, coefficient), Decimal64ParseResult.OK, result);
+        return round(sign, exponent, coefficient, roundingDigit, sticky, roundingMode, result);
+    }
+
+    private static long round(final boolean sign, int exponent, long coefficient, int roundingDigit, boolean sticky,
+                              final RoundingMode roundingMode, final Decimal64ParseResult result) {
+        int status = Decimal64ParseResult.OK;
+        if (exponent < 0) {
+            // Shift out the digits below the smallest exponent, all of them, if the shift is longer than the coefficient
+            final long divisor = POWERS_OF_TEN[Math.min(-exponent, MAX_FORMAT_DIGITS + 1) - 1];
+            sticky |= roundingDigit != 0 || coefficient % divisor != 0;
+            roundingDigit = (int) (coefficient / divisor % 10);
+            coefficient = coefficient / divisor / 10;
+            exponent = 0;
+            if (roundingDigit != 0 || sticky)
+                status = Decimal64ParseResult.UNDERFLOW;
+        }
+
+        if (roundingDigit != 0 || sticky) {
+            status |= Decimal64ParseResult.INEXACT;
+            if (isRoundedUp(sign, coefficient, roundingDigit, sticky, roundingMode)) {
+                coefficient += 1;
+                if (coefficient == 10000000000000000L) {
+                    coefficient = 1000000000000000L;
+                    exponent += 1;
+                }
+            }
+        }
+
+        if (exponent > BIASED_EXPONENT_MAX_VALUE) {
+            if (coefficient == 0) {
+                exponent = BIASED_EXPONENT_MAX_VALUE;
+            } else {
+                // Add the trailing zeros to the coefficient, while it has less than 16 digits
+                while (coefficient < 1000000000000000L && exponent > BIASED_EXPONENT_MAX_VALUE) {
+                    coefficient = (coefficient << 1) + (coefficient << 3);
+                    exponent -= 1;
+                }
+                if (exponent > BIASED_EXPONENT_MAX_VALUE)
+                    return overflow(sign, roundingMode, result);
+            }
+        }
+
+        if (status != Decimal64ParseResult.OK && roundingMode == RoundingMode.UNNECESSARY)
+            return complete(NaN, status, result);
+        return complete(packCoefficient(sign ? MASK_SIGN : 0, exponent, coefficient), status, result);
+    }
+
+    /**
+     * @return {@code true} if the magnitude of the coefficient must be incremented to round off the dropped digits,
+     * described by the rounding digit and the sticky flag; never for {@link RoundingMode#UNNECESSARY}.
+     */
+    static boolean isRoundedUp(final boolean sign, final long coefficient, final int roundingDigit,
+                               final boolean sticky, final RoundingMode roundingMode) {
+        switch (roundingMode) {
+            case HALF_EVEN:
+                return roundingDigit > 5 || (roundingDigit == 5 && (sticky || (coefficient & 1) != 0));
+            case HALF_UP:
+                return roundingDigit >= 5;
+            case HALF_DOWN:
+                return roundingDigit > 5 || (roundingDigit == 5 && sticky);
+            case UP:
+                return true;
+            case DOWN:
+                return false;
+            case CEILING:
+                return !sign;
+            case FLOOR:
+                return sign;
+            case UNNECESSARY:
+                return false;
+            default:
+                throw new IllegalArgumentException("Unsupported rounding mode: " + roundingMode);
+        }
+    }
+
+    private static long overflow(final boolean sign, final RoundingMode roundingMode, final Decimal64ParseResult result) {
+        final long value;
+        switch (roundingMode) {
+            case DOWN:
+                value = sign ? MASK_SIGN | MAX_VALUE : MAX_VALUE;
+                break;
+            case CEILING:
+                value = sign ? MASK_SIGN | MAX_VALUE : POSITIVE_INFINITY;
+                break;
+            case FLOOR:
+                value = sign ? NEGATIVE_INFINITY : MAX_VALUE;
+                break;
+            case UNNECESSARY:
+                value = NaN;
+                break;
+            default:
+                value = sign ? NEGATIVE_INFINITY : POSITIVE_INFINITY;
+                break;
+        }
+        return complete(value, Decimal64ParseResult.INEXACT | Decimal64ParseResult.OVERFLOW, result);
+    }
+
+    private static long complete(final long value, final int status, final Decimal64ParseResult result) {
+        return result != null ? result.set(value, status) : value;
+    }
+
+    /**
+     * Counts the ASCII digits at the start of the eight bytes, the first byte in the lowest bits.
+     */
+    static int leadingDigitCount(final long chunk) {
+        // The bytes of digits turn to zeros, the carry from the byte above 0xF9 spoils only the following bytes
+        final long nonDigits = ((chunk & 0xF0F0_F0F0_F0F0_F0F0L) |
+            (((chunk + 0x0606_0606_0606_0606L) & 0xF0F0_F0F0_F0F0_F0F0L) >>> 4)) ^ 0x3333_3333_3333_3333L;
+        return Long.numberOfTrailingZeros(nonDigits) >>> 3;
+    }
+
+    /**
+     * Converts eight ASCII digits, the first (the most significant) digit in the lowest bits, to their value.
+     * Zero bytes are treated as zero digits.
+     */
+    static long parseEightDigits(long chunk) {
+        // Combine the adjacent digits to 2-digit values, then to 4-digit values, then to the 8-digit value
+        chunk = ((chunk & 0x0F0F_0F0F_0F0F_0F0FL) * (10 << 8 | 1)) >>> 8;
+        chunk = ((chunk & 0x00FF_00FF_00FF_00FFL) * (100 << 16 | 1)) >>> 16;
+        return ((chunk & 0x0000_FFFF_0000_FFFFL) * (10000L << 32 | 1)) >>> 32;
+    }
+
+    private static int get(final byte[] array, final ByteBuffer buffer, final int index) {
+        return (array != null ? array[index] : buffer.get(index)) & 0xFF;
+    }
+
+    /**
+     * Reads eight bytes as {@code long}, the first byte in the lowest bits.
+     */
+    private static long getEightBytes(final byte[] array, final ByteBuffer buffer, final int index) {
+        if (array != null) {
+            return (array[index] & 0xFFL) |
+                (array[index + 1] & 0xFFL) << 8 |
+                (array[index + 2] & 0xFFL) << 16 |
+                (array[index + 3] & 0xFFL) << 24 |
+                (array[index + 4] & 0xFFL) << 32 |
+                (array[index + 5] & 0xFFL) << 40 |
+                (array[index + 6] & 0xFFL) << 48 |
+                (array[index + 7] & 0xFFL) << 56;
+        }
+
+        final long value = buffer.getLong(index);
+        return buffer.order() == ByteOrder.LITTLE_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
+    /**
+     * @param lowerCase expected text in lower case
+     */
+    private static boolean equalsIgnoringCase(final byte[] array, final ByteBuffer buffer, final int si, final int ei,
+                                              final byte[] lowerCase) {
+        if (ei - si != lowerCase.length)
+            return false;
+        for (int i = 0; i < lowerCase.length; ++i) {
+            final int c = get(array, buffer, si + i);
+            if ((c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c) != lowerCase[i])
+                return false;
+        }
+        return true;
+    }
+
+    private static long invalid(final byte[] array, final ByteBuffer buffer, final int si, final int ei,
+                                final Decimal64ParseResult result) {
+        if (result == null)
+            throw invalidFormat(array, buffer, si, ei);
+        return result.set(NaN, Decimal64ParseResult.INVALID);
+    }
+
+    private static NumberFormatException invalidFormat(final byte[] array, final ByteBuffer buffer, final int si, final int ei) {
+        final byte[] text;
+        if (array != null) {
+            text = Arrays.copyOfRange(array, si, ei);
+        } else {
+            text = new byte[ei - si];
+            for (int i = 0; i < text.length; ++i)
+                text[i] = buffer.get(si + i);
+        }
+        return new NumberFormatException(new String(text, StandardCharsets.ISO_8859_1));
+    }
+}
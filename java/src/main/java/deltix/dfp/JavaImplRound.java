@@ -0,0 +1,188 @@
+package deltix.dfp;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Pure Java implementation of 64-bit DFP rounding to integral values and to multiples of a given value.
+ * Rounding to integral values is bit-exact with {@code bid64_round_integral_*()} of the native library.
+ */
+class JavaImplRound {
+    private JavaImplRound() {
+    }
+
+    public static long roundTowardsPositiveInfinity(final long value) {
+        return roundToIntegral(value, BID_ROUNDING_UP);
+    }
+
+    public static long roundTowardsNegativeInfinity(final long value) {
+        return roundToIntegral(value, BID_ROUNDING_DOWN);
+    }
+
+    public static long roundTowardsZero(final long value) {
+        return roundToIntegral(value, BID_ROUNDING_TO_ZERO);
+    }
+
+    public static long roundToNearestTiesAwayFromZero(final long value) {
+        return roundToIntegral(value, BID_ROUNDING_TIES_AWAY);
+    }
+
+    /**
+     * Rounds the value to an integer in the given rounding mode.
+     * The inexact result has the exponent 0 and keeps the sign of the argument, even if it is zero.
+     */
+    static long roundToIntegral(final long value, final int roundingMode) {
+        // Small format with non-negative exponent: the value is an integer already
+        if ((value & MASK_SPECIAL) != MASK_SPECIAL && (value & EXPONENT_MASK_SMALL) >= (long) EXPONENT_BIAS << EXPONENT_SHIFT_SMALL)
+            return value;
+
+        if ((value & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+            return (value & MASK_INFINITY_NAN) == MASK_INFINITY_NAN ? quietNaN(value) : value & NEGATIVE_INFINITY;
+
+        // Unpack the argument, non-canonical coefficients are treated as zeros
+        final long sign = value & MASK_SIGN;
+        long coefficient;
+        int exponent;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficient = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficient > MAX_COEFFICIENT)
+                coefficient = 0;
+            exponent = (int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficient = value & SMALL_COEFFICIENT_MASK;
+            exponent = (int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        if (coefficient == 0)
+            return sign | ((long) Math.max(exponent, EXPONENT_BIAS) << EXPONENT_SHIFT_SMALL);
+
+        if (exponent >= EXPONENT_BIAS)
+            return value;
+
+        // Split the coefficient into the integral part and the fraction, the fraction is never zero for 17+ digits
+        final int fractionDigits = EXPONENT_BIAS - exponent;
+        final long integral, fraction, divisor;
+        if (fractionDigits <= MAX_FORMAT_DIGITS) {
+            divisor = POWERS_OF_TEN[fractionDigits];
+            integral = coefficient / divisor;
+            fraction = coefficient - integral * divisor;
+        } else {
+            divisor = POWERS_OF_TEN[MAX_FORMAT_DIGITS + 1];
+            integral = 0;
+            fraction = coefficient;
+        }
+
+        final boolean roundUp;
+        switch (roundingMode) {
+            case BID_ROUNDING_UP:
+                roundUp = sign == 0 && fraction != 0;
+                break;
+            case BID_ROUNDING_DOWN:
+                roundUp = sign != 0 && fraction != 0;
+                break;
+            case BID_ROUNDING_TIES_AWAY:
+                roundUp = fraction >= (divisor >>> 1);
+                break;
+            default:
+                roundUp = false;
+                break;
+        }
+
+        return sign | ((long) EXPONENT_BIAS << EXPONENT_SHIFT_SMALL) | (roundUp ? integral + 1 : integral);
+    }
+
+    /**
+     * Rounds the value to a multiple of a positive finite multiple in the given rounding mode.
+     * Whenever the result has at most 16 digits, the quotient is calculated exactly with integer arithmetic
+     * on the coefficients and no DFP division is performed. The result has the same representation as
+     * {@code multiply(roundToIntegral(divide(value, multiple)), multiple)}, unless that quotient is inexact and its
+     * rounding to 16 digits changes the integral result. Other values fall back to
+     * {@link #roundToMultipleByDivision(long, long, int)}.
+     */
+    static long roundToMultiple(final long value, final long multiple, final int roundingMode) {
+        if ((value & MASK_INFINITY_AND_NAN) != MASK_INFINITY_AND_NAN) {
+            // Unpack arguments, non-canonical coefficients are treated as zeros
+            long coefficientX;
+            final int exponentX;
+            if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+                coefficientX = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+                if (coefficientX > MAX_COEFFICIENT)
+                    coefficientX = 0;
+                exponentX = (int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+            } else {
+                coefficientX = value & SMALL_COEFFICIENT_MASK;
+                exponentX = (int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+            }
+
+            final long coefficientM;
+            final int exponentM;
+            if ((multiple & MASK_SPECIAL) == MASK_SPECIAL) {
+                coefficientM = (multiple & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+                exponentM = (int) (multiple >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+            } else {
+                coefficientM = multiple & SMALL_COEFFICIENT_MASK;
+                exponentM = (int) (multiple >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+            }
+
+            // Both the value and the multiple are expressed in units of the smaller exponent, this fits into 18 digits.
+            // If the multiple does not fit, it is greater than the value, which is then the remainder of the division.
+            final int diff = exponentX - exponentM;
+            final long dividend, divisor;
+            if (diff >= 0) {
+                dividend = diff <= 18 && coefficientX < POWERS_OF_TEN[18 - diff] ? coefficientX * POWERS_OF_TEN[diff] : 0;
+                divisor = coefficientM;
+            } else {
+                dividend = coefficientX;
+                divisor = -diff <= 18 && coefficientM < POWERS_OF_TEN[18 + diff] ? coefficientM * POWERS_OF_TEN[-diff] : Long.MAX_VALUE;
+            }
+
+            if (dividend != 0) {
+                final long sign = value & MASK_SIGN;
+                final long quotient = dividend / divisor;
+                final long remainder = dividend - quotient * divisor;
+                final long rounded = roundQuotient(sign, quotient, remainder, divisor, roundingMode);
+                if (rounded <= MAX_COEFFICIENT / coefficientM)
+                    return packMultiple(sign, rounded, remainder == 0, diff, coefficientM, exponentM);
+            }
+        }
+
+        return roundToMultipleByDivision(value, multiple, roundingMode);
+    }
+
+    static long roundToMultipleByDivision(final long value, final long multiple, final int roundingMode) {
+        return JavaImplMul.multiply(roundToIntegral(JavaImplDiv.divide(value, multiple), roundingMode), multiple);
+    }
+
+    /**
+     * Rounds {@code quotient + remainder / divisor} to an integer, the magnitude of the quotient is rounded up or down
+     * according to the rounding mode and the sign.
+     */
+    static long roundQuotient(final long sign, final long quotient, final long remainder, final long divisor,
+                              final int roundingMode) {
+        if (remainder == 0)
+            return quotient;
+        switch (roundingMode) {
+            case BID_ROUNDING_UP:
+                return sign == 0 ? quotient + 1 : quotient;
+            case BID_ROUNDING_DOWN:
+                return sign != 0 ? quotient + 1 : quotient;
+            case BID_ROUNDING_TIES_AWAY:
+                return remainder >= divisor - remainder ? quotient + 1 : quotient;
+            default:
+                return quotient;
+        }
+    }
+
+    /**
+     * Packs {@code quotient * coefficientM * 10^exponentM}, the product must fit into 16 digits.
+     * Exact quotients keep as many trailing zeros as {@code divide()} does, at most {@code diff}.
+     */
+    static long packMultiple(final long sign, long quotient, final boolean isExact, final int diff,
+                             final long coefficientM, int exponentM) {
+        if (isExact) {
+            for (final int maxExponent = exponentM + diff; exponentM < maxExponent && quotient % 10 == 0; exponentM++)
+                quotient /= 10;
+        }
+
+        return pack(sign, exponentM, quotient * coefficientM, BID_ROUNDING_TO_NEAREST);
+    }
+}
@@ -0,0 +1,432 @@
+package deltix.dfp;
+
+import java.io.IOException;
+
+/**
+ * Holds a mutable 64-bit Decimal Floating Point value.
+ * <p>
+ * Unlike {@link Decimal64}, the arithmetic and rounding methods of this class modify the instance in place and return
+ * {@code this}, so a single instance may be reused for a whole calculation without allocations:
+ * <pre>
+ *  private final MutableDecimal64 notional = new MutableDecimal64();
+ *
+ *  public Decimal64 notional(final List&lt;Fill&gt; fills) {
+ *      notional.setZero();
+ *      for (final Fill fill : fills)
+ *          notional.addProduct(fill.getPrice(), fill.getQuantity());
+ *      return notional.toDecimal64();
+ *  }
+ * </pre>
+ * The methods are named after the {@code Decimal64} methods with the same arithmetic, so the expressions
+ * like {@code a = a.add(b)} keep working after the type of {@code a} is changed to {@code MutableDecimal64}.
+ * The arguments may be {@code Decimal64} instances, other {@code MutableDecimal64} instances
+ * or underlying {@code @Decimal long} values.
+ * <p>
+ * The instances are not thread-safe. Since the value may change, the class does not override {@code equals} and
+ * {@code hashCode}: use {@link #isEqual(MutableDecimal64)} and {@link #compareTo(MutableDecimal64)} to compare values
+ * and {@link #toDecimal64()} to get an immutable copy to be used as a key.
+ * @see Decimal64
+ * @see Decimal64Utils
+ */
+public final class MutableDecimal64 extends Number implements Comparable<MutableDecimal64> {
+    @Decimal
+    private long value;
+
+    /**
+     * Creates a new instance holding zero.
+     */
+    public MutableDecimal64() {
+        this.value = Decimal64Utils.ZERO;
+    }
+
+    /**
+     * Creates a new instance holding the value of the given {@code Decimal64} instance.
+     * @param value initial value
+     */
+    public MutableDecimal64(final Decimal64 value) {
+        this.value = value.value;
+    }
+
+    /**
+     * Creates a new instance holding the given underlying DFP value.
+     * @param value initial value as 64-bit DFP value
+     * @return new {@code MutableDecimal64} instance
+     */
+    public static MutableDecimal64 fromUnderlying(@Decimal final long value) {
+        final MutableDecimal64 result = new MutableDecimal64();
+        result.value = value;
+        return result;
+    }
+
+    /// region Conversion
+
+    /**
+     * @return Underlying binary representation of the current value.
+     */
+    @Decimal
+    public long toUnderlying() {
+        return value;
+    }
+
+    /**
+     * @return new immutable {@code Decimal64} instance holding the current value.
+     */
+    public Decimal64 toDecimal64() {
+        return Decimal64.fromUnderlying(value);
+    }
+
+    public MutableDecimal64 set(final Decimal64 value) {
+        this.value = value.value;
+        return this;
+    }
+
+    public MutableDecimal64 set(final MutableDecimal64 value) {
+        this.value = value.value;
+        return this;
+    }
+
+    public MutableDecimal64 setUnderlying(@Decimal final long value) {
+        this.value = value;
+        return this;
+    }
+
+    public MutableDecimal64 setZero() {
+        this.value = Decimal64Utils.ZERO;
+        return this;
+    }
+
+    public MutableDecimal64 setLong(final long value) {
+        this.value = Decimal64Utils.fromLong(value);
+        return this;
+    }
+
+    public MutableDecimal64 setInt(final int value) {
+        this.value = Decimal64Utils.fromInt(value);
+        return this;
+    }
+
+    public MutableDecimal64 setDouble(final double value) {
+        this.value = Decimal64Utils.fromDouble(value);
+        return this;
+    }
+
+    /**
+     * Sets the value from fixed point decimal value: (12345, 2) -&gt; 123.45
+     * @param mantissa source fixed point value represented as {@code long}
+     * @param numberOfDigits number of decimal digits representing fractional part
+     * @return {@code this}
+     * @see Decimal64Utils#fromFixedPoint(long, int)
+     */
+    public MutableDecimal64 setFixedPoint(final long mantissa, final int numberOfDigits) {
+        this.value = Decimal64Utils.fromFixedPoint(mantissa, numberOfDigits);
+        return this;
+    }
+
+    /**
+     * Parses the value from the given textual representation.
+     * @param text Textual representation of dfp floating-point value.
+     * @return {@code this}
+     * @throws NumberFormatException if {@code text} does not contain valid dfp value, the value is not changed then.
+     * @see Decimal64Utils#parse(CharSequence)
+     */
+    public MutableDecimal64 set(final CharSequence text) {
+        this.value = Decimal64Utils.parse(text);
+        return this;
+    }
+
+    /**
+     * Parses the value from the given textual representation.
+     * @param text Textual representation of dfp floating-point value.
+     * @param startIndex Index of character to start parsing at.
+     * @param endIndex Index of character to stop parsing at, non-inclusive.
+     * @return {@code this}
+     * @throws NumberFormatException if {@code text} does not contain valid dfp value, the value is not changed then.
+     * @see Decimal64Utils#parse(CharSequence, int, int)
+     */
+    public MutableDecimal64 set(final CharSequence text, final int startIndex, final int endIndex) {
+        this.value = Decimal64Utils.parse(text, startIndex, endIndex);
+        return this;
+    }
+
+    public long toLong() {
+        return Decimal64Utils.toLong(value);
+    }
+
+    public int toInt() {
+        return Decimal64Utils.toInt(value);
+    }
+
+    public double toDouble() {
+        return Decimal64Utils.toDouble(value);
+    }
+
+    public long toFixedPoint(final int numberOfDigits) {
+        return Decimal64Utils.toFixedPoint(value, numberOfDigits);
+    }
+
+    /// endregion
+
+    /// region Classification
+
+    public boolean isNaN() {
+        return Decimal64Utils.isNaN(value);
+    }
+
+    public boolean isInfinity() {
+        return Decimal64Utils.isInfinity(value);
+    }
+
+    public boolean isFinite() {
+        return Decimal64Utils.isFinite(value);
+    }
+
+    public boolean isZero() {
+        return Decimal64Utils.isZero(value);
+    }
+
+    public boolean isPositive() {
+        return Decimal64Utils.isPositive(value);
+    }
+
+    public boolean isNegative() {
+        return Decimal64Utils.isNegative(value);
+    }
+
+    /// endregion
+
+    /// region Comparison
+
+    public boolean isEqual(final Decimal64 other) {
+        return Decimal64Utils.isEqual(value, other.value);
+    }
+
+    public boolean isEqual(final MutableDecimal64 other) {
+        return Decimal64Utils.isEqual(value, other.value);
+    }
+
+    public boolean isEqual(@Decimal final long other) {
+        return Decimal64Utils.isEqual(value, other);
+    }
+
+    public int compareTo(final Decimal64 other) {
+        return Decimal64Utils.compareTo(value, other.value);
+    }
+
+    public int compareTo(@Decimal final long other) {
+        return Decimal64Utils.compareTo(value, other);
+    }
+
+    /// endregion
+
+    /// region Arithmetic
+
+    public MutableDecimal64 negate() {
+        value = Decimal64Utils.negate(value);
+        return this;
+    }
+
+    public MutableDecimal64 abs() {
+        value = Decimal64Utils.abs(value);
+        return this;
+    }
+
+    public MutableDecimal64 add(final Decimal64 other) {
+        value = Decimal64Utils.add(value, other.value);
+        return this;
+    }
+
+    public MutableDecimal64 add(final MutableDecimal64 other) {
+        value = Decimal64Utils.add(value, other.value);
+        return this;
+    }
+
+    public MutableDecimal64 add(@Decimal final long other) {
+        value = Decimal64Utils.add(value, other);
+        return this;
+    }
+
+    public MutableDecimal64 subtract(final Decimal64 other) {
+        value = Decimal64Utils.subtract(value, other.value);
+        return this;
+    }
+
+    public MutableDecimal64 subtract(final MutableDecimal64 other) {
+        value = Decimal64Utils.subtract(value, other.value);
+        return this;
+    }
+
+    public MutableDecimal64 subtract(@Decimal final long other) {
+        value = Decimal64Utils.subtract(value, other);
+        return this;
+    }
+
+    public MutableDecimal64 multiply(final Decimal64 other) {
+        value = Decimal64Utils.multiply(value, other.value);
+        return this;
+    }
+
+    public MutableDecimal64 multiply(final MutableDecimal64 other) {
+        value = Decimal64Utils.multiply(value, other.value);
+        return this;
+    }
+
+    public MutableDecimal64 multiply(@Decimal final long other) {
+        value = Decimal64Utils.multiply(value, other);
+        return this;
+    }
+
+    public MutableDecimal64 multiplyByInteger(final int value) {
+        this.value = Decimal64Utils.multiplyByInteger(this.value, value);
+        return this;
+    }
+
+    public MutableDecimal64 multiplyByInteger(final long value) {
+        this.value = Decimal64Utils.multiplyByInteger(this.value, value);
+        return this;
+    }
+
+    public MutableDecimal64 divide(final Decimal64 other) {
+        value = Decimal64Utils.divide(value, other.value);
+        return this;
+    }
+
+    public MutableDecimal64 divide(final MutableDecimal64 other) {
+        value = Decimal64Utils.divide(value, other.value);
+        return this;
+    }
+
+    public MutableDecimal64 divide(@Decimal final long other) {
+        value = Decimal64Utils.divide(value, other);
+        return this;
+    }
+
+    public MutableDecimal64 divideByInteger(final int value) {
+        this.value = Decimal64Utils.divideByInteger(this.value, value);
+        return this;
+    }
+
+    public MutableDecimal64 divideByInteger(final long value) {
+        this.value = Decimal64Utils.divideByInteger(this.value, value);
+        return this;
+    }
+
+    /**
+     * Adds the product of two values to the current value, rounding once: {@code this = this + a * b}.
+     * @param a the first factor
+     * @param b the second factor
+     * @return {@code this}
+     * @see Decimal64Utils#multiplyAndAdd(long, long, long)
+     */
+    public MutableDecimal64 addProduct(final Decimal64 a, final Decimal64 b) {
+        value = Decimal64Utils.multiplyAndAdd(a.value, b.value, value);
+        return this;
+    }
+
+    /**
+     * Adds the product of two values to the current value, rounding once: {@code this = this + a * b}.
+     * @param a the first factor
+     * @param b the second factor
+     * @return {@code this}
+     * @see Decimal64Utils#multiplyAndAdd(long, long, long)
+     */
+    public MutableDecimal64 addProduct(@Decimal final long a, @Decimal final long b) {
+        value = Decimal64Utils.multiplyAndAdd(a, b, value);
+        return this;
+    }
+
+    /// endregion
+
+    /// region Rounding
+
+    public MutableDecimal64 round() {
+        value = Decimal64Utils.round(value);
+        return this;
+    }
+
+    public MutableDecimal64 round(final Decimal64 multiple) {
+        value = Decimal64Utils.round(value, multiple.value);
+        return this;
+    }
+
+    public MutableDecimal64 ceiling() {
+        value = Decimal64Utils.ceiling(value);
+        return this;
+    }
+
+    public MutableDecimal64 floor() {
+        value = Decimal64Utils.floor(value);
+        return this;
+    }
+
+    public MutableDecimal64 truncate() {
+        value = Decimal64Utils.truncate(value);
+        return this;
+    }
+
+    public MutableDecimal64 roundTowardsPositiveInfinity(final Decimal64 multiple) {
+        value = Decimal64Utils.roundTowardsPositiveInfinity(value, multiple.value);
+        return this;
+    }
+
+    public MutableDecimal64 roundTowardsNegativeInfinity(final Decimal64 multiple) {
+        value = Decimal64Utils.roundTowardsNegativeInfinity(value, multiple.value);
+        return this;
+    }
+
+    public MutableDecimal64 roundToNearestTiesAwayFromZero(final Decimal64 multiple) {
+        value = Decimal64Utils.roundToNearestTiesAwayFromZero(value, multiple.value);
+        return this;
+    }
+
+    /// endregion
+
+    /// region Parsing & Formatting
+
+    public Appendable appendTo(final Appendable appendable) throws IOException {
+        return Decimal64Utils.appendTo(value, appendable);
+    }
+
+    public StringBuilder appendTo(final StringBuilder builder) {
+        return Decimal64Utils.appendTo(value, builder);
+    }
+
+    @Override
+    public String toString() {
+        return Decimal64Utils.toString(value);
+    }
+
+    /// endregion
+
+    /// region Number Interface Implementation
+
+    @Override
+    public int intValue() {
+        return toInt();
+    }
+
+    @Override
+    public long longValue() {
+        return toLong();
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) toDouble();
+    }
+
+    @Override
+    public double doubleValue() {
+        return toDouble();
+    }
+
+    /// endregion
+
+    /// region Comparable<T> Interface Implementation
+
+    @Override
+    public int compareTo(final MutableDecimal64 o) {
+        return Decimal64Utils.compareTo(value, o.value);
+    }
+
+    /// endregion
+}
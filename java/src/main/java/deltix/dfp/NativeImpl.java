@@ -1,30 +1,11 @@
 package deltix.dfp;
 
-import rtmath.utilities.ResourceLoader;
-
 class NativeImpl {
-    static final String NATIVE_API_VERSION = "2";
+    static final String NATIVE_API_VERSION = "3";
 
     static {
         try {
-            String version = new Decimal64Parts().getClass().getPackage().getImplementationVersion();
-            if (version == null)
-                version = Version.version;
-
-            boolean alwaysOverwrite = false;
-
-            if (version.endsWith("-SNAPSHOT")) {
-                //alwaysOverwrite = true;
-                version = version.substring(0, version.lastIndexOf('-'));
-            }
-            ResourceLoader
-                //.from(NativeImpl.class, "$(OS)/$(ARCH)/*") // This version now also works, but is probably less efficient
-                .from(NativeImpl.class, "$(OS)/$(ARCH)/DecimalNative.$(DLLEXT).zst")
-                .to(".rtmath/dfp/" + version + ".0/$(ARCH)")
-                .alwaysOverwrite(alwaysOverwrite)
-                .tryRandomFallbackSubDirectory(true)
-                .addDllSuffix(NATIVE_API_VERSION)
-                .load();
+            NativeLoader.load();
 
             int ver = 0;
             ver = version();
@@ -177,4 +158,139 @@ class NativeImpl {
     public static native long nextDown(final long value);
 
     /// endregion
+
+    /// region Arrays
+    // Every native call processes one chunk of the array region, since the native code pins the arrays, which blocks
+    // the garbage collection, so the pinning must be short. The callers check offsets and lengths.
+
+    private static final int ARRAY_CHUNK = 8192;
+
+    public static void addArrays(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                 final long[] result, final int resultOffset, final int length) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            addArrays0(a, aOffset + i, b, bOffset + i, result, resultOffset + i, count);
+        }
+    }
+
+    public static void subtractArrays(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                      final long[] result, final int resultOffset, final int length) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            subtractArrays0(a, aOffset + i, b, bOffset + i, result, resultOffset + i, count);
+        }
+    }
+
+    public static void multiplyArrays(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                      final long[] result, final int resultOffset, final int length) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            multiplyArrays0(a, aOffset + i, b, bOffset + i, result, resultOffset + i, count);
+        }
+    }
+
+    public static void divideArrays(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                    final long[] result, final int resultOffset, final int length) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            divideArrays0(a, aOffset + i, b, bOffset + i, result, resultOffset + i, count);
+        }
+    }
+
+    public static void addScalar(final long[] a, final int aOffset, final long b,
+                                 final long[] result, final int resultOffset, final int length) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            addScalar0(a, aOffset + i, b, result, resultOffset + i, count);
+        }
+    }
+
+    public static void multiplyByScalar(final long[] a, final int aOffset, final long b,
+                                        final long[] result, final int resultOffset, final int length) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            multiplyByScalar0(a, aOffset + i, b, result, resultOffset + i, count);
+        }
+    }
+
+    public static void divideByScalar(final long[] a, final int aOffset, final long b,
+                                      final long[] result, final int resultOffset, final int length) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            divideByScalar0(a, aOffset + i, b, result, resultOffset + i, count);
+        }
+    }
+
+    /**
+     * @param roundingMode one of {@code JavaImpl.BID_ROUNDING_DOWN}, {@code BID_ROUNDING_UP},
+     *                     {@code BID_ROUNDING_TO_ZERO} or {@code BID_ROUNDING_TIES_AWAY}
+     */
+    public static void roundArray(final long[] values, final int offset,
+                                  final long[] result, final int resultOffset, final int length,
+                                  final int roundingMode) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            roundArray0(values, offset + i, result, resultOffset + i, count, roundingMode);
+        }
+    }
+
+    public static void compareArrays(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                     final int[] result, final int resultOffset, final int length) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            compareArrays0(a, aOffset + i, b, bOffset + i, result, resultOffset + i, count);
+        }
+    }
+
+    public static void fromFloat64Array(final double[] values, final int offset,
+                                        final long[] result, final int resultOffset, final int length) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            fromFloat64Array0(values, offset + i, result, resultOffset + i, count);
+        }
+    }
+
+    public static void toFloat64Array(final long[] values, final int offset,
+                                      final double[] result, final int resultOffset, final int length) {
+        for (int i = 0, count; i < length; i += count) {
+            count = Math.min(length - i, ARRAY_CHUNK);
+            toFloat64Array0(values, offset + i, result, resultOffset + i, count);
+        }
+    }
+
+    private static native void addArrays0(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                          final long[] result, final int resultOffset, final int length);
+
+    private static native void subtractArrays0(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                               final long[] result, final int resultOffset, final int length);
+
+    private static native void multiplyArrays0(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                               final long[] result, final int resultOffset, final int length);
+
+    private static native void divideArrays0(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                             final long[] result, final int resultOffset, final int length);
+
+    private static native void addScalar0(final long[] a, final int aOffset, final long b,
+                                          final long[] result, final int resultOffset, final int length);
+
+    private static native void multiplyByScalar0(final long[] a, final int aOffset, final long b,
+                                                 final long[] result, final int resultOffset, final int length);
+
+    private static native void divideByScalar0(final long[] a, final int aOffset, final long b,
+                                               final long[] result, final int resultOffset, final int length);
+
+    private static native void roundArray0(final long[] values, final int offset,
+                                           final long[] result, final int resultOffset, final int length,
+                                           final int roundingMode);
+
+    private static native void compareArrays0(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                              final int[] result, final int resultOffset, final int length);
+
+    private static native void fromFloat64Array0(final double[] values, final int offset,
+                                                 final long[] result, final int resultOffset, final int length);
+
+    private static native void toFloat64Array0(final long[] values, final int offset,
+                                               final double[] result, final int resultOffset, final int length);
+
+    /// endregion
 }
@@ -0,0 +1,57 @@
+package deltix.dfp;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Controls the loading of the native library, which is used when the native backend is selected
+ * (see {@link Decimal64Utils}).
+ * <p>
+ * The library is loaded lazily, on the first call of a native method. To keep the extraction and loading
+ * of the library off the critical path, start loading it in the background when the application starts:
+ * <pre>
+ *  public static void main(final String[] args) {
+ *      NativeLibrary.preloadInBackground();
+ *      ...
+ *  }
+ * </pre>
+ * The first call of a native method waits until the background loading is complete.
+ */
+public final class NativeLibrary {
+    private NativeLibrary() {
+    }
+
+    /**
+     * Loads the native library in the current thread, if it is not loaded yet.
+     * @throws LinkageError if the native library can't be loaded
+     */
+    public static void preload() {
+        NativeImpl.version();
+    }
+
+    /**
+     * Starts loading the native library in a background daemon thread.
+     * @return The future, which completes when the library is loaded, or holds the loading error.
+     */
+    public static Future<?> preloadInBackground() {
+        final FutureTask<Void> task = new FutureTask<>(NativeLibrary::preload, null);
+        final Thread thread = new Thread(task, "DFP native library loader");
+        thread.setDaemon(true);
+        thread.start();
+        return task;
+    }
+
+    /**
+     * @return {@code true} if the native library is loaded.
+     */
+    public static boolean isLoaded() {
+        return NativeLoader.getLoadTimeNanos() >= 0;
+    }
+
+    /**
+     * @return Time spent to extract and load the native library, in nanoseconds, or -1 if it is not loaded yet.
+     */
+    public static long getLoadTimeNanos() {
+        return NativeLoader.getLoadTimeNanos();
+    }
+}
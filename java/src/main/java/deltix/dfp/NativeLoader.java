@@ -0,0 +1,104 @@
+package deltix.dfp;
+
+import rtmath.utilities.ResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Extracts and loads the native library for both JNI and Foreign Function &amp; Memory API versions of {@link NativeImpl}.
+ * <p>
+ * The library is extracted into a directory named after the hash of the native resources, which is computed
+ * at build time. The content of the directory never changes, so the library, extracted by any previous run,
+ * is loaded without decompression, even for snapshot versions.
+ * <p>
+ * The gcc build of the library has variants, optimized for x86-64 microarchitecture levels. On Linux x86-64
+ * the most specific variant, supported by the CPU, is loaded instead of the generic library.
+ */
+final class NativeLoader {
+    // CPU flags from /proc/cpuinfo, required by the microarchitecture levels of the x86-64 psABI
+    private static final List<String> X86_64_V2 = Arrays.asList(
+        "cx16", "lahf_lm", "popcnt", "pni", "sse4_1", "sse4_2", "ssse3");
+    private static final List<String> X86_64_V3 = Arrays.asList(
+        "abm", "avx", "avx2", "bmi1", "bmi2", "f16c", "fma", "movbe", "xsave");
+
+    private static volatile long loadTimeNanos = -1;
+
+    private NativeLoader() {
+    }
+
+    static synchronized void load() {
+        if (loadTimeNanos >= 0)
+            return;
+
+        final long startTime = System.nanoTime();
+        String version = new Decimal64Parts().getClass().getPackage().getImplementationVersion();
+        if (version == null)
+            version = Version.version;
+
+        if (version.endsWith("-SNAPSHOT"))
+            version = version.substring(0, version.lastIndexOf('-'));
+
+        final String variant = variantDirectory();
+
+        ResourceLoader
+            //.from(NativeImpl.class, "$(OS)/$(ARCH)/*") // This version now also works, but is probably less efficient
+            .from(NativeImpl.class, "$(OS)/$(ARCH)/" + variant + "DecimalNative.$(DLLEXT).zst")
+            .to(".rtmath/dfp/" + version + ".0/" + Version.nativeHash + "/$(ARCH)/" + variant)
+            .alwaysOverwrite(false)
+            .tryRandomFallbackSubDirectory(true)
+            .addDllSuffix(NativeImpl.NATIVE_API_VERSION)
+            .load();
+
+        loadTimeNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * @return Time spent to extract and load the native library, or -1 if it is not loaded
+     */
+    static long getLoadTimeNanos() {
+        return loadTimeNanos;
+    }
+
+    private static String variantDirectory() {
+        if (!"Linux".equals(System.getProperty("os.name")) || !"amd64".equals(System.getProperty("os.arch")))
+            return "";
+
+        final String level = microArchitectureLevel(cpuFlags());
+        if (level == null || NativeLoader.class.getResource("/Linux/64/" + level + "/libDecimalNative_so.zst") == null)
+            return "";
+        return level + "/";
+    }
+
+    /**
+     * @param cpuFlags CPU feature flags, as listed in /proc/cpuinfo
+     * @return The most specific x86-64 microarchitecture level (-march value) supported by the CPU,
+     * or null if the generic library must be used
+     */
+    static String microArchitectureLevel(final Set<String> cpuFlags) {
+        if (!cpuFlags.containsAll(X86_64_V2))
+            return null;
+        return cpuFlags.containsAll(X86_64_V3) ? "x86-64-v3" : "x86-64-v2";
+    }
+
+    private static Set<String> cpuFlags() {
+        try {
+            for (final String line : Files.readAllLines(Paths.get("/proc/cpuinfo"), StandardCharsets.US_ASCII)) {
+                if (line.startsWith("flags")) {
+                    final int colon = line.indexOf(':');
+                    return new HashSet<>(Arrays.asList(line.substring(colon + 1).trim().split("\\s+")));
+                }
+            }
+        } catch (final IOException | SecurityException ignored) {
+            // Falls back to the generic library
+        }
+        return Collections.emptySet();
+    }
+}
@@ -0,0 +1,197 @@
+package deltix.dfp;
+
+import static deltix.dfp.JavaImpl.*;
+
+/**
+ * Rounds {@code DFP} values to multiples of a fixed tick size, e.g. prices to the tick of an instrument.
+ * <p>
+ * The results are the same as of {@link Decimal64Utils#roundTowardsPositiveInfinity(long, long)},
+ * {@link Decimal64Utils#roundTowardsNegativeInfinity(long, long)} and
+ * {@link Decimal64Utils#roundToNearestTiesAwayFromZero(long, long)} with the tick size as the multiple.
+ * The tick size is unpacked once and the integer divisions by its scaled coefficients are replaced with multiplications
+ * by precomputed reciprocals, so the instance is supposed to be created once per tick size and reused.
+ * The instances are immutable and thread-safe.
+ * <p>
+ * Example:
+ * <pre>
+ *  private final TickGrid tickGrid = new TickGrid(Decimal64Utils.parse("0.05"));
+ *
+ *  private @Decimal long roundOrderPrice(final @Decimal long price, final Side side) {
+ *      return (side == Side.BUY) ?
+ *          tickGrid.roundTowardsNegativeInfinity(price) :
+ *          tickGrid.roundTowardsPositiveInfinity(price);
+ *  }
+ * </pre>
+ */
+public final class TickGrid {
+    @Decimal
+    private final long tickSize;
+    private final long coefficient;
+    private final int exponent;
+    /** The maximal quotient, for which the multiple of the tick size still fits into 16 digits. */
+    private final long maxQuotient;
+    /** The coefficient of the tick size, scaled by 10^i, up to 18 digits. */
+    private final long[] divisors;
+    /** floor((2^64 - 1) / divisors[i]) */
+    private final long[] reciprocals;
+
+    /**
+     * Creates the grid of multiples of the tick size.
+     * @param tickSize rounding precision expressed as {@code DFP} number (e.g. 0.05)
+     * @throws IllegalArgumentException if the tick size is not a positive finite number.
+     */
+    public TickGrid(@Decimal final long tickSize) {
+        if (!Decimal64Utils.isFinite(tickSize) || Decimal64Utils.isNonPositive(tickSize))
+            throw new IllegalArgumentException("Multiple must be a positive finite number.");
+
+        this.tickSize = tickSize;
+        if ((tickSize & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficient = (tickSize & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            exponent = (int) (tickSize >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficient = tickSize & SMALL_COEFFICIENT_MASK;
+            exponent = (int) (tickSize >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+        maxQuotient = MAX_COEFFICIENT / coefficient;
+
+        final int count = 19 - numberOfDigits(coefficient);
+        divisors = new long[count];
+        reciprocals = new long[count];
+        for (int i = 0; i < count; ++i) {
+            divisors[i] = coefficient * POWERS_OF_TEN[i];
+            reciprocals[i] = Long.divideUnsigned(-1L, divisors[i]);
+        }
+    }
+
+    /**
+     * Creates the grid of multiples of the tick size.
+     * @param tickSize rounding precision (e.g. 0.05)
+     * @throws IllegalArgumentException if the tick size is not a positive finite number.
+     */
+    public TickGrid(final Decimal64 tickSize) {
+        this(tickSize.value);
+    }
+
+    @Decimal
+    public long getTickSize() {
+        return tickSize;
+    }
+
+    /**
+     * Returns the smallest multiple of the tick size that is greater than or equal to the argument.
+     * @param value {@code DFP} argument
+     * @return If {@code DFP value} is finite, returns {@code value} rounded up to a multiple of the tick size,
+     * otherwise {@code value} is returned unchanged.
+     * @see Decimal64Utils#roundTowardsPositiveInfinity(long, long)
+     */
+    @Decimal
+    public long roundTowardsPositiveInfinity(@Decimal final long value) {
+        return round(value, BID_ROUNDING_UP);
+    }
+
+    /**
+     * Returns the largest multiple of the tick size that is less than or equal to the argument.
+     * @param value {@code DFP} argument
+     * @return If {@code DFP value} is finite, returns {@code value} rounded down to a multiple of the tick size,
+     * otherwise {@code value} is returned unchanged.
+     * @see Decimal64Utils#roundTowardsNegativeInfinity(long, long)
+     */
+    @Decimal
+    public long roundTowardsNegativeInfinity(@Decimal final long value) {
+        return round(value, BID_ROUNDING_DOWN);
+    }
+
+    /**
+     * Returns the multiple of the tick size that is nearest to the argument, with ties rounding away from zero.
+     * @param value {@code DFP} argument
+     * @return If {@code DFP value} is finite, returns {@code value} rounded to a multiple of the tick size,
+     * otherwise {@code value} is returned unchanged.
+     * @see Decimal64Utils#roundToNearestTiesAwayFromZero(long, long)
+     */
+    @Decimal
+    public long roundToNearestTiesAwayFromZero(@Decimal final long value) {
+        return round(value, BID_ROUNDING_TIES_AWAY);
+    }
+
+    public Decimal64 roundTowardsPositiveInfinity(final Decimal64 value) {
+        return Decimal64.fromUnderlying(roundTowardsPositiveInfinity(value.value));
+    }
+
+    public Decimal64 roundTowardsNegativeInfinity(final Decimal64 value) {
+        return Decimal64.fromUnderlying(roundTowardsNegativeInfinity(value.value));
+    }
+
+    public Decimal64 roundToNearestTiesAwayFromZero(final Decimal64 value) {
+        return Decimal64.fromUnderlying(roundToNearestTiesAwayFromZero(value.value));
+    }
+
+    private long round(final long value, final int roundingMode) {
+        if ((value & MASK_INFINITY_AND_NAN) == MASK_INFINITY_AND_NAN)
+            return isNaN(value) ? value : JavaImplRound.roundToMultipleByDivision(value, tickSize, roundingMode);
+
+        // Unpack the argument, non-canonical coefficients are treated as zeros
+        long coefficientX;
+        final int exponentX;
+        if ((value & MASK_SPECIAL) == MASK_SPECIAL) {
+            coefficientX = (value & LARGE_COEFFICIENT_MASK) | LARGE_COEFFICIENT_HIGH_BIT;
+            if (coefficientX > MAX_COEFFICIENT)
+                coefficientX = 0;
+            exponentX = (int) (value >>> EXPONENT_SHIFT_LARGE) & EXPONENT_MASK;
+        } else {
+            coefficientX = value & SMALL_COEFFICIENT_MASK;
+            exponentX = (int) (value >>> EXPONENT_SHIFT_SMALL) & EXPONENT_MASK;
+        }
+
+        // Both the value and the tick size are expressed in units of the smaller exponent
+        final int diff = exponentX - exponent;
+        final long dividend;
+        final int index;
+        if (diff >= 0) {
+            dividend = diff <= 18 && coefficientX < POWERS_OF_TEN[18 - diff] ? coefficientX * POWERS_OF_TEN[diff] : 0;
+            index = 0;
+        } else {
+            // The scaled tick size exceeds 18 digits, so it is greater than the value, which is the remainder
+            if (-diff >= divisors.length && coefficientX != 0) {
+                final long sign = value & MASK_SIGN;
+                return JavaImplRound.packMultiple(sign,
+                    JavaImplRound.roundQuotient(sign, 0, coefficientX, Long.MAX_VALUE, roundingMode),
+                    false, diff, coefficient, exponent);
+            }
+            dividend = coefficientX;
+            index = -diff;
+        }
+
+        if (dividend != 0) {
+            // The estimate is either exact or one less than the quotient
+            final long divisor = divisors[index];
+            long quotient = JavaImplMul.unsignedMultiplyHigh(dividend, reciprocals[index]);
+            long remainder = dividend - quotient * divisor;
+            if (remainder >= divisor) {
+                quotient++;
+                remainder -= divisor;
+            }
+
+            final long sign = value & MASK_SIGN;
+            final long rounded = JavaImplRound.roundQuotient(sign, quotient, remainder, divisor, roundingMode);
+            if (rounded <= maxQuotient)
+                return JavaImplRound.packMultiple(sign, rounded, remainder == 0, diff, coefficient, exponent);
+        }
+
+        return JavaImplRound.roundToMultipleByDivision(value, tickSize, roundingMode);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof TickGrid && ((TickGrid) other).tickSize == tickSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(tickSize);
+    }
+
+    @Override
+    public String toString() {
+        return "TickGrid(" + Decimal64Utils.toString(tickSize) + ")";
+    }
+}
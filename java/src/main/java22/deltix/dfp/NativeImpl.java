@@ -0,0 +1,807 @@
+package deltix.dfp;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.invoke.MethodHandle;
+
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * Java 22+ version of {@code NativeImpl}, packaged into {@code META-INF/versions/22} of the multi-release JAR.
+ * <p>
+ * The native library is extracted and loaded the same way, but instead of JNI the plain C exports of the library
+ * (the ones used by .NET) are called through critical downcall handles of the Foreign Function &amp; Memory API.
+ * Critical functions are short and never call back into Java, so the call skips the thread state transition
+ * that JNI performs on every call now that HotSpot ignores {@code JavaCritical_} entry points.
+ * <p>
+ * The JVM prints a warning about the restricted method unless it is started with
+ * {@code --enable-native-access=ALL-UNNAMED}.
+ */
+class NativeImpl {
+    static final String NATIVE_API_VERSION = "3";
+
+    private static final Linker LINKER = Linker.nativeLinker();
+    private static final SymbolLookup LOOKUP;
+
+    static {
+        try {
+            NativeLoader.load();
+
+            // The library is loaded with System.load() by the same class loader
+            LOOKUP = SymbolLookup.loaderLookup();
+
+            final int ver = (int) downcall("version", JAVA_INT).invokeExact();
+            if (Integer.parseInt(NATIVE_API_VERSION) != ver)
+                throw new UnsatisfiedLinkError(String.format("Native library API version mismatch. Found v%s, expected: v" + NATIVE_API_VERSION, ver));
+        } catch (Throwable exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    // Linker.downcallHandle() is restricted, its runtime warning is explained in the class doc
+    @SuppressWarnings("restricted")
+    private static MethodHandle downcall(final String name, final MemoryLayout result, final MemoryLayout... arguments) {
+        return LINKER.downcallHandle(
+            LOOKUP.find(name).orElseThrow(() -> new UnsatisfiedLinkError("Native function is not found: " + name)),
+            FunctionDescriptor.of(result, arguments),
+            Linker.Option.critical(false));
+    }
+
+    // The array functions get the heap arrays as pointers, so their downcalls must allow the heap access
+    @SuppressWarnings("restricted")
+    private static MethodHandle arrayDowncall(final String name, final MemoryLayout... arguments) {
+        return LINKER.downcallHandle(
+            LOOKUP.find(name).orElseThrow(() -> new UnsatisfiedLinkError("Native function is not found: " + name)),
+            FunctionDescriptor.ofVoid(arguments),
+            Linker.Option.critical(true));
+    }
+
+    private static RuntimeException unexpected(final Throwable exception) {
+        // Native functions don't throw, so only the errors of the JVM itself are expected here
+        if (exception instanceof Error)
+            throw (Error) exception;
+        if (exception instanceof RuntimeException)
+            return (RuntimeException) exception;
+        return new IllegalStateException(exception);
+    }
+
+    private static final MethodHandle VERSION = downcall("version", JAVA_INT);
+
+    // Conversion & Rounding
+    private static final MethodHandle FROM_FIXED_POINT64 = downcall("fromFixedPoint64", JAVA_LONG, JAVA_LONG, JAVA_INT);
+    private static final MethodHandle FROM_FIXED_POINT32 = downcall("fromFixedPoint32", JAVA_LONG, JAVA_INT, JAVA_INT);
+    private static final MethodHandle TO_FIXED_POINT = downcall("toFixedPoint", JAVA_LONG, JAVA_LONG, JAVA_INT);
+    private static final MethodHandle FROM_INT64 = downcall("fromInt64", JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle TO_INT64 = downcall("toInt64", JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle FROM_INT32 = downcall("fromInt32", JAVA_LONG, JAVA_INT);
+    private static final MethodHandle TO_INT32 = downcall("toInt32", JAVA_INT, JAVA_LONG);
+    private static final MethodHandle FROM_FLOAT64 = downcall("fromFloat64", JAVA_LONG, JAVA_DOUBLE);
+    private static final MethodHandle TO_FLOAT64 = downcall("toFloat64", JAVA_DOUBLE, JAVA_LONG);
+    private static final MethodHandle ROUND_TOWARDS_POSITIVE_INFINITY = downcall("roundTowardsPositiveInfinity", JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle ROUND_TOWARDS_NEGATIVE_INFINITY = downcall("roundTowardsNegativeInfinity", JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle ROUND_TOWARDS_ZERO = downcall("roundTowardsZero", JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle ROUND_TO_NEAREST_TIES_AWAY_FROM_ZERO = downcall("roundToNearestTiesAwayFromZero", JAVA_LONG, JAVA_LONG);
+
+    // Classification
+    private static final MethodHandle IS_NAN = downcall("isNaN", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle IS_INFINITY = downcall("isInfinity", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle IS_POSITIVE_INFINITY = downcall("isPositiveInfinity", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle IS_NEGATIVE_INFINITY = downcall("isNegativeInfinity", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle IS_FINITE = downcall("isFinite", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle IS_NORMAL = downcall("isNormal", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle SIGN_BIT = downcall("signBit", JAVA_BYTE, JAVA_LONG);
+
+    // Comparison
+    private static final MethodHandle COMPARE = downcall("compare", JAVA_INT, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle IS_EQUAL = downcall("isEqual", JAVA_BYTE, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle IS_NOT_EQUAL = downcall("isNotEqual", JAVA_BYTE, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle IS_LESS = downcall("isLess", JAVA_BYTE, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle IS_LESS_OR_EQUAL = downcall("isLessOrEqual", JAVA_BYTE, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle IS_GREATER = downcall("isGreater", JAVA_BYTE, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle IS_GREATER_OR_EQUAL = downcall("isGreaterOrEqual", JAVA_BYTE, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle IS_ZERO = downcall("isZero", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle IS_NON_ZERO = downcall("isNonZero", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle IS_POSITIVE = downcall("isPositive", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle IS_NEGATIVE = downcall("isNegative", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle IS_NON_POSITIVE = downcall("isNonPositive", JAVA_BYTE, JAVA_LONG);
+    private static final MethodHandle IS_NON_NEGATIVE = downcall("isNonNegative", JAVA_BYTE, JAVA_LONG);
+
+    // Minimum & Maximum
+    private static final MethodHandle MAX2 = downcall("max2", JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle MAX3 = downcall("max3", JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle MAX4 = downcall("max4", JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle MIN2 = downcall("min2", JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle MIN3 = downcall("min3", JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle MIN4 = downcall("min4", JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG);
+
+    // Arithmetic
+    private static final MethodHandle NEGATE = downcall("negate", JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle ABS = downcall("abs", JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle ADD2 = downcall("add2", JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle ADD3 = downcall("add3", JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle ADD4 = downcall("add4", JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle SUBTRACT = downcall("subtract", JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle MULTIPLY2 = downcall("multiply2", JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle MULTIPLY3 = downcall("multiply3", JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle MULTIPLY4 = downcall("multiply4", JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle MULTIPLY_BY_INT32 = downcall("multiplyByInt32", JAVA_LONG, JAVA_LONG, JAVA_INT);
+    private static final MethodHandle MULTIPLY_BY_INT64 = downcall("multiplyByInt64", JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle DIVIDE = downcall("divide", JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle DIVIDE_BY_INT32 = downcall("divideByInt32", JAVA_LONG, JAVA_LONG, JAVA_INT);
+    private static final MethodHandle DIVIDE_BY_INT64 = downcall("divideByInt64", JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle MULTIPLY_AND_ADD = downcall("multiplyAndAdd", JAVA_LONG, JAVA_LONG, JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle SCALE_BY_POWER_OF_TEN = downcall("scaleByPowerOfTen", JAVA_LONG, JAVA_LONG, JAVA_INT);
+    private static final MethodHandle MEAN2 = downcall("mean2", JAVA_LONG, JAVA_LONG, JAVA_LONG);
+
+    // Special
+    private static final MethodHandle NEXT_UP = downcall("nextUp", JAVA_LONG, JAVA_LONG);
+    private static final MethodHandle NEXT_DOWN = downcall("nextDown", JAVA_LONG, JAVA_LONG);
+
+    // Arrays
+    private static final MethodHandle ADD_ARRAYS = arrayDowncall("addArrays", ADDRESS, ADDRESS, ADDRESS, JAVA_INT);
+    private static final MethodHandle SUBTRACT_ARRAYS = arrayDowncall("subtractArrays", ADDRESS, ADDRESS, ADDRESS, JAVA_INT);
+    private static final MethodHandle MULTIPLY_ARRAYS = arrayDowncall("multiplyArrays", ADDRESS, ADDRESS, ADDRESS, JAVA_INT);
+    private static final MethodHandle DIVIDE_ARRAYS = arrayDowncall("divideArrays", ADDRESS, ADDRESS, ADDRESS, JAVA_INT);
+    private static final MethodHandle ADD_SCALAR = arrayDowncall("addScalar", ADDRESS, JAVA_LONG, ADDRESS, JAVA_INT);
+    private static final MethodHandle MULTIPLY_BY_SCALAR = arrayDowncall("multiplyByScalar", ADDRESS, JAVA_LONG, ADDRESS, JAVA_INT);
+    private static final MethodHandle DIVIDE_BY_SCALAR = arrayDowncall("divideByScalar", ADDRESS, JAVA_LONG, ADDRESS, JAVA_INT);
+    private static final MethodHandle ROUND_ARRAY = arrayDowncall("roundArray", ADDRESS, ADDRESS, JAVA_INT, JAVA_INT);
+    private static final MethodHandle COMPARE_ARRAYS = arrayDowncall("compareArrays", ADDRESS, ADDRESS, ADDRESS, JAVA_INT);
+    private static final MethodHandle FROM_FLOAT64_ARRAY = arrayDowncall("fromFloat64Array", ADDRESS, ADDRESS, JAVA_INT);
+    private static final MethodHandle TO_FLOAT64_ARRAY = arrayDowncall("toFloat64Array", ADDRESS, ADDRESS, JAVA_INT);
+
+    public static int version() {
+        try {
+            return (int) VERSION.invokeExact();
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    /// region Conversion & Rounding
+
+    public static long fromFixedPoint64(final long mantissa, final int numberOfDigits) {
+        try {
+            return (long) FROM_FIXED_POINT64.invokeExact(mantissa, numberOfDigits);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long fromFixedPoint32(final int mantissa, final int numberOfDigits) {
+        try {
+            return (long) FROM_FIXED_POINT32.invokeExact(mantissa, numberOfDigits);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long toFixedPoint(final long value, final int numberOfDigits) {
+        try {
+            return (long) TO_FIXED_POINT.invokeExact(value, numberOfDigits);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long fromInt64(final long value) {
+        try {
+            return (long) FROM_INT64.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long toInt64(final long value) {
+        try {
+            return (long) TO_INT64.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long fromInt32(final int value) {
+        try {
+            return (long) FROM_INT32.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static int toInt32(final long value) {
+        try {
+            return (int) TO_INT32.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long fromFloat64(final double value) {
+        try {
+            return (long) FROM_FLOAT64.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static double toFloat64(final long value) {
+        try {
+            return (double) TO_FLOAT64.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long roundTowardsPositiveInfinity(final long value) {
+        try {
+            return (long) ROUND_TOWARDS_POSITIVE_INFINITY.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long roundTowardsNegativeInfinity(final long value) {
+        try {
+            return (long) ROUND_TOWARDS_NEGATIVE_INFINITY.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long roundTowardsZero(final long value) {
+        try {
+            return (long) ROUND_TOWARDS_ZERO.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long roundToNearestTiesAwayFromZero(final long value) {
+        try {
+            return (long) ROUND_TO_NEAREST_TIES_AWAY_FROM_ZERO.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    /// endregion
+
+    /// region Classification
+
+    public static boolean isNaN(final long value) {
+        try {
+            return (byte) IS_NAN.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isInfinity(final long value) {
+        try {
+            return (byte) IS_INFINITY.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isPositiveInfinity(final long value) {
+        try {
+            return (byte) IS_POSITIVE_INFINITY.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isNegativeInfinity(final long value) {
+        try {
+            return (byte) IS_NEGATIVE_INFINITY.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isFinite(final long value) {
+        try {
+            return (byte) IS_FINITE.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isNormal(final long value) {
+        try {
+            return (byte) IS_NORMAL.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean signBit(final long value) {
+        try {
+            return (byte) SIGN_BIT.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    /// endregion
+
+    /// region Comparison
+
+    public static int compare(final long a, final long b) {
+        // The plain C export orders NaN below all values like .NET, while Java orders NaN above all values
+        if (JavaImpl.isNaN(a) || JavaImpl.isNaN(b))
+            return JavaImplCmp.compare(a, b);
+        try {
+            return (int) COMPARE.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isEqual(final long a, final long b) {
+        try {
+            return (byte) IS_EQUAL.invokeExact(a, b) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isNotEqual(final long a, final long b) {
+        try {
+            return (byte) IS_NOT_EQUAL.invokeExact(a, b) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isLess(final long a, final long b) {
+        try {
+            return (byte) IS_LESS.invokeExact(a, b) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isLessOrEqual(final long a, final long b) {
+        try {
+            return (byte) IS_LESS_OR_EQUAL.invokeExact(a, b) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isGreater(final long a, final long b) {
+        try {
+            return (byte) IS_GREATER.invokeExact(a, b) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isGreaterOrEqual(final long a, final long b) {
+        try {
+            return (byte) IS_GREATER_OR_EQUAL.invokeExact(a, b) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isZero(final long value) {
+        try {
+            return (byte) IS_ZERO.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isNonZero(final long value) {
+        try {
+            return (byte) IS_NON_ZERO.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isPositive(final long value) {
+        try {
+            return (byte) IS_POSITIVE.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isNegative(final long value) {
+        try {
+            return (byte) IS_NEGATIVE.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isNonPositive(final long value) {
+        try {
+            return (byte) IS_NON_POSITIVE.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static boolean isNonNegative(final long value) {
+        try {
+            return (byte) IS_NON_NEGATIVE.invokeExact(value) != 0;
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    /// endregion
+
+    /// region Minimum & Maximum
+
+    public static long max2(final long a, final long b) {
+        try {
+            return (long) MAX2.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long max3(final long a, final long b, final long c) {
+        try {
+            return (long) MAX3.invokeExact(a, b, c);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long max4(final long a, final long b, final long c, final long d) {
+        try {
+            return (long) MAX4.invokeExact(a, b, c, d);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long min2(final long a, final long b) {
+        try {
+            return (long) MIN2.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long min3(final long a, final long b, final long c) {
+        try {
+            return (long) MIN3.invokeExact(a, b, c);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long min4(final long a, final long b, final long c, final long d) {
+        try {
+            return (long) MIN4.invokeExact(a, b, c, d);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    /// endregion
+
+    /// region Arithmetic
+
+    public static long negate(final long value) {
+        try {
+            return (long) NEGATE.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long abs(final long value) {
+        try {
+            return (long) ABS.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long add2(final long a, final long b) {
+        try {
+            return (long) ADD2.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long add3(final long a, final long b, final long c) {
+        try {
+            return (long) ADD3.invokeExact(a, b, c);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long add4(final long a, final long b, final long c, final long d) {
+        try {
+            return (long) ADD4.invokeExact(a, b, c, d);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long subtract(final long a, final long b) {
+        try {
+            return (long) SUBTRACT.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long multiply2(final long a, final long b) {
+        try {
+            return (long) MULTIPLY2.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long multiply3(final long a, final long b, final long c) {
+        try {
+            return (long) MULTIPLY3.invokeExact(a, b, c);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long multiply4(final long a, final long b, final long c, final long d) {
+        try {
+            return (long) MULTIPLY4.invokeExact(a, b, c, d);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long multiplyByInt32(final long a, final int b) {
+        try {
+            return (long) MULTIPLY_BY_INT32.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long multiplyByInt64(final long a, final long b) {
+        try {
+            return (long) MULTIPLY_BY_INT64.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long divide(final long a, final long b) {
+        try {
+            return (long) DIVIDE.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long divideByInt32(final long a, final int b) {
+        try {
+            return (long) DIVIDE_BY_INT32.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long divideByInt64(final long a, final long b) {
+        try {
+            return (long) DIVIDE_BY_INT64.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long multiplyAndAdd(final long a, final long b, final long c) {
+        try {
+            return (long) MULTIPLY_AND_ADD.invokeExact(a, b, c);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long scaleByPowerOfTen(final long a, final int n) {
+        try {
+            return (long) SCALE_BY_POWER_OF_TEN.invokeExact(a, n);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long mean2(final long a, final long b) {
+        try {
+            return (long) MEAN2.invokeExact(a, b);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    /// endregion
+
+    /// region Special
+
+    public static long nextUp(final long value) {
+        try {
+            return (long) NEXT_UP.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static long nextDown(final long value) {
+        try {
+            return (long) NEXT_DOWN.invokeExact(value);
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    /// endregion
+
+    /// region Arrays
+    // The heap arrays are passed to the native functions directly, the critical downcalls pin them for the call,
+    // which blocks the garbage collection, so long regions are split to chunks. The callers check offsets and lengths.
+
+    private static final int ARRAY_CHUNK = 8192;
+
+    private static MemorySegment segment(final long[] array, final int offset) {
+        return MemorySegment.ofArray(array).asSlice(offset * 8L);
+    }
+
+    private static MemorySegment segment(final double[] array, final int offset) {
+        return MemorySegment.ofArray(array).asSlice(offset * 8L);
+    }
+
+    private static MemorySegment segment(final int[] array, final int offset) {
+        return MemorySegment.ofArray(array).asSlice(offset * 4L);
+    }
+
+    public static void addArrays(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                 final long[] result, final int resultOffset, final int length) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                ADD_ARRAYS.invokeExact(segment(a, aOffset + i), segment(b, bOffset + i), segment(result, resultOffset + i), count);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static void subtractArrays(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                      final long[] result, final int resultOffset, final int length) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                SUBTRACT_ARRAYS.invokeExact(segment(a, aOffset + i), segment(b, bOffset + i), segment(result, resultOffset + i), count);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static void multiplyArrays(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                      final long[] result, final int resultOffset, final int length) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                MULTIPLY_ARRAYS.invokeExact(segment(a, aOffset + i), segment(b, bOffset + i), segment(result, resultOffset + i), count);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static void divideArrays(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                    final long[] result, final int resultOffset, final int length) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                DIVIDE_ARRAYS.invokeExact(segment(a, aOffset + i), segment(b, bOffset + i), segment(result, resultOffset + i), count);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static void addScalar(final long[] a, final int aOffset, final long b,
+                                 final long[] result, final int resultOffset, final int length) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                ADD_SCALAR.invokeExact(segment(a, aOffset + i), b, segment(result, resultOffset + i), count);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static void multiplyByScalar(final long[] a, final int aOffset, final long b,
+                                        final long[] result, final int resultOffset, final int length) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                MULTIPLY_BY_SCALAR.invokeExact(segment(a, aOffset + i), b, segment(result, resultOffset + i), count);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static void divideByScalar(final long[] a, final int aOffset, final long b,
+                                      final long[] result, final int resultOffset, final int length) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                DIVIDE_BY_SCALAR.invokeExact(segment(a, aOffset + i), b, segment(result, resultOffset + i), count);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static void roundArray(final long[] values, final int offset,
+                                  final long[] result, final int resultOffset, final int length,
+                                  final int roundingMode) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                ROUND_ARRAY.invokeExact(segment(values, offset + i), segment(result, resultOffset + i), count, roundingMode);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static void compareArrays(final long[] a, final int aOffset, final long[] b, final int bOffset,
+                                     final int[] result, final int resultOffset, final int length) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                COMPARE_ARRAYS.invokeExact(segment(a, aOffset + i), segment(b, bOffset + i), segment(result, resultOffset + i), count);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static void fromFloat64Array(final double[] values, final int offset,
+                                        final long[] result, final int resultOffset, final int length) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                FROM_FLOAT64_ARRAY.invokeExact(segment(values, offset + i), segment(result, resultOffset + i), count);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    public static void toFloat64Array(final long[] values, final int offset,
+                                      final double[] result, final int resultOffset, final int length) {
+        try {
+            for (int i = 0, count; i < length; i += count) {
+                count = Math.min(length - i, ARRAY_CHUNK);
+                TO_FLOAT64_ARRAY.invokeExact(segment(values, offset + i), segment(result, resultOffset + i), count);
+            }
+        } catch (final Throwable exception) {
+            throw unexpected(exception);
+        }
+    }
+
+    /// endregion
+}
@@ -0,0 +1,24 @@
+package deltix.dfp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+
+public class BackendTest {
+    @Test
+    public void javaBackend() {
+        assertFalse(Backend.isNative("java"));
+        assertFalse(Backend.isNative(" Java "));
+    }
+
+    @Test
+    public void autoBackend() {
+        // Falls back to pure Java if the native library can't be loaded, so it never fails
+        Backend.isNative("auto");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownBackend() {
+        Backend.isNative("jni");
+    }
+}
@@ -0,0 +1,118 @@
+package deltix.dfp;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class Decimal128Test {
+    private static final int N = 100_000;
+
+    private static BigDecimal randomValue(final Random random) {
+        final BigInteger coefficient = new BigInteger(random.nextInt(114), random)
+            .mod(BigInteger.TEN.pow(1 + random.nextInt(34)));
+        final BigDecimal value = new BigDecimal(coefficient, random.nextInt(80) - 40);
+        return random.nextBoolean() ? value.negate() : value;
+    }
+
+    private static void assertDecimal(final BigDecimal expected, final Decimal128 actual, final String operation) {
+        assertTrue(operation + ": expected " + expected + ", actual " + actual,
+            actual.isFinite() && expected.compareTo(actual.toBigDecimal()) == 0);
+    }
+
+    @Test
+    public void arithmetic() {
+        final Random random = new Random(42);
+        for (int i = 0; i < N; i++) {
+            final BigDecimal a = randomValue(random), b = randomValue(random);
+            final Decimal128 x = Decimal128.fromBigDecimal(a), y = Decimal128.fromBigDecimal(b);
+            final String operands = a + ", " + b;
+
+            assertDecimal(a, x, "parse " + a);
+            assertDecimal(a.add(b, MathContext.DECIMAL128), x.add(y), "add " + operands);
+            assertDecimal(a.subtract(b, MathContext.DECIMAL128), x.subtract(y), "subtract " + operands);
+            assertDecimal(a.multiply(b, MathContext.DECIMAL128), x.multiply(y), "multiply " + operands);
+            if (b.signum() != 0)
+                assertDecimal(a.divide(b, MathContext.DECIMAL128), x.divide(y), "divide " + operands);
+            assertEquals(operands, a.compareTo(b), x.compareTo(y));
+        }
+    }
+
+    @Test
+    public void rounding() {
+        assertEquals("10000000000000000000000000000000000",
+            Decimal128.parse("9999999999999999999999999999999999.5").toString());
+        assertEquals("0.3333333333333333333333333333333333",
+            Decimal128.ONE.divide(Decimal128.fromLong(3)).toString());
+        assertEquals("0.6666666666666666666666666666666667",
+            Decimal128.fromLong(2).divide(Decimal128.fromLong(3)).toString());
+        // Ties to even
+        assertEquals("1000000000000000000000000000000000", Decimal128.parse("1000000000000000000000000000000000.5").toString());
+        assertEquals("1000000000000000000000000000000002", Decimal128.parse("1000000000000000000000000000000001.5").toString());
+        assertEquals("1000000000000000000000000000000001", Decimal128.parse("1000000000000000000000000000000000.50001").toString());
+        // The digits far below the precision still decide the rounding of subtraction
+        assertEquals("9999999999999999999999999999999999",
+            Decimal128.parse("1E+34").subtract(Decimal128.parse("5.000000000000000000000000000000001E-1")).toString());
+        assertEquals("10000000000000000000000000000000000",
+            Decimal128.parse("1E+34").subtract(Decimal128.parse("5E-1")).toString());
+    }
+
+    @Test
+    public void decimal64Conversion() {
+        final Random random = new Random(7);
+        for (int i = 0; i < N; i++) {
+            final long value = Decimal64Utils.fromFixedPoint(random.nextLong() % 10_000_000_000_000_000L, random.nextInt(40) - 20);
+            final long[] pair = new long[2];
+            Decimal128Utils.fromDecimal64(value, pair, 0);
+            assertEquals(Decimal64Utils.toString(value), Decimal128Utils.toString(pair[0], pair[1]));
+            assertTrue(Decimal64Utils.equals(value, Decimal128Utils.toDecimal64(pair[0], pair[1])));
+
+            final BigDecimal wide = randomValue(random);
+            final Decimal128 rounded = Decimal128.fromBigDecimal(wide);
+            final long expected = Decimal64Utils.parse(wide.round(MathContext.DECIMAL64).toString());
+            assertTrue(wide.toString(), Decimal64Utils.equals(expected,
+                Decimal128Utils.toDecimal64(rounded.high, rounded.low)));
+        }
+    }
+
+    @Test
+    public void specialValues() {
+        assertTrue(Decimal128.POSITIVE_INFINITY.add(Decimal128.NEGATIVE_INFINITY).isNaN());
+        assertTrue(Decimal128.ZERO.divide(Decimal128.ZERO).isNaN());
+        assertEquals(Decimal128.POSITIVE_INFINITY, Decimal128.ONE.divide(Decimal128.ZERO));
+        assertEquals(Decimal128.NEGATIVE_INFINITY, Decimal128.parse("-1E6144").multiply(Decimal128.parse("1E6144")));
+        assertTrue(Decimal128.parse("1E-6177").multiply(Decimal128.parse("1E-10")).isZero());
+        assertEquals(Decimal128.parse("1.00"), Decimal128.ONE);
+        assertEquals(Decimal128.parse("1.00").hashCode(), Decimal128.ONE.hashCode());
+        assertEquals(Decimal128.parse("-0"), Decimal128.ZERO);
+        assertEquals(1, Decimal128.NaN.compareTo(Decimal128.POSITIVE_INFINITY));
+        assertFalse(Decimal128.NaN.isEqual(Decimal128.NaN));
+        assertEquals("-9223372036854775808", Decimal128.fromLong(Long.MIN_VALUE).toString());
+        assertEquals(Decimal64.POSITIVE_INFINITY, Decimal128.parse("1E+400").toDecimal64());
+        assertEquals(Decimal64.ZERO, Decimal128.parse("1E-420").toDecimal64());
+    }
+
+    @Test
+    public void allocationFreeAccumulation() {
+        final long[] total = { Decimal128Utils.ZERO_HIGH, Decimal128Utils.ZERO_LOW };
+        final long[] buffer = new long[2];
+        BigDecimal expected = BigDecimal.ZERO;
+        final Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            final long notional = Decimal64Utils.fromFixedPoint(random.nextLong() % 1_000_000_000_000_000L, 2);
+            Decimal128Utils.fromDecimal64(notional, buffer, 0);
+            Decimal128Utils.add(total[0], total[1], buffer[0], buffer[1], total, 0);
+            expected = expected.add(new BigDecimal(Decimal64Utils.toString(notional)));
+        }
+        assertEquals(expected.stripTrailingZeros().toPlainString(), Decimal128Utils.toString(total[0], total[1]));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parseInvalid() {
+        Decimal128.parse("1.2.3");
+    }
+}
@@ -0,0 +1,133 @@
+package deltix.dfp;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Random;
+
+public class Decimal64AccumulatorTest {
+    @Test
+    public void exactSum() {
+        final Random random = new Random(18);
+        final Decimal64Accumulator accumulator = new Decimal64Accumulator();
+        for (int i = 0; i < 2000; ++i) {
+            accumulator.reset();
+            BigDecimal expected = BigDecimal.ZERO;
+            final int count = 1 + random.nextInt(200);
+            final int exponentRange = 1 + random.nextInt(i % 2 == 0 ? 20 : 300);
+            for (int j = 0; j < count; ++j) {
+                final long coefficient = random.nextLong() % (random.nextBoolean() ? 10000000000000000L : 1000);
+                final int exponent = random.nextInt(2 * exponentRange + 1) - exponentRange;
+                final BigDecimal value = new BigDecimal(BigDecimal.valueOf(coefficient).unscaledValue(), -exponent);
+                accumulator.add(Decimal64Utils.parse(value.toString()));
+                expected = expected.add(value);
+            }
+            checkSum(expected, accumulator.toDecimal64());
+        }
+    }
+
+    @Test
+    public void cancellation() {
+        final Decimal64Accumulator accumulator = new Decimal64Accumulator();
+        accumulator.add(Decimal64Utils.parse("1E+300")).add(Decimal64Utils.parse("0.000001"))
+            .add(Decimal64Utils.parse("-1E+300"));
+        Assert.assertEquals("0.000001", Decimal64Utils.toString(accumulator.toDecimal64()));
+
+        accumulator.reset();
+        accumulator.add(Decimal64Utils.parse("1.00")).add(Decimal64Utils.parse("-1"));
+        Assert.assertTrue(Decimal64Utils.isZero(accumulator.toDecimal64()));
+        Assert.assertEquals(0, accumulator.toDecimal64() & JavaImpl.MASK_SIGN);
+
+        accumulator.reset();
+        Assert.assertEquals(Decimal64Utils.ZERO, accumulator.toDecimal64());
+    }
+
+    @Test
+    public void roundsOnce() {
+        final Decimal64Accumulator accumulator = new Decimal64Accumulator();
+        accumulator.add(Decimal64Utils.parse("1000000000000000"));
+        long naive = Decimal64Utils.parse("1000000000000000");
+        for (int i = 0; i < 10; ++i) {
+            accumulator.add(Decimal64Utils.parse("0.4"));
+            naive = Decimal64Utils.add(naive, Decimal64Utils.parse("0.4"));
+        }
+        Assert.assertEquals("1000000000000000", Decimal64Utils.toString(naive));
+        Assert.assertEquals("1000000000000004", Decimal64Utils.toString(accumulator.toDecimal64()));
+    }
+
+    @Test
+    public void carries() {
+        final Decimal64Accumulator accumulator = new Decimal64Accumulator();
+        final long max = Decimal64Utils.fromLong(9999999999999999L);
+        final long[] values = new long[1000];
+        Arrays.fill(values, max);
+        for (int i = 0; i < 1000; ++i)
+            accumulator.addAll(values, 0, values.length);
+        checkSum(BigDecimal.valueOf(9999999999999999L).multiply(BigDecimal.valueOf(1000000)),
+            accumulator.toDecimal64());
+
+        accumulator.reset();
+        accumulator.add(Decimal64Utils.MAX_VALUE).add(Decimal64Utils.MAX_VALUE);
+        Assert.assertEquals(Decimal64Utils.POSITIVE_INFINITY, accumulator.toDecimal64());
+        accumulator.add(Decimal64Utils.negate(Decimal64Utils.MAX_VALUE));
+        Assert.assertEquals(Decimal64Utils.MAX_VALUE, accumulator.toDecimal64());
+    }
+
+    @Test
+    public void merge() {
+        final Random random = new Random(1818);
+        final long[] values = new long[10000];
+        for (int i = 0; i < values.length; ++i)
+            values[i] = Decimal64Utils.fromFixedPoint(random.nextLong() % 100000000000L, random.nextInt(8));
+
+        final Decimal64Accumulator whole = new Decimal64Accumulator().addAll(values);
+        final Decimal64Accumulator left = new Decimal64Accumulator().addAll(values, 0, 3000);
+        final Decimal64Accumulator right = new Decimal64Accumulator().addAll(values, 3000, values.length);
+        Assert.assertEquals(whole.toDecimal64(), left.merge(right).toDecimal64());
+        Assert.assertEquals(whole.toDecimal64(), left.toDecimal64());
+    }
+
+    @Test
+    public void specialValues() {
+        final Decimal64Accumulator accumulator = new Decimal64Accumulator().add(Decimal64Utils.ONE);
+        Assert.assertEquals(Decimal64Utils.POSITIVE_INFINITY,
+            accumulator.add(Decimal64Utils.POSITIVE_INFINITY).toDecimal64());
+        Assert.assertTrue(Decimal64Utils.isNaN(accumulator.add(Decimal64Utils.NEGATIVE_INFINITY).toDecimal64()));
+
+        accumulator.reset();
+        Assert.assertTrue(Decimal64Utils.isNaN(accumulator.add(Decimal64Utils.NaN).toDecimal64()));
+        Assert.assertTrue(Decimal64Utils.isNaN(new Decimal64Accumulator().merge(accumulator).toDecimal64()));
+    }
+
+    @Test
+    public void signOfZero() {
+        @Decimal final long negativeZero = Decimal64Utils.negate(Decimal64Utils.fromFixedPoint(0, 2));
+        final Decimal64Accumulator accumulator = new Decimal64Accumulator().add(negativeZero).add(negativeZero);
+        Assert.assertEquals(Decimal64Utils.add(negativeZero, negativeZero), accumulator.toDecimal64());
+        Assert.assertTrue("Sign bit is set", accumulator.toDecimal64() < 0);
+
+        final Decimal64Accumulator merged = new Decimal64Accumulator().merge(accumulator);
+        Assert.assertEquals(accumulator.toDecimal64(), merged.toDecimal64());
+        Assert.assertEquals(Decimal64Utils.add(negativeZero, Decimal64Utils.ZERO),
+            merged.add(Decimal64Utils.ZERO).toDecimal64());
+
+        accumulator.reset();
+        accumulator.add(Decimal64Utils.negate(Decimal64Utils.ONE)).add(Decimal64Utils.ONE);
+        Assert.assertEquals(Decimal64Utils.add(Decimal64Utils.negate(Decimal64Utils.ONE), Decimal64Utils.ONE),
+            accumulator.toDecimal64());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void invalidRange() {
+        new Decimal64Accumulator().addAll(new long[4], 2, 5);
+    }
+
+    private static void checkSum(final BigDecimal expected, @Decimal final long actual) {
+        final BigDecimal rounded = expected.round(MathContext.DECIMAL64);
+        Assert.assertEquals(expected.toString(), 0,
+            rounded.compareTo(new BigDecimal(Decimal64Utils.toString(actual))));
+    }
+}
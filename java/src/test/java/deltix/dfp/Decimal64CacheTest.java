@@ -0,0 +1,50 @@
+package deltix.dfp;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class Decimal64CacheTest {
+    @Test
+    public void preallocatedValues() {
+        Assert.assertSame(Decimal64.ZERO, Decimal64.valueOf(0));
+        Assert.assertSame(Decimal64.ZERO, Decimal64.valueOf("-0.000"));
+        Assert.assertSame(Decimal64.ONE, Decimal64.valueOf("1.00"));
+        Assert.assertSame(Decimal64.valueOf(1000), Decimal64.valueOf("1000"));
+        Assert.assertSame(Decimal64.valueOf(-128L), Decimal64.valueOfFixedPoint(-12800, 2));
+        Assert.assertSame(Decimal64.valueOf("9.99"), Decimal64.valueOfFixedPoint(999, 2));
+        Assert.assertSame(Decimal64.valueOf("0.5"), Decimal64.valueOfFixedPoint(50, 2));
+        Assert.assertSame(Decimal64.valueOf("7"), Decimal64.valueOfFixedPoint(700, 2));
+        Assert.assertSame(Decimal64.NaN, Decimal64.valueOf("NaN"));
+        Assert.assertSame(Decimal64.NEGATIVE_INFINITY, Decimal64.valueOf("-Infinity"));
+        Assert.assertNull(Decimal64.valueOfUnderlying(Decimal64Utils.NULL));
+    }
+
+    @Test
+    public void canonicalValues() {
+        final Random random = new Random(19);
+        for (int i = 0; i < 100000; ++i) {
+            final long mantissa = i % 2 == 0 ? random.nextInt(200000) - 20000 : random.nextLong() / 1000;
+            final int numberOfDigits = random.nextInt(6);
+            @Decimal final long value = Decimal64Utils.fromFixedPoint(mantissa, numberOfDigits);
+            final Decimal64 cached = Decimal64.valueOfUnderlying(value);
+            Assert.assertEquals(Decimal64.fromUnderlying(value), cached);
+            Assert.assertEquals(Decimal64Utils.canonize(value), Decimal64.toUnderlying(cached));
+            Assert.assertTrue(Decimal64.isIdentical(cached, cached.canonize()));
+        }
+    }
+
+    @Test
+    public void threadCacheSize() {
+        Assert.assertEquals(0, Decimal64Cache.threadCacheSize("0"));
+        Assert.assertEquals(1, Decimal64Cache.threadCacheSize("1"));
+        Assert.assertEquals(256, Decimal64Cache.threadCacheSize(" 256"));
+        Assert.assertEquals(1024, Decimal64Cache.threadCacheSize("1000"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidThreadCacheSize() {
+        Decimal64Cache.threadCacheSize("-1");
+    }
+}
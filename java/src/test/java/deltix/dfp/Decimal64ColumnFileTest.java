@@ -0,0 +1,151 @@
+package deltix.dfp;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class Decimal64ColumnFileTest {
+    // Windows can't truncate the file, while the writer's last mapped part is not garbage collected
+    private static final boolean TRUNCATED = !System.getProperty("os.name").startsWith("Windows");
+
+    @Test
+    public void writeAndRead() throws IOException {
+        final Random random = new Random(25);
+        final Decimal64Column column = new Decimal64Column();
+        for (int i = 0; i < 3000000; ++i)
+            column.add(i % 1000 == 7 ? Decimal64Utils.NaN : Decimal64Utils.fromFixedPoint(random.nextInt(), random.nextInt(10)));
+        for (int i = 0; i < 100; ++i)
+            column.add(Decimal64Utils.NaN);
+
+        final Path path = Files.createTempFile("Decimal64ColumnFileTest", ".dfp");
+        try {
+            try (final Decimal64ColumnFileWriter writer = new Decimal64ColumnFileWriter(path, 1000)) {
+                writer.write(column.get(0));
+                writer.write(Decimal64.fromUnderlying(column.get(1)));
+                writer.writeAll(column.getRawArray(), 2, column.size());
+                assertEquals(column.size(), writer.size());
+            }
+            assertFileSize(64 + column.size() * 8L + 3001 * 16L, path);
+
+            try (final Decimal64ColumnFileReader reader = new Decimal64ColumnFileReader(path)) {
+                assertEquals(column.size(), reader.size());
+                for (int i = 0; i < column.size(); i += 997)
+                    assertEquals(column.get(i), reader.get(i));
+
+                final Decimal64ColumnFileReader.Cursor cursor = reader.cursor();
+                final long[] values = new long[column.size()];
+                for (int i = 0; cursor.hasNext(); ++i)
+                    values[i] = cursor.next();
+                assertArrayEquals(column.toArray(), values);
+
+                cursor.seek(1234567);
+                assertEquals(column.get(1234567), cursor.next());
+                assertEquals(1234568, cursor.position());
+
+                assertTrue(reader.hasStatistics());
+                assertEquals(1000, reader.getBlockSize());
+                assertEquals(3001, reader.getBlockCount());
+                for (int block = 0; block < 3000; ++block) {
+                    @Decimal long min = Decimal64Utils.POSITIVE_INFINITY;
+                    @Decimal long max = Decimal64Utils.NEGATIVE_INFINITY;
+                    for (int i = block * 1000; i < (block + 1) * 1000; ++i) {
+                        if (!Decimal64Utils.isNaN(column.get(i))) {
+                            min = Decimal64Utils.min(min, column.get(i));
+                            max = Decimal64Utils.max(max, column.get(i));
+                        }
+                    }
+                    assertTrue(Decimal64Utils.equals(min, reader.getBlockMin(block)));
+                    assertTrue(Decimal64Utils.equals(max, reader.getBlockMax(block)));
+                }
+                assertTrue(Decimal64Utils.isNaN(reader.getBlockMin(3000)));
+                assertTrue(Decimal64Utils.isNaN(reader.getBlockMax(3000)));
+            }
+
+            final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+            assertEquals(column.get(5), bytes.getLong(64 + 5 * 8));
+        } finally {
+            TestUtils.deleteTemporaryFile(path);
+        }
+    }
+
+    @Test
+    public void empty() throws IOException {
+        final Path path = Files.createTempFile("Decimal64ColumnFileTest", ".dfp");
+        try {
+            new Decimal64ColumnFileWriter(path).close();
+            try (final Decimal64ColumnFileReader reader = new Decimal64ColumnFileReader(path)) {
+                assertEquals(0, reader.size());
+                assertFalse(reader.hasStatistics());
+                assertEquals(0, reader.getBlockCount());
+                assertFalse(reader.cursor().hasNext());
+            }
+
+            // The file is replaced only when the writer is closed, the reader of the previous file still reads it
+            try (final Decimal64ColumnFileReader previous = new Decimal64ColumnFileReader(path)) {
+                try (final Decimal64ColumnFileWriter writer = new Decimal64ColumnFileWriter(path, 10)) {
+                    writer.write(Decimal64Utils.ONE);
+                    try (final Decimal64ColumnFileReader reader = new Decimal64ColumnFileReader(path)) {
+                        assertEquals(0, reader.size());
+                        assertFalse(reader.hasStatistics());
+                    }
+                }
+                assertEquals(0, previous.size());
+                assertFalse(previous.cursor().hasNext());
+            }
+            try (final Decimal64ColumnFileReader reader = new Decimal64ColumnFileReader(path)) {
+                assertEquals(1, reader.size());
+                assertEquals(10, reader.getBlockSize());
+                assertEquals(Decimal64Utils.ONE, reader.get(0));
+            }
+            assertFileSize(64 + 8 + 16, path);
+            assertFalse(Files.exists(path.resolveSibling(path.getFileName() + ".tmp")));
+        } finally {
+            TestUtils.deleteTemporaryFile(path);
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void cursorEnd() throws IOException {
+        final Path path = Files.createTempFile("Decimal64ColumnFileTest", ".dfp");
+        try {
+            try (final Decimal64ColumnFileWriter writer = new Decimal64ColumnFileWriter(path)) {
+                writer.write(Decimal64Utils.ONE);
+            }
+            try (final Decimal64ColumnFileReader reader = new Decimal64ColumnFileReader(path)) {
+                final Decimal64ColumnFileReader.Cursor cursor = reader.cursor(1);
+                cursor.next();
+            }
+        } finally {
+            TestUtils.deleteTemporaryFile(path);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void notColumnFile() throws IOException {
+        final Path path = Files.createTempFile("Decimal64ColumnFileTest", ".csv");
+        try {
+            Files.write(path, new byte[100]);
+            new Decimal64ColumnFileReader(path).close();
+        } finally {
+            TestUtils.deleteTemporaryFile(path);
+        }
+    }
+
+    private static void assertFileSize(final long expected, final Path path) throws IOException {
+        if (TRUNCATED)
+            assertEquals(expected, Files.size(path));
+        else
+            assertTrue(Files.size(path) >= expected);
+    }
+}
@@ -0,0 +1,150 @@
+package deltix.dfp;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class Decimal64ColumnParserTest {
+    private static final String TEXT =
+        "time,symbol,bid,ask\r\n" +
+        "1,AAA,1.25,1.5\r\n" +
+        "\r\n" +
+        "2,BBB,-0.001,1E+3\r\n" +
+        "3,CCC,12345678901234567,0";
+
+    @Test
+    public void buffer() {
+        final Decimal64ColumnParser parser = new Decimal64ColumnParser(',', 3, 2).withHeaderLines(1);
+        final ByteBuffer heap = ByteBuffer.wrap(TEXT.getBytes(StandardCharsets.US_ASCII));
+        checkColumns(parser.parse(heap));
+        assertEquals(0, heap.position());
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(TEXT.length() + 2);
+        direct.position(2);
+        direct.put(TEXT.getBytes(StandardCharsets.US_ASCII));
+        direct.position(2);
+        checkColumns(parser.parse(direct));
+    }
+
+    @Test
+    public void channel() throws IOException {
+        final Decimal64ColumnParser parser = new Decimal64ColumnParser(',', 3, 2).withHeaderLines(1);
+        checkColumns(parser.parse(new SmallReadsChannel(TEXT.getBytes(StandardCharsets.US_ASCII), 3)));
+    }
+
+    @Test
+    public void longLine() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; ++i)
+            sb.append(i).append('\t');
+        sb.append("7.5\n1\t2");
+
+        final Decimal64ColumnParser parser = new Decimal64ColumnParser('\t', 100000, 1).withInvalidValue(Decimal64Utils.NULL);
+        final Decimal64Column[] columns = parser.parse(
+            new SmallReadsChannel(sb.toString().getBytes(StandardCharsets.US_ASCII), 10000));
+        assertArrayEquals(new long[] { Decimal64Utils.parse("7.5"), Decimal64Utils.NULL }, columns[0].toArray());
+        assertArrayEquals(new long[] { Decimal64Utils.parse("1"), Decimal64Utils.parse("2") }, columns[1].toArray());
+    }
+
+    @Test
+    public void invalidValue() {
+        final Decimal64ColumnParser parser = new Decimal64ColumnParser(';', 0, 2).withInvalidValue(Decimal64Utils.NaN);
+        final Decimal64Column[] columns = parser.parse(ByteBuffer.wrap("x;1;2\n3;;\n4".getBytes(StandardCharsets.US_ASCII)));
+        assertArrayEquals(new long[] { Decimal64Utils.NaN, Decimal64Utils.parse("3"), Decimal64Utils.parse("4") },
+            columns[0].toArray());
+        assertArrayEquals(new long[] { Decimal64Utils.parse("2"), Decimal64Utils.NaN, Decimal64Utils.NaN },
+            columns[1].toArray());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void invalidField() {
+        new Decimal64ColumnParser(',', 1).parse(ByteBuffer.wrap("1,2\n3,x4\n".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void missingField() {
+        new Decimal64ColumnParser(',', 1).parse(ByteBuffer.wrap("1,2\n3\n".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatedField() {
+        new Decimal64ColumnParser(',', 1, 1);
+    }
+
+    @Test
+    public void parallel() throws IOException {
+        final Random random = new Random(24);
+        final StringBuilder sb = new StringBuilder("a,b,c\n");
+        while (sb.length() < 5 << 20) {
+            sb.append(random.nextInt()).append(',')
+                .append(Decimal64Utils.toString(Decimal64Utils.fromFixedPoint(random.nextLong(), random.nextInt(20))))
+                .append(',').append(random.nextDouble()).append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+        final byte[] text = sb.toString().getBytes(StandardCharsets.US_ASCII);
+
+        final Path path = Files.createTempFile("Decimal64ColumnParserTest", ".csv");
+        try {
+            Files.write(path, text);
+            final Decimal64ColumnParser parser = new Decimal64ColumnParser(',', 2, 1, 0).withHeaderLines(1);
+            final Decimal64Column[] expected = parser.parse(ByteBuffer.wrap(text));
+            try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                for (final int parallelism : new int[] { 1, 3, 4 }) {
+                    final Decimal64Column[] columns = parser.parse(channel, parallelism);
+                    for (int i = 0; i < expected.length; ++i)
+                        assertArrayEquals(expected[i].toArray(), columns[i].toArray());
+                }
+            }
+        } finally {
+            TestUtils.deleteTemporaryFile(path);
+        }
+    }
+
+    private static void checkColumns(final Decimal64Column[] columns) {
+        assertEquals(2, columns.length);
+        assertArrayEquals(new long[] { Decimal64Utils.parse("1.5"), Decimal64Utils.parse("1E+3"), Decimal64Utils.parse("0") },
+            columns[0].toArray());
+        assertArrayEquals(new long[] { Decimal64Utils.parse("1.25"), Decimal64Utils.parse("-0.001"),
+            Decimal64Utils.parse("12345678901234568") }, columns[1].toArray());
+    }
+
+    private static final class SmallReadsChannel implements ReadableByteChannel {
+        private final byte[] data;
+        private final int maxRead;
+        private int position;
+
+        SmallReadsChannel(final byte[] data, final int maxRead) {
+            this.data = data;
+            this.maxRead = maxRead;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) {
+            if (position == data.length)
+                return -1;
+            final int count = Math.min(Math.min(maxRead, dst.remaining()), data.length - position);
+            dst.put(data, position, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package deltix.dfp;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class Decimal64FormatTest {
+    @Test
+    public void styles() {
+        checkFormat(Decimal64Format.fixed(4), "1.23456", "1.2346");
+        checkFormat(Decimal64Format.fixed(4), "7", "7.0000");
+        checkFormat(Decimal64Format.fixed(4), "-0.00004", "0.0000");
+        checkFormat(Decimal64Format.fixed(0), "2.5", "3");
+        checkFormat(Decimal64Format.fixed(2), "1E+20", "100000000000000000000.00");
+        checkFormat(Decimal64Format.fixed(2), "9999999999999999.5", "10000000000000000.00");
+
+        checkFormat(Decimal64Format.significant(3), "1234.5678", "1230");
+        checkFormat(Decimal64Format.significant(3), "1.5", "1.50");
+        checkFormat(Decimal64Format.significant(3), "-0.0012345", "-0.00123");
+        checkFormat(Decimal64Format.significant(3), "0", "0.00");
+        checkFormat(Decimal64Format.significant(2), "999", "1000");
+
+        checkFormat(Decimal64Format.scientific(), "1234.5", "1.2345E+3");
+        checkFormat(Decimal64Format.scientific(), "0.05", "5E-2");
+        checkFormat(Decimal64Format.scientific(), "0", "0E+0");
+        checkFormat(Decimal64Format.scientific(3), "1234.5", "1.23E+3");
+        checkFormat(Decimal64Format.scientific(3), "-0.05", "-5.00E-2");
+        checkFormat(Decimal64Format.scientific(1), "9.6", "1E+1");
+
+        checkFormat(Decimal64Format.engineering(), "12345", "12.345E+3");
+        checkFormat(Decimal64Format.engineering(), "0.05", "50E-3");
+        checkFormat(Decimal64Format.engineering(), "1E+369", "1E+369");
+        checkFormat(Decimal64Format.engineering(2), "12345", "12E+3");
+        checkFormat(Decimal64Format.engineering(1), "12345", "10E+3");
+
+        checkFormat(Decimal64Format.compact(), "123.45", "123.45");
+        checkFormat(Decimal64Format.compact(), "9999999999999999", "9999999999999999");
+        checkFormat(Decimal64Format.compact(), "1E+16", "1E+16");
+        checkFormat(Decimal64Format.compact(), "0.0000001", "0.0000001");
+        checkFormat(Decimal64Format.compact(), "-0.000000015", "-1.5E-8");
+        checkFormat(Decimal64Format.compact(), "1E-398", "1E-398");
+
+        checkFormat(Decimal64Format.fixed(2), "NaN", "NaN");
+        checkFormat(Decimal64Format.scientific(), "-Infinity", "-Infinity");
+    }
+
+    @Test
+    public void roundingModes() {
+        checkFormat(Decimal64Format.fixed(1).withRoundingMode(RoundingMode.HALF_EVEN), "0.25", "0.2");
+        checkFormat(Decimal64Format.fixed(1).withRoundingMode(RoundingMode.HALF_EVEN), "0.35", "0.4");
+        checkFormat(Decimal64Format.fixed(1).withRoundingMode(RoundingMode.HALF_DOWN), "0.25", "0.2");
+        checkFormat(Decimal64Format.fixed(1).withRoundingMode(RoundingMode.HALF_DOWN), "0.2501", "0.3");
+        checkFormat(Decimal64Format.fixed(1).withRoundingMode(RoundingMode.FLOOR), "-0.21", "-0.3");
+        checkFormat(Decimal64Format.fixed(1).withRoundingMode(RoundingMode.CEILING), "-0.29", "-0.2");
+        checkFormat(Decimal64Format.fixed(1).withRoundingMode(RoundingMode.UP), "0.01", "0.1");
+        checkFormat(Decimal64Format.fixed(1).withRoundingMode(RoundingMode.DOWN), "-0.99", "-0.9");
+        checkFormat(Decimal64Format.fixed(1).withRoundingMode(RoundingMode.UNNECESSARY), "0.500", "0.5");
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void roundingNecessary() {
+        Decimal64Format.significant(2).withRoundingMode(RoundingMode.UNNECESSARY).format(Decimal64Utils.parse("1.25"));
+    }
+
+    @Test
+    public void sameAsBigDecimal() {
+        final Random random = new Random(23);
+        for (int i = 0; i < 100000; ++i) {
+            @Decimal final long value = Decimal64Utils.fromFixedPoint(random.nextLong() / POWERS[random.nextInt(POWERS.length)],
+                random.nextInt(40) - 10);
+            final BigDecimal decimal = new BigDecimal(Decimal64Utils.toString(value));
+            final RoundingMode roundingMode = RoundingMode.values()[random.nextInt(RoundingMode.UNNECESSARY.ordinal())];
+
+            final int scale = random.nextInt(20);
+            assertEquals(decimal.setScale(scale, roundingMode).toPlainString().replaceFirst("^-(0(\\.0*)?)$", "$1"),
+                Decimal64Format.fixed(scale).withRoundingMode(roundingMode).format(value));
+
+            if (decimal.signum() != 0) {
+                final int digits = 1 + random.nextInt(Decimal64Format.MAX_SIGNIFICANT_DIGITS);
+                final BigDecimal rounded = decimal.round(new MathContext(digits, roundingMode));
+                assertEquals(rounded.setScale(rounded.scale() + digits - rounded.precision()).toPlainString(),
+                    Decimal64Format.significant(digits).withRoundingMode(roundingMode).format(value));
+            }
+        }
+    }
+
+    @Test
+    public void bytes() {
+        final Decimal64Format format = Decimal64Format.scientific(4);
+        @Decimal final long value = Decimal64Utils.parse("-123456.7");
+
+        final byte[] array = new byte[12];
+        assertEquals(11, format.formatTo(value, array, 2));
+        assertEquals("-1.235E+5", new String(array, 2, 9, StandardCharsets.US_ASCII));
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.position(3);
+        assertEquals(12, format.formatTo(Decimal64.fromUnderlying(value), buffer));
+        final byte[] text = new byte[9];
+        buffer.position(3);
+        buffer.get(text);
+        assertEquals("-1.235E+5", new String(text, StandardCharsets.US_ASCII));
+
+        final StringBuilder sb = new StringBuilder("x=");
+        assertEquals("x=-1.235E+5", format.appendTo(value, sb).toString());
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void bufferOverflow() {
+        final ByteBuffer buffer = ByteBuffer.allocate(8);
+        try {
+            Decimal64Format.fixed(4).formatTo(Decimal64Utils.parse("1234.5"), buffer);
+        } finally {
+            assertEquals(0, buffer.position());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidScale() {
+        Decimal64Format.fixed(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSignificantDigits() {
+        Decimal64Format.scientific(17);
+    }
+
+    private static final long[] POWERS = { 1L, 1000L, 1000000000L, 100000000000000L, 10000000000000000L, 1000000000000000000L };
+
+    private static void checkFormat(final Decimal64Format format, final String value, final String expected) {
+        @Decimal final long decimal = Decimal64Utils.parse(value);
+        assertEquals(format + " " + value, expected, format.format(decimal));
+
+        final byte[] array = new byte[expected.length() + 1];
+        assertEquals(expected.length() + 1, format.formatTo(decimal, array, 1));
+        assertEquals(expected, new String(array, 1, expected.length(), StandardCharsets.US_ASCII));
+    }
+}
@@ -5,6 +5,11 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.math.RoundingMode;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 import java.util.function.Function;
 
@@ -525,4 +530,261 @@ public class Decimal64UtilsTest {
             "-1000", "-999.95"
         );
     }
+
+    @Test
+    public void arrayOperations() {
+        final int length = 20000; // More than two native chunks
+        final long[] a = new long[length + 3];
+        final long[] b = new long[length + 5];
+        final double[] d = new double[length + 1];
+        for (int i = 0; i < a.length; ++i)
+            a[i] = TestUtils.getRandomRawDecimal();
+        for (int i = 0; i < b.length; ++i)
+            b[i] = TestUtils.getRandomRawDecimal();
+        for (int i = 0; i < d.length; ++i)
+            d[i] = random.nextDouble() * 1000;
+        @Decimal final long scalar = b[0];
+
+        final long[] dst = new long[length + 2];
+        Decimal64Utils.add(a, 3, b, 5, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.add(a[3 + i], b[5 + i]), dst[2 + i]);
+        Decimal64Utils.subtract(a, 3, b, 5, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.subtract(a[3 + i], b[5 + i]), dst[2 + i]);
+        Decimal64Utils.multiply(a, 3, b, 5, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.multiply(a[3 + i], b[5 + i]), dst[2 + i]);
+        Decimal64Utils.divide(a, 3, b, 5, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.divide(a[3 + i], b[5 + i]), dst[2 + i]);
+
+        Decimal64Utils.add(a, 3, scalar, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.add(a[3 + i], scalar), dst[2 + i]);
+        Decimal64Utils.multiply(a, 3, scalar, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.multiply(a[3 + i], scalar), dst[2 + i]);
+        Decimal64Utils.divide(a, 3, scalar, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.divide(a[3 + i], scalar), dst[2 + i]);
+
+        Decimal64Utils.roundTowardsPositiveInfinity(a, 3, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.roundTowardsPositiveInfinity(a[3 + i]), dst[2 + i]);
+        Decimal64Utils.roundTowardsNegativeInfinity(a, 3, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.roundTowardsNegativeInfinity(a[3 + i]), dst[2 + i]);
+        Decimal64Utils.roundTowardsZero(a, 3, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.roundTowardsZero(a[3 + i]), dst[2 + i]);
+        Decimal64Utils.roundToNearestTiesAwayFromZero(a, 3, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.roundToNearestTiesAwayFromZero(a[3 + i]), dst[2 + i]);
+
+        final int[] comparisons = Decimal64Utils.compareTo(a, 3, b, 5, new int[length], 0, length);
+        for (int i = 0; i < length; ++i)
+            assertEquals(Decimal64Utils.compareTo(a[3 + i], b[5 + i]), comparisons[i]);
+
+        Decimal64Utils.fromDouble(d, 1, dst, 2, length);
+        for (int i = 0; i < length; ++i)
+            assertDecimalIdentical(Decimal64Utils.fromDouble(d[1 + i]), dst[2 + i]);
+        final double[] doubles = Decimal64Utils.toDouble(a, 3, new double[length], 0, length);
+        for (int i = 0; i < length; ++i)
+            assertEquals(Decimal64Utils.toDouble(a[3 + i]), doubles[i], 0);
+
+        // In place
+        final long[] copy = a.clone();
+        Decimal64Utils.add(copy, 0, copy, 0, copy, 0, copy.length);
+        for (int i = 0; i < a.length; ++i)
+            assertDecimalIdentical(Decimal64Utils.add(a[i], a[i]), copy[i]);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void arrayOperationOutOfBounds() {
+        final long[] a = new long[10];
+        Decimal64Utils.add(a, 5, a, 0, a, 0, 6);
+    }
+
+    @Test
+    public void formatTo() {
+        final byte[] array = new byte[512];
+        final ByteBuffer heap = ByteBuffer.allocate(512);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(512);
+        final Random random = new Random(20);
+        final long[] specials = { Decimal64Utils.NaN, Decimal64Utils.POSITIVE_INFINITY, Decimal64Utils.NEGATIVE_INFINITY,
+            Decimal64Utils.ZERO, Decimal64Utils.negate(Decimal64Utils.ZERO), Decimal64Utils.MAX_VALUE,
+            Decimal64Utils.MIN_VALUE, Decimal64Utils.MIN_POSITIVE_VALUE, Decimal64Utils.MAX_NEGATIVE_VALUE,
+            Decimal64Utils.parse("0.000"), Decimal64Utils.parse("1.50"), Decimal64Utils.parse("-100.0001")};
+        for (int i = 0; i < 100000 + specials.length; ++i) {
+            @Decimal final long value = i < specials.length ? specials[i] :
+                i % 2 == 0 ? Decimal64Utils.fromFixedPoint(random.nextLong() / (1L << random.nextInt(64)), random.nextInt(24) - 4) :
+                random.nextLong();
+            final String expected = Decimal64Utils.toString(value);
+
+            final int offset = random.nextInt(8);
+            final int end = Decimal64Utils.formatTo(value, array, offset);
+            assertEquals(expected, new String(array, offset, end - offset, StandardCharsets.US_ASCII));
+
+            for (final ByteBuffer buffer : new ByteBuffer[]{ heap, direct }) {
+                buffer.clear().position(offset);
+                final ByteBuffer slice = buffer.slice();
+                assertEquals(expected.length(), Decimal64Utils.formatTo(value, slice));
+                assertEquals(expected.length(), slice.position());
+                final byte[] bytes = new byte[expected.length()];
+                ((ByteBuffer) slice.flip()).get(bytes);
+                assertEquals(expected, new String(bytes, StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void formatToArrayOverflow() {
+        Decimal64Utils.formatTo(Decimal64Utils.parse("123.45"), new byte[8], 3);
+    }
+
+    @Test
+    public void formatToBufferOverflow() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        buffer.position(3);
+        try {
+            Decimal64Utils.formatTo(Decimal64Utils.parse("123.45"), buffer);
+            Assert.fail("BufferOverflowException expected");
+        } catch (final BufferOverflowException e) {
+            assertEquals(3, buffer.position());
+        }
+    }
+
+    @Test
+    public void parseBytes() {
+        final Random random = new Random(21);
+        final String[] fixed = { "0", "-0.000", "+.5", "1.", "Infinity", "-inf", "NaN", "sNaN", "12345678",
+            "1234567890123456.5", "12345678901234567890", "0.00000000123456789012", "1E100000000", "1e-400",
+            "9999999999999999.5E369", "1234567.8E3", "", ".", "1..2", "12a45678", "--1", "1E", "1E+", "Inf1" };
+        final ByteBuffer direct = ByteBuffer.allocateDirect(512);
+        final ByteBuffer littleEndian = ByteBuffer.allocateDirect(512).order(ByteOrder.LITTLE_ENDIAN);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200000; ++i) {
+            final String text;
+            if (i < fixed.length) {
+                text = fixed[i];
+            } else if (i % 2 == 0) {
+                sb.setLength(0);
+                final int length = 1 + random.nextInt(30);
+                for (int j = 0; j < length; ++j)
+                    sb.append(i % 4 == 0 ? "0123456789.-+eE".charAt(random.nextInt(15)) : (char) ('0' + random.nextInt(10)));
+                if (i % 8 == 2)
+                    sb.insert(random.nextInt(sb.length() + 1), '.');
+                text = sb.toString();
+            } else {
+                text = Decimal64Utils.toString(random.nextLong());
+            }
+
+            final String expected = parseOrError(text, 0, text.length());
+            final int offset = random.nextInt(8);
+            final byte[] bytes = new byte[offset + text.length() + random.nextInt(8)];
+            for (int j = 0; j < text.length(); ++j)
+                bytes[offset + j] = (byte) text.charAt(j);
+            assertEquals(text, expected, parseOrError(bytes, offset, offset + text.length()));
+            for (final ByteBuffer buffer : new ByteBuffer[]{ ByteBuffer.wrap(bytes), direct, littleEndian }) {
+                if (buffer.isDirect()) {
+                    buffer.clear();
+                    buffer.put(bytes, 0, Math.min(bytes.length, buffer.capacity())).clear();
+                }
+                assertEquals(text, expected, parseOrError(buffer, offset, offset + text.length()));
+            }
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void parseBytesOutOfBounds() {
+        Decimal64Utils.parse(new byte[]{ '1', '2' }, 1, 3);
+    }
+
+    @Test
+    public void parseWithRoundingMode() {
+        checkParse("12345678901234565", RoundingMode.HALF_EVEN, "12345678901234560", Decimal64ParseResult.INEXACT);
+        checkParse("12345678901234565", RoundingMode.HALF_UP, "12345678901234570", Decimal64ParseResult.INEXACT);
+        checkParse("12345678901234565", RoundingMode.HALF_DOWN, "12345678901234560", Decimal64ParseResult.INEXACT);
+        checkParse("123456789012345650001", RoundingMode.HALF_DOWN, "123456789012345700000", Decimal64ParseResult.INEXACT);
+        checkParse("1727534388797742.50", RoundingMode.HALF_EVEN, "1727534388797742", Decimal64ParseResult.INEXACT);
+        checkParse("-1.0000000000000001", RoundingMode.FLOOR, "-1.000000000000001", Decimal64ParseResult.INEXACT);
+        checkParse("-1.0000000000000001", RoundingMode.CEILING, "-1", Decimal64ParseResult.INEXACT);
+        checkParse("-1.0000000000000001", RoundingMode.UP, "-1.000000000000001", Decimal64ParseResult.INEXACT);
+        checkParse("-1.0000000000000001", RoundingMode.DOWN, "-1", Decimal64ParseResult.INEXACT);
+        checkParse("9999999999999999.9", RoundingMode.HALF_EVEN, "10000000000000000", Decimal64ParseResult.INEXACT);
+        checkParse("1.0000000000000000000", RoundingMode.UNNECESSARY, "1", Decimal64ParseResult.OK);
+        checkParse("1.0000000000000001", RoundingMode.UNNECESSARY, "NaN", Decimal64ParseResult.INEXACT);
+        checkParse("0.0000e-9999", RoundingMode.UNNECESSARY, "0", Decimal64ParseResult.OK);
+        checkParse("-Infinity", RoundingMode.UNNECESSARY, "-Infinity", Decimal64ParseResult.OK);
+
+        checkParse("1e384", RoundingMode.HALF_EVEN, "1e384", Decimal64ParseResult.OK);
+        checkParse("1e400", RoundingMode.HALF_EVEN, "Infinity", Decimal64ParseResult.INEXACT | Decimal64ParseResult.OVERFLOW);
+        checkParse("-1e400", RoundingMode.DOWN, "-9999999999999999e369", Decimal64ParseResult.INEXACT | Decimal64ParseResult.OVERFLOW);
+        checkParse("-1e400", RoundingMode.CEILING, "-9999999999999999e369", Decimal64ParseResult.INEXACT | Decimal64ParseResult.OVERFLOW);
+        checkParse("1e400", RoundingMode.FLOOR, "9999999999999999e369", Decimal64ParseResult.INEXACT | Decimal64ParseResult.OVERFLOW);
+        checkParse("1e100000000", RoundingMode.UP, "Infinity", Decimal64ParseResult.INEXACT | Decimal64ParseResult.OVERFLOW);
+
+        checkParse("1e-398", RoundingMode.HALF_EVEN, "1e-398", Decimal64ParseResult.OK);
+        checkParse("15e-399", RoundingMode.HALF_EVEN, "2e-398", Decimal64ParseResult.INEXACT | Decimal64ParseResult.UNDERFLOW);
+        checkParse("1e-400", RoundingMode.HALF_EVEN, "0", Decimal64ParseResult.INEXACT | Decimal64ParseResult.UNDERFLOW);
+        checkParse("1e-400", RoundingMode.CEILING, "1e-398", Decimal64ParseResult.INEXACT | Decimal64ParseResult.UNDERFLOW);
+        checkParse("-1e-400", RoundingMode.CEILING, "-0", Decimal64ParseResult.INEXACT | Decimal64ParseResult.UNDERFLOW);
+    }
+
+    @Test
+    public void parseInvalidWithStatus() {
+        final Decimal64ParseResult result = new Decimal64ParseResult();
+        for (final String text : new String[]{ "", "-", "--1", "1..2", "0..", "1e", "1e+", "1x", "1e5x", "1\0", "Infinite", "N" }) {
+            assertEquals(text, Decimal64ParseResult.INVALID, Decimal64Utils.parse(text, RoundingMode.HALF_EVEN, result));
+            assertTrue(text, Decimal64Utils.isNaN(result.getValue()));
+            assertFalse(text, result.isValid());
+
+            final byte[] bytes = ("[" + text + "]").getBytes(StandardCharsets.US_ASCII);
+            result.set(Decimal64Utils.ZERO, Decimal64ParseResult.OK);
+            assertEquals(text, Decimal64ParseResult.INVALID,
+                Decimal64Utils.parse(bytes, 1, bytes.length - 1, RoundingMode.HALF_EVEN, result));
+            assertEquals(text, Decimal64ParseResult.INVALID,
+                Decimal64Utils.parse(ByteBuffer.wrap(bytes), 1, bytes.length - 1, RoundingMode.HALF_EVEN, result));
+            assertTrue(text, Decimal64Utils.isNaN(result.getValue()));
+
+            assertEquals(text, Decimal64Utils.ONE, Decimal64Utils.tryParse(text, Decimal64Utils.ONE));
+        }
+
+        assertEquals(Decimal64ParseResult.OK, Decimal64Utils.parse("-12.50", RoundingMode.HALF_EVEN, result));
+        assertTrue(result.isExact());
+        assertEquals(Decimal64.parse("-12.5"), result.toDecimal64());
+    }
+
+    private static void checkParse(final String text, final RoundingMode roundingMode,
+                                   final String expectedValue, final int expectedStatus) {
+        final Decimal64ParseResult result = new Decimal64ParseResult();
+        assertEquals(text + " " + roundingMode, expectedStatus, Decimal64Utils.parse(text, roundingMode, result));
+        assertEquals(text + " " + roundingMode, expectedStatus, result.getStatus());
+        assertTrue(text + " " + roundingMode, Decimal64Utils.isIdentical(Decimal64Utils.parse(expectedValue), result.getValue()) ||
+            Decimal64Utils.equals(Decimal64Utils.parse(expectedValue), result.getValue()) &&
+                Decimal64Utils.isNegative(Decimal64Utils.parse(expectedValue)) == Decimal64Utils.isNegative(result.getValue()));
+
+        final byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        final Decimal64ParseResult bytesResult = new Decimal64ParseResult();
+        assertEquals(text, expectedStatus, Decimal64Utils.parse(bytes, 0, bytes.length, roundingMode, bytesResult));
+        assertTrue(text, Decimal64Utils.isIdentical(result.getValue(), bytesResult.getValue()));
+    }
+
+    private static String parseOrError(final Object text, final int from, final int to) {
+        try {
+            final long value;
+            if (text instanceof byte[])
+                value = Decimal64Utils.parse((byte[]) text, from, to);
+            else if (text instanceof ByteBuffer)
+                value = Decimal64Utils.parse((ByteBuffer) text, from, to);
+            else if (from == to)
+                throw new NumberFormatException();
+            else
+                value = Decimal64Utils.parse((CharSequence) text, from, to);
+            return Long.toHexString(value);
+        } catch (final NumberFormatException e) {
+            return "error";
+        }
+    }
 }
@@ -8,6 +8,7 @@ import java.util.Random;
 import static deltix.dfp.JavaImpl.MASK_SIGN;
 import static deltix.dfp.TestUtils.assertDecimalIdentical;
 import static deltix.dfp.TestUtils.assertDecimalEqual;
+import static deltix.dfp.TestUtils.checkBinaryOperation;
 import static org.junit.Assert.*;
 
 public class JavaImplTest {
@@ -195,6 +196,75 @@ public class JavaImplTest {
         }
     }
 
+    @Test
+    public void fromFixedPoint64() {
+        for (int i = 0; i < 1000000; ++i) {
+            final long mantissa = random.nextLong() >> random.nextInt(64);
+            final int numDigits = (i & 1) != 0 ? random.nextInt(40) - 20 : random.nextInt(1000) - 500;
+            final String message = "mantissa = " + mantissa + ", numDigits = " + numDigits;
+
+            assertDecimalIdentical(NativeImpl.fromFixedPoint64(mantissa, numDigits), JavaImpl.fromFixedPoint64(mantissa, numDigits), message);
+            assertDecimalIdentical(NativeImpl.fromFixedPoint32((int) mantissa, numDigits), JavaImpl.fromFixedPoint32((int) mantissa, numDigits), message);
+        }
+    }
+
+    @Test
+    public void fromFixedPoint64SpecialCases() {
+        // Mantissa with more than 16 digits is rounded to nearest, ties to even
+        assertDecimalIdentical(JavaImpl.fromFixedPoint64(1234567890123456L, 8),
+            JavaImpl.fromFixedPoint64(12345678901234565L, 9));
+        assertDecimalIdentical(JavaImpl.fromFixedPoint64(-9223372036854776L, -3),
+            JavaImpl.fromFixedPoint64(Long.MIN_VALUE, 0));
+        // The coefficient is scaled up to avoid the overflow
+        assertDecimalEqual(JavaImpl.fromFixedPoint64(1, -380), JavaImpl.fromFixedPoint64(100000000000L, -369));
+        assertDecimalIdentical(Decimal64Utils.POSITIVE_INFINITY, JavaImpl.fromFixedPoint64(1, -400));
+        // Underflow to zero with the smallest exponent
+        assertDecimalIdentical(0, JavaImpl.fromFixedPoint64(1, 500));
+        assertDecimalIdentical(MASK_SIGN, JavaImpl.fromFixedPoint64(-1, 500));
+    }
+
+    @Test
+    public void toFixedPoint() {
+        for (int i = 0; i < 1000000; ++i) {
+            @Decimal final long x = TestUtils.getRandomRawDecimal();
+            final int numDigits = (i & 1) != 0 ? random.nextInt(40) - 20 : random.nextInt(1000) - 500;
+            final String message = "x = " + JavaImpl.toDebugString(x) + ", numDigits = " + numDigits;
+
+            assertEquals(message, NativeImpl.toFixedPoint(x, numDigits), JavaImpl.toFixedPoint(x, numDigits));
+        }
+    }
+
+    @Test
+    public void integerConversions() {
+        for (int i = 0; i < 1000000; ++i) {
+            final long value = random.nextLong() >> random.nextInt(64);
+            assertDecimalIdentical(NativeImpl.fromInt64(value), JavaImpl.fromInt64(value), "value = " + value);
+
+            @Decimal final long x = (i & 1) != 0 ? TestUtils.getRandomRawDecimal() : random.nextLong();
+            final String message = "x = " + JavaImpl.toDebugString(x);
+            assertEquals(message, NativeImpl.toInt64(x), JavaImpl.toInt64(x));
+            assertEquals(message, NativeImpl.toInt32(x), JavaImpl.toInt32(x));
+        }
+    }
+
+    @Test
+    public void integerConversionsSpecialCases() {
+        assertEquals(-2, JavaImpl.toInt64(JavaImpl.fromFixedPoint64(-25, 1)));
+        assertEquals(Long.MIN_VALUE, JavaImpl.toInt64(Decimal64Utils.NaN));
+        assertEquals(Long.MIN_VALUE, JavaImpl.toInt64(Decimal64Utils.POSITIVE_INFINITY));
+        assertEquals(Long.MIN_VALUE, JavaImpl.toInt64(JavaImpl.fromFixedPoint64(1, -19)));
+        assertEquals(9223372036854775000L, JavaImpl.toInt64(JavaImpl.fromFixedPoint64(9223372036854775L, -3)));
+
+        assertEquals(Integer.MIN_VALUE, JavaImpl.toInt32(JavaImpl.fromFixedPoint64(-21474836489L, 1)));
+        assertEquals(Integer.MIN_VALUE, JavaImpl.toInt32(JavaImpl.fromInt64(1L << 31)));
+        assertEquals(Integer.MAX_VALUE, JavaImpl.toInt32(JavaImpl.fromFixedPoint64(21474836479L, 1)));
+
+        assertEquals(123, JavaImpl.toFixedPoint(JavaImpl.fromFixedPoint64(123, 2), 2));
+        assertEquals(12, JavaImpl.toFixedPoint(JavaImpl.fromFixedPoint64(123, 2), 1));
+        assertEquals(-12300, JavaImpl.toFixedPoint(JavaImpl.fromFixedPoint64(-123, 2), 4));
+        assertEquals(Long.MIN_VALUE, JavaImpl.toFixedPoint(Decimal64Utils.NaN, 2));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void fromFixedPointFastMin() {
         JavaImpl.fromFixedPointFast(0, 398 - 0x300);
@@ -215,6 +285,400 @@ public class JavaImplTest {
         JavaImpl.fromFixedPointFastUnsigned(0, 399);
     }
 
+    @Test
+    public void add() {
+        checkBinaryOperation(NativeImpl::add2, JavaImplAdd::add, 1000000);
+    }
+
+    @Test
+    public void subtract() {
+        checkBinaryOperation(NativeImpl::subtract, JavaImplAdd::subtract, 1000000);
+    }
+
+    @Test
+    public void addSpecialCases() {
+        final long nan = Decimal64Utils.NaN;
+        final long inf = Decimal64Utils.POSITIVE_INFINITY;
+        final long ninf = Decimal64Utils.NEGATIVE_INFINITY;
+        final long one = Decimal64Utils.ONE;
+
+        assertDecimalIdentical(nan, JavaImplAdd.add(inf, ninf));
+        assertDecimalIdentical(nan, JavaImplAdd.subtract(inf, inf));
+        assertDecimalIdentical(inf, JavaImplAdd.add(inf, inf));
+        assertDecimalIdentical(ninf, JavaImplAdd.add(one, ninf));
+        assertDecimalIdentical(nan, JavaImplAdd.add(nan, one));
+        assertDecimalIdentical(nan, JavaImplAdd.add(one, nan));
+
+        // Exact cancellation results in +0
+        final long zero = JavaImplAdd.subtract(one, one);
+        assertDecimalIdentical(Decimal64Utils.ZERO, zero);
+        assertDecimalIdentical(zero, JavaImplAdd.add(Decimal64Utils.negate(one), one));
+
+        // Rounding to nearest, ties to even
+        final long max = Decimal64Utils.fromFixedPoint(9999999999999999L, 0);
+        assertDecimalEqual(Decimal64Utils.fromFixedPoint(1, -16), JavaImplAdd.add(max, one));
+        assertDecimalEqual(Decimal64Utils.fromFixedPoint(1000000000000000L, -1),
+            JavaImplAdd.add(Decimal64Utils.fromFixedPoint(1000000000000000L, -1), Decimal64Utils.fromFixedPoint(5, 0)));
+        assertDecimalEqual(Decimal64Utils.fromFixedPoint(1000000000000002L, -1),
+            JavaImplAdd.add(Decimal64Utils.fromFixedPoint(1000000000000001L, -1), Decimal64Utils.fromFixedPoint(5, 0)));
+    }
+
+    @Test
+    public void multiply() {
+        checkBinaryOperation(NativeImpl::multiply2, JavaImplMul::multiply, 1000000);
+    }
+
+    @Test
+    public void multiplyByInteger() {
+        for (int i = 0; i < 100000; ++i) {
+            @Decimal final long x = TestUtils.getRandomRawDecimal();
+            final long y = random.nextLong() >> random.nextInt(64);
+            assertDecimalIdentical(NativeImpl.multiplyByInt64(x, y), Decimal64Utils.multiplyByInteger(x, y));
+            assertDecimalIdentical(NativeImpl.multiplyByInt32(x, (int) y), Decimal64Utils.multiplyByInteger(x, (int) y));
+        }
+    }
+
+    @Test
+    public void multiplySpecialCases() {
+        final long nan = Decimal64Utils.NaN;
+        final long inf = Decimal64Utils.POSITIVE_INFINITY;
+        final long ninf = Decimal64Utils.NEGATIVE_INFINITY;
+        final long zero = Decimal64Utils.ZERO;
+
+        assertDecimalIdentical(nan, JavaImplMul.multiply(inf, zero));
+        assertDecimalIdentical(nan, JavaImplMul.multiply(zero, ninf));
+        assertDecimalIdentical(ninf, JavaImplMul.multiply(inf, Decimal64Utils.negate(Decimal64Utils.ONE)));
+        assertDecimalIdentical(inf, JavaImplMul.multiply(ninf, ninf));
+        assertDecimalIdentical(nan, JavaImplMul.multiply(nan, zero));
+
+        // Product of 32 digits is rounded once to nearest, ties to even
+        final long x = Decimal64Utils.fromFixedPoint(9999999999999999L, 0);
+        assertDecimalEqual(Decimal64Utils.fromFixedPoint(9999999999999998L, -16), JavaImplMul.multiply(x, x));
+        assertDecimalEqual(Decimal64Utils.fromFixedPoint(1000000000000000L, -1),
+            JavaImplMul.multiply(Decimal64Utils.fromFixedPoint(2000000000000001L, 0), Decimal64Utils.fromFixedPoint(5, 0)));
+
+        // Subnormal result
+        assertDecimalIdentical(JavaImpl.pack(0, 0, 219749, JavaImpl.BID_ROUNDING_TO_NEAREST),
+            JavaImplMul.multiply(Decimal64Utils.fromFixedPoint(684, 392), Decimal64Utils.fromFixedPoint(32127, 8)));
+    }
+
+    @Test
+    public void divide() {
+        checkBinaryOperation(NativeImpl::divide, JavaImplDiv::divide, 1000000);
+    }
+
+    @Test
+    public void divideByInteger() {
+        for (int i = 0; i < 100000; ++i) {
+            @Decimal final long x = TestUtils.getRandomRawDecimal();
+            final long y = random.nextLong() >> random.nextInt(64);
+            assertDecimalIdentical(NativeImpl.divideByInt64(x, y), Decimal64Utils.divideByInteger(x, y));
+            assertDecimalIdentical(NativeImpl.divideByInt32(x, (int) y), Decimal64Utils.divideByInteger(x, (int) y));
+            final int powerOfTen = (int) JavaImpl.POWERS_OF_TEN[random.nextInt(10)];
+            assertDecimalIdentical(NativeImpl.divideByInt32(x, powerOfTen), Decimal64Utils.divideByInteger(x, powerOfTen));
+        }
+    }
+
+    @Test
+    public void divideBySmallInteger() {
+        for (int i = 0; i < 1000000; ++i) {
+            @Decimal final long x = TestUtils.getRandomRawDecimal();
+            final long y = random.nextInt(4) == 0 ? JavaImpl.POWERS_OF_TEN[random.nextInt(10)] :
+                random.nextInt() >> random.nextInt(32);
+            assertDecimalIdentical(JavaImplDiv.divide(x, JavaImpl.fromInt64(y)), JavaImplDiv.divideByInteger(x, y));
+            assertDecimalIdentical(JavaImplDiv.divide(x, JavaImpl.fromInt64(-y)), JavaImplDiv.divideByInteger(x, -y));
+        }
+        assertDecimalIdentical(Decimal64Utils.fromFixedPoint(125, 3), JavaImplDiv.divideByInteger(Decimal64Utils.ONE, 8));
+        assertDecimalIdentical(Decimal64Utils.fromFixedPoint(-3333333333333333L, 16),
+            JavaImplDiv.divideByInteger(Decimal64Utils.ONE, -3));
+    }
+
+    @Test
+    public void divideSpecialCases() {
+        final long nan = Decimal64Utils.NaN;
+        final long inf = Decimal64Utils.POSITIVE_INFINITY;
+        final long ninf = Decimal64Utils.NEGATIVE_INFINITY;
+        final long zero = Decimal64Utils.ZERO;
+        final long one = Decimal64Utils.ONE;
+
+        assertDecimalIdentical(nan, JavaImplDiv.divide(zero, zero));
+        assertDecimalIdentical(nan, JavaImplDiv.divide(inf, ninf));
+        assertDecimalIdentical(ninf, JavaImplDiv.divide(Decimal64Utils.negate(one), zero));
+        assertDecimalIdentical(ninf, JavaImplDiv.divide(inf, Decimal64Utils.negate(one)));
+        assertDecimalIdentical(JavaImpl.MASK_SIGN, JavaImplDiv.divide(one, ninf));
+
+        // Exact quotients keep the preferred exponent
+        assertDecimalIdentical(Decimal64Utils.TEN, JavaImplDiv.divide(Decimal64Utils.HUNDRED, Decimal64Utils.TEN));
+        assertDecimalIdentical(Decimal64Utils.fromFixedPoint(25, 2), JavaImplDiv.divide(one, Decimal64Utils.fromFixedPoint(4, 0)));
+
+        // Inexact quotients have 16 digits
+        assertDecimalIdentical(Decimal64Utils.fromFixedPoint(3333333333333333L, 16),
+            JavaImplDiv.divide(one, Decimal64Utils.fromFixedPoint(3, 0)));
+        assertDecimalIdentical(Decimal64Utils.fromFixedPoint(6666666666666667L, 16),
+            JavaImplDiv.divide(Decimal64Utils.TWO, Decimal64Utils.fromFixedPoint(3, 0)));
+    }
+
+    @Test
+    public void multiplyAndAdd() {
+        for (int i = 0; i < 1000000; ++i) {
+            @Decimal final long x = TestUtils.getRandomRawDecimal();
+            @Decimal final long y = TestUtils.getRandomRawDecimal();
+            // Make cancellation of the product and the summand likely
+            @Decimal final long z = (i & 1) != 0 ? TestUtils.getRandomRawDecimal() :
+                JavaImplAdd.add(JavaImplMul.multiply(Decimal64Utils.negate(x), y), TestUtils.getRandomRawDecimal());
+            assertDecimalIdentical(NativeImpl.multiplyAndAdd(x, y, z), JavaImplFma.multiplyAndAdd(x, y, z),
+                "x = " + JavaImpl.toDebugString(x) + ", y = " + JavaImpl.toDebugString(y) + ", z = " + JavaImpl.toDebugString(z));
+        }
+    }
+
+    @Test
+    public void multiplyAndAddSingleRounding() {
+        // (10^16 - 1)^2 - (10^32 - 2 * 10^16) = 1, the separately rounded product would lose it
+        final long x = Decimal64Utils.fromFixedPoint(9999999999999999L, 0);
+        final long z = Decimal64Utils.fromFixedPoint(-9999999999999998L, -16);
+        assertDecimalIdentical(Decimal64Utils.ONE, JavaImplFma.multiplyAndAdd(x, x, z));
+        assertDecimalEqual(Decimal64Utils.ZERO, JavaImplAdd.add(JavaImplMul.multiply(x, x), z));
+
+        assertDecimalIdentical(Decimal64Utils.NaN,
+            JavaImplFma.multiplyAndAdd(Decimal64Utils.POSITIVE_INFINITY, Decimal64Utils.ONE, Decimal64Utils.NEGATIVE_INFINITY));
+        assertDecimalIdentical(Decimal64Utils.NaN,
+            JavaImplFma.multiplyAndAdd(Decimal64Utils.POSITIVE_INFINITY, Decimal64Utils.ZERO, Decimal64Utils.ONE));
+    }
+
+    @Test
+    public void compare() {
+        @Decimal final long hundredth = Decimal64Utils.fromFixedPoint(100, 2);
+        for (int i = 0; i < 1000000; ++i) {
+            @Decimal final long x = TestUtils.getRandomRawDecimal();
+            // Make equal values with different exponents likely
+            @Decimal final long y = (i & 1) != 0 ? TestUtils.getRandomRawDecimal() : JavaImplMul.multiply(x, hundredth);
+            final String message = "x = " + JavaImpl.toDebugString(x) + ", y = " + JavaImpl.toDebugString(y);
+
+            assertEquals(message, NativeImpl.compare(x, y), JavaImplCmp.compare(x, y));
+            assertEquals(message, NativeImpl.isEqual(x, y), JavaImplCmp.isEqual(x, y));
+            assertEquals(message, NativeImpl.isNotEqual(x, y), JavaImplCmp.isNotEqual(x, y));
+            assertEquals(message, NativeImpl.isLess(x, y), JavaImplCmp.isLess(x, y));
+            assertEquals(message, NativeImpl.isLessOrEqual(x, y), JavaImplCmp.isLessOrEqual(x, y));
+            assertEquals(message, NativeImpl.isGreater(x, y), JavaImplCmp.isGreater(x, y));
+            assertEquals(message, NativeImpl.isGreaterOrEqual(x, y), JavaImplCmp.isGreaterOrEqual(x, y));
+
+            assertEquals(message, NativeImpl.isNonZero(x), JavaImplCmp.isNonZero(x));
+            assertEquals(message, NativeImpl.isPositive(x), JavaImplCmp.isPositive(x));
+            assertEquals(message, NativeImpl.isNegative(x), JavaImplCmp.isNegative(x));
+            assertEquals(message, NativeImpl.isNonPositive(x), JavaImplCmp.isNonPositive(x));
+            assertEquals(message, NativeImpl.isNonNegative(x), JavaImplCmp.isNonNegative(x));
+        }
+    }
+
+    @Test
+    public void compareSpecialCases() {
+        final long nan = Decimal64Utils.NaN;
+        final long inf = Decimal64Utils.POSITIVE_INFINITY;
+        final long ninf = Decimal64Utils.NEGATIVE_INFINITY;
+        final long zero = Decimal64Utils.ZERO;
+        final long one = Decimal64Utils.ONE;
+
+        // NaN is ordered above all values, like Double.compare()
+        assertEquals(0, JavaImplCmp.compare(nan, nan));
+        assertEquals(1, JavaImplCmp.compare(nan, inf));
+        assertEquals(-1, JavaImplCmp.compare(inf, nan));
+        assertFalse(JavaImplCmp.isEqual(nan, nan));
+        assertTrue(JavaImplCmp.isNotEqual(nan, nan));
+        assertFalse(JavaImplCmp.isLessOrEqual(nan, one));
+        assertFalse(JavaImplCmp.isGreaterOrEqual(nan, one));
+        assertTrue(JavaImplCmp.isNonZero(nan));
+        assertFalse(JavaImplCmp.isPositive(nan));
+        assertFalse(JavaImplCmp.isNonNegative(nan));
+
+        assertEquals(-1, JavaImplCmp.compare(ninf, Decimal64Utils.MIN_VALUE));
+        assertEquals(1, JavaImplCmp.compare(inf, Decimal64Utils.MAX_VALUE));
+        assertEquals(0, JavaImplCmp.compare(ninf, ninf));
+
+        // Zeros are equal regardless of the sign and exponent
+        assertEquals(0, JavaImplCmp.compare(zero, JavaImpl.MASK_SIGN));
+        assertEquals(0, JavaImplCmp.compare(zero, Decimal64Utils.fromFixedPoint(0, 5)));
+        assertFalse(JavaImplCmp.isNegative(JavaImpl.MASK_SIGN));
+        assertTrue(JavaImplCmp.isNonPositive(JavaImpl.MASK_SIGN));
+
+        // Same value with different exponents
+        assertEquals(0, JavaImplCmp.compare(one, Decimal64Utils.fromFixedPoint(1000, 3)));
+        assertEquals(-1, JavaImplCmp.compare(Decimal64Utils.fromFixedPoint(999, 3), one));
+        assertEquals(1, JavaImplCmp.compare(Decimal64Utils.fromFixedPoint(-999, 3), Decimal64Utils.negate(one)));
+    }
+
+    @Test
+    public void minMax() {
+        @Decimal final long hundredth = Decimal64Utils.fromFixedPoint(100, 2);
+        for (int i = 0; i < 1000000; ++i) {
+            @Decimal final long x = TestUtils.getRandomRawDecimal();
+            @Decimal final long y = (i & 1) != 0 ? TestUtils.getRandomRawDecimal() : JavaImplMul.multiply(x, hundredth);
+            final String message = "x = " + JavaImpl.toDebugString(x) + ", y = " + JavaImpl.toDebugString(y);
+
+            assertDecimalIdentical(NativeImpl.min2(x, y), JavaImplCmp.min(x, y), message);
+            assertDecimalIdentical(NativeImpl.max2(x, y), JavaImplCmp.max(x, y), message);
+        }
+    }
+
+    @Test
+    public void minMaxSpecialCases() {
+        final long nan = Decimal64Utils.NaN;
+        final long one = Decimal64Utils.ONE;
+        @Decimal final long hundredth = Decimal64Utils.fromFixedPoint(100, 2);
+
+        assertDecimalIdentical(nan, JavaImplCmp.min(nan, one));
+        assertDecimalIdentical(nan, JavaImplCmp.max(one, nan));
+        // Equal values: the second argument is returned
+        assertDecimalIdentical(hundredth, JavaImplCmp.min(one, hundredth));
+        assertDecimalIdentical(one, JavaImplCmp.max(hundredth, one));
+        assertDecimalIdentical(Decimal64Utils.NEGATIVE_INFINITY, JavaImplCmp.min(0xF900_0000_0000_0000L, one));
+        // Non-canonical value is replaced with zero
+        assertDecimalIdentical(0x31E0_0000_0000_0000L, JavaImplCmp.max(0x6C7F_FFFF_FFFF_FFFFL, Decimal64Utils.negate(one)));
+    }
+
+    @Test
+    public void nextUpDown() {
+        for (int i = 0; i < 1000000; ++i) {
+            @Decimal final long x = TestUtils.getRandomRawDecimal();
+            final String message = "x = " + JavaImpl.toDebugString(x);
+
+            assertDecimalIdentical(NativeImpl.nextUp(x), JavaImpl.nextUp(x), message);
+            assertDecimalIdentical(NativeImpl.nextDown(x), JavaImpl.nextDown(x), message);
+            assertEquals(message, NativeImpl.isNormal(x), JavaImpl.isNormal(x));
+        }
+    }
+
+    @Test
+    public void nextUpDownSpecialCases() {
+        assertDecimalIdentical(Decimal64Utils.MIN_POSITIVE_VALUE, JavaImpl.nextUp(Decimal64Utils.ZERO));
+        assertDecimalIdentical(Decimal64Utils.MAX_NEGATIVE_VALUE, JavaImpl.nextDown(JavaImpl.MASK_SIGN));
+        assertDecimalIdentical(JavaImpl.MASK_SIGN, JavaImpl.nextUp(Decimal64Utils.MAX_NEGATIVE_VALUE));
+        assertDecimalIdentical(Decimal64Utils.POSITIVE_INFINITY, JavaImpl.nextUp(Decimal64Utils.MAX_VALUE));
+        assertDecimalIdentical(Decimal64Utils.MAX_VALUE, JavaImpl.nextDown(Decimal64Utils.POSITIVE_INFINITY));
+        assertDecimalIdentical(Decimal64Utils.NaN, JavaImpl.nextUp(Decimal64Utils.NaN));
+
+        // The coefficient is padded to 16 digits
+        assertDecimalIdentical(Decimal64Utils.fromFixedPoint(1000000000000001L, 15), JavaImpl.nextUp(Decimal64Utils.ONE));
+        assertDecimalIdentical(Decimal64Utils.fromFixedPoint(9999999999999999L, 16), JavaImpl.nextDown(Decimal64Utils.ONE));
+        assertDecimalIdentical(Decimal64Utils.fromFixedPoint(1000000000000000L, 14), JavaImpl.nextUp(Decimal64Utils.fromFixedPoint(9999999999999999L, 15)));
+
+        assertTrue(JavaImpl.isNormal(Decimal64Utils.ONE));
+        assertTrue(JavaImpl.isNormal(Decimal64Utils.fromFixedPoint(1, 383)));
+        assertFalse(JavaImpl.isNormal(Decimal64Utils.fromFixedPoint(1, 384)));
+        assertFalse(JavaImpl.isNormal(Decimal64Utils.ZERO));
+        assertFalse(JavaImpl.isNormal(Decimal64Utils.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void roundToIntegral() {
+        for (int i = 0; i < 1000000; ++i) {
+            @Decimal final long x = TestUtils.getRandomRawDecimal();
+            final String message = "x = " + JavaImpl.toDebugString(x);
+
+            assertDecimalIdentical(NativeImpl.roundTowardsPositiveInfinity(x), JavaImplRound.roundTowardsPositiveInfinity(x), message);
+            assertDecimalIdentical(NativeImpl.roundTowardsNegativeInfinity(x), JavaImplRound.roundTowardsNegativeInfinity(x), message);
+            assertDecimalIdentical(NativeImpl.roundTowardsZero(x), JavaImplRound.roundTowardsZero(x), message);
+            assertDecimalIdentical(NativeImpl.roundToNearestTiesAwayFromZero(x), JavaImplRound.roundToNearestTiesAwayFromZero(x), message);
+        }
+    }
+
+    @Test
+    public void roundToIntegralSpecialCases() {
+        final long half = Decimal64Utils.fromFixedPoint(5, 1);
+        final long minusHalf = Decimal64Utils.negate(half);
+        final long minusZero = Decimal64Utils.ZERO | JavaImpl.MASK_SIGN;
+
+        assertDecimalIdentical(Decimal64Utils.ONE, JavaImplRound.roundTowardsPositiveInfinity(half));
+        assertDecimalIdentical(minusZero, JavaImplRound.roundTowardsPositiveInfinity(minusHalf));
+        assertDecimalIdentical(Decimal64Utils.ZERO, JavaImplRound.roundTowardsNegativeInfinity(half));
+        assertDecimalIdentical(Decimal64Utils.negate(Decimal64Utils.ONE), JavaImplRound.roundTowardsNegativeInfinity(minusHalf));
+        assertDecimalIdentical(minusZero, JavaImplRound.roundTowardsZero(minusHalf));
+        assertDecimalIdentical(Decimal64Utils.negate(Decimal64Utils.ONE), JavaImplRound.roundToNearestTiesAwayFromZero(minusHalf));
+        assertDecimalIdentical(Decimal64Utils.fromFixedPoint(3, 0),
+            JavaImplRound.roundToNearestTiesAwayFromZero(Decimal64Utils.fromFixedPoint(25, 1)));
+
+        // Tiny values
+        assertDecimalIdentical(Decimal64Utils.ONE, JavaImplRound.roundTowardsPositiveInfinity(Decimal64Utils.MIN_POSITIVE_VALUE));
+        assertDecimalIdentical(Decimal64Utils.ZERO, JavaImplRound.roundToNearestTiesAwayFromZero(Decimal64Utils.MIN_POSITIVE_VALUE));
+
+        // Integers are not changed
+        final long hundred = Decimal64Utils.fromFixedPoint(1, -2);
+        assertDecimalIdentical(hundred, JavaImplRound.roundTowardsZero(hundred));
+        assertDecimalIdentical(Decimal64Utils.MAX_VALUE, JavaImplRound.roundTowardsNegativeInfinity(Decimal64Utils.MAX_VALUE));
+
+        assertDecimalIdentical(Decimal64Utils.NEGATIVE_INFINITY, JavaImplRound.roundTowardsZero(Decimal64Utils.NEGATIVE_INFINITY));
+        assertDecimalIdentical(Decimal64Utils.NaN, JavaImplRound.roundTowardsZero(Decimal64Utils.NaN));
+    }
+
+    @Test
+    public void fromDouble() {
+        for (int i = 0; i < 1000000; ++i) {
+            final double x;
+            switch (i & 3) {
+                case 0:
+                    x = Double.longBitsToDouble(random.nextLong());
+                    break;
+                case 1:
+                    // Short decimal fractions
+                    x = (random.nextLong() % 100_000_000_000L) / Math.pow(10, random.nextInt(12));
+                    break;
+                case 2:
+                    x = Math.scalb((double) (random.nextLong() >>> 11), random.nextInt(2200) - 1100);
+                    break;
+                default:
+                    x = random.nextDouble();
+                    break;
+            }
+
+            assertDecimalIdentical(NativeImpl.fromFloat64(x), JavaImplCast.fromDouble(x), "x = " + x);
+        }
+    }
+
+    @Test
+    public void fromDoubleSpecialCases() {
+        // Exact values keep the minimal exponent, other values are rounded to 16 digits
+        assertDecimalIdentical(0x31C0_0000_0000_0001L, JavaImplCast.fromDouble(1.0));
+        assertDecimalIdentical(0x31A0_0000_0000_0005L, JavaImplCast.fromDouble(0.5));
+        assertDecimalIdentical(0x2FC3_8D7E_A4C6_8000L, JavaImplCast.fromDouble(0.1));
+        assertDecimalIdentical(0x3203_8D7E_A4C6_8000L, JavaImplCast.fromDouble(1e17));
+        assertDecimalIdentical(0x0771_8D80_3929_31B1L, JavaImplCast.fromDouble(Double.MIN_VALUE));
+        assertDecimalIdentical(JavaImpl.ZERO, JavaImplCast.fromDouble(0.0));
+        assertDecimalIdentical(JavaImpl.ZERO | MASK_SIGN, JavaImplCast.fromDouble(-0.0));
+        assertDecimalIdentical(Decimal64Utils.POSITIVE_INFINITY, JavaImplCast.fromDouble(Double.POSITIVE_INFINITY));
+        assertDecimalIdentical(Decimal64Utils.NEGATIVE_INFINITY, JavaImplCast.fromDouble(Double.NEGATIVE_INFINITY));
+
+        // NaN payload is shifted right by one bit
+        assertDecimalIdentical(0x7C00_0000_0000_91A2L, JavaImplCast.fromDouble(Double.longBitsToDouble(0x7FF8_0000_0001_2345L)));
+        assertDecimalIdentical(0x7C02_0000_0000_0000L, JavaImplCast.fromDouble(Double.longBitsToDouble(0x7FF4_0000_0000_0000L)));
+        assertDecimalIdentical(0x7C00_0000_0000_0000L, JavaImplCast.fromDouble(Double.longBitsToDouble(0x7FFF_FFFF_FFFF_FFFFL)));
+    }
+
+    @Test
+    public void toDouble() {
+        for (int i = 0; i < 1000000; ++i) {
+            @Decimal final long x = (i & 1) != 0 ? TestUtils.getRandomRawDecimal() : random.nextLong();
+            final String message = "x = " + JavaImpl.toDebugString(x);
+
+            assertEquals(message, Double.doubleToRawLongBits(NativeImpl.toFloat64(x)),
+                Double.doubleToRawLongBits(JavaImplCast.toDouble(x)));
+        }
+    }
+
+    @Test
+    public void toDoubleSpecialCases() {
+        assertEquals(-0.0, JavaImplCast.toDouble(JavaImpl.ZERO | MASK_SIGN), 0);
+        assertEquals(0x7FF8_0000_0000_0246L, Double.doubleToRawLongBits(JavaImplCast.toDouble(0x7E00_0000_0000_0123L)));
+        assertEquals(0x7FF8_0000_0000_0000L, Double.doubleToRawLongBits(JavaImplCast.toDouble(0x7C03_FFFF_FFFF_FFFFL)));
+        assertEquals(Double.MIN_VALUE, JavaImplCast.toDouble(0x0771_8D80_3929_31B1L), 0);
+        assertEquals(Double.POSITIVE_INFINITY, JavaImplCast.toDouble(Decimal64Utils.MAX_VALUE), 0);
+        assertEquals(0.0, JavaImplCast.toDouble(Decimal64Utils.MIN_POSITIVE_VALUE), 0);
+        // Midpoint 9007199254740993 between two doubles is rounded to even
+        assertEquals(9007199254740992.0, JavaImplCast.toDouble(0x6C70_0000_0000_0001L), 0);
+
+        // Non-canonical coefficient is zero, unless the overflow check of the native library fires first
+        assertEquals(0.0, JavaImplCast.toDouble(0x6C73_86F2_6FC1_0000L), 0);
+        assertEquals(Double.POSITIVE_INFINITY, JavaImplCast.toDouble(0x759F_FFFF_FFFF_FFFFL), 0);
+    }
+
     @SuppressWarnings("Duplicates")
     public void checkToString(final String message, final String hex, final String expectedPlain, final String expectedScientific) {
         @Decimal final long dfp64 = UnsignedLong.parse(hex, 16);
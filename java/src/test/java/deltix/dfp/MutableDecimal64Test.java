@@ -0,0 +1,62 @@
+package deltix.dfp;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class MutableDecimal64Test {
+    @Test
+    public void sameResultsAsDecimal64() {
+        final Random random = new Random(17);
+        final MutableDecimal64 mutable = new MutableDecimal64();
+        for (int i = 0; i < 10000; ++i) {
+            final Decimal64 x = Decimal64.fromFixedPoint(random.nextLong() % 1000000000000L, random.nextInt(10));
+            final Decimal64 y = Decimal64.fromFixedPoint(random.nextInt(), random.nextInt(10));
+
+            Assert.assertEquals(x.add(y), mutable.set(x).add(y).toDecimal64());
+            Assert.assertEquals(x.subtract(y), mutable.set(x).subtract(y).toDecimal64());
+            Assert.assertEquals(x.multiply(y), mutable.set(x).multiply(Decimal64.toUnderlying(y)).toDecimal64());
+            Assert.assertEquals(x.divide(y), mutable.set(x).divide(new MutableDecimal64(y)).toDecimal64());
+            Assert.assertEquals(x.multiplyAndAdd(y, x), mutable.set(x).addProduct(x, y).toDecimal64());
+            Assert.assertEquals(x.round(Decimal64.ONE_HUNDREDTH),
+                mutable.set(x).round(Decimal64.ONE_HUNDREDTH).toDecimal64());
+            Assert.assertEquals(x.negate().abs(), mutable.set(x).negate().abs().toDecimal64());
+            Assert.assertEquals(0, mutable.set(x).compareTo(x));
+        }
+    }
+
+    @Test
+    public void setters() {
+        final MutableDecimal64 value = new MutableDecimal64();
+        Assert.assertTrue(value.isZero());
+        Assert.assertEquals("123.45", value.setFixedPoint(12345, 2).toString());
+        Assert.assertEquals(-7, value.setLong(-7).toLong());
+        Assert.assertEquals(42, value.setInt(42).toInt());
+        Assert.assertEquals(0.5, value.setDouble(0.5).toDouble(), 0);
+        Assert.assertEquals("1.5", value.set("x=1.5;", 2, 5).toString());
+        Assert.assertTrue(value.set("NaN").isNaN());
+        Assert.assertEquals(Decimal64Utils.ONE, value.setUnderlying(Decimal64Utils.ONE).toUnderlying());
+        Assert.assertTrue(MutableDecimal64.fromUnderlying(Decimal64Utils.TEN).isEqual(Decimal64.TEN));
+    }
+
+    @Test
+    public void failedParseKeepsValue() {
+        final MutableDecimal64 value = MutableDecimal64.fromUnderlying(Decimal64Utils.TWO);
+        try {
+            value.set("abc");
+            Assert.fail("NumberFormatException expected");
+        } catch (final NumberFormatException expected) {
+            Assert.assertTrue(value.isEqual(Decimal64Utils.TWO));
+        }
+    }
+
+    @Test
+    public void accumulation() {
+        final MutableDecimal64 total = new MutableDecimal64();
+        final Decimal64 price = Decimal64.parse("101.25");
+        for (int i = 1; i <= 1000; ++i)
+            total.addProduct(price, Decimal64.fromInt(i));
+        Assert.assertEquals("50675625", total.toString());
+    }
+}
@@ -0,0 +1,17 @@
+package deltix.dfp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+public class NativeLibraryTest {
+    @Test
+    public void preloadInBackground() throws Exception {
+        NativeLibrary.preloadInBackground().get();
+
+        assertTrue(NativeLibrary.isLoaded());
+        assertTrue(NativeLibrary.getLoadTimeNanos() >= 0);
+        // Already loaded, returns immediately
+        NativeLibrary.preload();
+    }
+}
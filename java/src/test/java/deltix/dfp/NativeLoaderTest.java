@@ -0,0 +1,27 @@
+package deltix.dfp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class NativeLoaderTest {
+    private static Set<String> flags(final String flags) {
+        return new HashSet<>(Arrays.asList(flags.split(" ")));
+    }
+
+    @Test
+    public void microArchitectureLevel() {
+        assertNull(NativeLoader.microArchitectureLevel(flags("fpu sse sse2")));
+        assertEquals("x86-64-v2", NativeLoader.microArchitectureLevel(
+            flags("fpu sse sse2 pni ssse3 cx16 sse4_1 sse4_2 popcnt lahf_lm")));
+        assertEquals("x86-64-v2", NativeLoader.microArchitectureLevel(
+            flags("fpu sse sse2 pni ssse3 cx16 sse4_1 sse4_2 popcnt lahf_lm avx avx2 fma")));
+        assertEquals("x86-64-v3", NativeLoader.microArchitectureLevel(
+            flags("fpu sse sse2 pni ssse3 fma cx16 sse4_1 sse4_2 movbe popcnt xsave avx f16c lahf_lm abm bmi1 avx2 bmi2")));
+    }
+}
@@ -2,10 +2,14 @@ package deltix.dfp;
 
 import org.junit.Assert;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Random;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongBinaryOperator;
 
 import static deltix.dfp.Decimal64Utils.toDebugString;
 import static org.junit.Assert.assertEquals;
@@ -147,6 +151,44 @@ public class TestUtils {
         return getRandomDecimal(1000000000000000L);
     }
 
+    /**
+     * Returns raw DFP value with random sign, exponent and number of coefficient digits.
+     * Both coefficient encodings are produced, special values are returned occasionally.
+     */
+    @Decimal
+    public static long getRandomRawDecimal() {
+        switch (rng.nextInt(64)) {
+            case 0:
+                return Decimal64Utils.NaN | (rng.nextBoolean() ? JavaImpl.MASK_SIGN : 0);
+            case 1:
+                return Decimal64Utils.POSITIVE_INFINITY;
+            case 2:
+                return Decimal64Utils.NEGATIVE_INFINITY;
+            case 3:
+                return rng.nextBoolean() ? Decimal64Utils.ZERO : Decimal64Utils.negate(Decimal64Utils.ZERO);
+            default:
+                final long sign = rng.nextBoolean() ? JavaImpl.MASK_SIGN : 0;
+                final int digits = rng.nextInt(17);
+                final long coefficient = digits == 0 ? 0 : POWERS_OF_TEN[digits - 1] +
+                    (long) (rng.nextDouble() * (POWERS_OF_TEN[digits] - POWERS_OF_TEN[digits - 1]));
+                // Keep most exponents near the middle of the range, so that operations do not always overflow
+                final int exponent = rng.nextInt(8) == 0 ? rng.nextInt(768) : 398 - 40 + rng.nextInt(80);
+                return JavaImpl.pack(sign, exponent, coefficient, JavaImpl.BID_ROUNDING_TO_NEAREST);
+        }
+    }
+
+    /**
+     * Compares results of two implementations of the same binary operation on random arguments.
+     */
+    public static void checkBinaryOperation(final LongBinaryOperator expected, final LongBinaryOperator actual, final int n) {
+        for (int i = 0; i < n; ++i) {
+            @Decimal final long x = getRandomRawDecimal();
+            @Decimal final long y = rng.nextInt(4) == 0 ? x : getRandomRawDecimal();
+            assertDecimalIdentical(expected.applyAsLong(x, y), actual.applyAsLong(x, y),
+                "x = " + toDebugString(x) + ", y = " + toDebugString(y));
+        }
+    }
+
     public static void mantissaZerosCombinations(BiConsumer<Long, Integer> func, int n) {
         for (int zerosLen = 1; zerosLen < 16; ++zerosLen) {
             long notZeroPart;
@@ -248,4 +290,16 @@ public class TestUtils {
     };
 
     static final Random rng = new Random();
+
+    /**
+     * Deletes the temporary file of a test, or deletes it on exit, if it can't be deleted now:
+     * Windows doesn't delete the files, which are mapped by the buffers, till they are garbage collected.
+     */
+    static void deleteTemporaryFile(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package deltix.dfp;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static deltix.dfp.TestUtils.assertDecimalEqual;
+import static deltix.dfp.TestUtils.assertDecimalIdentical;
+import static org.junit.Assert.assertEquals;
+
+public class TickGridTest {
+    private final Random random = new Random();
+
+    @Test
+    public void roundToTick() {
+        final TickGrid grid = new TickGrid(Decimal64Utils.parse("0.05"));
+
+        assertDecimalEqual(Decimal64Utils.parse("1.25"), grid.roundTowardsPositiveInfinity(Decimal64Utils.parse("1.234")));
+        assertDecimalEqual(Decimal64Utils.parse("1.20"), grid.roundTowardsNegativeInfinity(Decimal64Utils.parse("1.234")));
+        assertDecimalEqual(Decimal64Utils.parse("1.25"), grid.roundToNearestTiesAwayFromZero(Decimal64Utils.parse("1.234")));
+        assertDecimalEqual(Decimal64Utils.parse("1.25"), grid.roundToNearestTiesAwayFromZero(Decimal64Utils.parse("1.225")));
+        assertDecimalEqual(Decimal64Utils.parse("-1.25"), grid.roundToNearestTiesAwayFromZero(Decimal64Utils.parse("-1.225")));
+        assertDecimalEqual(Decimal64Utils.parse("-1.20"), grid.roundTowardsPositiveInfinity(Decimal64Utils.parse("-1.234")));
+        assertDecimalEqual(Decimal64Utils.parse("-1.25"), grid.roundTowardsNegativeInfinity(Decimal64Utils.parse("-1.234")));
+        assertDecimalEqual(Decimal64Utils.parse("1000"), grid.roundTowardsNegativeInfinity(Decimal64Utils.parse("1000.0001")));
+
+        // Values far below the tick size
+        assertDecimalEqual(Decimal64Utils.parse("0.05"), grid.roundTowardsPositiveInfinity(Decimal64Utils.MIN_POSITIVE_VALUE));
+        assertDecimalEqual(Decimal64Utils.ZERO, grid.roundToNearestTiesAwayFromZero(Decimal64Utils.MIN_POSITIVE_VALUE));
+
+        assertDecimalIdentical(Decimal64Utils.NaN, grid.roundTowardsPositiveInfinity(Decimal64Utils.NaN));
+        assertDecimalIdentical(Decimal64Utils.POSITIVE_INFINITY, grid.roundTowardsNegativeInfinity(Decimal64Utils.POSITIVE_INFINITY));
+
+        assertEquals(Decimal64.parse("1.25"), grid.roundTowardsPositiveInfinity(Decimal64.parse("1.234")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroTickSize() {
+        new TickGrid(Decimal64Utils.ZERO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeTickSize() {
+        new TickGrid(Decimal64Utils.parse("-0.01"));
+    }
+
+    @Test
+    public void sameAsDecimal64Utils() {
+        for (int i = 0; i < 1000; ++i) {
+            @Decimal final long tickSize = getRandomTickSize();
+            final TickGrid grid = new TickGrid(tickSize);
+            for (int j = 0; j < 1000; ++j) {
+                @Decimal final long x = TestUtils.getRandomRawDecimal();
+                final String message = "x = " + JavaImpl.toDebugString(x) + ", tickSize = " + JavaImpl.toDebugString(tickSize);
+
+                assertDecimalIdentical(Decimal64Utils.roundTowardsPositiveInfinity(x, tickSize),
+                    grid.roundTowardsPositiveInfinity(x), message);
+                assertDecimalIdentical(Decimal64Utils.roundTowardsNegativeInfinity(x, tickSize),
+                    grid.roundTowardsNegativeInfinity(x), message);
+                assertDecimalIdentical(Decimal64Utils.roundToNearestTiesAwayFromZero(x, tickSize),
+                    grid.roundToNearestTiesAwayFromZero(x), message);
+            }
+        }
+    }
+
+    @Test
+    public void exactRounding() {
+        for (int i = 0; i < 1000; ++i) {
+            @Decimal final long tickSize = getRandomTickSize();
+            final TickGrid grid = new TickGrid(tickSize);
+            final BigDecimal tick = new BigDecimal(Decimal64Utils.toString(tickSize));
+            for (int j = 0; j < 1000; ++j) {
+                // Prices with up to 4 more digits after the decimal point than the tick size
+                @Decimal final long x = Decimal64Utils.fromFixedPoint(random.nextLong() % 100_000_000_000L,
+                    tick.scale() + random.nextInt(5));
+                final BigDecimal value = new BigDecimal(Decimal64Utils.toString(x));
+                final String message = "x = " + value + ", tickSize = " + tick;
+
+                assertDecimalEqual(parse(value.divide(tick, 0, RoundingMode.CEILING).multiply(tick)),
+                    grid.roundTowardsPositiveInfinity(x), message);
+                assertDecimalEqual(parse(value.divide(tick, 0, RoundingMode.FLOOR).multiply(tick)),
+                    grid.roundTowardsNegativeInfinity(x), message);
+                assertDecimalEqual(parse(value.divide(tick, 0, RoundingMode.HALF_UP).multiply(tick)),
+                    grid.roundToNearestTiesAwayFromZero(x), message);
+            }
+        }
+    }
+
+    @Decimal
+    private static long parse(final BigDecimal value) {
+        return Decimal64Utils.parse(value.toString());
+    }
+
+    @Decimal
+    private long getRandomTickSize() {
+        final long[] coefficients = { 1, 2, 5, 25, 125, 1 + random.nextInt(1000) };
+        return Decimal64Utils.fromFixedPoint(coefficients[random.nextInt(coefficients.length)], random.nextInt(9) - 1);
+    }
+}
@@ -1,5 +1,10 @@
 #define  __STDC_WANT_DEC_FP__
+#ifdef DFP_USE_BID
+// gcc build, the math functions come from the Intel Decimal Floating-Point Math Library
+#include "dfp754_bid.h"
+#else
 #include <dfp754.h>
+#endif
 #include <stdint.h>
 #include <stdbool.h>
 
@@ -10,7 +15,7 @@
 * Update native API version after doing any changes to exported method signatures or behavior
 * This version number will be compared to the version number expected by the Java/.NET lib
 */
-#define NATIVE_API_VERSION 2
+#define NATIVE_API_VERSION 3
 
 
 typedef uint64_t dfp_long_t;
@@ -20,11 +25,11 @@ typedef uint64_t dfp_long_t;
 //#define FORCE_CAST(src_type, dst_type, value) dst_type b; memcpy(&b, &value, sizeof(dst_type)); return b;
 //#define FORCE_CAST(src_type, dst_type, value) union _{src_type a; dst_type b;}; return ((union _*)&(value))->b;
 
-inline _Decimal64 long_as_decimal(dfp_long_t value) {
+static inline _Decimal64 long_as_decimal(dfp_long_t value) {
     FORCE_CAST(dfp_long_t, _Decimal64, value);
 }
 
-inline dfp_long_t decimal_as_long(_Decimal64 value) {
+static inline dfp_long_t decimal_as_long(_Decimal64 value) {
     FORCE_CAST(_Decimal64, dfp_long_t, value);
 }
 
@@ -47,4 +52,17 @@ static inline _Decimal64 dfp_max(_Decimal64 a, _Decimal64 b)
     return fmaxd64(a, b);
 }
 
+// Same as compare() of the Java API: NaN is greater than any value
+static inline int32_t dfp_compare_java(dfp_long_t a, dfp_long_t b)
+{
+    _Decimal64 da = long_as_decimal(a), db = long_as_decimal(b);
+    if (da < db)
+        return -1;
+    if (da > db)
+        return 1;
+    if (da == db)
+        return 0;
+    return isnand64(da) - isnand64(db);
+}
+
 #include "MultiApiLibrary.h"
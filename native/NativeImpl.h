@@ -387,3 +387,102 @@ FN(dfp_long_t, nextDown) ARGS(dfp_long_t a)
 {
     return decimal_as_long(nextdownd64(long_as_decimal(a)));
 }
+
+//
+// Arrays
+//
+// Process an array region per call. The functions take plain pointers, so they are defined only once, with the .NET
+// exports: Java calls them through FFM or through the JNI wrappers of NativeImplJni.c, which pin the arrays.
+//
+
+#if MULTIAPI_DOTNET
+
+FN(void, addArrays) ARGS(const dfp_long_t *a, const dfp_long_t *b, dfp_long_t *result, int32_t length)
+{
+    for (int32_t i = 0; i < length; ++i)
+        result[i] = decimal_as_long(long_as_decimal(a[i]) + long_as_decimal(b[i]));
+}
+
+FN(void, subtractArrays) ARGS(const dfp_long_t *a, const dfp_long_t *b, dfp_long_t *result, int32_t length)
+{
+    for (int32_t i = 0; i < length; ++i)
+        result[i] = decimal_as_long(long_as_decimal(a[i]) - long_as_decimal(b[i]));
+}
+
+FN(void, multiplyArrays) ARGS(const dfp_long_t *a, const dfp_long_t *b, dfp_long_t *result, int32_t length)
+{
+    for (int32_t i = 0; i < length; ++i)
+        result[i] = decimal_as_long(long_as_decimal(a[i]) * long_as_decimal(b[i]));
+}
+
+FN(void, divideArrays) ARGS(const dfp_long_t *a, const dfp_long_t *b, dfp_long_t *result, int32_t length)
+{
+    for (int32_t i = 0; i < length; ++i)
+        result[i] = decimal_as_long(long_as_decimal(a[i]) / long_as_decimal(b[i]));
+}
+
+FN(void, addScalar) ARGS(const dfp_long_t *a, dfp_long_t b, dfp_long_t *result, int32_t length)
+{
+    _Decimal64 db = long_as_decimal(b);
+    for (int32_t i = 0; i < length; ++i)
+        result[i] = decimal_as_long(long_as_decimal(a[i]) + db);
+}
+
+FN(void, multiplyByScalar) ARGS(const dfp_long_t *a, dfp_long_t b, dfp_long_t *result, int32_t length)
+{
+    _Decimal64 db = long_as_decimal(b);
+    for (int32_t i = 0; i < length; ++i)
+        result[i] = decimal_as_long(long_as_decimal(a[i]) * db);
+}
+
+FN(void, divideByScalar) ARGS(const dfp_long_t *a, dfp_long_t b, dfp_long_t *result, int32_t length)
+{
+    _Decimal64 db = long_as_decimal(b);
+    for (int32_t i = 0; i < length; ++i)
+        result[i] = decimal_as_long(long_as_decimal(a[i]) / db);
+}
+
+// roundingMode: 1 - towards negative infinity, 2 - towards positive infinity, 3 - towards zero,
+// 4 - to nearest with ties away from zero (same as BID_ROUNDING_* constants of JavaImpl)
+FN(void, roundArray) ARGS(const dfp_long_t *values, dfp_long_t *result, int32_t length, int32_t roundingMode)
+{
+    switch (roundingMode) {
+        case 1:
+            for (int32_t i = 0; i < length; ++i)
+                result[i] = decimal_as_long(floord64(long_as_decimal(values[i])));
+            break;
+        case 2:
+            for (int32_t i = 0; i < length; ++i)
+                result[i] = decimal_as_long(ceild64(long_as_decimal(values[i])));
+            break;
+        case 3:
+            for (int32_t i = 0; i < length; ++i)
+                result[i] = decimal_as_long(truncd64(long_as_decimal(values[i])));
+            break;
+        default:
+            for (int32_t i = 0; i < length; ++i)
+                result[i] = decimal_as_long(roundd64(long_as_decimal(values[i])));
+            break;
+    }
+}
+
+// NOTE: Unlike compare(), which follows the .NET rules in this pass, NaN is ordered as in Java compareTo
+FN(void, compareArrays) ARGS(const dfp_long_t *a, const dfp_long_t *b, int32_t *result, int32_t length)
+{
+    for (int32_t i = 0; i < length; ++i)
+        result[i] = dfp_compare_java(a[i], b[i]);
+}
+
+FN(void, fromFloat64Array) ARGS(const double *values, dfp_long_t *result, int32_t length)
+{
+    for (int32_t i = 0; i < length; ++i)
+        result[i] = decimal_as_long((_Decimal64) values[i]);
+}
+
+FN(void, toFloat64Array) ARGS(const dfp_long_t *values, double *result, int32_t length)
+{
+    for (int32_t i = 0; i < length; ++i)
+        result[i] = (double) long_as_decimal(values[i]);
+}
+
+#endif
@@ -0,0 +1,194 @@
+#include <stdint.h>
+#include <stddef.h>
+
+//
+// JNI wrappers of the array functions of NativeImpl.h
+//
+// The arrays are accessed with GetPrimitiveArrayCritical(), so they are pinned (or copied by the JVM) while
+// the plain-pointer function runs and the GC may be blocked till then. Offsets and lengths are checked by the Java
+// code, which splits long regions to chunks.
+//
+// <jni.h> is not included, so the library builds without JDK: the few JNI types are declared here.
+// The function table of JNIEnv is a stable ABI, the indices come from the JNI specification.
+//
+
+#ifdef _WIN64
+#define JNI_FN(name) __declspec(dllexport) void Java_deltix_dfp_NativeImpl_##name
+#define ARRAY_API(x) x __fastcall
+#elif _WIN32
+#define JNI_FN(name) __declspec(dllexport) void __stdcall Java_deltix_dfp_NativeImpl_##name
+#define ARRAY_API(x) x __stdcall
+#define JNI_CALL __stdcall
+#else
+#define JNI_FN(name) __attribute__ ((visibility("default"))) void Java_deltix_dfp_NativeImpl_##name
+#define ARRAY_API(x) x
+#endif
+
+#ifndef JNI_CALL
+#define JNI_CALL
+#endif
+
+typedef void *jobject_t;
+typedef int32_t jint_t;
+typedef int64_t jlong_t;
+typedef const void *const *jni_env_t;
+
+#define JNI_GET_PRIMITIVE_ARRAY_CRITICAL 222
+#define JNI_RELEASE_PRIMITIVE_ARRAY_CRITICAL 223
+#define JNI_ABORT 2
+
+typedef void *(JNI_CALL *get_array_critical_t)(jni_env_t *env, jobject_t array, uint8_t *isCopy);
+typedef void (JNI_CALL *release_array_critical_t)(jni_env_t *env, jobject_t array, void *elements, jint_t mode);
+
+static inline void *getArray(jni_env_t *env, jobject_t array)
+{
+    return ((get_array_critical_t) (*env)[JNI_GET_PRIMITIVE_ARRAY_CRITICAL])(env, array, NULL);
+}
+
+static inline void releaseArray(jni_env_t *env, jobject_t array, void *elements, jint_t mode)
+{
+    ((release_array_critical_t) (*env)[JNI_RELEASE_PRIMITIVE_ARRAY_CRITICAL])(env, array, elements, mode);
+}
+
+typedef uint64_t dfp_long_t;
+
+ARRAY_API(void) addArrays(const dfp_long_t *a, const dfp_long_t *b, dfp_long_t *result, int32_t length);
+ARRAY_API(void) subtractArrays(const dfp_long_t *a, const dfp_long_t *b, dfp_long_t *result, int32_t length);
+ARRAY_API(void) multiplyArrays(const dfp_long_t *a, const dfp_long_t *b, dfp_long_t *result, int32_t length);
+ARRAY_API(void) divideArrays(const dfp_long_t *a, const dfp_long_t *b, dfp_long_t *result, int32_t length);
+ARRAY_API(void) addScalar(const dfp_long_t *a, dfp_long_t b, dfp_long_t *result, int32_t length);
+ARRAY_API(void) multiplyByScalar(const dfp_long_t *a, dfp_long_t b, dfp_long_t *result, int32_t length);
+ARRAY_API(void) divideByScalar(const dfp_long_t *a, dfp_long_t b, dfp_long_t *result, int32_t length);
+ARRAY_API(void) roundArray(const dfp_long_t *values, dfp_long_t *result, int32_t length, int32_t roundingMode);
+ARRAY_API(void) compareArrays(const dfp_long_t *a, const dfp_long_t *b, int32_t *result, int32_t length);
+ARRAY_API(void) fromFloat64Array(const double *values, dfp_long_t *result, int32_t length);
+ARRAY_API(void) toFloat64Array(const dfp_long_t *values, double *result, int32_t length);
+
+typedef ARRAY_API(void) (*binary_array_fn_t)(const dfp_long_t *a, const dfp_long_t *b, dfp_long_t *result, int32_t length);
+typedef ARRAY_API(void) (*scalar_array_fn_t)(const dfp_long_t *a, dfp_long_t b, dfp_long_t *result, int32_t length);
+
+static inline void binaryArrayOp(jni_env_t *env, jobject_t a, jint_t aOffset, jobject_t b, jint_t bOffset,
+    jobject_t result, jint_t resultOffset, jint_t length, binary_array_fn_t fn)
+{
+    dfp_long_t *x = getArray(env, a);
+    dfp_long_t *y = x ? getArray(env, b) : NULL;
+    dfp_long_t *r = y ? getArray(env, result) : NULL;
+    if (r) {
+        fn(x + aOffset, y + bOffset, r + resultOffset, length);
+        releaseArray(env, result, r, 0);
+    }
+    if (y)
+        releaseArray(env, b, y, JNI_ABORT);
+    if (x)
+        releaseArray(env, a, x, JNI_ABORT);
+}
+
+static inline void scalarArrayOp(jni_env_t *env, jobject_t a, jint_t aOffset, jlong_t b,
+    jobject_t result, jint_t resultOffset, jint_t length, scalar_array_fn_t fn)
+{
+    dfp_long_t *x = getArray(env, a);
+    dfp_long_t *r = x ? getArray(env, result) : NULL;
+    if (r) {
+        fn(x + aOffset, (dfp_long_t) b, r + resultOffset, length);
+        releaseArray(env, result, r, 0);
+    }
+    if (x)
+        releaseArray(env, a, x, JNI_ABORT);
+}
+
+JNI_FN(addArrays0) (jni_env_t *env, jobject_t cls, jobject_t a, jint_t aOffset, jobject_t b, jint_t bOffset,
+    jobject_t result, jint_t resultOffset, jint_t length)
+{
+    binaryArrayOp(env, a, aOffset, b, bOffset, result, resultOffset, length, addArrays);
+}
+
+JNI_FN(subtractArrays0) (jni_env_t *env, jobject_t cls, jobject_t a, jint_t aOffset, jobject_t b, jint_t bOffset,
+    jobject_t result, jint_t resultOffset, jint_t length)
+{
+    binaryArrayOp(env, a, aOffset, b, bOffset, result, resultOffset, length, subtractArrays);
+}
+
+JNI_FN(multiplyArrays0) (jni_env_t *env, jobject_t cls, jobject_t a, jint_t aOffset, jobject_t b, jint_t bOffset,
+    jobject_t result, jint_t resultOffset, jint_t length)
+{
+    binaryArrayOp(env, a, aOffset, b, bOffset, result, resultOffset, length, multiplyArrays);
+}
+
+JNI_FN(divideArrays0) (jni_env_t *env, jobject_t cls, jobject_t a, jint_t aOffset, jobject_t b, jint_t bOffset,
+    jobject_t result, jint_t resultOffset, jint_t length)
+{
+    binaryArrayOp(env, a, aOffset, b, bOffset, result, resultOffset, length, divideArrays);
+}
+
+JNI_FN(addScalar0) (jni_env_t *env, jobject_t cls, jobject_t a, jint_t aOffset, jlong_t b,
+    jobject_t result, jint_t resultOffset, jint_t length)
+{
+    scalarArrayOp(env, a, aOffset, b, result, resultOffset, length, addScalar);
+}
+
+JNI_FN(multiplyByScalar0) (jni_env_t *env, jobject_t cls, jobject_t a, jint_t aOffset, jlong_t b,
+    jobject_t result, jint_t resultOffset, jint_t length)
+{
+    scalarArrayOp(env, a, aOffset, b, result, resultOffset, length, multiplyByScalar);
+}
+
+JNI_FN(divideByScalar0) (jni_env_t *env, jobject_t cls, jobject_t a, jint_t aOffset, jlong_t b,
+    jobject_t result, jint_t resultOffset, jint_t length)
+{
+    scalarArrayOp(env, a, aOffset, b, result, resultOffset, length, divideByScalar);
+}
+
+JNI_FN(roundArray0) (jni_env_t *env, jobject_t cls, jobject_t values, jint_t offset,
+    jobject_t result, jint_t resultOffset, jint_t length, jint_t roundingMode)
+{
+    dfp_long_t *v = getArray(env, values);
+    dfp_long_t *r = v ? getArray(env, result) : NULL;
+    if (r) {
+        roundArray(v + offset, r + resultOffset, length, roundingMode);
+        releaseArray(env, result, r, 0);
+    }
+    if (v)
+        releaseArray(env, values, v, JNI_ABORT);
+}
+
+JNI_FN(compareArrays0) (jni_env_t *env, jobject_t cls, jobject_t a, jint_t aOffset, jobject_t b, jint_t bOffset,
+    jobject_t result, jint_t resultOffset, jint_t length)
+{
+    dfp_long_t *x = getArray(env, a);
+    dfp_long_t *y = x ? getArray(env, b) : NULL;
+    int32_t *r = y ? getArray(env, result) : NULL;
+    if (r) {
+        compareArrays(x + aOffset, y + bOffset, r + resultOffset, length);
+        releaseArray(env, result, r, 0);
+    }
+    if (y)
+        releaseArray(env, b, y, JNI_ABORT);
+    if (x)
+        releaseArray(env, a, x, JNI_ABORT);
+}
+
+JNI_FN(fromFloat64Array0) (jni_env_t *env, jobject_t cls, jobject_t values, jint_t offset,
+    jobject_t result, jint_t resultOffset, jint_t length)
+{
+    double *v = getArray(env, values);
+    dfp_long_t *r = v ? getArray(env, result) : NULL;
+    if (r) {
+        fromFloat64Array(v + offset, r + resultOffset, length);
+        releaseArray(env, result, r, 0);
+    }
+    if (v)
+        releaseArray(env, values, v, JNI_ABORT);
+}
+
+JNI_FN(toFloat64Array0) (jni_env_t *env, jobject_t cls, jobject_t values, jint_t offset,
+    jobject_t result, jint_t resultOffset, jint_t length)
+{
+    dfp_long_t *v = getArray(env, values);
+    double *r = v ? getArray(env, result) : NULL;
+    if (r) {
+        toFloat64Array(v + offset, r + resultOffset, length);
+        releaseArray(env, result, r, 0);
+    }
+    if (v)
+        releaseArray(env, values, v, JNI_ABORT);
+}
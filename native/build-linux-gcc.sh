@@ -0,0 +1,13 @@
+#!/bin/bash
+# Builds the 64-bit library with gcc and the Intel Decimal Floating-Point Math Library instead of icc and libdecimal
+# Need 2 arguments:
+# Project name(overrides the one specified in the makefile), Build configuration (Debug/Release)
+# BID_HOME must point to the LIBRARY directory of the Intel library, with libbid.a built with -fPIC and
+# CALL_BY_REF=0 GLOBAL_RND=1 GLOBAL_FLAGS=1
+# Besides the generic x86-64 library, builds x86-64-v2 and x86-64-v3 variants, the Java library selects one at load time
+set -e
+: "${BID_HOME:?BID_HOME must point to the LIBRARY directory of the Intel Decimal Floating-Point Math Library}"
+for march in "" x86-64-v2 x86-64-v3; do
+    rm -rf ./obj/*
+    make CC=gcc BID_HOME="$BID_HOME" ProjectName=$1 Configuration=$2 Architecture=64 MicroArchitecture=$march Build
+done
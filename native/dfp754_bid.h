@@ -0,0 +1,74 @@
+/*
+ * Replacement for the <dfp754.h> header of the Intel C compiler, used by the gcc build.
+ *
+ * gcc implements _Decimal64 arithmetic, comparisons and conversions itself (libgcc uses BID encoding on x86),
+ * the math functions missing from glibc are forwarded to the open source Intel Decimal Floating-Point Math Library.
+ * The library must be built with call by value, global rounding mode and global exception flags:
+ *   make CC=gcc CALL_BY_REF=0 GLOBAL_RND=1 GLOBAL_FLAGS=1 UNCHANGED_BINARY_FLAGS=0
+ */
+#ifndef _DFP754_BID_H_
+#define _DFP754_BID_H_
+
+#ifndef __DECIMAL_BID_FORMAT__
+#error _Decimal64 must use BID encoding, gcc must be configured with --enable-decimal-float=bid
+#endif
+
+#define DECIMAL_CALL_BY_REFERENCE 0
+#define DECIMAL_GLOBAL_ROUNDING 1
+#define DECIMAL_GLOBAL_EXCEPTION_FLAGS 1
+#include <bid_functions.h>
+
+static inline BID_UINT64 d64_as_bid(_Decimal64 value) {
+    union { _Decimal64 a; BID_UINT64 b; } rv = {.a = value}; return rv.b;
+}
+
+static inline _Decimal64 bid_as_d64(BID_UINT64 value) {
+    union { BID_UINT64 a; _Decimal64 b; } rv = {.a = value}; return rv.b;
+}
+
+#define BID_UNARY(name, bid_name) \
+    static inline _Decimal64 name(_Decimal64 x) { return bid_as_d64(bid_name(d64_as_bid(x))); }
+#define BID_BINARY(name, bid_name) \
+    static inline _Decimal64 name(_Decimal64 x, _Decimal64 y) { return bid_as_d64(bid_name(d64_as_bid(x), d64_as_bid(y))); }
+#define BID_PREDICATE(name, bid_name) \
+    static inline int name(_Decimal64 x) { return bid_name(d64_as_bid(x)); }
+#define BID_RELATION(name, bid_name) \
+    static inline int name(_Decimal64 x, _Decimal64 y) { return bid_name(d64_as_bid(x), d64_as_bid(y)); }
+
+BID_UNARY(ceild64, bid64_round_integral_positive)
+BID_UNARY(floord64, bid64_round_integral_negative)
+BID_UNARY(truncd64, bid64_round_integral_zero)
+BID_UNARY(roundd64, bid64_round_integral_nearest_away)
+BID_UNARY(fabsd64, bid64_abs)
+BID_UNARY(nextupd64, bid64_nextup)
+BID_UNARY(nextdownd64, bid64_nextdown)
+
+BID_BINARY(fmind64, bid64_minnum)
+BID_BINARY(fmaxd64, bid64_maxnum)
+
+BID_PREDICATE(isnand64, bid64_isNaN)
+BID_PREDICATE(isinfd64, bid64_isInf)
+BID_PREDICATE(isfinited64, bid64_isFinite)
+BID_PREDICATE(isnormald64, bid64_isNormal)
+BID_PREDICATE(signbitd64, bid64_isSigned)
+
+BID_RELATION(isequald64, bid64_quiet_equal)
+BID_RELATION(islessd64, bid64_quiet_less)
+BID_RELATION(islessequald64, bid64_quiet_less_equal)
+BID_RELATION(isgreaterd64, bid64_quiet_greater)
+BID_RELATION(isgreaterequald64, bid64_quiet_greater_equal)
+
+static inline _Decimal64 scalbnd64(_Decimal64 x, int n) {
+    return bid_as_d64(bid64_scalbn(d64_as_bid(x), n));
+}
+
+static inline _Decimal64 fmad64(_Decimal64 x, _Decimal64 y, _Decimal64 z) {
+    return bid_as_d64(bid64_fma(d64_as_bid(x), d64_as_bid(y), d64_as_bid(z)));
+}
+
+#undef BID_UNARY
+#undef BID_BINARY
+#undef BID_PREDICATE
+#undef BID_RELATION
+
+#endif